@@ -839,7 +839,7 @@ class FmoviInstruction(FORInstruction) :
 
     @property
     def dsttype(self) :
-        return float
+        return int
 
 #move integer to floating point
 @concreteInstruction('IMOVF.S')
@@ -849,7 +849,7 @@ class ImovfInstruction(FORInstruction) :
 
     @property
     def srctype(self) :
-        return float
+        return int
 
 #read integer from stdin
 @concreteInstruction('GETI')
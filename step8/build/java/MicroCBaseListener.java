@@ -1,4 +1,4 @@
-// Generated from java/MicroC.g4 by ANTLR 4.9.1
+// Generated from java/MicroC.g4 by ANTLR 4.8
 
 
 package compiler;
@@ -80,6 +80,18 @@ public class MicroCBaseListener implements MicroCListener {
 	 * <p>The default implementation does nothing.</p>
 	 */
 	@Override public void exitVar_decl(MicroCParser.Var_declContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void enterConst_decl(MicroCParser.Const_declContext ctx) { }
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The default implementation does nothing.</p>
+	 */
+	@Override public void exitConst_decl(MicroCParser.Const_declContext ctx) { }
 	/**
 	 * {@inheritDoc}
 	 *
@@ -1,4 +1,4 @@
-// Generated from java/MicroC.g4 by ANTLR 4.9.1
+// Generated from java/MicroC.g4 by ANTLR 4.8
 
 
 package compiler;
@@ -20,7 +20,7 @@ import org.antlr.v4.runtime.misc.*;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class MicroCLexer extends Lexer {
-	static { RuntimeMetaData.checkVersion("4.9.1", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.8", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -30,8 +30,8 @@ public class MicroCLexer extends Lexer {
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
 		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
-		T__31=32, IDENTIFIER=33, INT_LITERAL=34, FLOAT_LITERAL=35, STR_LITERAL=36, 
-		COMMENT=37, WS=38;
+		T__31=32, T__32=33, IDENTIFIER=34, INT_LITERAL=35, FLOAT_LITERAL=36, STR_LITERAL=37, 
+		COMMENT=38, WS=39;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -45,18 +45,18 @@ public class MicroCLexer extends Lexer {
 			"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
 			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
 			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
-			"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "IDENTIFIER", 
-			"INT_LITERAL", "FLOAT_LITERAL", "STR_LITERAL", "COMMENT", "WS", "LETTER", 
-			"DIGIT"
+			"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "T__32", 
+			"IDENTIFIER", "INT_LITERAL", "FLOAT_LITERAL", "STR_LITERAL", "COMMENT", 
+			"WS", "LETTER", "DIGIT"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "';'", "'string'", "'='", "'*'", "'int'", "'float'", "'void'", 
-			"'('", "')'", "'{'", "'}'", "','", "'read'", "'print'", "'return'", "'if'", 
-			"'else'", "'while'", "'-'", "'&'", "'['", "']'", "'malloc'", "'free'", 
+			null, "';'", "'['", "']'", "'const'", "'='", "'string'", "'*'", "'int'", 
+			"'float'", "'void'", "'('", "')'", "'{'", "'}'", "','", "'read'", "'print'", 
+			"'return'", "'if'", "'else'", "'while'", "'-'", "'&'", "'malloc'", "'free'", 
 			"'<'", "'<='", "'>='", "'=='", "'!='", "'>'", "'/'", "'+'"
 		};
 	}
@@ -65,8 +65,8 @@ public class MicroCLexer extends Lexer {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, "IDENTIFIER", "INT_LITERAL", 
-			"FLOAT_LITERAL", "STR_LITERAL", "COMMENT", "WS"
+			null, null, null, null, null, null, null, null, null, null, "IDENTIFIER", 
+			"INT_LITERAL", "FLOAT_LITERAL", "STR_LITERAL", "COMMENT", "WS"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -151,85 +151,88 @@ public class MicroCLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\2(\u0100\b\1\4\2\t"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\2)\u0108\b\1\4\2\t"+
 		"\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13"+
 		"\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
 		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
 		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
-		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\3\2\3\2\3\3\3"+
-		"\3\3\3\3\3\3\3\3\3\3\3\3\4\3\4\3\5\3\5\3\6\3\6\3\6\3\6\3\7\3\7\3\7\3\7"+
-		"\3\7\3\7\3\b\3\b\3\b\3\b\3\b\3\t\3\t\3\n\3\n\3\13\3\13\3\f\3\f\3\r\3\r"+
-		"\3\16\3\16\3\16\3\16\3\16\3\17\3\17\3\17\3\17\3\17\3\17\3\20\3\20\3\20"+
-		"\3\20\3\20\3\20\3\20\3\21\3\21\3\21\3\22\3\22\3\22\3\22\3\22\3\23\3\23"+
-		"\3\23\3\23\3\23\3\23\3\24\3\24\3\25\3\25\3\26\3\26\3\27\3\27\3\30\3\30"+
-		"\3\30\3\30\3\30\3\30\3\30\3\31\3\31\3\31\3\31\3\31\3\32\3\32\3\33\3\33"+
-		"\3\33\3\34\3\34\3\34\3\35\3\35\3\35\3\36\3\36\3\36\3\37\3\37\3 \3 \3!"+
-		"\3!\3\"\3\"\5\"\u00c4\n\"\3\"\3\"\3\"\7\"\u00c9\n\"\f\"\16\"\u00cc\13"+
-		"\"\3#\6#\u00cf\n#\r#\16#\u00d0\3$\7$\u00d4\n$\f$\16$\u00d7\13$\3$\3$\6"+
-		"$\u00db\n$\r$\16$\u00dc\3%\3%\7%\u00e1\n%\f%\16%\u00e4\13%\3%\3%\3&\3"+
-		"&\3&\3&\7&\u00ec\n&\f&\16&\u00ef\13&\3&\3&\3&\3&\3&\3\'\6\'\u00f7\n\'"+
-		"\r\'\16\'\u00f8\3\'\3\'\3(\3(\3)\3)\3\u00ed\2*\3\3\5\4\7\5\t\6\13\7\r"+
-		"\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20\37\21!\22#\23%\24\'\25"+
-		")\26+\27-\30/\31\61\32\63\33\65\34\67\359\36;\37= ?!A\"C#E$G%I&K\'M(O"+
-		"\2Q\2\3\2\5\3\2$$\5\2\13\f\17\17\"\"\4\2C\\c|\2\u0107\2\3\3\2\2\2\2\5"+
-		"\3\2\2\2\2\7\3\2\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2\2\2\17\3\2\2\2"+
-		"\2\21\3\2\2\2\2\23\3\2\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2\31\3\2\2\2\2\33"+
-		"\3\2\2\2\2\35\3\2\2\2\2\37\3\2\2\2\2!\3\2\2\2\2#\3\2\2\2\2%\3\2\2\2\2"+
-		"\'\3\2\2\2\2)\3\2\2\2\2+\3\2\2\2\2-\3\2\2\2\2/\3\2\2\2\2\61\3\2\2\2\2"+
-		"\63\3\2\2\2\2\65\3\2\2\2\2\67\3\2\2\2\29\3\2\2\2\2;\3\2\2\2\2=\3\2\2\2"+
-		"\2?\3\2\2\2\2A\3\2\2\2\2C\3\2\2\2\2E\3\2\2\2\2G\3\2\2\2\2I\3\2\2\2\2K"+
-		"\3\2\2\2\2M\3\2\2\2\3S\3\2\2\2\5U\3\2\2\2\7\\\3\2\2\2\t^\3\2\2\2\13`\3"+
-		"\2\2\2\rd\3\2\2\2\17j\3\2\2\2\21o\3\2\2\2\23q\3\2\2\2\25s\3\2\2\2\27u"+
-		"\3\2\2\2\31w\3\2\2\2\33y\3\2\2\2\35~\3\2\2\2\37\u0084\3\2\2\2!\u008b\3"+
-		"\2\2\2#\u008e\3\2\2\2%\u0093\3\2\2\2\'\u0099\3\2\2\2)\u009b\3\2\2\2+\u009d"+
-		"\3\2\2\2-\u009f\3\2\2\2/\u00a1\3\2\2\2\61\u00a8\3\2\2\2\63\u00ad\3\2\2"+
-		"\2\65\u00af\3\2\2\2\67\u00b2\3\2\2\29\u00b5\3\2\2\2;\u00b8\3\2\2\2=\u00bb"+
-		"\3\2\2\2?\u00bd\3\2\2\2A\u00bf\3\2\2\2C\u00c3\3\2\2\2E\u00ce\3\2\2\2G"+
-		"\u00d5\3\2\2\2I\u00de\3\2\2\2K\u00e7\3\2\2\2M\u00f6\3\2\2\2O\u00fc\3\2"+
-		"\2\2Q\u00fe\3\2\2\2ST\7=\2\2T\4\3\2\2\2UV\7u\2\2VW\7v\2\2WX\7t\2\2XY\7"+
-		"k\2\2YZ\7p\2\2Z[\7i\2\2[\6\3\2\2\2\\]\7?\2\2]\b\3\2\2\2^_\7,\2\2_\n\3"+
-		"\2\2\2`a\7k\2\2ab\7p\2\2bc\7v\2\2c\f\3\2\2\2de\7h\2\2ef\7n\2\2fg\7q\2"+
-		"\2gh\7c\2\2hi\7v\2\2i\16\3\2\2\2jk\7x\2\2kl\7q\2\2lm\7k\2\2mn\7f\2\2n"+
-		"\20\3\2\2\2op\7*\2\2p\22\3\2\2\2qr\7+\2\2r\24\3\2\2\2st\7}\2\2t\26\3\2"+
-		"\2\2uv\7\177\2\2v\30\3\2\2\2wx\7.\2\2x\32\3\2\2\2yz\7t\2\2z{\7g\2\2{|"+
-		"\7c\2\2|}\7f\2\2}\34\3\2\2\2~\177\7r\2\2\177\u0080\7t\2\2\u0080\u0081"+
-		"\7k\2\2\u0081\u0082\7p\2\2\u0082\u0083\7v\2\2\u0083\36\3\2\2\2\u0084\u0085"+
-		"\7t\2\2\u0085\u0086\7g\2\2\u0086\u0087\7v\2\2\u0087\u0088\7w\2\2\u0088"+
-		"\u0089\7t\2\2\u0089\u008a\7p\2\2\u008a \3\2\2\2\u008b\u008c\7k\2\2\u008c"+
-		"\u008d\7h\2\2\u008d\"\3\2\2\2\u008e\u008f\7g\2\2\u008f\u0090\7n\2\2\u0090"+
-		"\u0091\7u\2\2\u0091\u0092\7g\2\2\u0092$\3\2\2\2\u0093\u0094\7y\2\2\u0094"+
-		"\u0095\7j\2\2\u0095\u0096\7k\2\2\u0096\u0097\7n\2\2\u0097\u0098\7g\2\2"+
-		"\u0098&\3\2\2\2\u0099\u009a\7/\2\2\u009a(\3\2\2\2\u009b\u009c\7(\2\2\u009c"+
-		"*\3\2\2\2\u009d\u009e\7]\2\2\u009e,\3\2\2\2\u009f\u00a0\7_\2\2\u00a0."+
-		"\3\2\2\2\u00a1\u00a2\7o\2\2\u00a2\u00a3\7c\2\2\u00a3\u00a4\7n\2\2\u00a4"+
-		"\u00a5\7n\2\2\u00a5\u00a6\7q\2\2\u00a6\u00a7\7e\2\2\u00a7\60\3\2\2\2\u00a8"+
-		"\u00a9\7h\2\2\u00a9\u00aa\7t\2\2\u00aa\u00ab\7g\2\2\u00ab\u00ac\7g\2\2"+
-		"\u00ac\62\3\2\2\2\u00ad\u00ae\7>\2\2\u00ae\64\3\2\2\2\u00af\u00b0\7>\2"+
-		"\2\u00b0\u00b1\7?\2\2\u00b1\66\3\2\2\2\u00b2\u00b3\7@\2\2\u00b3\u00b4"+
-		"\7?\2\2\u00b48\3\2\2\2\u00b5\u00b6\7?\2\2\u00b6\u00b7\7?\2\2\u00b7:\3"+
-		"\2\2\2\u00b8\u00b9\7#\2\2\u00b9\u00ba\7?\2\2\u00ba<\3\2\2\2\u00bb\u00bc"+
-		"\7@\2\2\u00bc>\3\2\2\2\u00bd\u00be\7\61\2\2\u00be@\3\2\2\2\u00bf\u00c0"+
-		"\7-\2\2\u00c0B\3\2\2\2\u00c1\u00c4\5O(\2\u00c2\u00c4\7a\2\2\u00c3\u00c1"+
-		"\3\2\2\2\u00c3\u00c2\3\2\2\2\u00c4\u00ca\3\2\2\2\u00c5\u00c9\5O(\2\u00c6"+
-		"\u00c9\5Q)\2\u00c7\u00c9\7a\2\2\u00c8\u00c5\3\2\2\2\u00c8\u00c6\3\2\2"+
-		"\2\u00c8\u00c7\3\2\2\2\u00c9\u00cc\3\2\2\2\u00ca\u00c8\3\2\2\2\u00ca\u00cb"+
-		"\3\2\2\2\u00cbD\3\2\2\2\u00cc\u00ca\3\2\2\2\u00cd\u00cf\5Q)\2\u00ce\u00cd"+
-		"\3\2\2\2\u00cf\u00d0\3\2\2\2\u00d0\u00ce\3\2\2\2\u00d0\u00d1\3\2\2\2\u00d1"+
-		"F\3\2\2\2\u00d2\u00d4\5Q)\2\u00d3\u00d2\3\2\2\2\u00d4\u00d7\3\2\2\2\u00d5"+
-		"\u00d3\3\2\2\2\u00d5\u00d6\3\2\2\2\u00d6\u00d8\3\2\2\2\u00d7\u00d5\3\2"+
-		"\2\2\u00d8\u00da\7\60\2\2\u00d9\u00db\5Q)\2\u00da\u00d9\3\2\2\2\u00db"+
-		"\u00dc\3\2\2\2\u00dc\u00da\3\2\2\2\u00dc\u00dd\3\2\2\2\u00ddH\3\2\2\2"+
-		"\u00de\u00e2\7$\2\2\u00df\u00e1\n\2\2\2\u00e0\u00df\3\2\2\2\u00e1\u00e4"+
-		"\3\2\2\2\u00e2\u00e0\3\2\2\2\u00e2\u00e3\3\2\2\2\u00e3\u00e5\3\2\2\2\u00e4"+
-		"\u00e2\3\2\2\2\u00e5\u00e6\7$\2\2\u00e6J\3\2\2\2\u00e7\u00e8\7\61\2\2"+
-		"\u00e8\u00e9\7,\2\2\u00e9\u00ed\3\2\2\2\u00ea\u00ec\13\2\2\2\u00eb\u00ea"+
-		"\3\2\2\2\u00ec\u00ef\3\2\2\2\u00ed\u00ee\3\2\2\2\u00ed\u00eb\3\2\2\2\u00ee"+
-		"\u00f0\3\2\2\2\u00ef\u00ed\3\2\2\2\u00f0\u00f1\7,\2\2\u00f1\u00f2\7\61"+
-		"\2\2\u00f2\u00f3\3\2\2\2\u00f3\u00f4\b&\2\2\u00f4L\3\2\2\2\u00f5\u00f7"+
-		"\t\3\2\2\u00f6\u00f5\3\2\2\2\u00f7\u00f8\3\2\2\2\u00f8\u00f6\3\2\2\2\u00f8"+
-		"\u00f9\3\2\2\2\u00f9\u00fa\3\2\2\2\u00fa\u00fb\b\'\2\2\u00fbN\3\2\2\2"+
-		"\u00fc\u00fd\t\4\2\2\u00fdP\3\2\2\2\u00fe\u00ff\4\62;\2\u00ffR\3\2\2\2"+
-		"\f\2\u00c3\u00c8\u00ca\u00d0\u00d5\u00dc\u00e2\u00ed\u00f8\3\b\2\2";
+		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\3\2\3\2"+
+		"\3\3\3\3\3\4\3\4\3\5\3\5\3\5\3\5\3\5\3\5\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3"+
+		"\7\3\7\3\b\3\b\3\t\3\t\3\t\3\t\3\n\3\n\3\n\3\n\3\n\3\n\3\13\3\13\3\13"+
+		"\3\13\3\13\3\f\3\f\3\r\3\r\3\16\3\16\3\17\3\17\3\20\3\20\3\21\3\21\3\21"+
+		"\3\21\3\21\3\22\3\22\3\22\3\22\3\22\3\22\3\23\3\23\3\23\3\23\3\23\3\23"+
+		"\3\23\3\24\3\24\3\24\3\25\3\25\3\25\3\25\3\25\3\26\3\26\3\26\3\26\3\26"+
+		"\3\26\3\27\3\27\3\30\3\30\3\31\3\31\3\31\3\31\3\31\3\31\3\31\3\32\3\32"+
+		"\3\32\3\32\3\32\3\33\3\33\3\34\3\34\3\34\3\35\3\35\3\35\3\36\3\36\3\36"+
+		"\3\37\3\37\3\37\3 \3 \3!\3!\3\"\3\"\3#\3#\5#\u00cc\n#\3#\3#\3#\7#\u00d1"+
+		"\n#\f#\16#\u00d4\13#\3$\6$\u00d7\n$\r$\16$\u00d8\3%\7%\u00dc\n%\f%\16"+
+		"%\u00df\13%\3%\3%\6%\u00e3\n%\r%\16%\u00e4\3&\3&\7&\u00e9\n&\f&\16&\u00ec"+
+		"\13&\3&\3&\3\'\3\'\3\'\3\'\7\'\u00f4\n\'\f\'\16\'\u00f7\13\'\3\'\3\'\3"+
+		"\'\3\'\3\'\3(\6(\u00ff\n(\r(\16(\u0100\3(\3(\3)\3)\3*\3*\3\u00f5\2+\3"+
+		"\3\5\4\7\5\t\6\13\7\r\b\17\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20\37"+
+		"\21!\22#\23%\24\'\25)\26+\27-\30/\31\61\32\63\33\65\34\67\359\36;\37="+
+		" ?!A\"C#E$G%I&K\'M(O)Q\2S\2\3\2\5\3\2$$\5\2\13\f\17\17\"\"\4\2C\\c|\2"+
+		"\u010f\2\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2"+
+		"\r\3\2\2\2\2\17\3\2\2\2\2\21\3\2\2\2\2\23\3\2\2\2\2\25\3\2\2\2\2\27\3"+
+		"\2\2\2\2\31\3\2\2\2\2\33\3\2\2\2\2\35\3\2\2\2\2\37\3\2\2\2\2!\3\2\2\2"+
+		"\2#\3\2\2\2\2%\3\2\2\2\2\'\3\2\2\2\2)\3\2\2\2\2+\3\2\2\2\2-\3\2\2\2\2"+
+		"/\3\2\2\2\2\61\3\2\2\2\2\63\3\2\2\2\2\65\3\2\2\2\2\67\3\2\2\2\29\3\2\2"+
+		"\2\2;\3\2\2\2\2=\3\2\2\2\2?\3\2\2\2\2A\3\2\2\2\2C\3\2\2\2\2E\3\2\2\2\2"+
+		"G\3\2\2\2\2I\3\2\2\2\2K\3\2\2\2\2M\3\2\2\2\2O\3\2\2\2\3U\3\2\2\2\5W\3"+
+		"\2\2\2\7Y\3\2\2\2\t[\3\2\2\2\13a\3\2\2\2\rc\3\2\2\2\17j\3\2\2\2\21l\3"+
+		"\2\2\2\23p\3\2\2\2\25v\3\2\2\2\27{\3\2\2\2\31}\3\2\2\2\33\177\3\2\2\2"+
+		"\35\u0081\3\2\2\2\37\u0083\3\2\2\2!\u0085\3\2\2\2#\u008a\3\2\2\2%\u0090"+
+		"\3\2\2\2\'\u0097\3\2\2\2)\u009a\3\2\2\2+\u009f\3\2\2\2-\u00a5\3\2\2\2"+
+		"/\u00a7\3\2\2\2\61\u00a9\3\2\2\2\63\u00b0\3\2\2\2\65\u00b5\3\2\2\2\67"+
+		"\u00b7\3\2\2\29\u00ba\3\2\2\2;\u00bd\3\2\2\2=\u00c0\3\2\2\2?\u00c3\3\2"+
+		"\2\2A\u00c5\3\2\2\2C\u00c7\3\2\2\2E\u00cb\3\2\2\2G\u00d6\3\2\2\2I\u00dd"+
+		"\3\2\2\2K\u00e6\3\2\2\2M\u00ef\3\2\2\2O\u00fe\3\2\2\2Q\u0104\3\2\2\2S"+
+		"\u0106\3\2\2\2UV\7=\2\2V\4\3\2\2\2WX\7]\2\2X\6\3\2\2\2YZ\7_\2\2Z\b\3\2"+
+		"\2\2[\\\7e\2\2\\]\7q\2\2]^\7p\2\2^_\7u\2\2_`\7v\2\2`\n\3\2\2\2ab\7?\2"+
+		"\2b\f\3\2\2\2cd\7u\2\2de\7v\2\2ef\7t\2\2fg\7k\2\2gh\7p\2\2hi\7i\2\2i\16"+
+		"\3\2\2\2jk\7,\2\2k\20\3\2\2\2lm\7k\2\2mn\7p\2\2no\7v\2\2o\22\3\2\2\2p"+
+		"q\7h\2\2qr\7n\2\2rs\7q\2\2st\7c\2\2tu\7v\2\2u\24\3\2\2\2vw\7x\2\2wx\7"+
+		"q\2\2xy\7k\2\2yz\7f\2\2z\26\3\2\2\2{|\7*\2\2|\30\3\2\2\2}~\7+\2\2~\32"+
+		"\3\2\2\2\177\u0080\7}\2\2\u0080\34\3\2\2\2\u0081\u0082\7\177\2\2\u0082"+
+		"\36\3\2\2\2\u0083\u0084\7.\2\2\u0084 \3\2\2\2\u0085\u0086\7t\2\2\u0086"+
+		"\u0087\7g\2\2\u0087\u0088\7c\2\2\u0088\u0089\7f\2\2\u0089\"\3\2\2\2\u008a"+
+		"\u008b\7r\2\2\u008b\u008c\7t\2\2\u008c\u008d\7k\2\2\u008d\u008e\7p\2\2"+
+		"\u008e\u008f\7v\2\2\u008f$\3\2\2\2\u0090\u0091\7t\2\2\u0091\u0092\7g\2"+
+		"\2\u0092\u0093\7v\2\2\u0093\u0094\7w\2\2\u0094\u0095\7t\2\2\u0095\u0096"+
+		"\7p\2\2\u0096&\3\2\2\2\u0097\u0098\7k\2\2\u0098\u0099\7h\2\2\u0099(\3"+
+		"\2\2\2\u009a\u009b\7g\2\2\u009b\u009c\7n\2\2\u009c\u009d\7u\2\2\u009d"+
+		"\u009e\7g\2\2\u009e*\3\2\2\2\u009f\u00a0\7y\2\2\u00a0\u00a1\7j\2\2\u00a1"+
+		"\u00a2\7k\2\2\u00a2\u00a3\7n\2\2\u00a3\u00a4\7g\2\2\u00a4,\3\2\2\2\u00a5"+
+		"\u00a6\7/\2\2\u00a6.\3\2\2\2\u00a7\u00a8\7(\2\2\u00a8\60\3\2\2\2\u00a9"+
+		"\u00aa\7o\2\2\u00aa\u00ab\7c\2\2\u00ab\u00ac\7n\2\2\u00ac\u00ad\7n\2\2"+
+		"\u00ad\u00ae\7q\2\2\u00ae\u00af\7e\2\2\u00af\62\3\2\2\2\u00b0\u00b1\7"+
+		"h\2\2\u00b1\u00b2\7t\2\2\u00b2\u00b3\7g\2\2\u00b3\u00b4\7g\2\2\u00b4\64"+
+		"\3\2\2\2\u00b5\u00b6\7>\2\2\u00b6\66\3\2\2\2\u00b7\u00b8\7>\2\2\u00b8"+
+		"\u00b9\7?\2\2\u00b98\3\2\2\2\u00ba\u00bb\7@\2\2\u00bb\u00bc\7?\2\2\u00bc"+
+		":\3\2\2\2\u00bd\u00be\7?\2\2\u00be\u00bf\7?\2\2\u00bf<\3\2\2\2\u00c0\u00c1"+
+		"\7#\2\2\u00c1\u00c2\7?\2\2\u00c2>\3\2\2\2\u00c3\u00c4\7@\2\2\u00c4@\3"+
+		"\2\2\2\u00c5\u00c6\7\61\2\2\u00c6B\3\2\2\2\u00c7\u00c8\7-\2\2\u00c8D\3"+
+		"\2\2\2\u00c9\u00cc\5Q)\2\u00ca\u00cc\7a\2\2\u00cb\u00c9\3\2\2\2\u00cb"+
+		"\u00ca\3\2\2\2\u00cc\u00d2\3\2\2\2\u00cd\u00d1\5Q)\2\u00ce\u00d1\5S*\2"+
+		"\u00cf\u00d1\7a\2\2\u00d0\u00cd\3\2\2\2\u00d0\u00ce\3\2\2\2\u00d0\u00cf"+
+		"\3\2\2\2\u00d1\u00d4\3\2\2\2\u00d2\u00d0\3\2\2\2\u00d2\u00d3\3\2\2\2\u00d3"+
+		"F\3\2\2\2\u00d4\u00d2\3\2\2\2\u00d5\u00d7\5S*\2\u00d6\u00d5\3\2\2\2\u00d7"+
+		"\u00d8\3\2\2\2\u00d8\u00d6\3\2\2\2\u00d8\u00d9\3\2\2\2\u00d9H\3\2\2\2"+
+		"\u00da\u00dc\5S*\2\u00db\u00da\3\2\2\2\u00dc\u00df\3\2\2\2\u00dd\u00db"+
+		"\3\2\2\2\u00dd\u00de\3\2\2\2\u00de\u00e0\3\2\2\2\u00df\u00dd\3\2\2\2\u00e0"+
+		"\u00e2\7\60\2\2\u00e1\u00e3\5S*\2\u00e2\u00e1\3\2\2\2\u00e3\u00e4\3\2"+
+		"\2\2\u00e4\u00e2\3\2\2\2\u00e4\u00e5\3\2\2\2\u00e5J\3\2\2\2\u00e6\u00ea"+
+		"\7$\2\2\u00e7\u00e9\n\2\2\2\u00e8\u00e7\3\2\2\2\u00e9\u00ec\3\2\2\2\u00ea"+
+		"\u00e8\3\2\2\2\u00ea\u00eb\3\2\2\2\u00eb\u00ed\3\2\2\2\u00ec\u00ea\3\2"+
+		"\2\2\u00ed\u00ee\7$\2\2\u00eeL\3\2\2\2\u00ef\u00f0\7\61\2\2\u00f0\u00f1"+
+		"\7,\2\2\u00f1\u00f5\3\2\2\2\u00f2\u00f4\13\2\2\2\u00f3\u00f2\3\2\2\2\u00f4"+
+		"\u00f7\3\2\2\2\u00f5\u00f6\3\2\2\2\u00f5\u00f3\3\2\2\2\u00f6\u00f8\3\2"+
+		"\2\2\u00f7\u00f5\3\2\2\2\u00f8\u00f9\7,\2\2\u00f9\u00fa\7\61\2\2\u00fa"+
+		"\u00fb\3\2\2\2\u00fb\u00fc\b\'\2\2\u00fcN\3\2\2\2\u00fd\u00ff\t\3\2\2"+
+		"\u00fe\u00fd\3\2\2\2\u00ff\u0100\3\2\2\2\u0100\u00fe\3\2\2\2\u0100\u0101"+
+		"\3\2\2\2\u0101\u0102\3\2\2\2\u0102\u0103\b(\2\2\u0103P\3\2\2\2\u0104\u0105"+
+		"\t\4\2\2\u0105R\3\2\2\2\u0106\u0107\4\62;\2\u0107T\3\2\2\2\f\2\u00cb\u00d0"+
+		"\u00d2\u00d8\u00dd\u00e4\u00ea\u00f5\u0100\3\b\2\2";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -1,4 +1,4 @@
-// Generated from java/MicroC.g4 by ANTLR 4.9.1
+// Generated from java/MicroC.g4 by ANTLR 4.8
 
 
 package compiler;
@@ -66,6 +66,16 @@ public interface MicroCListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitVar_decl(MicroCParser.Var_declContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link MicroCParser#const_decl}.
+	 * @param ctx the parse tree
+	 */
+	void enterConst_decl(MicroCParser.Const_declContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link MicroCParser#const_decl}.
+	 * @param ctx the parse tree
+	 */
+	void exitConst_decl(MicroCParser.Const_declContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link MicroCParser#str_decl}.
 	 * @param ctx the parse tree
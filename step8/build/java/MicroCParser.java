@@ -1,4 +1,4 @@
-// Generated from java/MicroC.g4 by ANTLR 4.9.1
+// Generated from java/MicroC.g4 by ANTLR 4.8
 
 
 package compiler;
@@ -20,7 +20,7 @@ import java.util.ArrayList;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
 public class MicroCParser extends Parser {
-	static { RuntimeMetaData.checkVersion("4.9.1", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.8", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -30,38 +30,38 @@ public class MicroCParser extends Parser {
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
 		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
-		T__31=32, IDENTIFIER=33, INT_LITERAL=34, FLOAT_LITERAL=35, STR_LITERAL=36, 
-		COMMENT=37, WS=38;
+		T__31=32, T__32=33, IDENTIFIER=34, INT_LITERAL=35, FLOAT_LITERAL=36, STR_LITERAL=37, 
+		COMMENT=38, WS=39;
 	public static final int
 		RULE_program = 0, RULE_decls = 1, RULE_var_decls = 2, RULE_id = 3, RULE_var_decl = 4, 
-		RULE_str_decl = 5, RULE_type = 6, RULE_base_type = 7, RULE_func_type = 8, 
-		RULE_func_decl = 9, RULE_functions = 10, RULE_function = 11, RULE_params = 12, 
-		RULE_params_rest = 13, RULE_param = 14, RULE_statements = 15, RULE_statement = 16, 
-		RULE_base_stmt = 17, RULE_read_stmt = 18, RULE_print_stmt = 19, RULE_return_stmt = 20, 
-		RULE_assign_stmt = 21, RULE_lhs = 22, RULE_if_stmt = 23, RULE_else_stmt = 24, 
-		RULE_while_stmt = 25, RULE_lval = 26, RULE_primary = 27, RULE_cast_expr = 28, 
-		RULE_unaryminus_expr = 29, RULE_ptr_expr = 30, RULE_addr_of_expr = 31, 
-		RULE_array_expr = 32, RULE_call_expr = 33, RULE_arg_list = 34, RULE_args_rest = 35, 
-		RULE_expr = 36, RULE_term = 37, RULE_cond = 38, RULE_cmpop = 39, RULE_mulop = 40, 
-		RULE_addop = 41;
+		RULE_const_decl = 5, RULE_str_decl = 6, RULE_type = 7, RULE_base_type = 8, 
+		RULE_func_type = 9, RULE_func_decl = 10, RULE_functions = 11, RULE_function = 12, 
+		RULE_params = 13, RULE_params_rest = 14, RULE_param = 15, RULE_statements = 16, 
+		RULE_statement = 17, RULE_base_stmt = 18, RULE_read_stmt = 19, RULE_print_stmt = 20, 
+		RULE_return_stmt = 21, RULE_assign_stmt = 22, RULE_lhs = 23, RULE_if_stmt = 24, 
+		RULE_else_stmt = 25, RULE_while_stmt = 26, RULE_lval = 27, RULE_primary = 28, 
+		RULE_cast_expr = 29, RULE_unaryminus_expr = 30, RULE_ptr_expr = 31, RULE_addr_of_expr = 32, 
+		RULE_array_expr = 33, RULE_call_expr = 34, RULE_arg_list = 35, RULE_args_rest = 36, 
+		RULE_expr = 37, RULE_term = 38, RULE_cond = 39, RULE_cmpop = 40, RULE_mulop = 41, 
+		RULE_addop = 42;
 	private static String[] makeRuleNames() {
 		return new String[] {
-			"program", "decls", "var_decls", "id", "var_decl", "str_decl", "type", 
-			"base_type", "func_type", "func_decl", "functions", "function", "params", 
-			"params_rest", "param", "statements", "statement", "base_stmt", "read_stmt", 
-			"print_stmt", "return_stmt", "assign_stmt", "lhs", "if_stmt", "else_stmt", 
-			"while_stmt", "lval", "primary", "cast_expr", "unaryminus_expr", "ptr_expr", 
-			"addr_of_expr", "array_expr", "call_expr", "arg_list", "args_rest", "expr", 
-			"term", "cond", "cmpop", "mulop", "addop"
+			"program", "decls", "var_decls", "id", "var_decl", "const_decl", "str_decl", 
+			"type", "base_type", "func_type", "func_decl", "functions", "function", 
+			"params", "params_rest", "param", "statements", "statement", "base_stmt", 
+			"read_stmt", "print_stmt", "return_stmt", "assign_stmt", "lhs", "if_stmt", 
+			"else_stmt", "while_stmt", "lval", "primary", "cast_expr", "unaryminus_expr", 
+			"ptr_expr", "addr_of_expr", "array_expr", "call_expr", "arg_list", "args_rest", 
+			"expr", "term", "cond", "cmpop", "mulop", "addop"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
 
 	private static String[] makeLiteralNames() {
 		return new String[] {
-			null, "';'", "'string'", "'='", "'*'", "'int'", "'float'", "'void'", 
-			"'('", "')'", "'{'", "'}'", "','", "'read'", "'print'", "'return'", "'if'", 
-			"'else'", "'while'", "'-'", "'&'", "'['", "']'", "'malloc'", "'free'", 
+			null, "';'", "'['", "']'", "'const'", "'='", "'string'", "'*'", "'int'", 
+			"'float'", "'void'", "'('", "')'", "'{'", "'}'", "','", "'read'", "'print'", 
+			"'return'", "'if'", "'else'", "'while'", "'-'", "'&'", "'malloc'", "'free'", 
 			"'<'", "'<='", "'>='", "'=='", "'!='", "'>'", "'/'", "'+'"
 		};
 	}
@@ -70,8 +70,8 @@ public class MicroCParser extends Parser {
 		return new String[] {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
-			null, null, null, null, null, null, null, null, null, "IDENTIFIER", "INT_LITERAL", 
-			"FLOAT_LITERAL", "STR_LITERAL", "COMMENT", "WS"
+			null, null, null, null, null, null, null, null, null, null, "IDENTIFIER", 
+			"INT_LITERAL", "FLOAT_LITERAL", "STR_LITERAL", "COMMENT", "WS"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -176,9 +176,9 @@ public class MicroCParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(84);
+			setState(86);
 			decls();
-			setState(85);
+			setState(87);
 			((ProgramContext)_localctx).functions = functions();
 			ast = ((ProgramContext)_localctx).functions.node;
 			}
@@ -204,6 +204,9 @@ public class MicroCParser extends Parser {
 		public Str_declContext str_decl() {
 			return getRuleContext(Str_declContext.class,0);
 		}
+		public Const_declContext const_decl() {
+			return getRuleContext(Const_declContext.class,0);
+		}
 		public Func_declContext func_decl() {
 			return getRuleContext(Func_declContext.class,0);
 		}
@@ -225,39 +228,48 @@ public class MicroCParser extends Parser {
 		DeclsContext _localctx = new DeclsContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_decls);
 		try {
-			setState(98);
+			setState(103);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,0,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(88);
+				setState(90);
 				var_decl();
-				setState(89);
+				setState(91);
 				decls();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(91);
+				setState(93);
 				str_decl();
-				setState(92);
+				setState(94);
 				decls();
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(94);
-				func_decl();
-				setState(95);
+				setState(96);
+				const_decl();
+				setState(97);
 				decls();
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
+				setState(99);
+				func_decl();
+				setState(100);
+				decls();
+				}
+				break;
+			case 5:
+				enterOuterAlt(_localctx, 5);
+				{
 				}
 				break;
 			}
@@ -298,28 +310,28 @@ public class MicroCParser extends Parser {
 		Var_declsContext _localctx = new Var_declsContext(_ctx, getState());
 		enterRule(_localctx, 4, RULE_var_decls);
 		try {
-			setState(104);
+			setState(109);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__4:
-			case T__5:
+			case T__7:
+			case T__8:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(100);
+				setState(105);
 				var_decl();
-				setState(101);
+				setState(106);
 				var_decls();
 				}
 				break;
-			case T__3:
-			case T__10:
-			case T__12:
+			case T__6:
 			case T__13:
-			case T__14:
 			case T__15:
+			case T__16:
 			case T__17:
-			case T__22:
+			case T__18:
+			case T__20:
 			case T__23:
+			case T__24:
 			case IDENTIFIER:
 				enterOuterAlt(_localctx, 2);
 				{
@@ -362,7 +374,7 @@ public class MicroCParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(106);
+			setState(111);
 			match(IDENTIFIER);
 			}
 		}
@@ -380,12 +392,16 @@ public class MicroCParser extends Parser {
 	public static class Var_declContext extends ParserRuleContext {
 		public TypeContext type;
 		public IdContext id;
+		public ExprContext len;
 		public TypeContext type() {
 			return getRuleContext(TypeContext.class,0);
 		}
 		public IdContext id() {
 			return getRuleContext(IdContext.class,0);
 		}
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
 		public Var_declContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -403,16 +419,99 @@ public class MicroCParser extends Parser {
 	public final Var_declContext var_decl() throws RecognitionException {
 		Var_declContext _localctx = new Var_declContext(_ctx, getState());
 		enterRule(_localctx, 8, RULE_var_decl);
+		try {
+			setState(126);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,2,_ctx) ) {
+			case 1:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(113);
+				((Var_declContext)_localctx).type = type(0);
+				setState(114);
+				((Var_declContext)_localctx).id = id();
+				setState(115);
+				match(T__0);
+				st.addVariable(((Var_declContext)_localctx).type.t, (((Var_declContext)_localctx).id!=null?_input.getText(((Var_declContext)_localctx).id.start,((Var_declContext)_localctx).id.stop):null));
+				}
+				break;
+			case 2:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(118);
+				((Var_declContext)_localctx).type = type(0);
+				setState(119);
+				((Var_declContext)_localctx).id = id();
+				setState(120);
+				match(T__1);
+				setState(121);
+				((Var_declContext)_localctx).len = expr(0);
+				setState(122);
+				match(T__2);
+				setState(123);
+				match(T__0);
+				st.addArray(((Var_declContext)_localctx).type.t, (((Var_declContext)_localctx).id!=null?_input.getText(((Var_declContext)_localctx).id.start,((Var_declContext)_localctx).id.stop):null), st.evaluateInt(((Var_declContext)_localctx).len.node));
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Const_declContext extends ParserRuleContext {
+		public TypeContext type;
+		public IdContext id;
+		public ExprContext expr;
+		public TypeContext type() {
+			return getRuleContext(TypeContext.class,0);
+		}
+		public IdContext id() {
+			return getRuleContext(IdContext.class,0);
+		}
+		public ExprContext expr() {
+			return getRuleContext(ExprContext.class,0);
+		}
+		public Const_declContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_const_decl; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroCListener ) ((MicroCListener)listener).enterConst_decl(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof MicroCListener ) ((MicroCListener)listener).exitConst_decl(this);
+		}
+	}
+
+	public final Const_declContext const_decl() throws RecognitionException {
+		Const_declContext _localctx = new Const_declContext(_ctx, getState());
+		enterRule(_localctx, 10, RULE_const_decl);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(108);
-			((Var_declContext)_localctx).type = type(0);
-			setState(109);
-			((Var_declContext)_localctx).id = id();
-			setState(110);
+			setState(128);
+			match(T__3);
+			setState(129);
+			((Const_declContext)_localctx).type = type(0);
+			setState(130);
+			((Const_declContext)_localctx).id = id();
+			setState(131);
+			match(T__4);
+			setState(132);
+			((Const_declContext)_localctx).expr = expr(0);
+			setState(133);
 			match(T__0);
-			st.addVariable(((Var_declContext)_localctx).type.t, (((Var_declContext)_localctx).id!=null?_input.getText(((Var_declContext)_localctx).id.start,((Var_declContext)_localctx).id.stop):null));
+			st.addConstant(((Const_declContext)_localctx).type.t, (((Const_declContext)_localctx).id!=null?_input.getText(((Const_declContext)_localctx).id.start,((Const_declContext)_localctx).id.stop):null), ((Const_declContext)_localctx).expr.node);
 			}
 		}
 		catch (RecognitionException re) {
@@ -449,19 +548,19 @@ public class MicroCParser extends Parser {
 
 	public final Str_declContext str_decl() throws RecognitionException {
 		Str_declContext _localctx = new Str_declContext(_ctx, getState());
-		enterRule(_localctx, 10, RULE_str_decl);
+		enterRule(_localctx, 12, RULE_str_decl);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(113);
-			match(T__1);
-			setState(114);
+			setState(136);
+			match(T__5);
+			setState(137);
 			((Str_declContext)_localctx).id = id();
-			setState(115);
-			match(T__2);
-			setState(116);
+			setState(138);
+			match(T__4);
+			setState(139);
 			((Str_declContext)_localctx).val = match(STR_LITERAL);
-			setState(117);
+			setState(140);
 			match(T__0);
 			st.addVariable(new Scope.Type(Scope.InnerType.STRING), (((Str_declContext)_localctx).id!=null?_input.getText(((Str_declContext)_localctx).id.start,((Str_declContext)_localctx).id.stop):null), (((Str_declContext)_localctx).val!=null?((Str_declContext)_localctx).val.getText():null));
 			}
@@ -510,21 +609,21 @@ public class MicroCParser extends Parser {
 		int _parentState = getState();
 		TypeContext _localctx = new TypeContext(_ctx, _parentState);
 		TypeContext _prevctx = _localctx;
-		int _startState = 12;
-		enterRecursionRule(_localctx, 12, RULE_type, _p);
+		int _startState = 14;
+		enterRecursionRule(_localctx, 14, RULE_type, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
 			{
-			setState(121);
+			setState(144);
 			((TypeContext)_localctx).base_type = base_type();
 			((TypeContext)_localctx).t =  ((TypeContext)_localctx).base_type.t;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(129);
+			setState(152);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
@@ -535,17 +634,17 @@ public class MicroCParser extends Parser {
 					_localctx.t1 = _prevctx;
 					_localctx.t1 = _prevctx;
 					pushNewRecursionContext(_localctx, _startState, RULE_type);
-					setState(124);
+					setState(147);
 					if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-					setState(125);
-					match(T__3);
+					setState(148);
+					match(T__6);
 					((TypeContext)_localctx).t =  Scope.Type.pointerToType(((TypeContext)_localctx).t1.t);
 					}
 					} 
 				}
-				setState(131);
+				setState(154);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
 			}
 			}
 		}
@@ -578,24 +677,24 @@ public class MicroCParser extends Parser {
 
 	public final Base_typeContext base_type() throws RecognitionException {
 		Base_typeContext _localctx = new Base_typeContext(_ctx, getState());
-		enterRule(_localctx, 14, RULE_base_type);
+		enterRule(_localctx, 16, RULE_base_type);
 		try {
-			setState(136);
+			setState(159);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__4:
+			case T__7:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(132);
-				match(T__4);
+				setState(155);
+				match(T__7);
 				((Base_typeContext)_localctx).t =  new Scope.Type(Scope.InnerType.INT);
 				}
 				break;
-			case T__5:
+			case T__8:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(134);
-				match(T__5);
+				setState(157);
+				match(T__8);
 				((Base_typeContext)_localctx).t =  new Scope.Type(Scope.InnerType.FLOAT);
 				}
 				break;
@@ -636,25 +735,25 @@ public class MicroCParser extends Parser {
 
 	public final Func_typeContext func_type() throws RecognitionException {
 		Func_typeContext _localctx = new Func_typeContext(_ctx, getState());
-		enterRule(_localctx, 16, RULE_func_type);
+		enterRule(_localctx, 18, RULE_func_type);
 		try {
-			setState(143);
+			setState(166);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__4:
-			case T__5:
+			case T__7:
+			case T__8:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(138);
+				setState(161);
 				((Func_typeContext)_localctx).type = type(0);
 				((Func_typeContext)_localctx).t =  ((Func_typeContext)_localctx).type.t;
 				}
 				break;
-			case T__6:
+			case T__9:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(141);
-				match(T__6);
+				setState(164);
+				match(T__9);
 				((Func_typeContext)_localctx).t =  new Scope.Type(Scope.InnerType.VOID);
 				}
 				break;
@@ -702,21 +801,21 @@ public class MicroCParser extends Parser {
 
 	public final Func_declContext func_decl() throws RecognitionException {
 		Func_declContext _localctx = new Func_declContext(_ctx, getState());
-		enterRule(_localctx, 18, RULE_func_decl);
+		enterRule(_localctx, 20, RULE_func_decl);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(145);
+			setState(168);
 			((Func_declContext)_localctx).func_type = func_type();
-			setState(146);
+			setState(169);
 			((Func_declContext)_localctx).id = id();
-			setState(147);
-			match(T__7);
-			setState(148);
+			setState(170);
+			match(T__10);
+			setState(171);
 			((Func_declContext)_localctx).params = params();
-			setState(149);
-			match(T__8);
-			setState(150);
+			setState(172);
+			match(T__11);
+			setState(173);
 			match(T__0);
 			st.addFunction(((Func_declContext)_localctx).func_type.t, (((Func_declContext)_localctx).id!=null?_input.getText(((Func_declContext)_localctx).id.start,((Func_declContext)_localctx).id.stop):null), ((Func_declContext)_localctx).params.types);
 			}
@@ -758,19 +857,19 @@ public class MicroCParser extends Parser {
 
 	public final FunctionsContext functions() throws RecognitionException {
 		FunctionsContext _localctx = new FunctionsContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_functions);
+		enterRule(_localctx, 22, RULE_functions);
 		try {
-			setState(158);
+			setState(181);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__4:
-			case T__5:
-			case T__6:
+			case T__7:
+			case T__8:
+			case T__9:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(153);
+				setState(176);
 				((FunctionsContext)_localctx).function = function();
-				setState(154);
+				setState(177);
 				((FunctionsContext)_localctx).functions = functions();
 				((FunctionsContext)_localctx).node =  new FunctionListNode(((FunctionsContext)_localctx).function.node, ((FunctionsContext)_localctx).functions.node);
 				}
@@ -833,20 +932,20 @@ public class MicroCParser extends Parser {
 
 	public final FunctionContext function() throws RecognitionException {
 		FunctionContext _localctx = new FunctionContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_function);
+		enterRule(_localctx, 24, RULE_function);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(160);
+			setState(183);
 			((FunctionContext)_localctx).func_type = func_type();
-			setState(161);
+			setState(184);
 			((FunctionContext)_localctx).id = id();
-			setState(162);
-			match(T__7);
-			setState(163);
+			setState(185);
+			match(T__10);
+			setState(186);
 			((FunctionContext)_localctx).params = params();
-			setState(164);
-			match(T__8);
+			setState(187);
+			match(T__11);
 
 			           /* Add FunctionSymbolTable entry to global scope */
 			          FunctionSymbolTableEntry ste = (FunctionSymbolTableEntry) st.getSymbolTableEntry((((FunctionContext)_localctx).id!=null?_input.getText(((FunctionContext)_localctx).id.start,((FunctionContext)_localctx).id.stop):null));
@@ -860,14 +959,14 @@ public class MicroCParser extends Parser {
 			           st.pushScope((((FunctionContext)_localctx).id!=null?_input.getText(((FunctionContext)_localctx).id.start,((FunctionContext)_localctx).id.stop):null));
 			           addParams(((FunctionContext)_localctx).params.types, ((FunctionContext)_localctx).params.names);
 			      
-			setState(166);
-			match(T__9);
-			setState(167);
+			setState(189);
+			match(T__12);
+			setState(190);
 			var_decls();
-			setState(168);
+			setState(191);
 			((FunctionContext)_localctx).statements = statements();
-			setState(169);
-			match(T__10);
+			setState(192);
+			match(T__13);
 
 			          /* Create FunctionNode */
 			          LocalScope funcScope = (LocalScope) st.currentScope();
@@ -916,18 +1015,18 @@ public class MicroCParser extends Parser {
 
 	public final ParamsContext params() throws RecognitionException {
 		ParamsContext _localctx = new ParamsContext(_ctx, getState());
-		enterRule(_localctx, 24, RULE_params);
+		enterRule(_localctx, 26, RULE_params);
 		try {
-			setState(177);
+			setState(200);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__4:
-			case T__5:
+			case T__7:
+			case T__8:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(172);
+				setState(195);
 				((ParamsContext)_localctx).param = param();
-				setState(173);
+				setState(196);
 				((ParamsContext)_localctx).params_rest = params_rest();
 
 				               ((ParamsContext)_localctx).names =  new LinkedList<String>();
@@ -937,7 +1036,7 @@ public class MicroCParser extends Parser {
 				          
 				}
 				break;
-			case T__8:
+			case T__11:
 				enterOuterAlt(_localctx, 2);
 				{
 				((ParamsContext)_localctx).names =  new LinkedList<String>(); ((ParamsContext)_localctx).types =  new LinkedList<Scope.Type>();
@@ -985,19 +1084,19 @@ public class MicroCParser extends Parser {
 
 	public final Params_restContext params_rest() throws RecognitionException {
 		Params_restContext _localctx = new Params_restContext(_ctx, getState());
-		enterRule(_localctx, 26, RULE_params_rest);
+		enterRule(_localctx, 28, RULE_params_rest);
 		try {
-			setState(185);
+			setState(208);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__11:
+			case T__14:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(179);
-				match(T__11);
-				setState(180);
+				setState(202);
+				match(T__14);
+				setState(203);
 				((Params_restContext)_localctx).param = param();
-				setState(181);
+				setState(204);
 				((Params_restContext)_localctx).params_rest = params_rest();
 
 				               ((Params_restContext)_localctx).names =  new LinkedList<String>();
@@ -1007,7 +1106,7 @@ public class MicroCParser extends Parser {
 				          
 				}
 				break;
-			case T__8:
+			case T__11:
 				enterOuterAlt(_localctx, 2);
 				{
 				((Params_restContext)_localctx).names =  new LinkedList<String>(); ((Params_restContext)_localctx).types =  new LinkedList<Scope.Type>();
@@ -1055,13 +1154,13 @@ public class MicroCParser extends Parser {
 
 	public final ParamContext param() throws RecognitionException {
 		ParamContext _localctx = new ParamContext(_ctx, getState());
-		enterRule(_localctx, 28, RULE_param);
+		enterRule(_localctx, 30, RULE_param);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(187);
+			setState(210);
 			((ParamContext)_localctx).type = type(0);
-			setState(188);
+			setState(211);
 			((ParamContext)_localctx).id = id();
 			((ParamContext)_localctx).name =  (((ParamContext)_localctx).id!=null?_input.getText(((ParamContext)_localctx).id.start,((ParamContext)_localctx).id.stop):null); ((ParamContext)_localctx).param_type =  ((ParamContext)_localctx).type.t;
 			}
@@ -1103,30 +1202,30 @@ public class MicroCParser extends Parser {
 
 	public final StatementsContext statements() throws RecognitionException {
 		StatementsContext _localctx = new StatementsContext(_ctx, getState());
-		enterRule(_localctx, 30, RULE_statements);
+		enterRule(_localctx, 32, RULE_statements);
 		try {
-			setState(196);
+			setState(219);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__3:
-			case T__12:
-			case T__13:
-			case T__14:
+			case T__6:
 			case T__15:
+			case T__16:
 			case T__17:
-			case T__22:
+			case T__18:
+			case T__20:
 			case T__23:
+			case T__24:
 			case IDENTIFIER:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(191);
+				setState(214);
 				((StatementsContext)_localctx).statement = statement();
-				setState(192);
+				setState(215);
 				((StatementsContext)_localctx).s = statements();
 				((StatementsContext)_localctx).node =  new StatementListNode(((StatementsContext)_localctx).statement.node, ((StatementsContext)_localctx).s.node);
 				}
 				break;
-			case T__10:
+			case T__13:
 				enterOuterAlt(_localctx, 2);
 				{
 				((StatementsContext)_localctx).node =  new StatementListNode();
@@ -1177,39 +1276,39 @@ public class MicroCParser extends Parser {
 
 	public final StatementContext statement() throws RecognitionException {
 		StatementContext _localctx = new StatementContext(_ctx, getState());
-		enterRule(_localctx, 32, RULE_statement);
+		enterRule(_localctx, 34, RULE_statement);
 		try {
-			setState(208);
+			setState(231);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__3:
-			case T__12:
-			case T__13:
-			case T__14:
-			case T__22:
+			case T__6:
+			case T__15:
+			case T__16:
+			case T__17:
 			case T__23:
+			case T__24:
 			case IDENTIFIER:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(198);
+				setState(221);
 				((StatementContext)_localctx).base_stmt = base_stmt();
-				setState(199);
+				setState(222);
 				match(T__0);
 				((StatementContext)_localctx).node =  ((StatementContext)_localctx).base_stmt.node;
 				}
 				break;
-			case T__15:
+			case T__18:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(202);
+				setState(225);
 				((StatementContext)_localctx).if_stmt = if_stmt();
 				((StatementContext)_localctx).node =  ((StatementContext)_localctx).if_stmt.node;
 				}
 				break;
-			case T__17:
+			case T__20:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(205);
+				setState(228);
 				((StatementContext)_localctx).while_stmt = while_stmt();
 				((StatementContext)_localctx).node =  ((StatementContext)_localctx).while_stmt.node;
 				}
@@ -1267,15 +1366,15 @@ public class MicroCParser extends Parser {
 
 	public final Base_stmtContext base_stmt() throws RecognitionException {
 		Base_stmtContext _localctx = new Base_stmtContext(_ctx, getState());
-		enterRule(_localctx, 34, RULE_base_stmt);
+		enterRule(_localctx, 36, RULE_base_stmt);
 		try {
-			setState(225);
+			setState(248);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,10,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(210);
+				setState(233);
 				((Base_stmtContext)_localctx).assign_stmt = assign_stmt();
 				((Base_stmtContext)_localctx).node =  ((Base_stmtContext)_localctx).assign_stmt.node;
 				}
@@ -1283,7 +1382,7 @@ public class MicroCParser extends Parser {
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(213);
+				setState(236);
 				((Base_stmtContext)_localctx).read_stmt = read_stmt();
 				((Base_stmtContext)_localctx).node =  ((Base_stmtContext)_localctx).read_stmt.node;
 				}
@@ -1291,7 +1390,7 @@ public class MicroCParser extends Parser {
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(216);
+				setState(239);
 				((Base_stmtContext)_localctx).print_stmt = print_stmt();
 				((Base_stmtContext)_localctx).node =  ((Base_stmtContext)_localctx).print_stmt.node;
 				}
@@ -1299,7 +1398,7 @@ public class MicroCParser extends Parser {
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(219);
+				setState(242);
 				((Base_stmtContext)_localctx).return_stmt = return_stmt();
 				((Base_stmtContext)_localctx).node =  ((Base_stmtContext)_localctx).return_stmt.node;
 				}
@@ -1307,7 +1406,7 @@ public class MicroCParser extends Parser {
 			case 5:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(222);
+				setState(245);
 				((Base_stmtContext)_localctx).call_expr = call_expr();
 				((Base_stmtContext)_localctx).node =  ((Base_stmtContext)_localctx).call_expr.node;
 				}
@@ -1347,19 +1446,22 @@ public class MicroCParser extends Parser {
 
 	public final Read_stmtContext read_stmt() throws RecognitionException {
 		Read_stmtContext _localctx = new Read_stmtContext(_ctx, getState());
-		enterRule(_localctx, 36, RULE_read_stmt);
+		enterRule(_localctx, 38, RULE_read_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(227);
-			match(T__12);
-			setState(228);
-			match(T__7);
-			setState(229);
+			setState(250);
+			match(T__15);
+			setState(251);
+			match(T__10);
+			setState(252);
 			((Read_stmtContext)_localctx).id = id();
-			setState(230);
-			match(T__8);
-			((Read_stmtContext)_localctx).node =  new ReadNode(new VarNode((((Read_stmtContext)_localctx).id!=null?_input.getText(((Read_stmtContext)_localctx).id.start,((Read_stmtContext)_localctx).id.stop):null)));
+			setState(253);
+			match(T__11);
+
+			          if (st.isConstant((((Read_stmtContext)_localctx).id!=null?_input.getText(((Read_stmtContext)_localctx).id.start,((Read_stmtContext)_localctx).id.stop):null)) || st.isArray((((Read_stmtContext)_localctx).id!=null?_input.getText(((Read_stmtContext)_localctx).id.start,((Read_stmtContext)_localctx).id.stop):null))) throw new Error("Cannot read into " + (((Read_stmtContext)_localctx).id!=null?_input.getText(((Read_stmtContext)_localctx).id.start,((Read_stmtContext)_localctx).id.stop):null));
+			          ((Read_stmtContext)_localctx).node =  new ReadNode(new VarNode((((Read_stmtContext)_localctx).id!=null?_input.getText(((Read_stmtContext)_localctx).id.start,((Read_stmtContext)_localctx).id.stop):null)));
+			     
 			}
 		}
 		catch (RecognitionException re) {
@@ -1395,18 +1497,18 @@ public class MicroCParser extends Parser {
 
 	public final Print_stmtContext print_stmt() throws RecognitionException {
 		Print_stmtContext _localctx = new Print_stmtContext(_ctx, getState());
-		enterRule(_localctx, 38, RULE_print_stmt);
+		enterRule(_localctx, 40, RULE_print_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(233);
-			match(T__13);
-			setState(234);
-			match(T__7);
-			setState(235);
+			setState(256);
+			match(T__16);
+			setState(257);
+			match(T__10);
+			setState(258);
 			((Print_stmtContext)_localctx).expr = expr(0);
-			setState(236);
-			match(T__8);
+			setState(259);
+			match(T__11);
 			((Print_stmtContext)_localctx).node =  new WriteNode(((Print_stmtContext)_localctx).expr.node);
 			}
 		}
@@ -1443,17 +1545,17 @@ public class MicroCParser extends Parser {
 
 	public final Return_stmtContext return_stmt() throws RecognitionException {
 		Return_stmtContext _localctx = new Return_stmtContext(_ctx, getState());
-		enterRule(_localctx, 40, RULE_return_stmt);
+		enterRule(_localctx, 42, RULE_return_stmt);
 		try {
-			setState(245);
+			setState(268);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,11,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(239);
-				match(T__14);
-				setState(240);
+				setState(262);
+				match(T__17);
+				setState(263);
 				((Return_stmtContext)_localctx).expr = expr(0);
 				((Return_stmtContext)_localctx).node =  new ReturnNode(((Return_stmtContext)_localctx).expr.node, st.getFunctionSymbol(st.currentScope().getName()));
 				}
@@ -1461,8 +1563,8 @@ public class MicroCParser extends Parser {
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(243);
-				match(T__14);
+				setState(266);
+				match(T__17);
 				((Return_stmtContext)_localctx).node =  new ReturnNode(null, st.getFunctionSymbol(st.currentScope().getName()));
 				}
 				break;
@@ -1505,15 +1607,15 @@ public class MicroCParser extends Parser {
 
 	public final Assign_stmtContext assign_stmt() throws RecognitionException {
 		Assign_stmtContext _localctx = new Assign_stmtContext(_ctx, getState());
-		enterRule(_localctx, 42, RULE_assign_stmt);
+		enterRule(_localctx, 44, RULE_assign_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(247);
+			setState(270);
 			((Assign_stmtContext)_localctx).lhs = lhs();
-			setState(248);
-			match(T__2);
-			setState(249);
+			setState(271);
+			match(T__4);
+			setState(272);
 			((Assign_stmtContext)_localctx).expr = expr(0);
 			((Assign_stmtContext)_localctx).node =  new AssignNode(((Assign_stmtContext)_localctx).lhs.node, ((Assign_stmtContext)_localctx).expr.node);
 			}
@@ -1555,23 +1657,26 @@ public class MicroCParser extends Parser {
 
 	public final LhsContext lhs() throws RecognitionException {
 		LhsContext _localctx = new LhsContext(_ctx, getState());
-		enterRule(_localctx, 44, RULE_lhs);
+		enterRule(_localctx, 46, RULE_lhs);
 		try {
-			setState(258);
+			setState(281);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,13,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(252);
+				setState(275);
 				((LhsContext)_localctx).lval = lval();
-				((LhsContext)_localctx).node =  ((LhsContext)_localctx).lval.node;
+
+				               if (!(((LhsContext)_localctx).lval.node instanceof VarNode) && !(((LhsContext)_localctx).lval.node instanceof PtrDerefNode)) throw new Error("Cannot assign to " + (((LhsContext)_localctx).lval!=null?_input.getText(((LhsContext)_localctx).lval.start,((LhsContext)_localctx).lval.stop):null));
+				               ((LhsContext)_localctx).node =  ((LhsContext)_localctx).lval.node;
+				          
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(255);
+				setState(278);
 				((LhsContext)_localctx).array_expr = array_expr(0);
 				((LhsContext)_localctx).node =  ((LhsContext)_localctx).array_expr.node;
 				}
@@ -1619,25 +1724,25 @@ public class MicroCParser extends Parser {
 
 	public final If_stmtContext if_stmt() throws RecognitionException {
 		If_stmtContext _localctx = new If_stmtContext(_ctx, getState());
-		enterRule(_localctx, 46, RULE_if_stmt);
+		enterRule(_localctx, 48, RULE_if_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(260);
-			match(T__15);
-			setState(261);
-			match(T__7);
-			setState(262);
+			setState(283);
+			match(T__18);
+			setState(284);
+			match(T__10);
+			setState(285);
 			((If_stmtContext)_localctx).cond = cond();
-			setState(263);
-			match(T__8);
-			setState(264);
-			match(T__9);
-			setState(265);
+			setState(286);
+			match(T__11);
+			setState(287);
+			match(T__12);
+			setState(288);
 			((If_stmtContext)_localctx).statements = statements();
-			setState(266);
-			match(T__10);
-			setState(267);
+			setState(289);
+			match(T__13);
+			setState(290);
 			((If_stmtContext)_localctx).else_stmt = else_stmt();
 			((If_stmtContext)_localctx).node =  new IfStatementNode(((If_stmtContext)_localctx).cond.node,((If_stmtContext)_localctx).statements.node,((If_stmtContext)_localctx).else_stmt.node);
 			}
@@ -1675,34 +1780,34 @@ public class MicroCParser extends Parser {
 
 	public final Else_stmtContext else_stmt() throws RecognitionException {
 		Else_stmtContext _localctx = new Else_stmtContext(_ctx, getState());
-		enterRule(_localctx, 48, RULE_else_stmt);
+		enterRule(_localctx, 50, RULE_else_stmt);
 		try {
-			setState(277);
+			setState(300);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__16:
+			case T__19:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(270);
-				match(T__16);
-				setState(271);
-				match(T__9);
-				setState(272);
+				setState(293);
+				match(T__19);
+				setState(294);
+				match(T__12);
+				setState(295);
 				((Else_stmtContext)_localctx).statements = statements();
-				setState(273);
-				match(T__10);
+				setState(296);
+				match(T__13);
 				((Else_stmtContext)_localctx).node =  ((Else_stmtContext)_localctx).statements.node;
 				}
 				break;
-			case T__3:
-			case T__10:
-			case T__12:
+			case T__6:
 			case T__13:
-			case T__14:
 			case T__15:
+			case T__16:
 			case T__17:
-			case T__22:
+			case T__18:
+			case T__20:
 			case T__23:
+			case T__24:
 			case IDENTIFIER:
 				enterOuterAlt(_localctx, 2);
 				{
@@ -1750,24 +1855,24 @@ public class MicroCParser extends Parser {
 
 	public final While_stmtContext while_stmt() throws RecognitionException {
 		While_stmtContext _localctx = new While_stmtContext(_ctx, getState());
-		enterRule(_localctx, 50, RULE_while_stmt);
+		enterRule(_localctx, 52, RULE_while_stmt);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(279);
-			match(T__17);
-			setState(280);
-			match(T__7);
-			setState(281);
+			setState(302);
+			match(T__20);
+			setState(303);
+			match(T__10);
+			setState(304);
 			((While_stmtContext)_localctx).cond = cond();
-			setState(282);
-			match(T__8);
-			setState(283);
-			match(T__9);
-			setState(284);
+			setState(305);
+			match(T__11);
+			setState(306);
+			match(T__12);
+			setState(307);
 			((While_stmtContext)_localctx).statements = statements();
-			setState(285);
-			match(T__10);
+			setState(308);
+			match(T__13);
 			((While_stmtContext)_localctx).node =  new WhileNode(((While_stmtContext)_localctx).cond.node,((While_stmtContext)_localctx).statements.node);
 			}
 		}
@@ -1808,23 +1913,27 @@ public class MicroCParser extends Parser {
 
 	public final LvalContext lval() throws RecognitionException {
 		LvalContext _localctx = new LvalContext(_ctx, getState());
-		enterRule(_localctx, 52, RULE_lval);
+		enterRule(_localctx, 54, RULE_lval);
 		try {
-			setState(294);
+			setState(317);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
 			case IDENTIFIER:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(288);
+				setState(311);
 				((LvalContext)_localctx).id = id();
-				((LvalContext)_localctx).node =  new VarNode((((LvalContext)_localctx).id!=null?_input.getText(((LvalContext)_localctx).id.start,((LvalContext)_localctx).id.stop):null));
+
+				               if (st.isConstant((((LvalContext)_localctx).id!=null?_input.getText(((LvalContext)_localctx).id.start,((LvalContext)_localctx).id.stop):null))) ((LvalContext)_localctx).node =  st.getConstant((((LvalContext)_localctx).id!=null?_input.getText(((LvalContext)_localctx).id.start,((LvalContext)_localctx).id.stop):null));
+				               else if (st.isArray((((LvalContext)_localctx).id!=null?_input.getText(((LvalContext)_localctx).id.start,((LvalContext)_localctx).id.stop):null))) ((LvalContext)_localctx).node =  new AddrOfNode(new VarNode((((LvalContext)_localctx).id!=null?_input.getText(((LvalContext)_localctx).id.start,((LvalContext)_localctx).id.stop):null)));
+				               else ((LvalContext)_localctx).node =  new VarNode((((LvalContext)_localctx).id!=null?_input.getText(((LvalContext)_localctx).id.start,((LvalContext)_localctx).id.stop):null));
+				          
 				}
 				break;
-			case T__3:
+			case T__6:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(291);
+				setState(314);
 				((LvalContext)_localctx).ptr_expr = ptr_expr();
 				((LvalContext)_localctx).node =  ((LvalContext)_localctx).ptr_expr.node;
 				}
@@ -1894,15 +2003,15 @@ public class MicroCParser extends Parser {
 
 	public final PrimaryContext primary() throws RecognitionException {
 		PrimaryContext _localctx = new PrimaryContext(_ctx, getState());
-		enterRule(_localctx, 54, RULE_primary);
+		enterRule(_localctx, 56, RULE_primary);
 		try {
-			setState(323);
+			setState(346);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,15,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,16,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(296);
+				setState(319);
 				((PrimaryContext)_localctx).lval = lval();
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).lval.node;
 				}
@@ -1910,7 +2019,7 @@ public class MicroCParser extends Parser {
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(299);
+				setState(322);
 				((PrimaryContext)_localctx).addr_of_expr = addr_of_expr();
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).addr_of_expr.node;
 				}
@@ -1918,19 +2027,19 @@ public class MicroCParser extends Parser {
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(302);
-				match(T__7);
-				setState(303);
+				setState(325);
+				match(T__10);
+				setState(326);
 				((PrimaryContext)_localctx).expr = expr(0);
-				setState(304);
-				match(T__8);
+				setState(327);
+				match(T__11);
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).expr.node;
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(307);
+				setState(330);
 				((PrimaryContext)_localctx).unaryminus_expr = unaryminus_expr();
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).unaryminus_expr.node;
 				}
@@ -1938,7 +2047,7 @@ public class MicroCParser extends Parser {
 			case 5:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(310);
+				setState(333);
 				((PrimaryContext)_localctx).call_expr = call_expr();
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).call_expr.node;
 				}
@@ -1946,7 +2055,7 @@ public class MicroCParser extends Parser {
 			case 6:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(313);
+				setState(336);
 				((PrimaryContext)_localctx).array_expr = array_expr(0);
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).array_expr.node;
 				}
@@ -1954,7 +2063,7 @@ public class MicroCParser extends Parser {
 			case 7:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(316);
+				setState(339);
 				((PrimaryContext)_localctx).il = match(INT_LITERAL);
 				((PrimaryContext)_localctx).node =  new IntLitNode((((PrimaryContext)_localctx).il!=null?((PrimaryContext)_localctx).il.getText():null));
 				}
@@ -1962,7 +2071,7 @@ public class MicroCParser extends Parser {
 			case 8:
 				enterOuterAlt(_localctx, 8);
 				{
-				setState(318);
+				setState(341);
 				((PrimaryContext)_localctx).fl = match(FLOAT_LITERAL);
 				((PrimaryContext)_localctx).node =  new FloatLitNode((((PrimaryContext)_localctx).fl!=null?((PrimaryContext)_localctx).fl.getText():null));
 				}
@@ -1970,7 +2079,7 @@ public class MicroCParser extends Parser {
 			case 9:
 				enterOuterAlt(_localctx, 9);
 				{
-				setState(320);
+				setState(343);
 				((PrimaryContext)_localctx).cast_expr = cast_expr();
 				((PrimaryContext)_localctx).node =  ((PrimaryContext)_localctx).cast_expr.node;
 				}
@@ -2014,17 +2123,17 @@ public class MicroCParser extends Parser {
 
 	public final Cast_exprContext cast_expr() throws RecognitionException {
 		Cast_exprContext _localctx = new Cast_exprContext(_ctx, getState());
-		enterRule(_localctx, 56, RULE_cast_expr);
+		enterRule(_localctx, 58, RULE_cast_expr);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(325);
-			match(T__7);
-			setState(326);
+			setState(348);
+			match(T__10);
+			setState(349);
 			((Cast_exprContext)_localctx).type = type(0);
-			setState(327);
-			match(T__8);
-			setState(328);
+			setState(350);
+			match(T__11);
+			setState(351);
 			((Cast_exprContext)_localctx).expr = expr(0);
 			((Cast_exprContext)_localctx).node =  new CastNode(((Cast_exprContext)_localctx).expr.node, ((Cast_exprContext)_localctx).type.t);
 			}
@@ -2062,13 +2171,13 @@ public class MicroCParser extends Parser {
 
 	public final Unaryminus_exprContext unaryminus_expr() throws RecognitionException {
 		Unaryminus_exprContext _localctx = new Unaryminus_exprContext(_ctx, getState());
-		enterRule(_localctx, 58, RULE_unaryminus_expr);
+		enterRule(_localctx, 60, RULE_unaryminus_expr);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(331);
-			match(T__18);
-			setState(332);
+			setState(354);
+			match(T__21);
+			setState(355);
 			((Unaryminus_exprContext)_localctx).expr = expr(0);
 			((Unaryminus_exprContext)_localctx).node =  new UnaryOpNode(((Unaryminus_exprContext)_localctx).expr.node,"-");
 			}
@@ -2106,13 +2215,13 @@ public class MicroCParser extends Parser {
 
 	public final Ptr_exprContext ptr_expr() throws RecognitionException {
 		Ptr_exprContext _localctx = new Ptr_exprContext(_ctx, getState());
-		enterRule(_localctx, 60, RULE_ptr_expr);
+		enterRule(_localctx, 62, RULE_ptr_expr);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(335);
-			match(T__3);
-			setState(336);
+			setState(358);
+			match(T__6);
+			setState(359);
 			((Ptr_exprContext)_localctx).primary = primary();
 			((Ptr_exprContext)_localctx).node =  new PtrDerefNode(((Ptr_exprContext)_localctx).primary.node);
 			}
@@ -2154,17 +2263,17 @@ public class MicroCParser extends Parser {
 
 	public final Addr_of_exprContext addr_of_expr() throws RecognitionException {
 		Addr_of_exprContext _localctx = new Addr_of_exprContext(_ctx, getState());
-		enterRule(_localctx, 62, RULE_addr_of_expr);
+		enterRule(_localctx, 64, RULE_addr_of_expr);
 		try {
-			setState(347);
+			setState(370);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,16,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,17,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(339);
-				match(T__19);
-				setState(340);
+				setState(362);
+				match(T__22);
+				setState(363);
 				((Addr_of_exprContext)_localctx).lval = lval();
 				((Addr_of_exprContext)_localctx).node =  new AddrOfNode(((Addr_of_exprContext)_localctx).lval.node);
 				}
@@ -2172,9 +2281,9 @@ public class MicroCParser extends Parser {
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(343);
-				match(T__19);
-				setState(344);
+				setState(366);
+				match(T__22);
+				setState(367);
 				((Addr_of_exprContext)_localctx).array_expr = array_expr(0);
 				((Addr_of_exprContext)_localctx).node =  new AddrOfNode(((Addr_of_exprContext)_localctx).array_expr.node);
 				}
@@ -2229,27 +2338,27 @@ public class MicroCParser extends Parser {
 		int _parentState = getState();
 		Array_exprContext _localctx = new Array_exprContext(_ctx, _parentState);
 		Array_exprContext _prevctx = _localctx;
-		int _startState = 64;
-		enterRecursionRule(_localctx, 64, RULE_array_expr, _p);
+		int _startState = 66;
+		enterRecursionRule(_localctx, 66, RULE_array_expr, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
 			{
-			setState(350);
+			setState(373);
 			((Array_exprContext)_localctx).lval = lval();
-			setState(351);
-			match(T__20);
-			setState(352);
+			setState(374);
+			match(T__1);
+			setState(375);
 			((Array_exprContext)_localctx).expr = expr(0);
-			setState(353);
-			match(T__21);
+			setState(376);
+			match(T__2);
 			((Array_exprContext)_localctx).node = new PtrDerefNode(new BinaryOpNode(((Array_exprContext)_localctx).lval.node, new BinaryOpNode(((Array_exprContext)_localctx).expr.node, new IntLitNode("4"), "*"), "+"));
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(364);
+			setState(387);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,17,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,18,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
@@ -2260,21 +2369,21 @@ public class MicroCParser extends Parser {
 					_localctx.ae = _prevctx;
 					_localctx.ae = _prevctx;
 					pushNewRecursionContext(_localctx, _startState, RULE_array_expr);
-					setState(356);
+					setState(379);
 					if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-					setState(357);
-					match(T__20);
-					setState(358);
+					setState(380);
+					match(T__1);
+					setState(381);
 					((Array_exprContext)_localctx).expr = expr(0);
-					setState(359);
-					match(T__21);
+					setState(382);
+					match(T__2);
 					((Array_exprContext)_localctx).node =  new PtrDerefNode(new BinaryOpNode(((Array_exprContext)_localctx).ae.node,new BinaryOpNode(((Array_exprContext)_localctx).expr.node,new IntLitNode("4"),"*"),"+"));
 					}
 					} 
 				}
-				setState(366);
+				setState(389);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,17,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,18,_ctx);
 			}
 			}
 		}
@@ -2319,50 +2428,50 @@ public class MicroCParser extends Parser {
 
 	public final Call_exprContext call_expr() throws RecognitionException {
 		Call_exprContext _localctx = new Call_exprContext(_ctx, getState());
-		enterRule(_localctx, 66, RULE_call_expr);
+		enterRule(_localctx, 68, RULE_call_expr);
 		try {
-			setState(385);
+			setState(408);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__22:
+			case T__23:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(367);
-				match(T__22);
-				setState(368);
-				match(T__7);
-				setState(369);
+				setState(390);
+				match(T__23);
+				setState(391);
+				match(T__10);
+				setState(392);
 				((Call_exprContext)_localctx).expr = expr(0);
-				setState(370);
-				match(T__8);
+				setState(393);
+				match(T__11);
 				((Call_exprContext)_localctx).node =  new MallocNode(((Call_exprContext)_localctx).expr.node);
 				}
 				break;
-			case T__23:
+			case T__24:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(373);
-				match(T__23);
-				setState(374);
-				match(T__7);
-				setState(375);
+				setState(396);
+				match(T__24);
+				setState(397);
+				match(T__10);
+				setState(398);
 				((Call_exprContext)_localctx).expr = expr(0);
-				setState(376);
-				match(T__8);
+				setState(399);
+				match(T__11);
 				((Call_exprContext)_localctx).node =  new FreeNode(((Call_exprContext)_localctx).expr.node);
 				}
 				break;
 			case IDENTIFIER:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(379);
+				setState(402);
 				((Call_exprContext)_localctx).id = id();
-				setState(380);
-				match(T__7);
-				setState(381);
+				setState(403);
+				match(T__10);
+				setState(404);
 				((Call_exprContext)_localctx).arg_list = arg_list();
-				setState(382);
-				match(T__8);
+				setState(405);
+				match(T__11);
 				((Call_exprContext)_localctx).node =  new CallNode((((Call_exprContext)_localctx).id!=null?_input.getText(((Call_exprContext)_localctx).id.start,((Call_exprContext)_localctx).id.stop):null), ((Call_exprContext)_localctx).arg_list.args);
 				}
 				break;
@@ -2407,30 +2516,30 @@ public class MicroCParser extends Parser {
 
 	public final Arg_listContext arg_list() throws RecognitionException {
 		Arg_listContext _localctx = new Arg_listContext(_ctx, getState());
-		enterRule(_localctx, 68, RULE_arg_list);
+		enterRule(_localctx, 70, RULE_arg_list);
 		try {
-			setState(392);
+			setState(415);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__3:
-			case T__7:
-			case T__18:
-			case T__19:
+			case T__6:
+			case T__10:
+			case T__21:
 			case T__22:
 			case T__23:
+			case T__24:
 			case IDENTIFIER:
 			case INT_LITERAL:
 			case FLOAT_LITERAL:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(387);
+				setState(410);
 				((Arg_listContext)_localctx).expr = expr(0);
-				setState(388);
+				setState(411);
 				((Arg_listContext)_localctx).args_rest = args_rest();
 				((Arg_listContext)_localctx).args =  new LinkedList<ExpressionNode>(); _localctx.args.add(((Arg_listContext)_localctx).expr.node); _localctx.args.addAll(((Arg_listContext)_localctx).args_rest.args);
 				}
 				break;
-			case T__8:
+			case T__11:
 				enterOuterAlt(_localctx, 2);
 				{
 				((Arg_listContext)_localctx).args =  new LinkedList<ExpressionNode>();
@@ -2477,24 +2586,24 @@ public class MicroCParser extends Parser {
 
 	public final Args_restContext args_rest() throws RecognitionException {
 		Args_restContext _localctx = new Args_restContext(_ctx, getState());
-		enterRule(_localctx, 70, RULE_args_rest);
+		enterRule(_localctx, 72, RULE_args_rest);
 		try {
-			setState(400);
+			setState(423);
 			_errHandler.sync(this);
 			switch (_input.LA(1)) {
-			case T__11:
+			case T__14:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(394);
-				match(T__11);
-				setState(395);
+				setState(417);
+				match(T__14);
+				setState(418);
 				((Args_restContext)_localctx).expr = expr(0);
-				setState(396);
+				setState(419);
 				((Args_restContext)_localctx).args_rest = args_rest();
 				((Args_restContext)_localctx).args =  new LinkedList<ExpressionNode>(); _localctx.args.add(((Args_restContext)_localctx).expr.node); _localctx.args.addAll(((Args_restContext)_localctx).args_rest.args);
 				}
 				break;
-			case T__8:
+			case T__11:
 				enterOuterAlt(_localctx, 2);
 				{
 				((Args_restContext)_localctx).args =  new LinkedList<ExpressionNode>();
@@ -2552,21 +2661,21 @@ public class MicroCParser extends Parser {
 		int _parentState = getState();
 		ExprContext _localctx = new ExprContext(_ctx, _parentState);
 		ExprContext _prevctx = _localctx;
-		int _startState = 72;
-		enterRecursionRule(_localctx, 72, RULE_expr, _p);
+		int _startState = 74;
+		enterRecursionRule(_localctx, 74, RULE_expr, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
 			{
-			setState(403);
+			setState(426);
 			((ExprContext)_localctx).term = term(0);
 			((ExprContext)_localctx).node =  ((ExprContext)_localctx).term.node;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(413);
+			setState(436);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,21,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,22,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
@@ -2577,19 +2686,19 @@ public class MicroCParser extends Parser {
 					_localctx.e1 = _prevctx;
 					_localctx.e1 = _prevctx;
 					pushNewRecursionContext(_localctx, _startState, RULE_expr);
-					setState(406);
+					setState(429);
 					if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-					setState(407);
+					setState(430);
 					((ExprContext)_localctx).addop = addop();
-					setState(408);
+					setState(431);
 					((ExprContext)_localctx).term = term(0);
 					((ExprContext)_localctx).node =  new BinaryOpNode(((ExprContext)_localctx).e1.node,((ExprContext)_localctx).term.node,(((ExprContext)_localctx).addop!=null?_input.getText(((ExprContext)_localctx).addop.start,((ExprContext)_localctx).addop.stop):null));
 					}
 					} 
 				}
-				setState(415);
+				setState(438);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,21,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,22,_ctx);
 			}
 			}
 		}
@@ -2641,21 +2750,21 @@ public class MicroCParser extends Parser {
 		int _parentState = getState();
 		TermContext _localctx = new TermContext(_ctx, _parentState);
 		TermContext _prevctx = _localctx;
-		int _startState = 74;
-		enterRecursionRule(_localctx, 74, RULE_term, _p);
+		int _startState = 76;
+		enterRecursionRule(_localctx, 76, RULE_term, _p);
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
 			{
-			setState(417);
+			setState(440);
 			((TermContext)_localctx).primary = primary();
 			((TermContext)_localctx).node =  ((TermContext)_localctx).primary.node;
 			}
 			_ctx.stop = _input.LT(-1);
-			setState(427);
+			setState(450);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,22,_ctx);
+			_alt = getInterpreter().adaptivePredict(_input,23,_ctx);
 			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					if ( _parseListeners!=null ) triggerExitRuleEvent();
@@ -2666,19 +2775,19 @@ public class MicroCParser extends Parser {
 					_localctx.t1 = _prevctx;
 					_localctx.t1 = _prevctx;
 					pushNewRecursionContext(_localctx, _startState, RULE_term);
-					setState(420);
+					setState(443);
 					if (!(precpred(_ctx, 1))) throw new FailedPredicateException(this, "precpred(_ctx, 1)");
-					setState(421);
+					setState(444);
 					((TermContext)_localctx).mulop = mulop();
-					setState(422);
+					setState(445);
 					((TermContext)_localctx).primary = primary();
 					((TermContext)_localctx).node =  new BinaryOpNode(((TermContext)_localctx).t1.node,((TermContext)_localctx).primary.node,(((TermContext)_localctx).mulop!=null?_input.getText(((TermContext)_localctx).mulop.start,((TermContext)_localctx).mulop.stop):null));
 					}
 					} 
 				}
-				setState(429);
+				setState(452);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,22,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,23,_ctx);
 			}
 			}
 		}
@@ -2723,15 +2832,15 @@ public class MicroCParser extends Parser {
 
 	public final CondContext cond() throws RecognitionException {
 		CondContext _localctx = new CondContext(_ctx, getState());
-		enterRule(_localctx, 76, RULE_cond);
+		enterRule(_localctx, 78, RULE_cond);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(430);
+			setState(453);
 			((CondContext)_localctx).e1 = expr(0);
-			setState(431);
+			setState(454);
 			((CondContext)_localctx).cmpop = cmpop();
-			setState(432);
+			setState(455);
 			((CondContext)_localctx).e2 = expr(0);
 			((CondContext)_localctx).node =  new CondNode(((CondContext)_localctx).e1.node,((CondContext)_localctx).e2.node,(((CondContext)_localctx).cmpop!=null?_input.getText(((CondContext)_localctx).cmpop.start,((CondContext)_localctx).cmpop.stop):null));
 			}
@@ -2764,14 +2873,14 @@ public class MicroCParser extends Parser {
 
 	public final CmpopContext cmpop() throws RecognitionException {
 		CmpopContext _localctx = new CmpopContext(_ctx, getState());
-		enterRule(_localctx, 78, RULE_cmpop);
+		enterRule(_localctx, 80, RULE_cmpop);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(435);
+			setState(458);
 			_la = _input.LA(1);
-			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__24) | (1L << T__25) | (1L << T__26) | (1L << T__27) | (1L << T__28) | (1L << T__29))) != 0)) ) {
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__25) | (1L << T__26) | (1L << T__27) | (1L << T__28) | (1L << T__29) | (1L << T__30))) != 0)) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -2809,14 +2918,14 @@ public class MicroCParser extends Parser {
 
 	public final MulopContext mulop() throws RecognitionException {
 		MulopContext _localctx = new MulopContext(_ctx, getState());
-		enterRule(_localctx, 80, RULE_mulop);
+		enterRule(_localctx, 82, RULE_mulop);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(437);
+			setState(460);
 			_la = _input.LA(1);
-			if ( !(_la==T__3 || _la==T__30) ) {
+			if ( !(_la==T__6 || _la==T__31) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -2854,14 +2963,14 @@ public class MicroCParser extends Parser {
 
 	public final AddopContext addop() throws RecognitionException {
 		AddopContext _localctx = new AddopContext(_ctx, getState());
-		enterRule(_localctx, 82, RULE_addop);
+		enterRule(_localctx, 84, RULE_addop);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(439);
+			setState(462);
 			_la = _input.LA(1);
-			if ( !(_la==T__18 || _la==T__31) ) {
+			if ( !(_la==T__21 || _la==T__32) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -2884,13 +2993,13 @@ public class MicroCParser extends Parser {
 
 	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
 		switch (ruleIndex) {
-		case 6:
+		case 7:
 			return type_sempred((TypeContext)_localctx, predIndex);
-		case 32:
+		case 33:
 			return array_expr_sempred((Array_exprContext)_localctx, predIndex);
-		case 36:
-			return expr_sempred((ExprContext)_localctx, predIndex);
 		case 37:
+			return expr_sempred((ExprContext)_localctx, predIndex);
+		case 38:
 			return term_sempred((TermContext)_localctx, predIndex);
 		}
 		return true;
@@ -2925,153 +3034,161 @@ public class MicroCParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3(\u01bc\4\2\t\2\4"+
+		"\3\u608b\ua72a\u8133\ub9ed\u417c\u3be7\u7786\u5964\3)\u01d3\4\2\t\2\4"+
 		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
 		"\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
 		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
 		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
-		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\3"+
-		"\2\3\2\3\2\3\2\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\5\3e\n\3\3\4\3"+
-		"\4\3\4\3\4\5\4k\n\4\3\5\3\5\3\6\3\6\3\6\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3"+
-		"\7\3\7\3\b\3\b\3\b\3\b\3\b\3\b\3\b\7\b\u0082\n\b\f\b\16\b\u0085\13\b\3"+
-		"\t\3\t\3\t\3\t\5\t\u008b\n\t\3\n\3\n\3\n\3\n\3\n\5\n\u0092\n\n\3\13\3"+
-		"\13\3\13\3\13\3\13\3\13\3\13\3\13\3\f\3\f\3\f\3\f\3\f\5\f\u00a1\n\f\3"+
-		"\r\3\r\3\r\3\r\3\r\3\r\3\r\3\r\3\r\3\r\3\r\3\r\3\16\3\16\3\16\3\16\3\16"+
-		"\5\16\u00b4\n\16\3\17\3\17\3\17\3\17\3\17\3\17\5\17\u00bc\n\17\3\20\3"+
-		"\20\3\20\3\20\3\21\3\21\3\21\3\21\3\21\5\21\u00c7\n\21\3\22\3\22\3\22"+
-		"\3\22\3\22\3\22\3\22\3\22\3\22\3\22\5\22\u00d3\n\22\3\23\3\23\3\23\3\23"+
-		"\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\5\23\u00e4\n\23"+
-		"\3\24\3\24\3\24\3\24\3\24\3\24\3\25\3\25\3\25\3\25\3\25\3\25\3\26\3\26"+
-		"\3\26\3\26\3\26\3\26\5\26\u00f8\n\26\3\27\3\27\3\27\3\27\3\27\3\30\3\30"+
-		"\3\30\3\30\3\30\3\30\5\30\u0105\n\30\3\31\3\31\3\31\3\31\3\31\3\31\3\31"+
-		"\3\31\3\31\3\31\3\32\3\32\3\32\3\32\3\32\3\32\3\32\5\32\u0118\n\32\3\33"+
-		"\3\33\3\33\3\33\3\33\3\33\3\33\3\33\3\33\3\34\3\34\3\34\3\34\3\34\3\34"+
-		"\5\34\u0129\n\34\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35"+
-		"\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35\3\35"+
-		"\3\35\3\35\5\35\u0146\n\35\3\36\3\36\3\36\3\36\3\36\3\36\3\37\3\37\3\37"+
-		"\3\37\3 \3 \3 \3 \3!\3!\3!\3!\3!\3!\3!\3!\5!\u015e\n!\3\"\3\"\3\"\3\""+
-		"\3\"\3\"\3\"\3\"\3\"\3\"\3\"\3\"\3\"\7\"\u016d\n\"\f\"\16\"\u0170\13\""+
-		"\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\5#\u0184\n#\3$"+
-		"\3$\3$\3$\3$\5$\u018b\n$\3%\3%\3%\3%\3%\3%\5%\u0193\n%\3&\3&\3&\3&\3&"+
-		"\3&\3&\3&\3&\7&\u019e\n&\f&\16&\u01a1\13&\3\'\3\'\3\'\3\'\3\'\3\'\3\'"+
-		"\3\'\3\'\7\'\u01ac\n\'\f\'\16\'\u01af\13\'\3(\3(\3(\3(\3(\3)\3)\3*\3*"+
-		"\3+\3+\3+\2\6\16BJL,\2\4\6\b\n\f\16\20\22\24\26\30\32\34\36 \"$&(*,.\60"+
-		"\62\64\668:<>@BDFHJLNPRT\2\5\3\2\33 \4\2\6\6!!\4\2\25\25\"\"\2\u01b6\2"+
-		"V\3\2\2\2\4d\3\2\2\2\6j\3\2\2\2\bl\3\2\2\2\nn\3\2\2\2\fs\3\2\2\2\16z\3"+
-		"\2\2\2\20\u008a\3\2\2\2\22\u0091\3\2\2\2\24\u0093\3\2\2\2\26\u00a0\3\2"+
-		"\2\2\30\u00a2\3\2\2\2\32\u00b3\3\2\2\2\34\u00bb\3\2\2\2\36\u00bd\3\2\2"+
-		"\2 \u00c6\3\2\2\2\"\u00d2\3\2\2\2$\u00e3\3\2\2\2&\u00e5\3\2\2\2(\u00eb"+
-		"\3\2\2\2*\u00f7\3\2\2\2,\u00f9\3\2\2\2.\u0104\3\2\2\2\60\u0106\3\2\2\2"+
-		"\62\u0117\3\2\2\2\64\u0119\3\2\2\2\66\u0128\3\2\2\28\u0145\3\2\2\2:\u0147"+
-		"\3\2\2\2<\u014d\3\2\2\2>\u0151\3\2\2\2@\u015d\3\2\2\2B\u015f\3\2\2\2D"+
-		"\u0183\3\2\2\2F\u018a\3\2\2\2H\u0192\3\2\2\2J\u0194\3\2\2\2L\u01a2\3\2"+
-		"\2\2N\u01b0\3\2\2\2P\u01b5\3\2\2\2R\u01b7\3\2\2\2T\u01b9\3\2\2\2VW\5\4"+
-		"\3\2WX\5\26\f\2XY\b\2\1\2Y\3\3\2\2\2Z[\5\n\6\2[\\\5\4\3\2\\e\3\2\2\2]"+
-		"^\5\f\7\2^_\5\4\3\2_e\3\2\2\2`a\5\24\13\2ab\5\4\3\2be\3\2\2\2ce\3\2\2"+
-		"\2dZ\3\2\2\2d]\3\2\2\2d`\3\2\2\2dc\3\2\2\2e\5\3\2\2\2fg\5\n\6\2gh\5\6"+
-		"\4\2hk\3\2\2\2ik\3\2\2\2jf\3\2\2\2ji\3\2\2\2k\7\3\2\2\2lm\7#\2\2m\t\3"+
-		"\2\2\2no\5\16\b\2op\5\b\5\2pq\7\3\2\2qr\b\6\1\2r\13\3\2\2\2st\7\4\2\2"+
-		"tu\5\b\5\2uv\7\5\2\2vw\7&\2\2wx\7\3\2\2xy\b\7\1\2y\r\3\2\2\2z{\b\b\1\2"+
-		"{|\5\20\t\2|}\b\b\1\2}\u0083\3\2\2\2~\177\f\3\2\2\177\u0080\7\6\2\2\u0080"+
-		"\u0082\b\b\1\2\u0081~\3\2\2\2\u0082\u0085\3\2\2\2\u0083\u0081\3\2\2\2"+
-		"\u0083\u0084\3\2\2\2\u0084\17\3\2\2\2\u0085\u0083\3\2\2\2\u0086\u0087"+
-		"\7\7\2\2\u0087\u008b\b\t\1\2\u0088\u0089\7\b\2\2\u0089\u008b\b\t\1\2\u008a"+
-		"\u0086\3\2\2\2\u008a\u0088\3\2\2\2\u008b\21\3\2\2\2\u008c\u008d\5\16\b"+
-		"\2\u008d\u008e\b\n\1\2\u008e\u0092\3\2\2\2\u008f\u0090\7\t\2\2\u0090\u0092"+
-		"\b\n\1\2\u0091\u008c\3\2\2\2\u0091\u008f\3\2\2\2\u0092\23\3\2\2\2\u0093"+
-		"\u0094\5\22\n\2\u0094\u0095\5\b\5\2\u0095\u0096\7\n\2\2\u0096\u0097\5"+
-		"\32\16\2\u0097\u0098\7\13\2\2\u0098\u0099\7\3\2\2\u0099\u009a\b\13\1\2"+
-		"\u009a\25\3\2\2\2\u009b\u009c\5\30\r\2\u009c\u009d\5\26\f\2\u009d\u009e"+
-		"\b\f\1\2\u009e\u00a1\3\2\2\2\u009f\u00a1\b\f\1\2\u00a0\u009b\3\2\2\2\u00a0"+
-		"\u009f\3\2\2\2\u00a1\27\3\2\2\2\u00a2\u00a3\5\22\n\2\u00a3\u00a4\5\b\5"+
-		"\2\u00a4\u00a5\7\n\2\2\u00a5\u00a6\5\32\16\2\u00a6\u00a7\7\13\2\2\u00a7"+
-		"\u00a8\b\r\1\2\u00a8\u00a9\7\f\2\2\u00a9\u00aa\5\6\4\2\u00aa\u00ab\5 "+
-		"\21\2\u00ab\u00ac\7\r\2\2\u00ac\u00ad\b\r\1\2\u00ad\31\3\2\2\2\u00ae\u00af"+
-		"\5\36\20\2\u00af\u00b0\5\34\17\2\u00b0\u00b1\b\16\1\2\u00b1\u00b4\3\2"+
-		"\2\2\u00b2\u00b4\b\16\1\2\u00b3\u00ae\3\2\2\2\u00b3\u00b2\3\2\2\2\u00b4"+
-		"\33\3\2\2\2\u00b5\u00b6\7\16\2\2\u00b6\u00b7\5\36\20\2\u00b7\u00b8\5\34"+
-		"\17\2\u00b8\u00b9\b\17\1\2\u00b9\u00bc\3\2\2\2\u00ba\u00bc\b\17\1\2\u00bb"+
-		"\u00b5\3\2\2\2\u00bb\u00ba\3\2\2\2\u00bc\35\3\2\2\2\u00bd\u00be\5\16\b"+
-		"\2\u00be\u00bf\5\b\5\2\u00bf\u00c0\b\20\1\2\u00c0\37\3\2\2\2\u00c1\u00c2"+
-		"\5\"\22\2\u00c2\u00c3\5 \21\2\u00c3\u00c4\b\21\1\2\u00c4\u00c7\3\2\2\2"+
-		"\u00c5\u00c7\b\21\1\2\u00c6\u00c1\3\2\2\2\u00c6\u00c5\3\2\2\2\u00c7!\3"+
-		"\2\2\2\u00c8\u00c9\5$\23\2\u00c9\u00ca\7\3\2\2\u00ca\u00cb\b\22\1\2\u00cb"+
-		"\u00d3\3\2\2\2\u00cc\u00cd\5\60\31\2\u00cd\u00ce\b\22\1\2\u00ce\u00d3"+
-		"\3\2\2\2\u00cf\u00d0\5\64\33\2\u00d0\u00d1\b\22\1\2\u00d1\u00d3\3\2\2"+
-		"\2\u00d2\u00c8\3\2\2\2\u00d2\u00cc\3\2\2\2\u00d2\u00cf\3\2\2\2\u00d3#"+
-		"\3\2\2\2\u00d4\u00d5\5,\27\2\u00d5\u00d6\b\23\1\2\u00d6\u00e4\3\2\2\2"+
-		"\u00d7\u00d8\5&\24\2\u00d8\u00d9\b\23\1\2\u00d9\u00e4\3\2\2\2\u00da\u00db"+
-		"\5(\25\2\u00db\u00dc\b\23\1\2\u00dc\u00e4\3\2\2\2\u00dd\u00de\5*\26\2"+
-		"\u00de\u00df\b\23\1\2\u00df\u00e4\3\2\2\2\u00e0\u00e1\5D#\2\u00e1\u00e2"+
-		"\b\23\1\2\u00e2\u00e4\3\2\2\2\u00e3\u00d4\3\2\2\2\u00e3\u00d7\3\2\2\2"+
-		"\u00e3\u00da\3\2\2\2\u00e3\u00dd\3\2\2\2\u00e3\u00e0\3\2\2\2\u00e4%\3"+
-		"\2\2\2\u00e5\u00e6\7\17\2\2\u00e6\u00e7\7\n\2\2\u00e7\u00e8\5\b\5\2\u00e8"+
-		"\u00e9\7\13\2\2\u00e9\u00ea\b\24\1\2\u00ea\'\3\2\2\2\u00eb\u00ec\7\20"+
-		"\2\2\u00ec\u00ed\7\n\2\2\u00ed\u00ee\5J&\2\u00ee\u00ef\7\13\2\2\u00ef"+
-		"\u00f0\b\25\1\2\u00f0)\3\2\2\2\u00f1\u00f2\7\21\2\2\u00f2\u00f3\5J&\2"+
-		"\u00f3\u00f4\b\26\1\2\u00f4\u00f8\3\2\2\2\u00f5\u00f6\7\21\2\2\u00f6\u00f8"+
-		"\b\26\1\2\u00f7\u00f1\3\2\2\2\u00f7\u00f5\3\2\2\2\u00f8+\3\2\2\2\u00f9"+
-		"\u00fa\5.\30\2\u00fa\u00fb\7\5\2\2\u00fb\u00fc\5J&\2\u00fc\u00fd\b\27"+
-		"\1\2\u00fd-\3\2\2\2\u00fe\u00ff\5\66\34\2\u00ff\u0100\b\30\1\2\u0100\u0105"+
-		"\3\2\2\2\u0101\u0102\5B\"\2\u0102\u0103\b\30\1\2\u0103\u0105\3\2\2\2\u0104"+
-		"\u00fe\3\2\2\2\u0104\u0101\3\2\2\2\u0105/\3\2\2\2\u0106\u0107\7\22\2\2"+
-		"\u0107\u0108\7\n\2\2\u0108\u0109\5N(\2\u0109\u010a\7\13\2\2\u010a\u010b"+
-		"\7\f\2\2\u010b\u010c\5 \21\2\u010c\u010d\7\r\2\2\u010d\u010e\5\62\32\2"+
-		"\u010e\u010f\b\31\1\2\u010f\61\3\2\2\2\u0110\u0111\7\23\2\2\u0111\u0112"+
-		"\7\f\2\2\u0112\u0113\5 \21\2\u0113\u0114\7\r\2\2\u0114\u0115\b\32\1\2"+
-		"\u0115\u0118\3\2\2\2\u0116\u0118\b\32\1\2\u0117\u0110\3\2\2\2\u0117\u0116"+
-		"\3\2\2\2\u0118\63\3\2\2\2\u0119\u011a\7\24\2\2\u011a\u011b\7\n\2\2\u011b"+
-		"\u011c\5N(\2\u011c\u011d\7\13\2\2\u011d\u011e\7\f\2\2\u011e\u011f\5 \21"+
-		"\2\u011f\u0120\7\r\2\2\u0120\u0121\b\33\1\2\u0121\65\3\2\2\2\u0122\u0123"+
-		"\5\b\5\2\u0123\u0124\b\34\1\2\u0124\u0129\3\2\2\2\u0125\u0126\5> \2\u0126"+
-		"\u0127\b\34\1\2\u0127\u0129\3\2\2\2\u0128\u0122\3\2\2\2\u0128\u0125\3"+
-		"\2\2\2\u0129\67\3\2\2\2\u012a\u012b\5\66\34\2\u012b\u012c\b\35\1\2\u012c"+
-		"\u0146\3\2\2\2\u012d\u012e\5@!\2\u012e\u012f\b\35\1\2\u012f\u0146\3\2"+
-		"\2\2\u0130\u0131\7\n\2\2\u0131\u0132\5J&\2\u0132\u0133\7\13\2\2\u0133"+
-		"\u0134\b\35\1\2\u0134\u0146\3\2\2\2\u0135\u0136\5<\37\2\u0136\u0137\b"+
-		"\35\1\2\u0137\u0146\3\2\2\2\u0138\u0139\5D#\2\u0139\u013a\b\35\1\2\u013a"+
-		"\u0146\3\2\2\2\u013b\u013c\5B\"\2\u013c\u013d\b\35\1\2\u013d\u0146\3\2"+
-		"\2\2\u013e\u013f\7$\2\2\u013f\u0146\b\35\1\2\u0140\u0141\7%\2\2\u0141"+
-		"\u0146\b\35\1\2\u0142\u0143\5:\36\2\u0143\u0144\b\35\1\2\u0144\u0146\3"+
-		"\2\2\2\u0145\u012a\3\2\2\2\u0145\u012d\3\2\2\2\u0145\u0130\3\2\2\2\u0145"+
-		"\u0135\3\2\2\2\u0145\u0138\3\2\2\2\u0145\u013b\3\2\2\2\u0145\u013e\3\2"+
-		"\2\2\u0145\u0140\3\2\2\2\u0145\u0142\3\2\2\2\u01469\3\2\2\2\u0147\u0148"+
-		"\7\n\2\2\u0148\u0149\5\16\b\2\u0149\u014a\7\13\2\2\u014a\u014b\5J&\2\u014b"+
-		"\u014c\b\36\1\2\u014c;\3\2\2\2\u014d\u014e\7\25\2\2\u014e\u014f\5J&\2"+
-		"\u014f\u0150\b\37\1\2\u0150=\3\2\2\2\u0151\u0152\7\6\2\2\u0152\u0153\5"+
-		"8\35\2\u0153\u0154\b \1\2\u0154?\3\2\2\2\u0155\u0156\7\26\2\2\u0156\u0157"+
-		"\5\66\34\2\u0157\u0158\b!\1\2\u0158\u015e\3\2\2\2\u0159\u015a\7\26\2\2"+
-		"\u015a\u015b\5B\"\2\u015b\u015c\b!\1\2\u015c\u015e\3\2\2\2\u015d\u0155"+
-		"\3\2\2\2\u015d\u0159\3\2\2\2\u015eA\3\2\2\2\u015f\u0160\b\"\1\2\u0160"+
-		"\u0161\5\66\34\2\u0161\u0162\7\27\2\2\u0162\u0163\5J&\2\u0163\u0164\7"+
-		"\30\2\2\u0164\u0165\b\"\1\2\u0165\u016e\3\2\2\2\u0166\u0167\f\3\2\2\u0167"+
-		"\u0168\7\27\2\2\u0168\u0169\5J&\2\u0169\u016a\7\30\2\2\u016a\u016b\b\""+
-		"\1\2\u016b\u016d\3\2\2\2\u016c\u0166\3\2\2\2\u016d\u0170\3\2\2\2\u016e"+
-		"\u016c\3\2\2\2\u016e\u016f\3\2\2\2\u016fC\3\2\2\2\u0170\u016e\3\2\2\2"+
-		"\u0171\u0172\7\31\2\2\u0172\u0173\7\n\2\2\u0173\u0174\5J&\2\u0174\u0175"+
-		"\7\13\2\2\u0175\u0176\b#\1\2\u0176\u0184\3\2\2\2\u0177\u0178\7\32\2\2"+
-		"\u0178\u0179\7\n\2\2\u0179\u017a\5J&\2\u017a\u017b\7\13\2\2\u017b\u017c"+
-		"\b#\1\2\u017c\u0184\3\2\2\2\u017d\u017e\5\b\5\2\u017e\u017f\7\n\2\2\u017f"+
-		"\u0180\5F$\2\u0180\u0181\7\13\2\2\u0181\u0182\b#\1\2\u0182\u0184\3\2\2"+
-		"\2\u0183\u0171\3\2\2\2\u0183\u0177\3\2\2\2\u0183\u017d\3\2\2\2\u0184E"+
-		"\3\2\2\2\u0185\u0186\5J&\2\u0186\u0187\5H%\2\u0187\u0188\b$\1\2\u0188"+
-		"\u018b\3\2\2\2\u0189\u018b\b$\1\2\u018a\u0185\3\2\2\2\u018a\u0189\3\2"+
-		"\2\2\u018bG\3\2\2\2\u018c\u018d\7\16\2\2\u018d\u018e\5J&\2\u018e\u018f"+
-		"\5H%\2\u018f\u0190\b%\1\2\u0190\u0193\3\2\2\2\u0191\u0193\b%\1\2\u0192"+
-		"\u018c\3\2\2\2\u0192\u0191\3\2\2\2\u0193I\3\2\2\2\u0194\u0195\b&\1\2\u0195"+
-		"\u0196\5L\'\2\u0196\u0197\b&\1\2\u0197\u019f\3\2\2\2\u0198\u0199\f\3\2"+
-		"\2\u0199\u019a\5T+\2\u019a\u019b\5L\'\2\u019b\u019c\b&\1\2\u019c\u019e"+
-		"\3\2\2\2\u019d\u0198\3\2\2\2\u019e\u01a1\3\2\2\2\u019f\u019d\3\2\2\2\u019f"+
-		"\u01a0\3\2\2\2\u01a0K\3\2\2\2\u01a1\u019f\3\2\2\2\u01a2\u01a3\b\'\1\2"+
-		"\u01a3\u01a4\58\35\2\u01a4\u01a5\b\'\1\2\u01a5\u01ad\3\2\2\2\u01a6\u01a7"+
-		"\f\3\2\2\u01a7\u01a8\5R*\2\u01a8\u01a9\58\35\2\u01a9\u01aa\b\'\1\2\u01aa"+
-		"\u01ac\3\2\2\2\u01ab\u01a6\3\2\2\2\u01ac\u01af\3\2\2\2\u01ad\u01ab\3\2"+
-		"\2\2\u01ad\u01ae\3\2\2\2\u01aeM\3\2\2\2\u01af\u01ad\3\2\2\2\u01b0\u01b1"+
-		"\5J&\2\u01b1\u01b2\5P)\2\u01b2\u01b3\5J&\2\u01b3\u01b4\b(\1\2\u01b4O\3"+
-		"\2\2\2\u01b5\u01b6\t\2\2\2\u01b6Q\3\2\2\2\u01b7\u01b8\t\3\2\2\u01b8S\3"+
-		"\2\2\2\u01b9\u01ba\t\4\2\2\u01baU\3\2\2\2\31dj\u0083\u008a\u0091\u00a0"+
-		"\u00b3\u00bb\u00c6\u00d2\u00e3\u00f7\u0104\u0117\u0128\u0145\u015d\u016e"+
-		"\u0183\u018a\u0192\u019f\u01ad";
+		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\4"+
+		",\t,\3\2\3\2\3\2\3\2\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3"+
+		"\3\5\3j\n\3\3\4\3\4\3\4\3\4\5\4p\n\4\3\5\3\5\3\6\3\6\3\6\3\6\3\6\3\6\3"+
+		"\6\3\6\3\6\3\6\3\6\3\6\3\6\5\6\u0081\n\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3"+
+		"\7\3\b\3\b\3\b\3\b\3\b\3\b\3\b\3\t\3\t\3\t\3\t\3\t\3\t\3\t\7\t\u0099\n"+
+		"\t\f\t\16\t\u009c\13\t\3\n\3\n\3\n\3\n\5\n\u00a2\n\n\3\13\3\13\3\13\3"+
+		"\13\3\13\5\13\u00a9\n\13\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\f\3\r\3\r\3\r\3"+
+		"\r\3\r\5\r\u00b8\n\r\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16\3\16"+
+		"\3\16\3\16\3\17\3\17\3\17\3\17\3\17\5\17\u00cb\n\17\3\20\3\20\3\20\3\20"+
+		"\3\20\3\20\5\20\u00d3\n\20\3\21\3\21\3\21\3\21\3\22\3\22\3\22\3\22\3\22"+
+		"\5\22\u00de\n\22\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\3\23\5\23"+
+		"\u00ea\n\23\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\24"+
+		"\3\24\3\24\3\24\5\24\u00fb\n\24\3\25\3\25\3\25\3\25\3\25\3\25\3\26\3\26"+
+		"\3\26\3\26\3\26\3\26\3\27\3\27\3\27\3\27\3\27\3\27\5\27\u010f\n\27\3\30"+
+		"\3\30\3\30\3\30\3\30\3\31\3\31\3\31\3\31\3\31\3\31\5\31\u011c\n\31\3\32"+
+		"\3\32\3\32\3\32\3\32\3\32\3\32\3\32\3\32\3\32\3\33\3\33\3\33\3\33\3\33"+
+		"\3\33\3\33\5\33\u012f\n\33\3\34\3\34\3\34\3\34\3\34\3\34\3\34\3\34\3\34"+
+		"\3\35\3\35\3\35\3\35\3\35\3\35\5\35\u0140\n\35\3\36\3\36\3\36\3\36\3\36"+
+		"\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36"+
+		"\3\36\3\36\3\36\3\36\3\36\3\36\3\36\3\36\5\36\u015d\n\36\3\37\3\37\3\37"+
+		"\3\37\3\37\3\37\3 \3 \3 \3 \3!\3!\3!\3!\3\"\3\"\3\"\3\"\3\"\3\"\3\"\3"+
+		"\"\5\"\u0175\n\"\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\3#\7#\u0184\n#\f"+
+		"#\16#\u0187\13#\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$\3$"+
+		"\5$\u019b\n$\3%\3%\3%\3%\3%\5%\u01a2\n%\3&\3&\3&\3&\3&\3&\5&\u01aa\n&"+
+		"\3\'\3\'\3\'\3\'\3\'\3\'\3\'\3\'\3\'\7\'\u01b5\n\'\f\'\16\'\u01b8\13\'"+
+		"\3(\3(\3(\3(\3(\3(\3(\3(\3(\7(\u01c3\n(\f(\16(\u01c6\13(\3)\3)\3)\3)\3"+
+		")\3*\3*\3+\3+\3,\3,\3,\2\6\20DLN-\2\4\6\b\n\f\16\20\22\24\26\30\32\34"+
+		"\36 \"$&(*,.\60\62\64\668:<>@BDFHJLNPRTV\2\5\3\2\34!\4\2\t\t\"\"\4\2\30"+
+		"\30##\2\u01ce\2X\3\2\2\2\4i\3\2\2\2\6o\3\2\2\2\bq\3\2\2\2\n\u0080\3\2"+
+		"\2\2\f\u0082\3\2\2\2\16\u008a\3\2\2\2\20\u0091\3\2\2\2\22\u00a1\3\2\2"+
+		"\2\24\u00a8\3\2\2\2\26\u00aa\3\2\2\2\30\u00b7\3\2\2\2\32\u00b9\3\2\2\2"+
+		"\34\u00ca\3\2\2\2\36\u00d2\3\2\2\2 \u00d4\3\2\2\2\"\u00dd\3\2\2\2$\u00e9"+
+		"\3\2\2\2&\u00fa\3\2\2\2(\u00fc\3\2\2\2*\u0102\3\2\2\2,\u010e\3\2\2\2."+
+		"\u0110\3\2\2\2\60\u011b\3\2\2\2\62\u011d\3\2\2\2\64\u012e\3\2\2\2\66\u0130"+
+		"\3\2\2\28\u013f\3\2\2\2:\u015c\3\2\2\2<\u015e\3\2\2\2>\u0164\3\2\2\2@"+
+		"\u0168\3\2\2\2B\u0174\3\2\2\2D\u0176\3\2\2\2F\u019a\3\2\2\2H\u01a1\3\2"+
+		"\2\2J\u01a9\3\2\2\2L\u01ab\3\2\2\2N\u01b9\3\2\2\2P\u01c7\3\2\2\2R\u01cc"+
+		"\3\2\2\2T\u01ce\3\2\2\2V\u01d0\3\2\2\2XY\5\4\3\2YZ\5\30\r\2Z[\b\2\1\2"+
+		"[\3\3\2\2\2\\]\5\n\6\2]^\5\4\3\2^j\3\2\2\2_`\5\16\b\2`a\5\4\3\2aj\3\2"+
+		"\2\2bc\5\f\7\2cd\5\4\3\2dj\3\2\2\2ef\5\26\f\2fg\5\4\3\2gj\3\2\2\2hj\3"+
+		"\2\2\2i\\\3\2\2\2i_\3\2\2\2ib\3\2\2\2ie\3\2\2\2ih\3\2\2\2j\5\3\2\2\2k"+
+		"l\5\n\6\2lm\5\6\4\2mp\3\2\2\2np\3\2\2\2ok\3\2\2\2on\3\2\2\2p\7\3\2\2\2"+
+		"qr\7$\2\2r\t\3\2\2\2st\5\20\t\2tu\5\b\5\2uv\7\3\2\2vw\b\6\1\2w\u0081\3"+
+		"\2\2\2xy\5\20\t\2yz\5\b\5\2z{\7\4\2\2{|\5L\'\2|}\7\5\2\2}~\7\3\2\2~\177"+
+		"\b\6\1\2\177\u0081\3\2\2\2\u0080s\3\2\2\2\u0080x\3\2\2\2\u0081\13\3\2"+
+		"\2\2\u0082\u0083\7\6\2\2\u0083\u0084\5\20\t\2\u0084\u0085\5\b\5\2\u0085"+
+		"\u0086\7\7\2\2\u0086\u0087\5L\'\2\u0087\u0088\7\3\2\2\u0088\u0089\b\7"+
+		"\1\2\u0089\r\3\2\2\2\u008a\u008b\7\b\2\2\u008b\u008c\5\b\5\2\u008c\u008d"+
+		"\7\7\2\2\u008d\u008e\7\'\2\2\u008e\u008f\7\3\2\2\u008f\u0090\b\b\1\2\u0090"+
+		"\17\3\2\2\2\u0091\u0092\b\t\1\2\u0092\u0093\5\22\n\2\u0093\u0094\b\t\1"+
+		"\2\u0094\u009a\3\2\2\2\u0095\u0096\f\3\2\2\u0096\u0097\7\t\2\2\u0097\u0099"+
+		"\b\t\1\2\u0098\u0095\3\2\2\2\u0099\u009c\3\2\2\2\u009a\u0098\3\2\2\2\u009a"+
+		"\u009b\3\2\2\2\u009b\21\3\2\2\2\u009c\u009a\3\2\2\2\u009d\u009e\7\n\2"+
+		"\2\u009e\u00a2\b\n\1\2\u009f\u00a0\7\13\2\2\u00a0\u00a2\b\n\1\2\u00a1"+
+		"\u009d\3\2\2\2\u00a1\u009f\3\2\2\2\u00a2\23\3\2\2\2\u00a3\u00a4\5\20\t"+
+		"\2\u00a4\u00a5\b\13\1\2\u00a5\u00a9\3\2\2\2\u00a6\u00a7\7\f\2\2\u00a7"+
+		"\u00a9\b\13\1\2\u00a8\u00a3\3\2\2\2\u00a8\u00a6\3\2\2\2\u00a9\25\3\2\2"+
+		"\2\u00aa\u00ab\5\24\13\2\u00ab\u00ac\5\b\5\2\u00ac\u00ad\7\r\2\2\u00ad"+
+		"\u00ae\5\34\17\2\u00ae\u00af\7\16\2\2\u00af\u00b0\7\3\2\2\u00b0\u00b1"+
+		"\b\f\1\2\u00b1\27\3\2\2\2\u00b2\u00b3\5\32\16\2\u00b3\u00b4\5\30\r\2\u00b4"+
+		"\u00b5\b\r\1\2\u00b5\u00b8\3\2\2\2\u00b6\u00b8\b\r\1\2\u00b7\u00b2\3\2"+
+		"\2\2\u00b7\u00b6\3\2\2\2\u00b8\31\3\2\2\2\u00b9\u00ba\5\24\13\2\u00ba"+
+		"\u00bb\5\b\5\2\u00bb\u00bc\7\r\2\2\u00bc\u00bd\5\34\17\2\u00bd\u00be\7"+
+		"\16\2\2\u00be\u00bf\b\16\1\2\u00bf\u00c0\7\17\2\2\u00c0\u00c1\5\6\4\2"+
+		"\u00c1\u00c2\5\"\22\2\u00c2\u00c3\7\20\2\2\u00c3\u00c4\b\16\1\2\u00c4"+
+		"\33\3\2\2\2\u00c5\u00c6\5 \21\2\u00c6\u00c7\5\36\20\2\u00c7\u00c8\b\17"+
+		"\1\2\u00c8\u00cb\3\2\2\2\u00c9\u00cb\b\17\1\2\u00ca\u00c5\3\2\2\2\u00ca"+
+		"\u00c9\3\2\2\2\u00cb\35\3\2\2\2\u00cc\u00cd\7\21\2\2\u00cd\u00ce\5 \21"+
+		"\2\u00ce\u00cf\5\36\20\2\u00cf\u00d0\b\20\1\2\u00d0\u00d3\3\2\2\2\u00d1"+
+		"\u00d3\b\20\1\2\u00d2\u00cc\3\2\2\2\u00d2\u00d1\3\2\2\2\u00d3\37\3\2\2"+
+		"\2\u00d4\u00d5\5\20\t\2\u00d5\u00d6\5\b\5\2\u00d6\u00d7\b\21\1\2\u00d7"+
+		"!\3\2\2\2\u00d8\u00d9\5$\23\2\u00d9\u00da\5\"\22\2\u00da\u00db\b\22\1"+
+		"\2\u00db\u00de\3\2\2\2\u00dc\u00de\b\22\1\2\u00dd\u00d8\3\2\2\2\u00dd"+
+		"\u00dc\3\2\2\2\u00de#\3\2\2\2\u00df\u00e0\5&\24\2\u00e0\u00e1\7\3\2\2"+
+		"\u00e1\u00e2\b\23\1\2\u00e2\u00ea\3\2\2\2\u00e3\u00e4\5\62\32\2\u00e4"+
+		"\u00e5\b\23\1\2\u00e5\u00ea\3\2\2\2\u00e6\u00e7\5\66\34\2\u00e7\u00e8"+
+		"\b\23\1\2\u00e8\u00ea\3\2\2\2\u00e9\u00df\3\2\2\2\u00e9\u00e3\3\2\2\2"+
+		"\u00e9\u00e6\3\2\2\2\u00ea%\3\2\2\2\u00eb\u00ec\5.\30\2\u00ec\u00ed\b"+
+		"\24\1\2\u00ed\u00fb\3\2\2\2\u00ee\u00ef\5(\25\2\u00ef\u00f0\b\24\1\2\u00f0"+
+		"\u00fb\3\2\2\2\u00f1\u00f2\5*\26\2\u00f2\u00f3\b\24\1\2\u00f3\u00fb\3"+
+		"\2\2\2\u00f4\u00f5\5,\27\2\u00f5\u00f6\b\24\1\2\u00f6\u00fb\3\2\2\2\u00f7"+
+		"\u00f8\5F$\2\u00f8\u00f9\b\24\1\2\u00f9\u00fb\3\2\2\2\u00fa\u00eb\3\2"+
+		"\2\2\u00fa\u00ee\3\2\2\2\u00fa\u00f1\3\2\2\2\u00fa\u00f4\3\2\2\2\u00fa"+
+		"\u00f7\3\2\2\2\u00fb\'\3\2\2\2\u00fc\u00fd\7\22\2\2\u00fd\u00fe\7\r\2"+
+		"\2\u00fe\u00ff\5\b\5\2\u00ff\u0100\7\16\2\2\u0100\u0101\b\25\1\2\u0101"+
+		")\3\2\2\2\u0102\u0103\7\23\2\2\u0103\u0104\7\r\2\2\u0104\u0105\5L\'\2"+
+		"\u0105\u0106\7\16\2\2\u0106\u0107\b\26\1\2\u0107+\3\2\2\2\u0108\u0109"+
+		"\7\24\2\2\u0109\u010a\5L\'\2\u010a\u010b\b\27\1\2\u010b\u010f\3\2\2\2"+
+		"\u010c\u010d\7\24\2\2\u010d\u010f\b\27\1\2\u010e\u0108\3\2\2\2\u010e\u010c"+
+		"\3\2\2\2\u010f-\3\2\2\2\u0110\u0111\5\60\31\2\u0111\u0112\7\7\2\2\u0112"+
+		"\u0113\5L\'\2\u0113\u0114\b\30\1\2\u0114/\3\2\2\2\u0115\u0116\58\35\2"+
+		"\u0116\u0117\b\31\1\2\u0117\u011c\3\2\2\2\u0118\u0119\5D#\2\u0119\u011a"+
+		"\b\31\1\2\u011a\u011c\3\2\2\2\u011b\u0115\3\2\2\2\u011b\u0118\3\2\2\2"+
+		"\u011c\61\3\2\2\2\u011d\u011e\7\25\2\2\u011e\u011f\7\r\2\2\u011f\u0120"+
+		"\5P)\2\u0120\u0121\7\16\2\2\u0121\u0122\7\17\2\2\u0122\u0123\5\"\22\2"+
+		"\u0123\u0124\7\20\2\2\u0124\u0125\5\64\33\2\u0125\u0126\b\32\1\2\u0126"+
+		"\63\3\2\2\2\u0127\u0128\7\26\2\2\u0128\u0129\7\17\2\2\u0129\u012a\5\""+
+		"\22\2\u012a\u012b\7\20\2\2\u012b\u012c\b\33\1\2\u012c\u012f\3\2\2\2\u012d"+
+		"\u012f\b\33\1\2\u012e\u0127\3\2\2\2\u012e\u012d\3\2\2\2\u012f\65\3\2\2"+
+		"\2\u0130\u0131\7\27\2\2\u0131\u0132\7\r\2\2\u0132\u0133\5P)\2\u0133\u0134"+
+		"\7\16\2\2\u0134\u0135\7\17\2\2\u0135\u0136\5\"\22\2\u0136\u0137\7\20\2"+
+		"\2\u0137\u0138\b\34\1\2\u0138\67\3\2\2\2\u0139\u013a\5\b\5\2\u013a\u013b"+
+		"\b\35\1\2\u013b\u0140\3\2\2\2\u013c\u013d\5@!\2\u013d\u013e\b\35\1\2\u013e"+
+		"\u0140\3\2\2\2\u013f\u0139\3\2\2\2\u013f\u013c\3\2\2\2\u01409\3\2\2\2"+
+		"\u0141\u0142\58\35\2\u0142\u0143\b\36\1\2\u0143\u015d\3\2\2\2\u0144\u0145"+
+		"\5B\"\2\u0145\u0146\b\36\1\2\u0146\u015d\3\2\2\2\u0147\u0148\7\r\2\2\u0148"+
+		"\u0149\5L\'\2\u0149\u014a\7\16\2\2\u014a\u014b\b\36\1\2\u014b\u015d\3"+
+		"\2\2\2\u014c\u014d\5> \2\u014d\u014e\b\36\1\2\u014e\u015d\3\2\2\2\u014f"+
+		"\u0150\5F$\2\u0150\u0151\b\36\1\2\u0151\u015d\3\2\2\2\u0152\u0153\5D#"+
+		"\2\u0153\u0154\b\36\1\2\u0154\u015d\3\2\2\2\u0155\u0156\7%\2\2\u0156\u015d"+
+		"\b\36\1\2\u0157\u0158\7&\2\2\u0158\u015d\b\36\1\2\u0159\u015a\5<\37\2"+
+		"\u015a\u015b\b\36\1\2\u015b\u015d\3\2\2\2\u015c\u0141\3\2\2\2\u015c\u0144"+
+		"\3\2\2\2\u015c\u0147\3\2\2\2\u015c\u014c\3\2\2\2\u015c\u014f\3\2\2\2\u015c"+
+		"\u0152\3\2\2\2\u015c\u0155\3\2\2\2\u015c\u0157\3\2\2\2\u015c\u0159\3\2"+
+		"\2\2\u015d;\3\2\2\2\u015e\u015f\7\r\2\2\u015f\u0160\5\20\t\2\u0160\u0161"+
+		"\7\16\2\2\u0161\u0162\5L\'\2\u0162\u0163\b\37\1\2\u0163=\3\2\2\2\u0164"+
+		"\u0165\7\30\2\2\u0165\u0166\5L\'\2\u0166\u0167\b \1\2\u0167?\3\2\2\2\u0168"+
+		"\u0169\7\t\2\2\u0169\u016a\5:\36\2\u016a\u016b\b!\1\2\u016bA\3\2\2\2\u016c"+
+		"\u016d\7\31\2\2\u016d\u016e\58\35\2\u016e\u016f\b\"\1\2\u016f\u0175\3"+
+		"\2\2\2\u0170\u0171\7\31\2\2\u0171\u0172\5D#\2\u0172\u0173\b\"\1\2\u0173"+
+		"\u0175\3\2\2\2\u0174\u016c\3\2\2\2\u0174\u0170\3\2\2\2\u0175C\3\2\2\2"+
+		"\u0176\u0177\b#\1\2\u0177\u0178\58\35\2\u0178\u0179\7\4\2\2\u0179\u017a"+
+		"\5L\'\2\u017a\u017b\7\5\2\2\u017b\u017c\b#\1\2\u017c\u0185\3\2\2\2\u017d"+
+		"\u017e\f\3\2\2\u017e\u017f\7\4\2\2\u017f\u0180\5L\'\2\u0180\u0181\7\5"+
+		"\2\2\u0181\u0182\b#\1\2\u0182\u0184\3\2\2\2\u0183\u017d\3\2\2\2\u0184"+
+		"\u0187\3\2\2\2\u0185\u0183\3\2\2\2\u0185\u0186\3\2\2\2\u0186E\3\2\2\2"+
+		"\u0187\u0185\3\2\2\2\u0188\u0189\7\32\2\2\u0189\u018a\7\r\2\2\u018a\u018b"+
+		"\5L\'\2\u018b\u018c\7\16\2\2\u018c\u018d\b$\1\2\u018d\u019b\3\2\2\2\u018e"+
+		"\u018f\7\33\2\2\u018f\u0190\7\r\2\2\u0190\u0191\5L\'\2\u0191\u0192\7\16"+
+		"\2\2\u0192\u0193\b$\1\2\u0193\u019b\3\2\2\2\u0194\u0195\5\b\5\2\u0195"+
+		"\u0196\7\r\2\2\u0196\u0197\5H%\2\u0197\u0198\7\16\2\2\u0198\u0199\b$\1"+
+		"\2\u0199\u019b\3\2\2\2\u019a\u0188\3\2\2\2\u019a\u018e\3\2\2\2\u019a\u0194"+
+		"\3\2\2\2\u019bG\3\2\2\2\u019c\u019d\5L\'\2\u019d\u019e\5J&\2\u019e\u019f"+
+		"\b%\1\2\u019f\u01a2\3\2\2\2\u01a0\u01a2\b%\1\2\u01a1\u019c\3\2\2\2\u01a1"+
+		"\u01a0\3\2\2\2\u01a2I\3\2\2\2\u01a3\u01a4\7\21\2\2\u01a4\u01a5\5L\'\2"+
+		"\u01a5\u01a6\5J&\2\u01a6\u01a7\b&\1\2\u01a7\u01aa\3\2\2\2\u01a8\u01aa"+
+		"\b&\1\2\u01a9\u01a3\3\2\2\2\u01a9\u01a8\3\2\2\2\u01aaK\3\2\2\2\u01ab\u01ac"+
+		"\b\'\1\2\u01ac\u01ad\5N(\2\u01ad\u01ae\b\'\1\2\u01ae\u01b6\3\2\2\2\u01af"+
+		"\u01b0\f\3\2\2\u01b0\u01b1\5V,\2\u01b1\u01b2\5N(\2\u01b2\u01b3\b\'\1\2"+
+		"\u01b3\u01b5\3\2\2\2\u01b4\u01af\3\2\2\2\u01b5\u01b8\3\2\2\2\u01b6\u01b4"+
+		"\3\2\2\2\u01b6\u01b7\3\2\2\2\u01b7M\3\2\2\2\u01b8\u01b6\3\2\2\2\u01b9"+
+		"\u01ba\b(\1\2\u01ba\u01bb\5:\36\2\u01bb\u01bc\b(\1\2\u01bc\u01c4\3\2\2"+
+		"\2\u01bd\u01be\f\3\2\2\u01be\u01bf\5T+\2\u01bf\u01c0\5:\36\2\u01c0\u01c1"+
+		"\b(\1\2\u01c1\u01c3\3\2\2\2\u01c2\u01bd\3\2\2\2\u01c3\u01c6\3\2\2\2\u01c4"+
+		"\u01c2\3\2\2\2\u01c4\u01c5\3\2\2\2\u01c5O\3\2\2\2\u01c6\u01c4\3\2\2\2"+
+		"\u01c7\u01c8\5L\'\2\u01c8\u01c9\5R*\2\u01c9\u01ca\5L\'\2\u01ca\u01cb\b"+
+		")\1\2\u01cbQ\3\2\2\2\u01cc\u01cd\t\2\2\2\u01cdS\3\2\2\2\u01ce\u01cf\t"+
+		"\3\2\2\u01cfU\3\2\2\2\u01d0\u01d1\t\4\2\2\u01d1W\3\2\2\2\32io\u0080\u009a"+
+		"\u00a1\u00a8\u00b7\u00ca\u00d2\u00dd\u00e9\u00fa\u010e\u011b\u012e\u013f"+
+		"\u015c\u0174\u0185\u019a\u01a1\u01a9\u01b6\u01c4";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -40,6 +40,7 @@ program : decls functions {ast = $functions.node;};
 /* Declarations */
 decls : var_decl decls
       | str_decl decls
+      | const_decl decls
       | func_decl decls
 	 | /* empty */ ;
 
@@ -49,7 +50,11 @@ var_decls : var_decl var_decls
 /* Identifiers and types */		  
 id : IDENTIFIER ;
 		  
-var_decl : type id ';' {st.addVariable($type.t, $id.text);};
+var_decl : type id ';' {st.addVariable($type.t, $id.text);}
+         | type id '[' len=expr ']' ';' {st.addArray($type.t, $id.text, st.evaluateInt($len.node));};
+
+/* Constants are replaced by their values wherever they are used */
+const_decl : 'const' type id '=' expr ';' {st.addConstant($type.t, $id.text, $expr.node);};
 
 str_decl : 'string' id '=' val= STR_LITERAL ';' {st.addVariable(new Scope.Type(Scope.InnerType.STRING), $id.text, $val.text);};
 
@@ -127,7 +132,11 @@ base_stmt returns [StatementNode node] : assign_stmt {$node = $assign_stmt.node;
 		| return_stmt {$node = $return_stmt.node;}
           | call_expr {$node = $call_expr.node;};
 		 
-read_stmt returns [ReadNode node] : 'read' '(' id ')' {$node = new ReadNode(new VarNode($id.text));} ;
+read_stmt returns [ReadNode node] : 'read' '(' id ')'
+     {
+          if (st.isConstant($id.text) || st.isArray($id.text)) throw new Error("Cannot read into " + $id.text);
+          $node = new ReadNode(new VarNode($id.text));
+     };
 
 print_stmt returns [WriteNode node] : 'print' '(' expr ')' {$node = new WriteNode($expr.node);};
 
@@ -136,7 +145,11 @@ return_stmt returns [ReturnNode node] : 'return' expr {$node = new ReturnNode($e
 
 assign_stmt returns [AssignNode node] : lhs '=' expr {$node = new AssignNode($lhs.node, $expr.node);};
 
-lhs returns [ExpressionNode node] : lval {$node = $lval.node;}
+lhs returns [ExpressionNode node] : lval
+          {
+               if (!($lval.node instanceof VarNode) && !($lval.node instanceof PtrDerefNode)) throw new Error("Cannot assign to " + $lval.text);
+               $node = $lval.node;
+          }
                                   | array_expr {$node = $array_expr.node;};
 
 /* if_stmt rules go here */
@@ -155,7 +168,13 @@ while_stmt returns [WhileNode node] : 'while' '(' cond ')' '{' statements '}'  {
 	 
 /* Expressions */
 
-lval returns [ExpressionNode node] : id {$node = new VarNode($id.text);}
+/* A constant stands for its value, and an array name for the address of its first element */
+lval returns [ExpressionNode node] : id
+          {
+               if (st.isConstant($id.text)) $node = st.getConstant($id.text);
+               else if (st.isArray($id.text)) $node = new AddrOfNode(new VarNode($id.text));
+               else $node = new VarNode($id.text);
+          }
         | ptr_expr {$node = $ptr_expr.node;};
 
 primary returns [ExpressionNode node] : lval {$node = $lval.node;}
@@ -0,0 +1,90 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.InstructionBranch;
+import assembly.instructions.Label;
+
+/**
+ * A basic block: a straight-line sequence of instructions that may start with a
+ * label and may end with a branch, jump or return.
+ */
+public class BasicBlock {
+
+	int id;
+	List<Instruction> code;
+	List<BasicBlock> successors;
+	List<BasicBlock> predecessors;
+
+	BasicBlock(int id) {
+		this.id = id;
+		code = new ArrayList<Instruction>();
+		successors = new LinkedList<BasicBlock>();
+		predecessors = new LinkedList<BasicBlock>();
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public List<Instruction> getCode() {
+		return code;
+	}
+
+	public List<BasicBlock> getSuccessors() {
+		return successors;
+	}
+
+	public List<BasicBlock> getPredecessors() {
+		return predecessors;
+	}
+
+	/**
+	 * @return the label at the start of the block, or null
+	 */
+	public String getLabel() {
+		if (!code.isEmpty() && code.get(0) instanceof Label) {
+			return code.get(0).getLabel();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the branch, jump or return ending the block, or null if the block
+	 *         falls through to the next one
+	 */
+	public Instruction getTerminator() {
+		if (code.isEmpty()) return null;
+		Instruction last = code.get(code.size() - 1);
+		return isTerminator(last) ? last : null;
+	}
+
+	/**
+	 * @return true if control can continue into the next block in layout order
+	 */
+	public boolean fallsThrough() {
+		Instruction t = getTerminator();
+		return t == null || t instanceof InstructionBranch;
+	}
+
+	/**
+	 * Index where new instructions can be added at the end of the block (before
+	 * its terminator, if any)
+	 */
+	public int getInsertionPoint() {
+		return (getTerminator() == null) ? code.size() : code.size() - 1;
+	}
+
+	static boolean isTerminator(Instruction i) {
+		return i instanceof InstructionBranch || i.getOC() == OpCode.J || i.getOC() == OpCode.RET;
+	}
+
+	public String toString() {
+		return "B" + id;
+	}
+
+}
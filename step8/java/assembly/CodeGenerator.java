@@ -1,6 +1,9 @@
 package assembly;
 
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import compiler.Scope.InnerType;
 import compiler.Scope.SymbolTableEntry;
@@ -8,6 +11,8 @@ import ast.visitor.AbstractASTVisitor;
 
 import ast.*;
 import assembly.instructions.*;
+import compiler.LocalScope;
+import compiler.PassManager;
 import compiler.Scope;
 
 public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
@@ -22,13 +27,33 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 	int outLabel;
 
 	String currFunc;
+
+	//label at the end of each inlined call body, where its exits jump to
+	Map<InlinedCallNode, String> inlineOutLabels;
+
+	//tail calls are only safe if no pointer into the current frame can outlive it
+	//(and only made if the pass manager asks for them)
+	boolean tailCallsAllowed;
+	int tailLabel;
+	//sibling tail calls in the current function: {label of the exit sequence, callee}
+	List<String[]> siblingTailCalls;
+
+	//optimization passes run over each function's body
+	PassManager passManager;
 	
 	public CodeGenerator() {
+		this(new PassManager());
+	}
+
+	public CodeGenerator(PassManager passManager) {
+		this.passManager = passManager;
 		loopLabel = 0;
 		elseLabel = 0;
 		outLabel = 0;
 		intRegCount = 0;		
 		floatRegCount = 0;
+		inlineOutLabels = new IdentityHashMap<InlinedCallNode, String>();
+		tailLabel = 0;
 	}
 
 	public int getIntRegCount() {
@@ -300,8 +325,6 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 		// Handle the scenario where the left operand has a temporary variable associated
 		if (left.temp != null) {
 			Instruction assr = null;
-			// Add all the code from the right operand to the CodeObject
-			co.code.addAll(right.code);
 
 			// Based on the type of the left operand, create the appropriate store instruction
 			if (leftType != Scope.InnerType.FLOAT) {
@@ -805,6 +828,88 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 		return co;
 	}
 
+	/**
+	 * Returns of a call are generated as tail calls when possible (and enabled), so the call's
+	 * arguments have to be visited here instead of through the normal traversal
+	 */
+	@Override
+	public CodeObject visit(ReturnNode node) {
+		if (isTailCall(node)) {
+			preprocess(node);
+			CallNode call = (CallNode) node.getRetExpr();
+			List<CodeObject> args = new LinkedList<CodeObject>();
+			for (ExpressionNode arg : call.getArgs()) {
+				args.add(arg.accept(this));
+			}
+			return generateTailCall(node, call, args);
+		}
+		return super.visit(node);
+	}
+
+	/**
+	 * A return of a call can reuse the current frame if the callee takes the
+	 * same number of arguments (so its return slot is ours) and returns the same
+	 * type (so our caller reads the result correctly)
+	 */
+	private boolean isTailCall(ReturnNode node) {
+		if (!tailCallsAllowed || !(node.getRetExpr() instanceof CallNode)) return false;
+		CallNode call = (CallNode) node.getRetExpr();
+		Scope.FunctionSymbolTableEntry caller = node.getFuncSymbol();
+		Scope.FunctionSymbolTableEntry callee = compiler.Compiler.symbolTable.getFunctionSymbol(call.getFuncName());
+		return callee.getArgTypes().size() == caller.getArgTypes().size()
+			&& call.getArgs().size() == caller.getArgTypes().size()
+			&& callee.getReturnType().equals(caller.getReturnType());
+	}
+
+	/**
+	 * Generate code for a tail call
+	 * 
+	 * Step 1: evaluate all the arguments (rvalify if necessary) into temporaries
+	 * 
+	 * Step 2: store the arguments into our own argument slots (the first argument
+	 *         has the highest address)
+	 * 
+	 * Step 3a: self call: jump back to the start of the body (after the prologue)
+	 * 
+	 * Step 3b: sibling call: jump to an exit sequence (generated with the function,
+	 *          when the saved registers are known) that restores registers and fp,
+	 *          then jumps to the callee, which returns directly to our caller
+	 */
+	private CodeObject generateTailCall(ReturnNode node, CallNode call, List<CodeObject> args) {
+		CodeObject co = new CodeObject();
+
+		//Step 1
+		List<CodeObject> values = new LinkedList<CodeObject>();
+		for (CodeObject arg : args) {
+			if (arg.lval) {
+				arg = rvalify(arg);
+			}
+			co.code.addAll(arg.code);
+			values.add(arg);
+		}
+
+		//Step 2
+		int offset = 12 + 4 * (values.size() - 1);
+		for (CodeObject arg : values) {
+			if (arg.getType().type == Scope.InnerType.FLOAT) {
+				co.code.add(new Fsw(arg.temp, "fp", String.valueOf(offset)));
+			} else {
+				co.code.add(new Sw(arg.temp, "fp", String.valueOf(offset)));
+			}
+			offset -= 4;
+		}
+
+		//Step 3
+		if (call.getFuncName().equals(currFunc)) {
+			co.code.add(new J(generateFunctionBodyLabel()));
+		} else {
+			String label = generateTailCallLabel();
+			siblingTailCalls.add(new String[] {label, call.getFuncName()});
+			co.code.add(new J(label));
+		}
+		return co;
+	}
+
 	/**
 	 * FILL IN FOR STEP 4
 	 * 
@@ -875,6 +980,25 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 		//reset register counts; each function uses new registers!
 		intRegCount = 0;
 		floatRegCount = 0;
+
+		siblingTailCalls = new LinkedList<String[]>();
+		tailCallsAllowed = passManager.hasTailCalls() && !takesLocalAddress(node);
+	}
+
+	/**
+	 * True if the function takes the address of one of its locals or arguments
+	 */
+	private boolean takesLocalAddress(FunctionNode node) {
+		final boolean[] found = {false};
+		node.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(AddrOfNode n) {
+				if (n.getExpr() instanceof VarNode && ((VarNode) n.getExpr()).getSymbol().isLocal()) {
+					found[0] = true;
+				}
+			}
+		});
+		return found[0];
 	}
 
 	/**
@@ -905,6 +1029,11 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 	@Override
 	protected CodeObject postprocess(FunctionNode node, CodeObject body) {
 		CodeObject co = new CodeObject();
+		// Optimize the body first: this decides which registers the prologue has to save.
+		InstructionList bodyCode = new InstructionList();
+		bodyCode.add(new Label(generateFunctionBodyLabel()));
+		bodyCode.addAll(body.getCode());
+		bodyCode = optimize(bodyCode, node.getScope());
 		// Step 1: Start the function with a unique label.
 		co.code.add(new Label(generateFunctionLabel(node.getFuncName())));
 		// Step 2: Save the current frame pointer on the stack and update the frame pointer
@@ -924,29 +1053,67 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 			co.code.add(new Fsw("f" + String.valueOf(floatRegNum + 1), "sp", "0"));
 			co.code.add(new Addi("sp", "-4", "sp"));
 		}	
-		// Step 5: Add the actual body of the function.
-		co.code.addAll(body.getCode());
+		// Step 5: Add the actual body of the function (self tail calls jump back here).
+		co.code.addAll(bodyCode);
 		// Step 6: Add the post-processing code. This includes restoring registers and cleaning up the stack.
 		co.code.add(new Label(generateFunctionOutLabel())); 
+		co.code.addAll(generateEpilogue());
+		// Return from the function and restore the return address register `ra`.
+		co.code.add(new Ret());
+		// Sibling tail calls leave the frame the same way, then jump to the callee instead of returning.
+		for (String[] tail : siblingTailCalls) {
+			co.code.add(new Label(tail[0]));
+			co.code.addAll(generateEpilogue());
+			co.code.add(new J(generateFunctionLabel(tail[1])));
+		}
+		// Clean up the stack traffic of the prologue, epilogue and calls (the peephole pass, if the pass manager runs it).
+		passManager.runCodePasses(co.code);
+
+		/* FILL IN */
+
+		return co;
+	}
+
+	/**
+	 * Run the function passes of the pass manager over the body of the current
+	 * function, and update the register counts to the temporaries it still uses
+	 * (without passes, the body is left as generated)
+	 */
+	private InstructionList optimize(InstructionList code, LocalScope scope) {
+		if (!passManager.hasFunctionPasses()) return code;
+		ControlFlowGraph cfg = new ControlFlowGraph(code, currFunc);
+		for (SymbolTableEntry ste : scope.getEntries()) {
+			if (ste.isArray()) cfg.addFrameObject(ste.getAddress(), ste.getArrayLength());
+		}
+		cfg.removeUnreachable();
+		passManager.runFunctionPasses(cfg);
+
+		cfg.renumberTemps();
+		intRegCount = cfg.getIntTempCount();
+		floatRegCount = cfg.getFloatTempCount();
+		return cfg.toInstructionList();
+	}
+
+	/**
+	 * Restore the saved registers and the caller's frame pointer, leaving sp where
+	 * it was when the function was entered
+	 */
+	private InstructionList generateEpilogue() {
+		InstructionList il = new InstructionList();
 		// Restore the floating-point registers from the stack.
 		for(int floatRegNum = floatRegCount - 1; floatRegNum >= 0; floatRegNum--){
-			co.code.add(new Addi("sp", "4", "sp"));
-			co.code.add(new Flw("f" + String.valueOf(floatRegNum + 1), "sp", "0"));
+			il.add(new Addi("sp", "4", "sp"));
+			il.add(new Flw("f" + String.valueOf(floatRegNum + 1), "sp", "0"));
 		}
 		// Restore the integer registers from the stack.
 		for(int intRegNum = intRegCount - 1; intRegNum >= 0; intRegNum--){
-			co.code.add(new Addi("sp", "4", "sp"));
-			co.code.add(new Lw("t" + String.valueOf(intRegNum + 1), "sp", "0"));
+			il.add(new Addi("sp", "4", "sp"));
+			il.add(new Lw("t" + String.valueOf(intRegNum + 1), "sp", "0"));
 		}	
 		// Clean up the stack frame before returning from the function.
-		co.code.add(new Mv("fp", "sp"));	
-		co.code.add(new Lw("fp", "fp", "0"));
-		// Return from the function and restore the return address register `ra`.
-		co.code.add(new Ret());
-
-		/* FILL IN */
-
-		return co;
+		il.add(new Mv("fp", "sp"));	
+		il.add(new Lw("fp", "fp", "0"));
+		return il;
 	}
 
 	/**
@@ -1098,12 +1265,63 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 		  i = -1 * i;
 		  store = new Addi("sp", String.valueOf(i), "sp");
 		  co.code.add(store);
+		  // The call's value is an rval of the function's return type
+		  co.type = node.getType();
+		  co.lval = false;
   
 		  /* FILL IN FROM STEP 4 */
   
 		  return co;
 	  }	
 	
+	/**
+	 * Generate labels for the end of an inlined body before visiting it, so that
+	 * the exits inside it know where to jump
+	 */
+	@Override
+	protected void preprocess(InlinedCallNode node) {
+		inlineOutLabels.put(node, generateOutLabel());
+	}
+
+	/**
+	 * Generate code for an inlined call
+	 * 
+	 * Step 1: add code from the body (parameter assignments and callee statements)
+	 * 
+	 * Step 2: add the label that exits jump to
+	 * 
+	 * Step 3: load the result variable into a fresh temporary (non-void functions only)
+	 */
+	@Override
+	protected CodeObject postprocess(InlinedCallNode node, CodeObject body, CodeObject result) {
+		CodeObject co = new CodeObject();
+		co.code.addAll(body.code);
+		co.code.add(new Label(inlineOutLabels.get(node)));
+		co.type = node.getType();
+		co.lval = false;
+
+		if (result != null) {
+			result = rvalify(result);
+			co.code.addAll(result.code);
+			co.temp = result.temp;
+		}
+		return co;
+	}
+
+	/**
+	 * Generate code for a return inside an inlined body: store the value to the
+	 * result variable, then jump to the end of the inlined body
+	 */
+	@Override
+	protected CodeObject postprocess(InlineExitNode node, CodeObject assign) {
+		CodeObject co = new CodeObject();
+		if (assign != null) {
+			co.code.addAll(assign.code);
+		}
+		co.code.add(new J(inlineOutLabels.get(node.getTarget())));
+		return co;
+	}
+
 	/**
 	 * Generate code for * (expr)
 	 * 
@@ -1308,6 +1526,14 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 	protected String generateFunctionOutLabel() {
 		return "func_ret_" + currFunc;
 	}
+
+	protected String generateFunctionBodyLabel() {
+		return "func_body_" + currFunc;
+	}
+
+	protected String generateTailCallLabel() {
+		return "func_tail_" + currFunc + "_" + String.valueOf(++tailLabel);
+	}
 	
 	/**
 	 * Take a code object that results in an lval, and create a new code
@@ -1341,7 +1567,6 @@ public class CodeGenerator extends AbstractASTVisitor<CodeObject> {
 		switch(lco.getType().type) {
 			case FLOAT:
 				//Code to generate FLOAT load
-					co.code.add(new Label("testing line 1446"));
 					Instruction loadf = new Flw(newTemp,lco.temp, "0");
 					il.add(loadf);	
 					break;
@@ -0,0 +1,371 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Addi;
+import assembly.instructions.FImm;
+import assembly.instructions.FMv;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.InstructionBranch;
+import assembly.instructions.J;
+import assembly.instructions.Li;
+import assembly.instructions.Mv;
+import assembly.instructions.Phi;
+
+/**
+ * Sparse conditional constant propagation (Wegman and Zadeck) on a body in SSA
+ * form.
+ *
+ * Every temporary starts out unknown (no definition executed yet) and can only
+ * move down to a constant and then to "not constant". Blocks are only visited
+ * once an edge into them is found executable, and a branch whose operands are
+ * constant makes only one of its edges executable, so constants also flow
+ * through code that is only dead because of other constants.
+ *
+ * Afterwards, constant results become <code>LI</code>/<code>FIMM.S</code>,
+ * constant operands of additions become <code>ADDI</code> immediates, decided
+ * branches become a <code>J</code> or fall through, and blocks that were never
+ * executable are deleted.
+ *
+ * Folding follows the simulator: integers do not overflow, integer division
+ * rounds down, and floats are doubles. Divisions by zero are left alone.
+ */
+public class ConditionalConstantPropagation {
+
+	//ADDI immediates the simulator accepts
+	static final private int MIN_IMMEDIATE = -2047;
+	static final private int MAX_IMMEDIATE = 2046;
+
+	//lattice value of temporaries that are not constant (constants are Long or Double, unknown is absent)
+	static final private Object BOTTOM = new Object();
+
+	private ControlFlowGraph cfg;
+	private Map<String, Object> values;
+	private Map<String, List<Instruction>> users;
+	private Map<Instruction, BasicBlock> blockOf;
+	private Set<BasicBlock> executable;
+	private Map<BasicBlock, Set<BasicBlock>> executableEdges;
+	private LinkedList<BasicBlock[]> edgeWork;
+	private LinkedList<Instruction> ssaWork;
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		values = new HashMap<String, Object>();
+		users = new HashMap<String, List<Instruction>>();
+		blockOf = new IdentityHashMap<Instruction, BasicBlock>();
+		executable = new HashSet<BasicBlock>();
+		executableEdges = new HashMap<BasicBlock, Set<BasicBlock>>();
+		edgeWork = new LinkedList<BasicBlock[]>();
+		ssaWork = new LinkedList<Instruction>();
+
+		Set<String> defined = new HashSet<String>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			executableEdges.put(b, new HashSet<BasicBlock>());
+			for (Instruction i : b.code) {
+				blockOf.put(i, b);
+				for (String u : i.getUses()) {
+					if (!users.containsKey(u)) users.put(u, new ArrayList<Instruction>());
+					users.get(u).add(i);
+				}
+				if (i.getDef() != null) defined.add(i.getDef());
+			}
+		}
+		//registers never defined in the body (fp, sp, reads of uninitialized values) are unknown at run time
+		for (String r : users.keySet()) {
+			if (!defined.contains(r) || !Instruction.isTemp(r)) values.put(r, BOTTOM);
+		}
+
+		edgeWork.add(new BasicBlock[] {null, cfg.getEntry()});
+		while (!edgeWork.isEmpty() || !ssaWork.isEmpty()) {
+			while (!edgeWork.isEmpty()) {
+				BasicBlock[] edge = edgeWork.pop();
+				visitEdge(edge[0], edge[1]);
+			}
+			while (!ssaWork.isEmpty()) {
+				Instruction i = ssaWork.pop();
+				if (executable.contains(blockOf.get(i))) visit(i);
+			}
+		}
+
+		return rewrite();
+	}
+
+	private void visitEdge(BasicBlock from, BasicBlock to) {
+		if (from != null && !executableEdges.get(from).add(to)) return;
+		boolean first = executable.add(to);
+		for (Instruction i : to.code) {
+			if (i instanceof Phi || first) visit(i);
+		}
+		if (first && to.getTerminator() == null) {
+			addSuccessorEdges(to);
+		}
+	}
+
+	private void addSuccessorEdges(BasicBlock b) {
+		for (BasicBlock s : b.successors) {
+			edgeWork.add(new BasicBlock[] {b, s});
+		}
+	}
+
+	private void visit(Instruction i) {
+		BasicBlock b = blockOf.get(i);
+		if (i instanceof InstructionBranch) {
+			Object l = valueOf(i.getsrc1()), r = valueOf(i.getsrc2());
+			if (l == BOTTOM || r == BOTTOM) {
+				addSuccessorEdges(b);
+			} else if (l != null && r != null) {
+				BasicBlock target = taken(i, (Long) l, (Long) r) ? targetOf(b, i.getLabel()) : fallThrough(b);
+				if (target != null) edgeWork.add(new BasicBlock[] {b, target});
+			}
+			return;
+		}
+		if (i.getOC() == OpCode.J || i.getOC() == OpCode.RET) {
+			addSuccessorEdges(b);
+			return;
+		}
+
+		String d = i.getDef();
+		if (!Instruction.isTemp(d) || values.get(d) == BOTTOM) return;
+		Object v = (i instanceof Phi) ? meetPhi((Phi) i, b) : evaluate(i);
+		if (v != null && !v.equals(values.get(d))) {
+			values.put(d, v);
+			if (users.containsKey(d)) ssaWork.addAll(users.get(d));
+		}
+	}
+
+	private Object meetPhi(Phi phi, BasicBlock b) {
+		Object v = null;
+		for (BasicBlock p : phi.getPreds()) {
+			if (!executableEdges.containsKey(p) || !executableEdges.get(p).contains(b)) continue;
+			Object s = valueOf(phi.getSource(p));
+			if (s == null) continue;
+			if (v == null) {
+				v = s;
+			} else if (!v.equals(s)) {
+				return BOTTOM;
+			}
+		}
+		return v;
+	}
+
+	private Object valueOf(String r) {
+		return values.get(r);
+	}
+
+	/**
+	 * @return the value of a non-phi instruction given the current values of its
+	 *         operands (null while an operand is still unknown)
+	 */
+	private Object evaluate(Instruction i) {
+		switch (i.getOC()) {
+			case LI:
+				try {
+					return Long.decode(i.getLabel());
+				} catch (NumberFormatException e) {
+					return BOTTOM;
+				}
+			case FIMMS:
+				try {
+					return Double.valueOf(i.getLabel());
+				} catch (NumberFormatException e) {
+					return BOTTOM;
+				}
+			case MV:
+			case FMVS:
+				return valueOf(i.getsrc1());
+			case ADDI: {
+				Object a = valueOf(i.getsrc1());
+				if (!(a instanceof Long)) return a;
+				return add((Long) a, Long.parseLong(i.getsrc2()));
+			}
+			case NEG:
+			case FNEGS:
+			case FMOVI:
+			case IMOVF: {
+				Object a = valueOf(i.getsrc1());
+				if (a == null || a == BOTTOM) return a;
+				if (i.getOC() == OpCode.NEG) return -(Long) a;
+				if (i.getOC() == OpCode.FNEGS) return -(Double) a;
+				if (i.getOC() == OpCode.IMOVF) return ((Long) a).doubleValue();
+				double f = (Double) a;
+				return (Math.abs(f) < 1e15) ? (Object) (long) f : BOTTOM;
+			}
+			case ADD:
+			case SUB:
+			case MUL:
+			case DIV:
+			case FADDS:
+			case FSUBS:
+			case FMULS:
+			case FDIVS:
+			case FLT:
+			case FLE:
+			case FEQ: {
+				Object a = valueOf(i.getsrc1()), b = valueOf(i.getsrc2());
+				if (a == BOTTOM || b == BOTTOM) return BOTTOM;
+				if (a == null || b == null) return null;
+				return fold(i.getOC(), a, b);
+			}
+			default:
+				return BOTTOM;
+		}
+	}
+
+	private Object fold(OpCode oc, Object a, Object b) {
+		switch (oc) {
+			case ADD: return add((Long) a, (Long) b);
+			case SUB: return add((Long) a, -(Long) b);
+			case MUL:
+				try {
+					return Math.multiplyExact((Long) a, (Long) b);
+				} catch (ArithmeticException e) {
+					return BOTTOM;
+				}
+			case DIV: return ((Long) b == 0) ? BOTTOM : (Object) Math.floorDiv((Long) a, (Long) b);
+			case FADDS: return (Double) a + (Double) b;
+			case FSUBS: return (Double) a - (Double) b;
+			case FMULS: return (Double) a * (Double) b;
+			case FDIVS: return ((Double) b == 0) ? BOTTOM : (Object) ((Double) a / (Double) b);
+			case FLT: return ((Double) a < (Double) b) ? 1L : 0L;
+			case FLE: return ((Double) a <= (Double) b) ? 1L : 0L;
+			case FEQ: return ((Double) a == (Double) b) ? 1L : 0L;
+			default: return BOTTOM;
+		}
+	}
+
+	private Object add(long a, long b) {
+		try {
+			return Math.addExact(a, b);
+		} catch (ArithmeticException e) {
+			return BOTTOM;
+		}
+	}
+
+	private boolean taken(Instruction branch, long a, long b) {
+		switch (branch.getOC()) {
+			case BEQ: return a == b;
+			case BNE: return a != b;
+			case BLT: return a < b;
+			case BLE: return a <= b;
+			case BGT: return a > b;
+			case BGE: return a >= b;
+			default: throw new Error("Shouldn't get here");
+		}
+	}
+
+	private BasicBlock targetOf(BasicBlock b, String label) {
+		for (BasicBlock s : b.successors) {
+			if (label.equals(s.getLabel())) return s;
+		}
+		return null;
+	}
+
+	private BasicBlock fallThrough(BasicBlock b) {
+		int k = cfg.getBlocks().indexOf(b);
+		return (k + 1 < cfg.getBlocks().size()) ? cfg.getBlocks().get(k + 1) : null;
+	}
+
+	private boolean rewrite() {
+		boolean changed = false;
+		for (BasicBlock b : cfg.getBlocks()) {
+			if (!executable.contains(b)) continue;
+			List<Instruction> code = b.code;
+			int firstCode = 0; //where constants replacing phis go
+			while (firstCode < code.size() && (code.get(firstCode).getOC() == null || code.get(firstCode) instanceof Phi)) {
+				firstCode++;
+			}
+			for (int k = 0; k < code.size(); k++) {
+				Instruction i = code.get(k);
+				if (i instanceof InstructionBranch) {
+					Object l = valueOf(i.getsrc1()), r = valueOf(i.getsrc2());
+					if (l == null || r == null) return changed; //an undefined operand: the analysis can't be trusted
+					if (l instanceof Long && r instanceof Long) {
+						if (taken(i, (Long) l, (Long) r)) {
+							code.set(k, new J(i.getLabel()));
+						} else {
+							code.remove(k--);
+						}
+						changed = true;
+					}
+					continue;
+				}
+				String d = i.getDef();
+				Object v = Instruction.isTemp(d) ? valueOf(d) : null;
+				if (v instanceof Long || v instanceof Double) {
+					if (i.getOC() == OpCode.LI || i.getOC() == OpCode.FIMMS) continue;
+					Instruction c = (v instanceof Long) ? new Li(d, v.toString()) : new FImm(d, v.toString());
+					if (i instanceof Phi) {
+						code.remove(k);
+						code.add(firstCode - 1, c);
+						k--;
+					} else {
+						code.set(k, c);
+					}
+					changed = true;
+				} else if (useImmediate(code, k)) {
+					changed = true;
+				}
+			}
+		}
+
+		cfg.rebuildEdges();
+		changed |= cfg.removeUnreachable();
+		prunePhis();
+		return changed;
+	}
+
+	/**
+	 * Turn an addition or subtraction of a small constant into an ADDI
+	 */
+	private boolean useImmediate(List<Instruction> code, int k) {
+		Instruction i = code.get(k);
+		if (i.getOC() != OpCode.ADD && i.getOC() != OpCode.SUB) return false;
+		Object a = valueOf(i.getsrc1()), b = valueOf(i.getsrc2());
+		String reg;
+		long imm;
+		if (b instanceof Long) {
+			reg = i.getsrc1();
+			imm = (i.getOC() == OpCode.SUB) ? -(Long) b : (Long) b;
+		} else if (a instanceof Long && i.getOC() == OpCode.ADD) {
+			reg = i.getsrc2();
+			imm = (Long) a;
+		} else {
+			return false;
+		}
+		if (imm < MIN_IMMEDIATE || imm > MAX_IMMEDIATE) return false;
+		code.set(k, new Addi(reg, String.valueOf(imm), i.getDef()));
+		return true;
+	}
+
+	/**
+	 * Drop phi sources for edges that no longer exist; a phi left with one
+	 * source is a copy
+	 */
+	private void prunePhis() {
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				if (!(b.code.get(k) instanceof Phi)) continue;
+				Phi phi = (Phi) b.code.get(k);
+				for (BasicBlock p : new ArrayList<BasicBlock>(phi.getPreds())) {
+					if (!b.predecessors.contains(p)) phi.removePred(p);
+				}
+				if (phi.getPreds().size() == 1) {
+					String src = phi.getUses().get(0), d = phi.getDef();
+					b.code.set(k, Instruction.isFloatTemp(d) ? new FMv(src, d) : new Mv(src, d));
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,463 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+import assembly.instructions.InstructionBranch;
+import assembly.instructions.J;
+import assembly.instructions.Label;
+import assembly.instructions.Phi;
+
+/**
+ * Control flow graph of one function body, used by the optimization passes.
+ *
+ * Blocks are kept in layout order, so that turning the graph back into an
+ * {@link InstructionList} just concatenates them; the first block is the entry,
+ * which no edge enters.
+ * Jumps to labels outside the body (the function's return sequence, sibling
+ * tail calls) leave the graph and have no successor.
+ *
+ * The graph also hands out fresh temporaries and labels for passes that need
+ * them, and keeps the analyses of the body once computed (see
+ * {@link Analysis}). Rebuilding the edges drops the ones that depend on
+ * them; the others have to be dropped by whoever changes the code
+ * ({@link #invalidate(Set)}).
+ */
+public class ControlFlowGraph {
+
+	/**
+	 * The analyses a graph caches
+	 */
+	public static enum Analysis {
+		DOMINATORS,
+		LOOPS,
+		LIVENESS,
+		POINTS_TO,
+		FRAME_SLOTS
+	}
+
+	String funcName;
+	List<BasicBlock> blocks;
+	int nextBlockId;
+	int intTemps; //highest tN in use
+	int floatTemps; //highest fN in use
+	int labels;
+	Map<Integer, Integer> frameObjects; //slot -> lowest slot of the block of memory it is part of
+
+	//cached analyses, null until asked for
+	private DominatorTree dominators;
+	private NaturalLoops loops;
+	private Liveness liveness;
+	private PointsTo pointsTo;
+	private FrameSlots frameSlots;
+
+	public ControlFlowGraph(InstructionList code, String funcName) {
+		this.funcName = funcName;
+		frameObjects = new HashMap<Integer, Integer>();
+		blocks = new ArrayList<BasicBlock>();
+		nextBlockId = 0;
+		labels = 0;
+
+		BasicBlock curr = null;
+		for (Instruction i : code) {
+			if (curr == null || (i instanceof Label && !curr.code.isEmpty())) {
+				curr = newBlock();
+				blocks.add(curr);
+			}
+			curr.code.add(i);
+			if (BasicBlock.isTerminator(i)) {
+				curr = null;
+			}
+		}
+		if (blocks.isEmpty()) {
+			blocks.add(newBlock());
+		}
+		countTemps();
+		rebuildEdges();
+		//the entry must not be a loop header (self tail calls jump back to the top of the body)
+		if (!getEntry().predecessors.isEmpty()) {
+			addBlock(0);
+		}
+	}
+
+	public String getFuncName() {
+		return funcName;
+	}
+
+	public List<BasicBlock> getBlocks() {
+		return blocks;
+	}
+
+	public BasicBlock getEntry() {
+		return blocks.get(0);
+	}
+
+	public DominatorTree getDominatorTree() {
+		if (dominators == null) dominators = new DominatorTree(this);
+		return dominators;
+	}
+
+	public NaturalLoops getNaturalLoops() {
+		if (loops == null) loops = new NaturalLoops(this, getDominatorTree());
+		return loops;
+	}
+
+	public Liveness getLiveness() {
+		if (liveness == null) liveness = new Liveness(this);
+		return liveness;
+	}
+
+	public PointsTo getPointsTo() {
+		if (pointsTo == null) pointsTo = new PointsTo(this);
+		return pointsTo;
+	}
+
+	public FrameSlots getFrameSlots() {
+		if (frameSlots == null) frameSlots = new FrameSlots(this);
+		return frameSlots;
+	}
+
+	/**
+	 * Compute an analysis now, if it isn't already
+	 *
+	 * @return false if it was already there
+	 */
+	public boolean compute(Analysis a) {
+		switch (a) {
+			case DOMINATORS:
+				if (dominators != null) return false;
+				getDominatorTree();
+				return true;
+			case LOOPS:
+				if (loops != null) return false;
+				getNaturalLoops();
+				return true;
+			case LIVENESS:
+				if (liveness != null) return false;
+				getLiveness();
+				return true;
+			case POINTS_TO:
+				if (pointsTo != null) return false;
+				getPointsTo();
+				return true;
+			case FRAME_SLOTS:
+				if (frameSlots != null) return false;
+				getFrameSlots();
+				return true;
+			default:
+				throw new Error("Unknown analysis " + a);
+		}
+	}
+
+	/**
+	 * Drop the cached analyses, except the preserved ones
+	 */
+	public void invalidate(Set<Analysis> preserved) {
+		if (!preserved.contains(Analysis.DOMINATORS)) dominators = null;
+		if (!preserved.contains(Analysis.LOOPS)) loops = null;
+		if (!preserved.contains(Analysis.LIVENESS)) liveness = null;
+		if (!preserved.contains(Analysis.POINTS_TO)) pointsTo = null;
+		if (!preserved.contains(Analysis.FRAME_SLOTS)) frameSlots = null;
+	}
+
+	/**
+	 * Record that the <code>length</code> slots starting at
+	 * <code>fp + offset</code> are one block of memory (a buffer or an array
+	 * in the frame), which pointers move around in
+	 */
+	public void addFrameObject(int offset, int length) {
+		for (int k = 0; k < length; k++) {
+			frameObjects.put(offset + 4 * k, offset);
+		}
+	}
+
+	/**
+	 * @return the offset that names the frame object a slot belongs to: the
+	 *         start of its block, or the slot itself
+	 */
+	public int getFrameObject(int offset) {
+		Integer base = frameObjects.get(offset);
+		return (base == null) ? offset : base;
+	}
+
+	/**
+	 * True if the slot is part of a block of more than one slot
+	 */
+	public boolean isInFrameBlock(int offset) {
+		return frameObjects.containsKey(offset);
+	}
+
+	BasicBlock newBlock() {
+		return new BasicBlock(nextBlockId++);
+	}
+
+	/**
+	 * @return upper bound on block ids, for passes that index arrays by id
+	 */
+	public int getMaxBlockId() {
+		return nextBlockId;
+	}
+
+	/**
+	 * Recompute successors and predecessors from the terminators and the layout
+	 */
+	public void rebuildEdges() {
+		dominators = null;
+		loops = null;
+		liveness = null;
+		Map<String, BasicBlock> labelled = new HashMap<String, BasicBlock>();
+		for (BasicBlock b : blocks) {
+			b.successors.clear();
+			b.predecessors.clear();
+			if (b.getLabel() != null) labelled.put(b.getLabel(), b);
+		}
+
+		for (int k = 0; k < blocks.size(); k++) {
+			BasicBlock b = blocks.get(k);
+			Instruction t = b.getTerminator();
+			if (t != null && (t instanceof InstructionBranch || t.getOC() == OpCode.J)) {
+				BasicBlock target = labelled.get(t.getLabel());
+				if (target != null) addEdge(b, target);
+			}
+			if (b.fallsThrough() && k + 1 < blocks.size()) {
+				addEdge(b, blocks.get(k + 1));
+			}
+		}
+	}
+
+	private void addEdge(BasicBlock from, BasicBlock to) {
+		if (!from.successors.contains(to)) {
+			from.successors.add(to);
+			to.predecessors.add(from);
+		}
+	}
+
+	/**
+	 * Delete blocks that cannot be reached from the entry
+	 *
+	 * @return true if anything was deleted
+	 */
+	public boolean removeUnreachable() {
+		Set<BasicBlock> reached = new HashSet<BasicBlock>();
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+		work.add(getEntry());
+		reached.add(getEntry());
+		while (!work.isEmpty()) {
+			for (BasicBlock s : work.pop().successors) {
+				if (reached.add(s)) work.add(s);
+			}
+		}
+		if (reached.size() == blocks.size()) return false;
+		blocks.retainAll(reached);
+		rebuildEdges();
+		return true;
+	}
+
+	/**
+	 * Put a new, empty block on the edge from <code>from</code> to <code>to</code>
+	 * (used to split critical edges)
+	 *
+	 * @return the new block
+	 */
+	public BasicBlock splitEdge(BasicBlock from, BasicBlock to) {
+		BasicBlock mid = newBlock();
+		int toIndex = blocks.indexOf(to);
+		Instruction t = from.getTerminator();
+
+		if (isFallThroughEdge(from, to)) {
+			//fall-through edge: the new block goes in between
+			blocks.add(toIndex, mid);
+		} else {
+			//jump edge: retarget the jump to a new label, and jump from there to the old target
+			String label = newLabel();
+			mid.code.add(new Label(label));
+			mid.code.add(new J(to.getLabel()));
+			t.setLabel(label);
+			//after a block control can't fall out of, as the last one falls through to the return
+			int at = blocks.size();
+			while (at > 0 && blocks.get(at - 1).fallsThrough()) at--;
+			if (at == 0) {
+				BasicBlock exit = newBlock();
+				exit.code.add(new J("func_ret_" + funcName));
+				blocks.add(exit);
+				at = blocks.size();
+			}
+			blocks.add(at, mid);
+		}
+		rebuildEdges();
+		return mid;
+	}
+
+	/**
+	 * True if control goes from <code>from</code> to <code>to</code> by falling
+	 * through, rather than by a jump or branch
+	 */
+	public boolean isFallThroughEdge(BasicBlock from, BasicBlock to) {
+		int index = blocks.indexOf(from);
+		if (index + 1 >= blocks.size() || blocks.get(index + 1) != to || !from.fallsThrough()) return false;
+		Instruction t = from.getTerminator();
+		return t == null || !t.getLabel().equals(to.getLabel());
+	}
+
+	/**
+	 * Add an empty block at position <code>index</code> of the layout
+	 */
+	public BasicBlock addBlock(int index) {
+		BasicBlock b = newBlock();
+		blocks.add(index, b);
+		rebuildEdges();
+		return b;
+	}
+
+	/**
+	 * Remove a block that has no code left (so control just falls through it)
+	 */
+	public void removeEmptyBlock(BasicBlock b) {
+		if (!b.code.isEmpty()) throw new Error("Removing a block that still has code");
+		blocks.remove(b);
+		rebuildEdges();
+	}
+
+	/**
+	 * @return the code of the function, block by block
+	 */
+	public InstructionList toInstructionList() {
+		InstructionList il = new InstructionList();
+		for (BasicBlock b : blocks) {
+			il.addAll(b.code);
+		}
+		return il;
+	}
+
+	/**
+	 * @return a temporary that is not used anywhere in the function
+	 */
+	public String newTemp(boolean isFloat) {
+		return isFloat ? "f" + (++floatTemps) : "t" + (++intTemps);
+	}
+
+	public String newLabel() {
+		return "opt_" + funcName + "_" + (++labels);
+	}
+
+	/**
+	 * Recompute the highest temporaries in use (after passes have removed or
+	 * renamed some)
+	 */
+	public void countTemps() {
+		intTemps = 0;
+		floatTemps = 0;
+		for (BasicBlock b : blocks) {
+			for (Instruction i : b.code) {
+				for (String r : i.getUses()) countTemp(r);
+				if (i.getDef() != null) countTemp(i.getDef());
+			}
+		}
+	}
+
+	private void countTemp(String r) {
+		if (!Instruction.isTemp(r)) return;
+		int n = Integer.parseInt(r.substring(1));
+		if (Instruction.isFloatTemp(r)) {
+			floatTemps = Math.max(floatTemps, n);
+		} else {
+			intTemps = Math.max(intTemps, n);
+		}
+	}
+
+	/**
+	 * Rename the temporaries to t1, t2, ... and f1, f2, ... in order of
+	 * appearance, so that the prologue saves as few registers as possible.
+	 * Must not be called in SSA form.
+	 */
+	public void renumberTemps() {
+		Map<String, String> names = new HashMap<String, String>();
+		intTemps = 0;
+		floatTemps = 0;
+		for (BasicBlock b : blocks) {
+			for (Instruction i : b.code) {
+				if (i instanceof Phi) throw new Error("Renumbering temporaries in SSA form");
+				List<Operand> operands = new ArrayList<Operand>(i.getUseOperands());
+				if (i.getDefOperand() != null && !operands.contains(i.getDefOperand())) operands.add(i.getDefOperand());
+				for (Operand o : operands) {
+					String r = i.getOperand(o);
+					if (!Instruction.isTemp(r)) continue;
+					if (!names.containsKey(r)) {
+						names.put(r, Instruction.isFloatTemp(r) ? "f" + (++floatTemps) : "t" + (++intTemps));
+					}
+					i.setOperand(o, names.get(r));
+				}
+			}
+		}
+	}
+
+	public int getIntTempCount() {
+		return intTemps;
+	}
+
+	public int getFloatTempCount() {
+		return floatTemps;
+	}
+
+	/**
+	 * @return number of definitions of each register in the function
+	 */
+	public Map<String, Integer> countDefs() {
+		Map<String, Integer> defs = new HashMap<String, Integer>();
+		for (BasicBlock b : blocks) {
+			for (Instruction i : b.code) {
+				String d = i.getDef();
+				if (d != null) {
+					Integer n = defs.get(d);
+					defs.put(d, (n == null) ? 1 : n + 1);
+				}
+			}
+		}
+		return defs;
+	}
+
+	/**
+	 * Replace reads of registers according to <code>renames</code> everywhere
+	 * in the function (chains are followed: a -> b, b -> c renames a to c)
+	 */
+	public void renameUses(Map<String, String> renames) {
+		if (renames.isEmpty()) return;
+		for (BasicBlock b : blocks) {
+			for (Instruction i : b.code) {
+				for (String u : i.getUses()) {
+					String r = resolve(renames, u);
+					if (!r.equals(u)) i.replaceUse(u, r);
+				}
+			}
+		}
+	}
+
+	static String resolve(Map<String, String> renames, String r) {
+		String to = renames.get(r);
+		while (to != null) {
+			r = to;
+			to = renames.get(r);
+		}
+		return r;
+	}
+
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (BasicBlock b : blocks) {
+			sb.append("; ").append(b).append(" -> ").append(b.successors).append("\n");
+			for (Instruction i : b.code) {
+				sb.append(i).append("\n");
+			}
+		}
+		return sb.toString();
+	}
+
+}
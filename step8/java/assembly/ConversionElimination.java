@@ -0,0 +1,193 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import assembly.instructions.FImm;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Li;
+import assembly.instructions.Mv;
+
+/**
+ * Removes int/float conversions (<code>IMOVF.S</code> and <code>FMOVI.S</code>,
+ * 4 cycles each), on a body in SSA form.
+ *
+ * Mixed arithmetic such as <code>f = f + 1</code> converts the literal at run
+ * time; a conversion of a constant becomes a constant of the other type
+ * instead. Converting an int to float and back gives the int again if the
+ * float holds it exactly, that is if its magnitude is at most 2^53 (ints in
+ * the simulator are unbounded), so <code>FMOVI.S</code> of an
+ * <code>IMOVF.S</code> becomes a move from the original int when the int is
+ * known to be in that range. The other way round truncates, so it is left
+ * alone.
+ *
+ * Conversions of loop-invariant values, together with the arithmetic that
+ * computes them, and float constants are hoisted to the end of the block the
+ * loop is entered from. Converting a float that is too large stops the
+ * simulator, so <code>FMOVI.S</code> is only hoisted from the loop header,
+ * which runs whenever the loop is entered.
+ */
+public class ConversionElimination {
+
+	//the largest magnitude up to which every int is a float
+	static final private long MAX_EXACT = 1L << 53;
+
+	private ControlFlowGraph cfg;
+	private Map<String, Instruction> defs;
+	private Map<String, BasicBlock> defBlocks;
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		findDefinitions();
+		boolean changed = fold();
+		List<NaturalLoops.Loop> loops = cfg.getNaturalLoops().getLoops();
+		for (int k = loops.size() - 1; k >= 0; k--) {
+			changed |= hoist(loops.get(k));
+		}
+		return changed;
+	}
+
+	private void findDefinitions() {
+		defs = new HashMap<String, Instruction>();
+		defBlocks = new HashMap<String, BasicBlock>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (Instruction.isTemp(i.getDef())) {
+					defs.put(i.getDef(), i);
+					defBlocks.put(i.getDef(), b);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fold conversions of constants and int-float-int round trips
+	 */
+	private boolean fold() {
+		boolean changed = false;
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				Instruction i = b.code.get(k);
+				if (i.getOC() != OpCode.IMOVF && i.getOC() != OpCode.FMOVI) continue;
+				Instruction source = defs.get(i.getsrc1());
+				Instruction folded = null;
+				if (source == null) {
+					continue;
+				} else if (source.getOC() == OpCode.LI && i.getOC() == OpCode.IMOVF) {
+					try {
+						folded = new FImm(i.getDest(), Double.toString(Long.decode(source.getLabel()).doubleValue()));
+					} catch (NumberFormatException e) {
+						continue;
+					}
+				} else if (source.getOC() == OpCode.FIMMS && i.getOC() == OpCode.FMOVI) {
+					double f = Double.parseDouble(source.getLabel());
+					if (Double.isNaN(f) || Math.abs(f) >= 1e15) continue;
+					folded = new Li(i.getDest(), Long.toString((long) f));
+				} else if (source.getOC() == OpCode.IMOVF && i.getOC() == OpCode.FMOVI && isExactInFloat(source.getsrc1())) {
+					folded = new Mv(source.getsrc1(), i.getDest());
+				} else {
+					continue;
+				}
+				b.code.set(k, folded);
+				defs.put(folded.getDef(), folded);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * True if an int register is known to hold a value that a float holds
+	 * exactly: a small enough constant, a comparison, or a truncated float
+	 */
+	private boolean isExactInFloat(String reg) {
+		Instruction def = defs.get(reg);
+		if (def == null) return false;
+		switch (def.getOC()) {
+			case LI:
+				try {
+					return Math.abs(Long.decode(def.getLabel())) <= MAX_EXACT;
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			case FLT:
+			case FLE:
+			case FEQ:
+			case FMOVI:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private boolean hoist(NaturalLoops.Loop loop) {
+		List<BasicBlock> entries = loop.getEntries();
+		if (entries.size() != 1 || entries.get(0).successors.size() != 1) return false;
+		BasicBlock preheader = entries.get(0);
+
+		List<Instruction> hoisted = new ArrayList<Instruction>();
+		for (BasicBlock b : loop.getBlocks()) {
+			for (Instruction i : new ArrayList<Instruction>(b.code)) {
+				if (defBlocks.get(i.getDef()) != b) continue; //already hoisted with another
+				List<Instruction> chain = new ArrayList<Instruction>();
+				if (!isHoistable(i, b, loop, chain)) continue;
+				for (Instruction c : chain) {
+					defBlocks.get(c.getDef()).code.remove(c);
+					defBlocks.put(c.getDef(), preheader);
+					hoisted.add(c);
+				}
+			}
+		}
+		preheader.code.addAll(preheader.getInsertionPoint(), hoisted);
+		return !hoisted.isEmpty();
+	}
+
+	/**
+	 * True for float constants and for conversions whose operand is loop
+	 * invariant; the conversion, and whatever in the loop computes its operand,
+	 * are added to <code>chain</code> in order
+	 */
+	private boolean isHoistable(Instruction i, BasicBlock b, NaturalLoops.Loop loop, List<Instruction> chain) {
+		if (!Instruction.isTemp(i.getDef())) return false;
+		switch (i.getOC()) {
+			case FIMMS:
+				chain.add(i);
+				return true;
+			case FMOVI:
+			case IMOVF:
+				if (i.getOC() == OpCode.FMOVI && b != loop.getHeader()) return false;
+				if (!isInvariant(i.getsrc1(), loop, chain)) return false;
+				chain.add(i);
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * True if a register has the same value throughout the loop: it is defined
+	 * outside, or computed inside by arithmetic that cannot fail (so not
+	 * <code>DIV</code>) from such registers; those computations are added to
+	 * <code>chain</code>
+	 */
+	private boolean isInvariant(String reg, NaturalLoops.Loop loop, List<Instruction> chain) {
+		BasicBlock from = defBlocks.get(reg);
+		if (from == null) return reg.equals("fp");
+		if (!loop.contains(from)) return true;
+		Instruction i = defs.get(reg);
+		if (chain.contains(i)) return true;
+		if (!GlobalValueNumbering.isPure(i.getOC()) || i.getOC() == OpCode.DIV || i.getOC() == OpCode.FDIVS) return false;
+		for (String u : i.getUses()) {
+			if (!isInvariant(u, loop, chain)) return false;
+		}
+		chain.add(i);
+		return true;
+	}
+
+}
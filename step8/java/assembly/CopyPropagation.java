@@ -0,0 +1,125 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Phi;
+
+/**
+ * Copy propagation for temporaries that are only defined once.
+ *
+ * For <code>MV d, s</code> where both d and s have a single definition, reads
+ * of d are replaced by s and the move is deleted, provided the definition of s
+ * dominates the move and the move dominates every read of d. Then s cannot be
+ * redefined between the move and a read of d: a path that did so would reach
+ * the read from the definition of s without passing the move. Chains of moves
+ * collapse to their source.
+ *
+ * A single definition does not mean a single value: a definition in a loop
+ * gives a new value on every iteration, and a read of d that the move does not
+ * dominate (a local read before it is first assigned on some path, say) may
+ * see the d of an earlier iteration while s has moved on. Such copies, and
+ * copies between registers defined more than once, are left for
+ * {@link MoveCoalescing}, which checks that the two do not interfere.
+ */
+public class CopyPropagation {
+
+	/**
+	 * A position in the code: before instruction <code>index</code> of a block
+	 * (the end of a predecessor, for a phi's read)
+	 */
+	private static class Point {
+		BasicBlock block;
+		int index;
+
+		Point(BasicBlock block, int index) {
+			this.block = block;
+			this.index = index;
+		}
+	}
+
+	private DominatorTree dom;
+
+	/**
+	 * @return true if any move was removed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		dom = cfg.getDominatorTree();
+		Map<String, Integer> defs = cfg.countDefs();
+		Map<String, Point> defPoints = new HashMap<String, Point>();
+		Map<String, List<Point>> usePoints = new HashMap<String, List<Point>>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				Instruction i = b.code.get(k);
+				if (i.getDef() != null) defPoints.put(i.getDef(), new Point(b, k));
+				if (i instanceof Phi) {
+					Phi phi = (Phi) i;
+					for (BasicBlock p : phi.getPreds()) {
+						addUse(usePoints, phi.getSource(p), new Point(p, p.code.size()));
+					}
+				} else {
+					for (String u : i.getUses()) {
+						addUse(usePoints, u, new Point(b, k));
+					}
+				}
+			}
+		}
+
+		Map<String, String> renames = new HashMap<String, String>();
+		Set<Instruction> removed = new HashSet<Instruction>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				Instruction i = b.code.get(k);
+				if (!isCopy(i)) continue;
+				String d = i.getDef(), s = i.getsrc1();
+				if (!Instruction.isTemp(d) || !Instruction.isTemp(s)) continue;
+				if (defs.get(d) != 1 || !Integer.valueOf(1).equals(defs.get(s))) continue;
+				Point move = new Point(b, k);
+				if (!dominates(defPoints.get(s), move)) continue;
+				boolean dominatesUses = true;
+				if (usePoints.containsKey(d)) {
+					for (Point u : usePoints.get(d)) {
+						dominatesUses &= dominates(move, u);
+					}
+				}
+				if (!dominatesUses) continue;
+				renames.put(d, s);
+				removed.add(i);
+			}
+		}
+		for (BasicBlock b : cfg.getBlocks()) {
+			Iterator<Instruction> it = b.code.iterator();
+			while (it.hasNext()) {
+				if (removed.contains(it.next())) it.remove();
+			}
+		}
+		cfg.renameUses(renames);
+		return !renames.isEmpty();
+	}
+
+	private void addUse(Map<String, List<Point>> usePoints, String r, Point p) {
+		if (!usePoints.containsKey(r)) usePoints.put(r, new ArrayList<Point>());
+		usePoints.get(r).add(p);
+	}
+
+	/**
+	 * @return true if every path from the entry to b passes a first
+	 */
+	private boolean dominates(Point a, Point b) {
+		if (!dom.isReachable(a.block) || !dom.isReachable(b.block)) return false;
+		if (a.block == b.block) return a.index < b.index;
+		return dom.dominates(a.block, b.block);
+	}
+
+	static boolean isCopy(Instruction i) {
+		return i.getOC() == OpCode.MV || i.getOC() == OpCode.FMVS;
+	}
+
+}
@@ -0,0 +1,82 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+
+/**
+ * Mark-and-sweep dead code elimination.
+ *
+ * Everything with an effect beyond its result is critical: input and output,
+ * stores, calls, <code>MALLOC</code>/<code>FREE</code>, control flow, and
+ * writes to sp, fp or ra. Marking then follows every register a marked
+ * instruction reads back to all of its definitions, and the sweep deletes the
+ * computations and loads that were never marked.
+ *
+ * Branches are always kept, so loops whose results are unused still run.
+ */
+public class DeadCodeElimination {
+
+	/**
+	 * @return true if anything was deleted
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		Map<String, List<Instruction>> defs = new HashMap<String, List<Instruction>>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				String d = i.getDef();
+				if (d == null) continue;
+				if (!defs.containsKey(d)) defs.put(d, new ArrayList<Instruction>());
+				defs.get(d).add(i);
+			}
+		}
+
+		Set<Instruction> marked = Collections.newSetFromMap(new IdentityHashMap<Instruction, Boolean>());
+		LinkedList<Instruction> work = new LinkedList<Instruction>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (!isRemovable(i) && marked.add(i)) work.add(i);
+			}
+		}
+		while (!work.isEmpty()) {
+			for (String u : work.pop().getUses()) {
+				if (!defs.containsKey(u)) continue;
+				for (Instruction d : defs.get(u)) {
+					if (marked.add(d)) work.add(d);
+				}
+			}
+		}
+
+		boolean changed = false;
+		for (BasicBlock b : cfg.getBlocks()) {
+			Iterator<Instruction> it = b.code.iterator();
+			while (it.hasNext()) {
+				Instruction i = it.next();
+				if (i.getOC() != null && !marked.contains(i)) {
+					it.remove();
+					changed = true;
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * @return true if the only effect of the instruction is its result
+	 */
+	static boolean isRemovable(Instruction i) {
+		if (!Instruction.isTemp(i.getDef())) return false;
+		OpCode oc = i.getOC();
+		return GlobalValueNumbering.isPure(oc) || oc == OpCode.MV || oc == OpCode.FMVS || oc == OpCode.LW || oc == OpCode.FLW || oc == OpCode.PHI;
+	}
+
+}
@@ -0,0 +1,117 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+
+/**
+ * Removes stores to local variables that are never read afterwards.
+ *
+ * Only the frame's own locals (negative offsets from fp) whose address does not
+ * escape are considered: nothing but this function's loads can read them, and
+ * they die when the function returns. A backward data-flow analysis finds the
+ * slots live at each point, and a store to a slot that is not live is deleted
+ * (the value it stored is left for dead code elimination).
+ *
+ * The return slot and arguments are read by the caller and are never touched.
+ */
+public class DeadStoreElimination {
+
+	private FrameSlots frame;
+
+	/**
+	 * @return true if anything was deleted
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		frame = cfg.getFrameSlots();
+		Map<BasicBlock, Set<Integer>> gen = new HashMap<BasicBlock, Set<Integer>>();
+		Map<BasicBlock, Set<Integer>> kill = new HashMap<BasicBlock, Set<Integer>>();
+		Map<BasicBlock, Set<Integer>> liveIn = new HashMap<BasicBlock, Set<Integer>>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			Set<Integer> g = new HashSet<Integer>(), k = new HashSet<Integer>();
+			for (Instruction i : b.code) {
+				Integer slot = slotOf(i);
+				if (slot == null) continue;
+				if (isStore(i)) {
+					k.add(slot);
+				} else if (!k.contains(slot)) {
+					g.add(slot);
+				}
+			}
+			gen.put(b, g);
+			kill.put(b, k);
+			liveIn.put(b, new HashSet<Integer>(g));
+		}
+
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>(cfg.getBlocks());
+		Set<BasicBlock> queued = new HashSet<BasicBlock>(work);
+		while (!work.isEmpty()) {
+			BasicBlock b = work.pop();
+			queued.remove(b);
+			Set<Integer> in = liveOut(b, liveIn);
+			in.removeAll(kill.get(b));
+			in.addAll(gen.get(b));
+			if (!in.equals(liveIn.get(b))) {
+				liveIn.put(b, in);
+				for (BasicBlock p : b.predecessors) {
+					if (queued.add(p)) work.add(p);
+				}
+			}
+		}
+
+		boolean changed = false;
+		for (BasicBlock b : cfg.getBlocks()) {
+			Set<Integer> live = liveOut(b, liveIn);
+			for (int k = b.code.size() - 1; k >= 0; k--) {
+				Instruction i = b.code.get(k);
+				Integer slot = slotOf(i);
+				if (slot == null) continue;
+				if (!isStore(i)) {
+					live.add(slot);
+				} else if (!live.remove(slot)) {
+					b.code.remove(k);
+					changed = true;
+				}
+			}
+		}
+		return changed;
+	}
+
+	private Set<Integer> liveOut(BasicBlock b, Map<BasicBlock, Set<Integer>> liveIn) {
+		Set<Integer> out = new HashSet<Integer>();
+		for (BasicBlock s : b.successors) {
+			out.addAll(liveIn.get(s));
+		}
+		return out;
+	}
+
+	/**
+	 * @return the local slot a load or store accesses, or null if it is not a
+	 *         private local
+	 */
+	private Integer slotOf(Instruction i) {
+		if (!FrameSlots.isMemoryAccess(i)) return null;
+		int offset;
+		try {
+			offset = Integer.parseInt(i.getLabel());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (!"fp".equals(i.getsrc1())) {
+			Integer address = frame.getAddress(i.getsrc1());
+			if (address == null) return null;
+			offset += address;
+		}
+		return (offset < 0 && !frame.escapes(offset)) ? offset : null;
+	}
+
+	private boolean isStore(Instruction i) {
+		return i.getOC() == OpCode.SW || i.getOC() == OpCode.FSW;
+	}
+
+}
@@ -0,0 +1,212 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Dominator tree of a control flow graph, computed with the iterative algorithm
+ * of Cooper, Harvey and Kennedy ("A Simple, Fast Dominance Algorithm"): idoms
+ * are refined in reverse postorder by intersecting the dominator chains of
+ * already processed predecessors, until nothing changes. Everything is
+ * iterative, so deep graphs do not overflow the stack.
+ *
+ * Blocks not reachable from the entry are not in the tree.
+ */
+public class DominatorTree {
+
+	private ControlFlowGraph cfg;
+	private List<BasicBlock> reversePostorder;
+	private int[] postorderNumber; //by block id, -1 if unreachable
+	private BasicBlock[] idom; //by block id
+	private List<List<BasicBlock>> children; //by block id
+	private int[] preorderNumber; //by block id, numbering of the dominator tree
+	private int[] lastDescendant; //by block id, highest preorder number in the subtree
+	private List<BasicBlock> preorder;
+	private List<List<BasicBlock>> frontiers; //by block id, computed on demand
+
+	public DominatorTree(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		int n = cfg.getMaxBlockId();
+		computeOrder(n);
+		computeIdoms(n);
+		computeTree(n);
+	}
+
+	/**
+	 * Depth-first postorder numbering from the entry
+	 */
+	private void computeOrder(int n) {
+		postorderNumber = new int[n];
+		Arrays.fill(postorderNumber, -1);
+		boolean[] visited = new boolean[n];
+		List<BasicBlock> postorder = new ArrayList<BasicBlock>();
+
+		//stack of (block, index of next successor to visit)
+		LinkedList<BasicBlock> blocks = new LinkedList<BasicBlock>();
+		LinkedList<Integer> next = new LinkedList<Integer>();
+		blocks.push(cfg.getEntry());
+		next.push(0);
+		visited[cfg.getEntry().id] = true;
+		while (!blocks.isEmpty()) {
+			BasicBlock b = blocks.peek();
+			int k = next.pop();
+			if (k < b.successors.size()) {
+				next.push(k + 1);
+				BasicBlock s = b.successors.get(k);
+				if (!visited[s.id]) {
+					visited[s.id] = true;
+					blocks.push(s);
+					next.push(0);
+				}
+			} else {
+				blocks.pop();
+				postorderNumber[b.id] = postorder.size();
+				postorder.add(b);
+			}
+		}
+		reversePostorder = postorder;
+		Collections.reverse(reversePostorder);
+	}
+
+	private void computeIdoms(int n) {
+		idom = new BasicBlock[n];
+		BasicBlock entry = cfg.getEntry();
+		idom[entry.id] = entry;
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (BasicBlock b : reversePostorder) {
+				if (b == entry) continue;
+				BasicBlock newIdom = null;
+				for (BasicBlock p : b.predecessors) {
+					if (idom[p.id] == null) continue; //not processed yet (or unreachable)
+					newIdom = (newIdom == null) ? p : intersect(p, newIdom);
+				}
+				if (idom[b.id] != newIdom) {
+					idom[b.id] = newIdom;
+					changed = true;
+				}
+			}
+		}
+	}
+
+	private BasicBlock intersect(BasicBlock a, BasicBlock b) {
+		while (a != b) {
+			while (postorderNumber[a.id] < postorderNumber[b.id]) a = idom[a.id];
+			while (postorderNumber[b.id] < postorderNumber[a.id]) b = idom[b.id];
+		}
+		return a;
+	}
+
+	/**
+	 * Children lists and a preorder numbering of the tree, for constant time
+	 * dominance queries
+	 */
+	private void computeTree(int n) {
+		children = new ArrayList<List<BasicBlock>>(n);
+		for (int i = 0; i < n; i++) {
+			children.add(new ArrayList<BasicBlock>(2));
+		}
+		for (BasicBlock b : reversePostorder) {
+			if (b != cfg.getEntry()) children.get(idom[b.id].id).add(b);
+		}
+
+		preorderNumber = new int[n];
+		lastDescendant = new int[n];
+		preorder = new ArrayList<BasicBlock>();
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+		work.push(cfg.getEntry());
+		while (!work.isEmpty()) {
+			BasicBlock b = work.pop();
+			preorderNumber[b.id] = preorder.size();
+			preorder.add(b);
+			List<BasicBlock> cs = children.get(b.id);
+			for (int i = cs.size() - 1; i >= 0; i--) {
+				work.push(cs.get(i));
+			}
+		}
+		//a subtree is a contiguous range of the preorder
+		for (int i = preorder.size() - 1; i >= 0; i--) {
+			BasicBlock b = preorder.get(i);
+			int last = i;
+			for (BasicBlock c : children.get(b.id)) {
+				last = Math.max(last, lastDescendant[c.id]);
+			}
+			lastDescendant[b.id] = last;
+		}
+	}
+
+	/**
+	 * @return the immediate dominator of b (the entry for the entry itself)
+	 */
+	public BasicBlock getIdom(BasicBlock b) {
+		return idom[b.id];
+	}
+
+	public List<BasicBlock> getChildren(BasicBlock b) {
+		return children.get(b.id);
+	}
+
+	/**
+	 * @return true if a dominates b (every block dominates itself)
+	 */
+	public boolean dominates(BasicBlock a, BasicBlock b) {
+		int pa = preorderNumber[a.id], pb = preorderNumber[b.id];
+		return pa <= pb && pb <= lastDescendant[a.id];
+	}
+
+	/**
+	 * @return the dominance frontier of b: the blocks where b's dominance ends
+	 */
+	public List<BasicBlock> getFrontier(BasicBlock b) {
+		if (frontiers == null) computeFrontiers();
+		return frontiers.get(b.id);
+	}
+
+	/**
+	 * Walk up from each predecessor of a join point to the join's idom: the join
+	 * is in the frontier of every block passed on the way (Cooper, Harvey and
+	 * Kennedy, figure 5)
+	 */
+	private void computeFrontiers() {
+		frontiers = new ArrayList<List<BasicBlock>>(idom.length);
+		for (int i = 0; i < idom.length; i++) {
+			frontiers.add(new ArrayList<BasicBlock>(2));
+		}
+		for (BasicBlock b : reversePostorder) {
+			if (b.predecessors.size() < 2) continue;
+			for (BasicBlock p : b.predecessors) {
+				if (!isReachable(p)) continue;
+				BasicBlock runner = p;
+				while (runner != idom[b.id]) {
+					List<BasicBlock> df = frontiers.get(runner.id);
+					if (df.isEmpty() || df.get(df.size() - 1) != b) df.add(b);
+					runner = idom[runner.id];
+				}
+			}
+		}
+	}
+
+	public boolean isReachable(BasicBlock b) {
+		return b.id < postorderNumber.length && postorderNumber[b.id] >= 0;
+	}
+
+	/**
+	 * @return the reachable blocks, in reverse postorder of the control flow graph
+	 */
+	public List<BasicBlock> getReversePostorder() {
+		return reversePostorder;
+	}
+
+	/**
+	 * @return the reachable blocks, in preorder of the dominator tree
+	 */
+	public List<BasicBlock> getPreorder() {
+		return preorder;
+	}
+
+}
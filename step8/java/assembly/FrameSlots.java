@@ -0,0 +1,84 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+
+/**
+ * Escape analysis for the stack slots of a function's frame.
+ *
+ * Code generation addresses a local as <code>ADDI t, fp, off</code> followed by
+ * a load or store through <code>t</code>. As long as every such address is only
+ * used as the base of a load or store, nothing but this function can read or
+ * write the slot, so calls and stores through unknown pointers leave it alone.
+ * An address that is used any other way (stored, passed, printed, offset
+ * further) makes its slot escape. A block of slots (see
+ * {@link ControlFlowGraph#addFrameObject(int, int)}) escapes as a whole.
+ */
+public class FrameSlots {
+
+	private Map<String, Integer> addresses; //temporaries holding fp + offset
+	private Set<Integer> escaping;
+	private boolean allEscape;
+	private ControlFlowGraph cfg;
+
+	public FrameSlots(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		addresses = new HashMap<String, Integer>();
+		escaping = new HashSet<Integer>();
+		allEscape = false;
+
+		Map<String, Integer> defs = cfg.countDefs();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.getCode()) {
+				if (i.getOC() == OpCode.ADDI && "fp".equals(i.getsrc1())) {
+					String d = i.getDef();
+					if (Instruction.isTemp(d) && defs.get(d) == 1) {
+						addresses.put(d, Integer.parseInt(i.getsrc2()));
+					} else {
+						allEscape = true;
+					}
+				}
+			}
+		}
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.getCode()) {
+				for (String r : i.getUses()) {
+					boolean base = isMemoryAccess(i) && r.equals(i.getsrc1()) && !r.equals(i.getOperand(Operand.DEST));
+					if (r.equals("fp")) {
+						if (!base && i.getOC() != OpCode.ADDI) allEscape = true;
+					} else if (addresses.containsKey(r) && !base) {
+						escaping.add(cfg.getFrameObject(addresses.get(r)));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if the slot at <code>fp + offset</code> can be accessed
+	 *         other than by this function's own loads and stores
+	 */
+	public boolean escapes(int offset) {
+		return allEscape || escaping.contains(cfg.getFrameObject(offset));
+	}
+
+	/**
+	 * @return the frame offset held by an address temporary, or null
+	 */
+	public Integer getAddress(String reg) {
+		return addresses.get(reg);
+	}
+
+	static boolean isMemoryAccess(Instruction i) {
+		OpCode oc = i.getOC();
+		return oc == OpCode.LW || oc == OpCode.SW || oc == OpCode.FLW || oc == OpCode.FSW;
+	}
+
+}
@@ -0,0 +1,224 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.FMv;
+import assembly.instructions.Flw;
+import assembly.instructions.Fsw;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+import assembly.instructions.La;
+import assembly.instructions.Lw;
+import assembly.instructions.Mv;
+import assembly.instructions.Sw;
+
+/**
+ * Keeps global variables in registers inside loops that do not call functions.
+ *
+ * In such a loop, nothing but the loop's own loads and stores can read or
+ * write a global, and {@link PointsTo} tells which of those through pointers
+ * may reach it; a global no pointer access may reach is only accessed through
+ * its own address. Each global the loop accesses gets a
+ * temporary: it is loaded on every edge into the loop, the loop's loads and
+ * stores become moves, and if the loop stores it, it is written back on every
+ * edge out of the loop (including returns from inside the loop).
+ *
+ * Reading memory that was never written stops the simulator, so a global is
+ * only loaded ahead of the loop if it is already accessed before the loop
+ * (in a block dominating the header), or loaded first thing in the header.
+ */
+public class GlobalPromotion {
+
+	private ControlFlowGraph cfg;
+	private Map<String, Long> globalAddresses; //temporaries holding the address of a global
+	private FrameSlots frame;
+	private PointsTo pointsTo;
+
+	/**
+	 * @return true if any global was promoted
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		boolean changed = false;
+		Set<BasicBlock> done = new HashSet<BasicBlock>();
+		boolean again = true;
+		while (again) {
+			again = false;
+			findAddresses();
+			DominatorTree dom = cfg.getDominatorTree();
+			for (NaturalLoops.Loop loop : cfg.getNaturalLoops().getLoops()) {
+				if (!done.add(loop.getHeader())) continue;
+				if (promote(loop, dom)) {
+					//edges were split and code moved: start over with fresh loops and analyses
+					cfg.invalidate(EnumSet.noneOf(ControlFlowGraph.Analysis.class));
+					changed = again = true;
+					break;
+				}
+			}
+		}
+		return changed;
+	}
+
+	private void findAddresses() {
+		globalAddresses = new HashMap<String, Long>();
+		frame = cfg.getFrameSlots();
+		pointsTo = cfg.getPointsTo();
+		Map<String, Integer> defs = cfg.countDefs();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (i.getOC() == OpCode.LA && defs.get(i.getDest()) == 1) {
+					try {
+						globalAddresses.put(i.getDest(), Long.decode(i.getLabel()));
+					} catch (NumberFormatException e) {
+						//not a global
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the global address accessed by a load or store, or null
+	 */
+	private Long addressOf(Instruction i) {
+		Long base = globalAddresses.get(i.getsrc1());
+		if (base == null) return null;
+		try {
+			return base + Integer.parseInt(i.getLabel());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private boolean isLocal(Instruction i) {
+		String base = i.getsrc1();
+		return base.equals("fp") || base.equals("sp") || frame.getAddress(base) != null;
+	}
+
+	private boolean promote(NaturalLoops.Loop loop, DominatorTree dom) {
+		//globals accessed in the loop, and whether they are accessed as floats
+		Map<Long, Boolean> globals = new LinkedHashMap<Long, Boolean>();
+		Map<Long, List<Instruction>> accesses = new HashMap<Long, List<Instruction>>();
+		List<Instruction> throughPointers = new ArrayList<Instruction>();
+		Set<Long> mixed = new HashSet<Long>(), stored = new HashSet<Long>();
+		for (BasicBlock b : loop.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (i.getOC() == OpCode.JR) return false;
+				if (!FrameSlots.isMemoryAccess(i)) continue;
+				Long g = addressOf(i);
+				if (g == null) {
+					if (!isLocal(i)) throughPointers.add(i);
+					continue;
+				}
+				if (!accesses.containsKey(g)) accesses.put(g, new ArrayList<Instruction>());
+				accesses.get(g).add(i);
+				boolean isFloat = i.getOC() == OpCode.FLW || i.getOC() == OpCode.FSW;
+				if (globals.containsKey(g) && globals.get(g) != isFloat) mixed.add(g);
+				globals.put(g, isFloat);
+				if (i.getOC() == OpCode.SW || i.getOC() == OpCode.FSW) stored.add(g);
+			}
+		}
+
+		Map<Long, String> registers = new LinkedHashMap<Long, String>();
+		for (Map.Entry<Long, Boolean> g : globals.entrySet()) {
+			if (!mixed.contains(g.getKey()) && !isAliased(accesses.get(g.getKey()), throughPointers) && isInitialized(g.getKey(), loop, dom)) {
+				registers.put(g.getKey(), cfg.newTemp(g.getValue()));
+			}
+		}
+		if (registers.isEmpty()) return false;
+
+		for (BasicBlock b : loop.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				Instruction i = b.code.get(k);
+				if (!FrameSlots.isMemoryAccess(i)) continue;
+				String r = registers.get(addressOf(i));
+				if (r == null) continue;
+				switch (i.getOC()) {
+					case LW: b.code.set(k, new Mv(r, i.getDest())); break;
+					case FLW: b.code.set(k, new FMv(r, i.getDest())); break;
+					case SW: b.code.set(k, new Mv(i.getOperand(Operand.DEST), r)); break;
+					case FSW: b.code.set(k, new FMv(i.getOperand(Operand.DEST), r)); break;
+					default: throw new Error("Shouldn't get here");
+				}
+			}
+		}
+
+		for (BasicBlock p : loop.getEntries()) {
+			BasicBlock at = (p.successors.size() == 1) ? p : cfg.splitEdge(p, loop.getHeader());
+			at.code.addAll(at.getInsertionPoint(), transfer(registers, null, false));
+		}
+		List<BasicBlock> leaving = new ArrayList<BasicBlock>();
+		for (BasicBlock b : loop.getBlocks()) {
+			if (b.successors.isEmpty()) leaving.add(b);
+		}
+		for (BasicBlock b : leaving) {
+			b.code.addAll(b.getInsertionPoint(), transfer(registers, stored, true));
+		}
+		for (BasicBlock[] exit : loop.getExits()) {
+			BasicBlock to = exit[1];
+			if (to.predecessors.size() == 1) {
+				to.code.addAll(to.getLabel() == null ? 0 : 1, transfer(registers, stored, true));
+			} else {
+				BasicBlock mid = cfg.splitEdge(exit[0], to);
+				mid.code.addAll(mid.getInsertionPoint(), transfer(registers, stored, true));
+			}
+		}
+		return true;
+	}
+
+	private boolean isAliased(List<Instruction> accesses, List<Instruction> throughPointers) {
+		for (Instruction a : accesses) {
+			for (Instruction p : throughPointers) {
+				if (pointsTo.mayAlias(a, p)) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * True if the global has certainly been written before the loop starts, so
+	 * loading it ahead of the loop cannot read uninitialized memory
+	 */
+	private boolean isInitialized(long g, NaturalLoops.Loop loop, DominatorTree dom) {
+		BasicBlock header = loop.getHeader();
+		for (Instruction i : header.code) {
+			if (FrameSlots.isMemoryAccess(i) && Long.valueOf(g).equals(addressOf(i))) {
+				return i.getOC() == OpCode.LW || i.getOC() == OpCode.FLW;
+			}
+		}
+		for (BasicBlock b : cfg.getBlocks()) {
+			if (b == header || !dom.isReachable(b) || !dom.dominates(b, header)) continue;
+			for (Instruction i : b.code) {
+				if (FrameSlots.isMemoryAccess(i) && Long.valueOf(g).equals(addressOf(i))) return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return code loading (or storing) the registers of the given globals
+	 */
+	private List<Instruction> transfer(Map<Long, String> registers, Set<Long> only, boolean store) {
+		List<Instruction> code = new ArrayList<Instruction>();
+		for (Map.Entry<Long, String> g : registers.entrySet()) {
+			if (only != null && !only.contains(g.getKey())) continue;
+			String r = g.getValue(), address = cfg.newTemp(false);
+			code.add(new La(address, "0x" + Long.toHexString(g.getKey())));
+			if (Instruction.isFloatTemp(r)) {
+				code.add(store ? new Fsw(r, address, "0") : new Flw(r, address, "0"));
+			} else {
+				code.add(store ? new Sw(r, address, "0") : new Lw(r, address, "0"));
+			}
+		}
+		return code;
+	}
+
+}
@@ -0,0 +1,157 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+
+/**
+ * Dominator-based global value numbering.
+ *
+ * Walks the dominator tree keeping a scoped table of the side-effect free
+ * expressions computed in the dominating blocks. An expression computed again
+ * in a dominated block is redundant: its result is renamed to the register
+ * computed first and the instruction deleted. Renaming keeps the table
+ * canonical, so expressions over renamed registers match as well.
+ *
+ * Only expressions whose operands and result are single-definition
+ * temporaries (or <code>fp</code>, which is constant in the body) take part:
+ * their value is the same wherever the definition reaches. Memory is left to
+ * {@link LocalValueNumbering}.
+ */
+public class GlobalValueNumbering {
+
+	private Map<String, Integer> defs;
+	private Map<String, String> renames;
+	private Map<String, String> available; //expression -> register holding it
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		DominatorTree dom = cfg.getDominatorTree();
+		defs = cfg.countDefs();
+		renames = new HashMap<String, String>();
+		available = new HashMap<String, String>();
+
+		//depth-first walk of the dominator tree; a null entry marks leaving the block on top of scopes
+		boolean changed = false;
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+		LinkedList<List<String>> scopes = new LinkedList<List<String>>();
+		work.push(cfg.getEntry());
+		while (!work.isEmpty()) {
+			BasicBlock b = work.pop();
+			if (b == null) {
+				for (String key : scopes.pop()) {
+					available.remove(key);
+				}
+				continue;
+			}
+			List<String> added = new LinkedList<String>();
+			changed |= run(b, added);
+			scopes.push(added);
+			work.push(null);
+			for (BasicBlock c : dom.getChildren(b)) {
+				work.push(c);
+			}
+		}
+		cfg.renameUses(renames);
+		return changed;
+	}
+
+	private boolean run(BasicBlock b, List<String> added) {
+		boolean changed = false;
+		List<Instruction> code = b.getCode();
+		for (int k = 0; k < code.size(); k++) {
+			Instruction i = code.get(k);
+			for (String u : i.getUses()) {
+				String r = ControlFlowGraph.resolve(renames, u);
+				if (!r.equals(u)) i.replaceUse(u, r);
+			}
+			if (!isCandidate(i, defs)) continue;
+
+			String key = expressionKey(i);
+			String h = available.get(key);
+			if (h != null) {
+				renames.put(i.getDef(), h);
+				code.remove(k--);
+				changed = true;
+			} else {
+				available.put(key, i.getDef());
+				added.add(key);
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * True for side-effect free instructions whose value depends only on their
+	 * operands (which is why loads are not included)
+	 */
+	static boolean isPure(OpCode oc) {
+		if (oc == null) return false;
+		switch (oc) {
+			case LI:
+			case LA:
+			case FIMMS:
+			case ADDI:
+			case NEG:
+			case FNEGS:
+			case FMOVI:
+			case IMOVF:
+			case ADD:
+			case SUB:
+			case MUL:
+			case DIV:
+			case FADDS:
+			case FSUBS:
+			case FMULS:
+			case FDIVS:
+			case FLT:
+			case FLE:
+			case FEQ:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	static boolean isCommutative(OpCode oc) {
+		return oc == OpCode.ADD || oc == OpCode.MUL || oc == OpCode.FADDS || oc == OpCode.FMULS || oc == OpCode.FEQ;
+	}
+
+	/**
+	 * True for a pure instruction whose result and register operands are
+	 * defined exactly once in the function (fp is never defined in the body)
+	 */
+	static boolean isCandidate(Instruction i, Map<String, Integer> defs) {
+		if (!isPure(i.getOC())) return false;
+		String d = i.getDef();
+		if (!Instruction.isTemp(d) || defs.get(d) != 1) return false;
+		for (String u : i.getUses()) {
+			if (!u.equals("fp") && !(Instruction.isTemp(u) && defs.get(u) != null && defs.get(u) == 1)) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The operation of a pure instruction on its operands, with commutative
+	 * operands in a fixed order
+	 */
+	static String expressionKey(Instruction i) {
+		OpCode oc = i.getOC();
+		String a = i.getsrc1(), b = i.getsrc2();
+		if (a == null) return oc + " " + i.getLabel();
+		if (b == null) return oc + " " + a;
+		if (isCommutative(oc) && a.compareTo(b) > 0) {
+			String t = a;
+			a = b;
+			b = t;
+		}
+		return oc + " " + a + " " + b;
+	}
+
+}
@@ -0,0 +1,392 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.Operand;
+
+/**
+ * Partial redundancy elimination by lazy code motion (Knoop, Ruthing and
+ * Steffen, in the formulation of Cooper and Torczon's "Engineering a
+ * Compiler").
+ *
+ * An expression computed on some paths into a block and then again in the
+ * block is partially redundant. Data-flow analysis over the pure expressions of
+ * the function finds the latest points where inserting the computation makes
+ * every such recomputation fully redundant, without computing anything on a
+ * path that did not compute it before (this also hoists loop-invariant
+ * computations out of loop headers). Each transformed expression gets a new
+ * temporary: insertions and remaining computations write it, redundant
+ * computations are deleted, and the old results are renamed to it.
+ *
+ * Insertions go at the end of the source block of an edge or the start of its
+ * target; a critical edge is only split if the new block can sit on the
+ * fall-through path. Expressions that would need a new jump are left alone.
+ *
+ * Only expressions computed more than once, or in a loop, can be redundant,
+ * so the others are not part of the analysis. The equations do not mix
+ * expressions, so they are solved for a group of expressions at a time: the
+ * per-block sets stay small however many blocks and expressions a function
+ * has.
+ */
+public class LazyCodeMotion {
+
+	//expressions solved together, which bounds the size of each block's sets
+	static final private int GROUP_SIZE = 256;
+
+	private ControlFlowGraph cfg;
+	private Map<String, Integer> defs;
+
+	//the expressions, and for each register the expressions that read it
+	private List<String> keys;
+	private Map<String, List<Integer>> readers;
+	private Map<Integer, Instruction> templates;
+	private Map<Instruction, Integer> expressions; //each computation of an expression
+
+	//per block, by position in blocks
+	private List<BasicBlock> blocks;
+	private Map<BasicBlock, Integer> position;
+
+	//sets of the group of expressions being solved: bit x is expression lo + x
+	private int lo, size;
+	private BitSet[] ue, de, kill, availOut, antIn, antOut, laterIn;
+
+	//solution for all the expressions: insertions by edge (source * blocks + target), and deletions by block
+	private Map<Long, BitSet> inserts;
+	private List<Set<Integer>> deletes;
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		defs = cfg.countDefs();
+		NaturalLoops loops = cfg.getNaturalLoops();
+		//a block in front of the entry, where computations can be hoisted out of the whole body
+		BasicBlock pre = cfg.addBlock(0);
+
+		findExpressions(loops);
+		boolean changed = false;
+		if (!keys.isEmpty()) {
+			blocks = cfg.getBlocks();
+			position = new HashMap<BasicBlock, Integer>();
+			deletes = new ArrayList<Set<Integer>>();
+			for (int k = 0; k < blocks.size(); k++) {
+				position.put(blocks.get(k), k);
+				deletes.add(new HashSet<Integer>());
+			}
+			inserts = new LinkedHashMap<Long, BitSet>();
+			for (lo = 0; lo < keys.size(); lo += GROUP_SIZE) {
+				size = Math.min(GROUP_SIZE, keys.size() - lo);
+				computeLocalSets();
+				computeAvailable();
+				computeAnticipated();
+				computeLater();
+			}
+			changed = transform();
+		}
+
+		if (pre.getCode().isEmpty()) cfg.removeEmptyBlock(pre);
+		return changed;
+	}
+
+	/**
+	 * Number the expressions that are computed more than once, or in a loop
+	 */
+	private void findExpressions(NaturalLoops loops) {
+		Set<BasicBlock> inLoops = new HashSet<BasicBlock>();
+		for (NaturalLoops.Loop loop : loops.getLoops()) {
+			inLoops.addAll(loop.getBlocks());
+		}
+		Map<String, Integer> counts = new HashMap<String, Integer>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.getCode()) {
+				if (!GlobalValueNumbering.isCandidate(i, defs)) continue;
+				String key = GlobalValueNumbering.expressionKey(i);
+				Integer c = counts.get(key);
+				//a computation in a loop is repeated by itself
+				counts.put(key, (c == null ? 0 : c) + (inLoops.contains(b) ? 2 : 1));
+			}
+		}
+
+		keys = new ArrayList<String>();
+		Map<String, Integer> index = new HashMap<String, Integer>();
+		readers = new HashMap<String, List<Integer>>();
+		templates = new HashMap<Integer, Instruction>();
+		expressions = new IdentityHashMap<Instruction, Integer>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.getCode()) {
+				if (!GlobalValueNumbering.isCandidate(i, defs)) continue;
+				String key = GlobalValueNumbering.expressionKey(i);
+				if (counts.get(key) < 2) continue;
+				if (!index.containsKey(key)) {
+					int e = keys.size();
+					keys.add(key);
+					index.put(key, e);
+					templates.put(e, i);
+					for (String u : i.getUses()) {
+						if (!readers.containsKey(u)) readers.put(u, new ArrayList<Integer>());
+						readers.get(u).add(e);
+					}
+				}
+				expressions.put(i, index.get(key));
+			}
+		}
+	}
+
+	/**
+	 * Upward exposed (computed before any operand is redefined), downward exposed
+	 * (computed after the last redefinition of an operand) and killed expressions
+	 */
+	private void computeLocalSets() {
+		int n = blocks.size();
+		ue = new BitSet[n];
+		de = new BitSet[n];
+		kill = new BitSet[n];
+		for (int k = 0; k < n; k++) {
+			ue[k] = new BitSet();
+			de[k] = new BitSet();
+			kill[k] = new BitSet();
+			for (Instruction i : blocks.get(k).getCode()) {
+				Integer e = expressions.get(i);
+				if (e != null && e >= lo && e < lo + size) {
+					if (!kill[k].get(e - lo)) ue[k].set(e - lo);
+					de[k].set(e - lo);
+				}
+				List<Integer> killed = (i.getDef() == null) ? null : readers.get(i.getDef());
+				if (killed == null) continue;
+				for (int r : killed) {
+					if (r < lo || r >= lo + size) continue;
+					kill[k].set(r - lo);
+					de[k].clear(r - lo);
+				}
+			}
+		}
+	}
+
+	private void computeAvailable() {
+		int n = blocks.size();
+		availOut = new BitSet[n];
+		for (int k = 0; k < n; k++) {
+			availOut[k] = full();
+		}
+		availOut[0] = (BitSet) de[0].clone();
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int k = 1; k < n; k++) {
+				BitSet in = full();
+				for (BasicBlock p : blocks.get(k).getPredecessors()) {
+					in.and(availOut[position.get(p)]);
+				}
+				if (blocks.get(k).getPredecessors().isEmpty()) in.clear();
+				in.andNot(kill[k]);
+				in.or(de[k]);
+				if (!in.equals(availOut[k])) {
+					availOut[k] = in;
+					changed = true;
+				}
+			}
+		}
+	}
+
+	private void computeAnticipated() {
+		int n = blocks.size();
+		antIn = new BitSet[n];
+		antOut = new BitSet[n];
+		for (int k = 0; k < n; k++) {
+			antIn[k] = full();
+			antOut[k] = new BitSet();
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int k = n - 1; k >= 0; k--) {
+				BitSet out = full();
+				for (BasicBlock s : blocks.get(k).getSuccessors()) {
+					out.and(antIn[position.get(s)]);
+				}
+				if (blocks.get(k).getSuccessors().isEmpty()) out.clear();
+				antOut[k] = out;
+				BitSet in = (BitSet) out.clone();
+				in.andNot(kill[k]);
+				in.or(ue[k]);
+				if (!in.equals(antIn[k])) {
+					antIn[k] = in;
+					changed = true;
+				}
+			}
+		}
+	}
+
+	private BitSet earliest(int i, int j) {
+		BitSet e = (BitSet) antIn[j].clone();
+		e.andNot(availOut[i]);
+		if (i != 0) {
+			BitSet notAnt = full();
+			notAnt.andNot(antOut[i]);
+			notAnt.or(kill[i]);
+			e.and(notAnt);
+		}
+		return e;
+	}
+
+	private BitSet later(int i, int j) {
+		BitSet l = (BitSet) laterIn[i].clone();
+		l.andNot(ue[i]);
+		l.or(earliest(i, j));
+		return l;
+	}
+
+	/**
+	 * Find where the expressions of the group are inserted and deleted
+	 */
+	private void computeLater() {
+		int n = blocks.size();
+		laterIn = new BitSet[n];
+		for (int k = 0; k < n; k++) {
+			laterIn[k] = full();
+		}
+		laterIn[0] = new BitSet();
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int k = 1; k < n; k++) {
+				BitSet in = full();
+				for (BasicBlock p : blocks.get(k).getPredecessors()) {
+					in.and(later(position.get(p), k));
+				}
+				if (blocks.get(k).getPredecessors().isEmpty()) in.clear();
+				if (!in.equals(laterIn[k])) {
+					laterIn[k] = in;
+					changed = true;
+				}
+			}
+		}
+
+		for (int i = 0; i < n; i++) {
+			for (BasicBlock s : blocks.get(i).getSuccessors()) {
+				int j = position.get(s);
+				BitSet insert = later(i, j);
+				insert.andNot(laterIn[j]);
+				if (insert.isEmpty()) continue;
+				Long edge = (long) i * n + j;
+				if (!inserts.containsKey(edge)) inserts.put(edge, new BitSet());
+				for (int x = insert.nextSetBit(0); x >= 0; x = insert.nextSetBit(x + 1)) {
+					inserts.get(edge).set(lo + x);
+				}
+			}
+		}
+		for (int k = 1; k < n; k++) {
+			BitSet delete = (BitSet) ue[k].clone();
+			delete.andNot(laterIn[k]);
+			for (int x = delete.nextSetBit(0); x >= 0; x = delete.nextSetBit(x + 1)) {
+				deletes.get(k).add(lo + x);
+			}
+		}
+	}
+
+	private boolean transform() {
+		//expressions that are moved, minus those that would need a new jump on some edge
+		BitSet moved = new BitSet();
+		for (BitSet insert : inserts.values()) {
+			moved.or(insert);
+		}
+		for (Set<Integer> delete : deletes) {
+			for (int e : delete) {
+				moved.set(e);
+			}
+		}
+		int n = blocks.size();
+		for (Map.Entry<Long, BitSet> edge : inserts.entrySet()) {
+			BasicBlock from = blocks.get((int) (edge.getKey() / n)), to = blocks.get((int) (edge.getKey() % n));
+			if (needsJump(from, to)) moved.andNot(edge.getValue());
+		}
+		if (moved.isEmpty()) return false;
+
+		Map<Integer, String> temps = new HashMap<Integer, String>();
+		for (int e = moved.nextSetBit(0); e >= 0; e = moved.nextSetBit(e + 1)) {
+			temps.put(e, cfg.newTemp(Instruction.isFloatTemp(templates.get(e).getDef())));
+		}
+
+		//every computation of a moved expression writes its temporary, except the
+		//upward exposed ones that are deleted
+		Map<String, String> renames = new HashMap<String, String>();
+		for (int k = 0; k < n; k++) {
+			List<Instruction> code = blocks.get(k).getCode();
+			Set<Integer> exposed = new HashSet<Integer>();
+			Set<Integer> killed = new HashSet<Integer>();
+			for (int x = 0; x < code.size(); x++) {
+				Instruction i = code.get(x);
+				Integer e = expressions.get(i);
+				if (e != null && moved.get(e)) {
+					renames.put(i.getDef(), temps.get(e));
+					if (k > 0 && deletes.get(k).contains(e) && !killed.contains(e) && exposed.add(e)) {
+						code.remove(x--);
+						continue;
+					}
+					i.setOperand(Operand.DEST, temps.get(e));
+				}
+				List<Integer> r = (i.getDef() == null) ? null : readers.get(i.getDef());
+				if (r != null) killed.addAll(r);
+			}
+		}
+
+		//the edges, before splitting any of them moves the blocks
+		List<BasicBlock[]> edges = new ArrayList<BasicBlock[]>();
+		for (Long edge : inserts.keySet()) {
+			edges.add(new BasicBlock[] {blocks.get((int) (edge / n)), blocks.get((int) (edge % n))});
+		}
+		int at = 0;
+		for (BitSet value : inserts.values()) {
+			BasicBlock[] edge = edges.get(at++);
+			BitSet insert = (BitSet) value.clone();
+			insert.and(moved);
+			if (insert.isEmpty()) continue;
+			List<Instruction> code = new ArrayList<Instruction>();
+			for (int e = insert.nextSetBit(0); e >= 0; e = insert.nextSetBit(e + 1)) {
+				Instruction i = templates.get(e).copy();
+				i.setOperand(Operand.DEST, temps.get(e));
+				code.add(i);
+			}
+			insertOnEdge(edge[0], edge[1], code);
+		}
+		cfg.renameUses(renames);
+		return true;
+	}
+
+	/**
+	 * Code for an edge can go at the end of the source if the edge is its only
+	 * way out, at the start of the target if the edge is its only way in, or in a
+	 * new block on the fall-through path
+	 */
+	private boolean needsJump(BasicBlock from, BasicBlock to) {
+		return from.getSuccessors().size() > 1 && to.getPredecessors().size() > 1 && !cfg.isFallThroughEdge(from, to);
+	}
+
+	private void insertOnEdge(BasicBlock from, BasicBlock to, List<Instruction> code) {
+		if (from.getSuccessors().size() == 1) {
+			from.getCode().addAll(from.getInsertionPoint(), code);
+		} else if (to.getPredecessors().size() == 1) {
+			to.getCode().addAll(to.getLabel() == null ? 0 : 1, code);
+		} else {
+			BasicBlock mid = cfg.splitEdge(from, to);
+			mid.getCode().addAll(mid.getInsertionPoint(), code);
+		}
+	}
+
+	private BitSet full() {
+		BitSet b = new BitSet();
+		b.set(0, size);
+		return b;
+	}
+
+}
@@ -0,0 +1,172 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Phi;
+
+/**
+ * Live temporaries at block boundaries, by backward data-flow analysis.
+ *
+ * Phis follow the usual SSA convention: a phi defines its result at the start
+ * of its block, and each source is used at the end of the corresponding
+ * predecessor (so it is live out of that predecessor only).
+ *
+ * Only temporaries are tracked: fp, sp and ra are never candidates for
+ * removal or renaming. Temporaries are numbered, and each set is a sorted
+ * array of numbers: a block only holds the temporaries live across it, where
+ * a bit vector would be as long as the function's highest number.
+ */
+public class Liveness {
+
+	static final private int[] EMPTY = new int[0];
+
+	private Map<String, Integer> numbers;
+	private List<String> temps;
+	private int[][] liveIn; //by block id
+	private int[][] liveOut; //by block id
+
+	public Liveness(ControlFlowGraph cfg) {
+		numbers = new HashMap<String, Integer>();
+		temps = new ArrayList<String>();
+		int n = cfg.getMaxBlockId();
+		int[][] use = new int[n][];
+		int[][] def = new int[n][];
+		liveIn = new int[n][];
+		liveOut = new int[n][];
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			Set<Integer> u = new HashSet<Integer>(), d = new HashSet<Integer>();
+			for (Instruction i : b.code) {
+				if (!(i instanceof Phi)) {
+					for (String r : i.getUses()) {
+						if (Instruction.isTemp(r) && !d.contains(number(r))) u.add(number(r));
+					}
+				}
+				if (Instruction.isTemp(i.getDef())) d.add(number(i.getDef()));
+			}
+			use[b.id] = toArray(u);
+			def[b.id] = toArray(d);
+			liveIn[b.id] = EMPTY;
+			liveOut[b.id] = EMPTY;
+		}
+
+		//iterate to a fixed point, starting from the exits
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+		Set<BasicBlock> queued = new HashSet<BasicBlock>();
+		for (int k = cfg.getBlocks().size() - 1; k >= 0; k--) {
+			work.add(cfg.getBlocks().get(k));
+			queued.add(cfg.getBlocks().get(k));
+		}
+		while (!work.isEmpty()) {
+			BasicBlock b = work.pop();
+			queued.remove(b);
+			int[] out = EMPTY;
+			for (BasicBlock s : b.successors) {
+				out = union(out, liveIn[s.id]);
+				Set<Integer> sources = new HashSet<Integer>();
+				for (Instruction i : s.code) {
+					if (i instanceof Phi) {
+						String src = ((Phi) i).getSource(b);
+						if (Instruction.isTemp(src)) sources.add(number(src));
+					}
+				}
+				if (!sources.isEmpty()) out = union(out, toArray(sources));
+			}
+			liveOut[b.id] = out;
+			int[] in = union(minus(out, def[b.id]), use[b.id]);
+			if (!Arrays.equals(in, liveIn[b.id])) {
+				liveIn[b.id] = in;
+				for (BasicBlock p : b.predecessors) {
+					if (queued.add(p)) work.add(p);
+				}
+			}
+		}
+	}
+
+	private int number(String temp) {
+		Integer n = numbers.get(temp);
+		if (n == null) {
+			n = temps.size();
+			numbers.put(temp, n);
+			temps.add(temp);
+		}
+		return n;
+	}
+
+	static private int[] toArray(Set<Integer> s) {
+		int[] a = new int[s.size()];
+		int k = 0;
+		for (int x : s) {
+			a[k++] = x;
+		}
+		Arrays.sort(a);
+		return a;
+	}
+
+	static private int[] union(int[] a, int[] b) {
+		if (a.length == 0) return b;
+		if (b.length == 0) return a;
+		int[] c = new int[a.length + b.length];
+		int i = 0, j = 0, k = 0;
+		while (i < a.length || j < b.length) {
+			if (j == b.length || (i < a.length && a[i] < b[j])) {
+				c[k++] = a[i++];
+			} else if (i == a.length || b[j] < a[i]) {
+				c[k++] = b[j++];
+			} else {
+				c[k++] = a[i++];
+				j++;
+			}
+		}
+		return Arrays.copyOf(c, k);
+	}
+
+	static private int[] minus(int[] a, int[] b) {
+		if (a.length == 0 || b.length == 0) return a;
+		int[] c = new int[a.length];
+		int j = 0, k = 0;
+		for (int x : a) {
+			while (j < b.length && b[j] < x) j++;
+			if (j == b.length || b[j] != x) c[k++] = x;
+		}
+		return Arrays.copyOf(c, k);
+	}
+
+	private boolean contains(int[] set, String temp) {
+		Integer n = numbers.get(temp);
+		return n != null && Arrays.binarySearch(set, n) >= 0;
+	}
+
+	public boolean isLiveIn(BasicBlock b, String temp) {
+		return contains(liveIn[b.id], temp);
+	}
+
+	public boolean isLiveOut(BasicBlock b, String temp) {
+		return contains(liveOut[b.id], temp);
+	}
+
+	public Set<String> getLiveIn(BasicBlock b) {
+		return toSet(liveIn[b.id]);
+	}
+
+	public Set<String> getLiveOut(BasicBlock b) {
+		return toSet(liveOut[b.id]);
+	}
+
+	private Set<String> toSet(int[] set) {
+		Set<String> s = new HashSet<String>();
+		for (int x : set) {
+			s.add(temps.get(x));
+		}
+		return s;
+	}
+
+}
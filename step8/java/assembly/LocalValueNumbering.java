@@ -0,0 +1,353 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import assembly.instructions.FMv;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Mv;
+
+/**
+ * Local value numbering.
+ *
+ * Walks each basic block assigning value numbers to registers, so that two
+ * instructions computing the same operation on the same value numbers compute
+ * the same value. The second one is redundant: if both results are
+ * single-definition temporaries the redundant result is renamed to the first
+ * throughout the function and the instruction is deleted, otherwise it becomes a
+ * register move.
+ *
+ * Memory is numbered too: each load or store location is named by the value
+ * number of its base address plus the offset (with frame slots and globals
+ * resolved to absolute names), and remembers the value last loaded from or
+ * stored to it. A load from a location with a known value is redundant (this
+ * covers both repeated loads and store-to-load forwarding). Stores kill the
+ * locations they may alias, and calls, <code>MALLOC</code> and
+ * <code>FREE</code> kill everything except stack slots that do not escape (see
+ * {@link FrameSlots}). Accesses relative to <code>sp</code> (argument pushes and
+ * return values) are never reused.
+ */
+public class LocalValueNumbering {
+
+	/**
+	 * An address: a base (<code>fp</code>, a global, or the value number of an
+	 * unknown pointer) plus an offset
+	 */
+	private static class Address {
+		final String base;
+		final int offset;
+
+		Address(String base, int offset) {
+			this.base = base;
+			this.offset = offset;
+		}
+
+		/**
+		 * Numeric global addresses share one base, so that different labels for the
+		 * same location compare equal
+		 */
+		static Address global(String label) {
+			try {
+				return new Address("g:", Long.decode(label).intValue());
+			} catch (NumberFormatException e) {
+				return new Address("g:" + label, 0);
+			}
+		}
+
+		Address plus(int n) {
+			return new Address(base, offset + n);
+		}
+
+		boolean isFrame() {
+			return base.equals("fp");
+		}
+
+		boolean isUnknown() {
+			return base.startsWith("%");
+		}
+
+		public boolean equals(Object o) {
+			return o instanceof Address && ((Address) o).base.equals(base) && ((Address) o).offset == offset;
+		}
+
+		public int hashCode() {
+			return base.hashCode() * 31 + offset;
+		}
+
+		public String toString() {
+			return base + "+" + offset;
+		}
+	}
+
+	private FrameSlots frame;
+	private Map<String, Integer> defs;
+	private Map<String, String> renames;
+
+	//state for the current block
+	private int nextValue;
+	private Map<String, Integer> values; //register -> value number
+	private Map<String, Integer> expressions; //expression -> value number
+	private Map<Integer, String> holders; //value number -> a register holding it
+	private Map<Integer, Address> addresses; //value number -> address it holds, if known
+	private Map<String, Integer> memory; //location -> value number stored there
+	private Map<String, Address> locations; //location -> its address
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		frame = cfg.getFrameSlots();
+		defs = cfg.countDefs();
+		renames = new HashMap<String, String>();
+		nextValue = 0;
+
+		boolean changed = false;
+		for (BasicBlock b : cfg.getBlocks()) {
+			changed |= run(b);
+		}
+		cfg.renameUses(renames);
+		return changed;
+	}
+
+	private boolean run(BasicBlock b) {
+		values = new HashMap<String, Integer>();
+		expressions = new HashMap<String, Integer>();
+		holders = new HashMap<Integer, String>();
+		addresses = new HashMap<Integer, Address>();
+		memory = new HashMap<String, Integer>();
+		locations = new HashMap<String, Address>();
+		addresses.put(valueOf("fp"), new Address("fp", 0));
+
+		boolean changed = false;
+		List<Instruction> code = b.getCode();
+		for (int k = 0; k < code.size(); k++) {
+			Instruction i = code.get(k);
+			for (String u : i.getUses()) {
+				String r = ControlFlowGraph.resolve(renames, u);
+				if (!r.equals(u)) i.replaceUse(u, r);
+			}
+			if (i.getOC() == null) continue;
+
+			Integer redundant = null; //value number of i's result, if it is already available
+			String d = i.getDef();
+			switch (i.getOC()) {
+				case LW:
+				case FLW: {
+					String loc = location(i);
+					Integer v = (loc == null) ? null : memory.get(loc);
+					if (v != null && holder(v, d) != null) {
+						redundant = v;
+					} else {
+						v = define(d);
+						if (loc != null) memory.put(loc, v);
+					}
+					break;
+				}
+				case SW:
+				case FSW: {
+					String loc = location(i);
+					if (loc != null) {
+						kill(loc);
+						memory.put(loc, valueOf(i.getOperand(Instruction.Operand.DEST)));
+					}
+					break;
+				}
+				case JR:
+				case MALLOC:
+				case FREE:
+					killCall();
+					if (d != null) define(d);
+					break;
+				case MV:
+				case FMVS:
+					copy(d, valueOf(i.getsrc1()));
+					break;
+				default:
+					String key = expression(i);
+					if (key == null || !Instruction.isTemp(d)) {
+						if (d != null) define(d);
+						break;
+					}
+					Integer v = expressions.get(key);
+					if (v != null && holder(v, d) != null) {
+						redundant = v;
+					} else if (v != null) {
+						copy(d, v);
+					} else {
+						v = define(d);
+						expressions.put(key, v);
+						recordAddress(i, v);
+					}
+			}
+
+			if (redundant != null) {
+				String h = holder(redundant, d);
+				if (Instruction.isTemp(h) && defs.get(d) == 1 && defs.get(h) == 1) {
+					renames.put(d, h);
+					code.remove(k--);
+				} else {
+					code.set(k, Instruction.isFloatTemp(d) ? new FMv(h, d) : new Mv(h, d));
+				}
+				copy(d, redundant);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Key identifying the operation of a side-effect free instruction on the
+	 * current value numbers of its operands, or null if the instruction can't be
+	 * numbered
+	 */
+	private String expression(Instruction i) {
+		OpCode oc = i.getOC();
+		switch (oc) {
+			case LI:
+			case LA:
+			case FIMMS:
+				return oc + " " + i.getLabel();
+			case ADDI:
+				return oc + " " + valueOf(i.getsrc1()) + " " + i.getsrc2();
+			case NEG:
+			case FNEGS:
+			case FMOVI:
+			case IMOVF:
+				return oc + " " + valueOf(i.getsrc1());
+			case ADD:
+			case MUL:
+			case FADDS:
+			case FMULS:
+			case FEQ: {
+				int a = valueOf(i.getsrc1());
+				int b = valueOf(i.getsrc2());
+				return oc + " " + Math.min(a, b) + " " + Math.max(a, b);
+			}
+			case SUB:
+			case DIV:
+			case FSUBS:
+			case FDIVS:
+			case FLT:
+			case FLE:
+				return oc + " " + valueOf(i.getsrc1()) + " " + valueOf(i.getsrc2());
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Track addresses computed by LA and ADDI, so that loads and stores through
+	 * different registers holding the same address name the same location
+	 */
+	private void recordAddress(Instruction i, int v) {
+		if (i.getOC() == OpCode.LA) {
+			addresses.put(v, Address.global(i.getLabel()));
+		} else if (i.getOC() == OpCode.ADDI) {
+			addresses.put(v, addressOf(i.getsrc1()).plus(Integer.parseInt(i.getsrc2())));
+		}
+	}
+
+	/**
+	 * @return the address held by a register: known, or relative to its value number
+	 */
+	private Address addressOf(String reg) {
+		int v = valueOf(reg);
+		Address a = addresses.get(v);
+		return (a != null) ? a : new Address("%" + v, 0);
+	}
+
+	/**
+	 * Location accessed by a load or store: the register class followed by the
+	 * address. Null for stack accesses through sp.
+	 */
+	private String location(Instruction i) {
+		if (i.getsrc1().equals("sp")) return null;
+		Address a = addressOf(i.getsrc1()).plus(Integer.parseInt(i.getLabel()));
+		boolean isFloat = i.getOC() == OpCode.FLW || i.getOC() == OpCode.FSW;
+		String loc = (isFloat ? "f:" : "i:") + a;
+		locations.put(loc, a);
+		return loc;
+	}
+
+	/**
+	 * A store to <code>loc</code> overwrites it (in both register classes) and
+	 * anything that may alias it
+	 */
+	private void kill(String loc) {
+		Address a = locations.get(loc);
+		Iterator<String> it = memory.keySet().iterator();
+		while (it.hasNext()) {
+			Address other = locations.get(it.next());
+			if (other.equals(a) || mayAlias(a, other)) it.remove();
+		}
+	}
+
+	/**
+	 * Distinct frame slots and globals never alias; an address relative to an
+	 * unknown pointer may alias anything exposed to pointers. (Two addresses
+	 * relative to the same unknown pointer only alias if they are equal, but that
+	 * case is rare enough not to bother.)
+	 */
+	private boolean mayAlias(Address a, Address b) {
+		if (a.isUnknown() && b.isUnknown()) return true;
+		if (a.isUnknown()) return isExposed(b);
+		if (b.isUnknown()) return isExposed(a);
+		return false;
+	}
+
+	/**
+	 * True if a location can be accessed through a pointer or by another function
+	 */
+	private boolean isExposed(Address a) {
+		return !a.isFrame() || frame.escapes(a.offset);
+	}
+
+	/**
+	 * The callee may write anything except our private stack slots
+	 */
+	private void killCall() {
+		Iterator<String> it = memory.keySet().iterator();
+		while (it.hasNext()) {
+			if (isExposed(locations.get(it.next()))) it.remove();
+		}
+	}
+
+	private int valueOf(String reg) {
+		Integer v = values.get(reg);
+		if (v == null) {
+			v = define(reg);
+		}
+		return v;
+	}
+
+	/**
+	 * Give <code>reg</code> a new value number
+	 */
+	private int define(String reg) {
+		int v = nextValue++;
+		copy(reg, v);
+		return v;
+	}
+
+	/**
+	 * <code>reg</code> now holds value number <code>v</code>
+	 */
+	private void copy(String reg, int v) {
+		values.put(reg, v);
+		if (holder(v, reg) == null) holders.put(v, reg);
+	}
+
+	/**
+	 * @return a register of the same class as <code>like</code> still holding value number <code>v</code>, or null
+	 */
+	private String holder(int v, String like) {
+		String h = holders.get(v);
+		if (h == null || !values.get(h).equals(v)) return null;
+		if (Instruction.isFloatTemp(h) != Instruction.isFloatTemp(like)) return null;
+		return h;
+	}
+
+}
@@ -0,0 +1,133 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+
+/**
+ * Coalesces the source and destination of moves that do not interfere, so that
+ * both become one temporary and the move disappears.
+ *
+ * The interference graph is built from liveness: a definition interferes with
+ * every temporary live after it, except the source of a move with the moved
+ * value. Coalescing merges the two nodes (and their neighbours), so later moves
+ * are tested against the merged node. Only edges between temporaries that are
+ * moved to or from are ever tested, so the graph leaves the others out: a
+ * large function has many long-lived values and few moves.
+ *
+ * Every temporary gets a register of its own, so there is no fixed number of
+ * colours to keep the graph colourable with, and the conservative Briggs and
+ * George tests would never refuse a merge: coalescing is aggressive. Fewer
+ * temporaries also means fewer registers to save on each call.
+ */
+public class MoveCoalescing {
+
+	private Map<String, Set<String>> graph;
+	private Set<String> moved; //temporaries that are the source or destination of a move
+	private Map<String, String> merged;
+
+	/**
+	 * @return true if any move was removed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		buildGraph(cfg, cfg.getLiveness());
+		merged = new HashMap<String, String>();
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (!CopyPropagation.isCopy(i)) continue;
+				String d = i.getDef(), s = i.getsrc1();
+				if (!Instruction.isTemp(d) || !Instruction.isTemp(s)) continue;
+				d = ControlFlowGraph.resolve(merged, d);
+				s = ControlFlowGraph.resolve(merged, s);
+				if (d.equals(s) || neighbours(d).contains(s)) continue;
+				//keep the lower number
+				if (Integer.parseInt(d.substring(1)) < Integer.parseInt(s.substring(1))) {
+					merge(s, d);
+				} else {
+					merge(d, s);
+				}
+			}
+		}
+		if (merged.isEmpty()) return false;
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				String d = i.getDef();
+				if (d != null && merged.containsKey(d)) {
+					i.setOperand(i.getDefOperand(), ControlFlowGraph.resolve(merged, d));
+				}
+			}
+		}
+		cfg.renameUses(merged);
+		for (BasicBlock b : cfg.getBlocks()) {
+			Iterator<Instruction> it = b.code.iterator();
+			while (it.hasNext()) {
+				Instruction i = it.next();
+				if (CopyPropagation.isCopy(i) && i.getDef().equals(i.getsrc1())) it.remove();
+			}
+		}
+		return true;
+	}
+
+	private void buildGraph(ControlFlowGraph cfg, Liveness live) {
+		graph = new HashMap<String, Set<String>>();
+		moved = new HashSet<String>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (CopyPropagation.isCopy(i) && Instruction.isTemp(i.getDef()) && Instruction.isTemp(i.getsrc1())) {
+					moved.add(i.getDef());
+					moved.add(i.getsrc1());
+				}
+			}
+		}
+		if (moved.isEmpty()) return;
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			//only the moved temporaries that are live
+			Set<String> liveNow = live.getLiveOut(b);
+			liveNow.retainAll(moved);
+			for (int k = b.code.size() - 1; k >= 0; k--) {
+				Instruction i = b.code.get(k);
+				String d = i.getDef();
+				if (moved.contains(d)) {
+					String source = CopyPropagation.isCopy(i) ? i.getsrc1() : null;
+					for (String l : liveNow) {
+						if (!l.equals(d) && !l.equals(source)) addEdge(d, l);
+					}
+					liveNow.remove(d);
+				}
+				for (String u : i.getUses()) {
+					if (moved.contains(u)) liveNow.add(u);
+				}
+			}
+		}
+	}
+
+	private Set<String> neighbours(String t) {
+		if (!graph.containsKey(t)) graph.put(t, new HashSet<String>());
+		return graph.get(t);
+	}
+
+	private void addEdge(String a, String b) {
+		neighbours(a).add(b);
+		neighbours(b).add(a);
+	}
+
+	/**
+	 * Merge <code>from</code> into <code>into</code>
+	 */
+	private void merge(String from, String into) {
+		merged.put(from, into);
+		for (String n : neighbours(from)) {
+			neighbours(n).remove(from);
+			addEdge(into, n);
+		}
+		graph.remove(from);
+	}
+
+}
@@ -0,0 +1,103 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The natural loops of a control flow graph.
+ *
+ * An edge whose target dominates its source is a back edge, and its loop is the
+ * target (the header) plus every block that reaches the source without going
+ * through the header. Back edges to the same header make one loop.
+ */
+public class NaturalLoops {
+
+	public static class Loop {
+		private BasicBlock header;
+		private Set<BasicBlock> blocks;
+
+		Loop(BasicBlock header) {
+			this.header = header;
+			this.blocks = new LinkedHashSet<BasicBlock>();
+			blocks.add(header);
+		}
+
+		public BasicBlock getHeader() {
+			return header;
+		}
+
+		public Set<BasicBlock> getBlocks() {
+			return blocks;
+		}
+
+		public boolean contains(BasicBlock b) {
+			return blocks.contains(b);
+		}
+
+		/**
+		 * @return predecessors of the header from outside the loop
+		 */
+		public List<BasicBlock> getEntries() {
+			List<BasicBlock> entries = new ArrayList<BasicBlock>();
+			for (BasicBlock p : header.predecessors) {
+				if (!blocks.contains(p)) entries.add(p);
+			}
+			return entries;
+		}
+
+		/**
+		 * @return edges leaving the loop, as {from, to}
+		 */
+		public List<BasicBlock[]> getExits() {
+			List<BasicBlock[]> exits = new ArrayList<BasicBlock[]>();
+			for (BasicBlock b : blocks) {
+				for (BasicBlock s : b.successors) {
+					if (!blocks.contains(s)) exits.add(new BasicBlock[] {b, s});
+				}
+			}
+			return exits;
+		}
+	}
+
+	private List<Loop> loops;
+
+	public NaturalLoops(ControlFlowGraph cfg, DominatorTree dom) {
+		Map<BasicBlock, Loop> byHeader = new LinkedHashMap<BasicBlock, Loop>();
+		for (BasicBlock b : dom.getReversePostorder()) {
+			for (BasicBlock h : b.successors) {
+				if (!dom.dominates(h, b)) continue;
+				if (!byHeader.containsKey(h)) byHeader.put(h, new Loop(h));
+				Loop loop = byHeader.get(h);
+				LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+				if (loop.blocks.add(b)) work.add(b);
+				while (!work.isEmpty()) {
+					for (BasicBlock p : work.pop().predecessors) {
+						if (dom.isReachable(p) && loop.blocks.add(p)) work.add(p);
+					}
+				}
+			}
+		}
+		loops = new ArrayList<Loop>(byHeader.values());
+	}
+
+	/**
+	 * @return the loops, outermost (largest) first
+	 */
+	public List<Loop> getLoops() {
+		List<Loop> sorted = new ArrayList<Loop>(loops);
+		Collections.sort(sorted, new Comparator<Loop>() {
+			public int compare(Loop a, Loop b) {
+				return b.blocks.size() - a.blocks.size();
+			}
+		});
+		return sorted;
+	}
+
+}
@@ -0,0 +1,214 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import assembly.instructions.Addi;
+import assembly.instructions.FMv;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+import assembly.instructions.Label;
+import assembly.instructions.Mv;
+
+/**
+ * Table-driven peephole optimizer over a function's final code.
+ *
+ * Each rule matches a short window of opcodes (null stands for a label) and
+ * either declines or returns the instructions that replace the window. A pass
+ * moves the code one instruction at a time onto an output list and tries the
+ * rules on its last few instructions; a replacement is fed back as input, so it
+ * can match again with what came before it. Passes repeat until nothing
+ * changes.
+ *
+ * The rules mostly clean up the stack traffic around calls and in the
+ * prologue and epilogue: stack pointer adjustments are pushed down past loads
+ * and stores through sp (adjusting their offsets) until they meet and merge.
+ */
+public class Peephole {
+
+	//ADDI immediates the simulator accepts
+	static final private int MIN_IMMEDIATE = -2047;
+	static final private int MAX_IMMEDIATE = 2046;
+
+	static private abstract class Rule {
+		OpCode[] pattern;
+
+		Rule(OpCode... pattern) {
+			this.pattern = pattern;
+		}
+
+		/**
+		 * @return the replacement for the window, or null if the rule doesn't apply
+		 */
+		abstract List<Instruction> rewrite(Instruction[] w);
+	}
+
+	static final private List<Rule> RULES = new ArrayList<Rule>();
+	static {
+		//ADDI r, r, 0 and MV r, r do nothing
+		RULES.add(new Rule(OpCode.ADDI) {
+			List<Instruction> rewrite(Instruction[] w) {
+				return (isIncrement(w[0]) && Integer.parseInt(w[0].getsrc2()) == 0) ? replace() : null;
+			}
+		});
+		for (OpCode move : new OpCode[] {OpCode.MV, OpCode.FMVS}) {
+			RULES.add(new Rule(move) {
+				List<Instruction> rewrite(Instruction[] w) {
+					return w[0].getDef().equals(w[0].getsrc1()) ? replace() : null;
+				}
+			});
+		}
+
+		//ADDI r, r, a; ADDI r, r, b => ADDI r, r, a + b
+		RULES.add(new Rule(OpCode.ADDI, OpCode.ADDI) {
+			List<Instruction> rewrite(Instruction[] w) {
+				if (!isIncrement(w[0]) || !isIncrement(w[1]) || !w[0].getDef().equals(w[1].getDef())) return null;
+				int sum = Integer.parseInt(w[0].getsrc2()) + Integer.parseInt(w[1].getsrc2());
+				if (sum < MIN_IMMEDIATE || sum > MAX_IMMEDIATE) return null;
+				return replace(new Addi(w[0].getDef(), String.valueOf(sum), w[0].getDef()));
+			}
+		});
+
+		//ADDI sp, sp, a; LW r, k(sp) => LW r, k+a(sp); ADDI sp, sp, a (and the same for the other accesses)
+		for (OpCode access : new OpCode[] {OpCode.LW, OpCode.SW, OpCode.FLW, OpCode.FSW}) {
+			RULES.add(new Rule(OpCode.ADDI, access) {
+				List<Instruction> rewrite(Instruction[] w) {
+					if (!isIncrement(w[0]) || !"sp".equals(w[0].getDef())) return null;
+					if (!"sp".equals(w[1].getsrc1()) || "sp".equals(w[1].getOperand(Operand.DEST))) return null;
+					Instruction moved = w[1].copy();
+					moved.setLabel(String.valueOf(Integer.parseInt(w[1].getLabel()) + Integer.parseInt(w[0].getsrc2())));
+					return replace(moved, w[0]);
+				}
+			});
+		}
+
+		//ADDI sp, sp, a; X => X; ADDI sp, sp, a for straight-line code that doesn't touch sp
+		for (OpCode oc : OpCode.values()) {
+			if (!isMovable(oc)) continue;
+			RULES.add(new Rule(OpCode.ADDI, oc) {
+				List<Instruction> rewrite(Instruction[] w) {
+					if (!isIncrement(w[0]) || !"sp".equals(w[0].getDef())) return null;
+					if (w[1].getUses().contains("sp") || "sp".equals(w[1].getDef())) return null;
+					return replace(w[1], w[0]);
+				}
+			});
+		}
+
+		//ADDI sp, sp, a; MV sp, fp => MV sp, fp
+		RULES.add(new Rule(OpCode.ADDI, OpCode.MV) {
+			List<Instruction> rewrite(Instruction[] w) {
+				if (!isIncrement(w[0]) || !w[0].getDef().equals(w[1].getDef()) || w[1].getsrc1().equals(w[1].getDef())) return null;
+				return replace(w[1]);
+			}
+		});
+
+		//SW r, k(b); LW d, k(b) => SW r, k(b); MV d, r (and LW d, k(b); SW d, k(b) => LW d, k(b))
+		for (final OpCode[] pair : new OpCode[][] {{OpCode.SW, OpCode.LW}, {OpCode.FSW, OpCode.FLW}}) {
+			RULES.add(new Rule(pair[0], pair[1]) {
+				List<Instruction> rewrite(Instruction[] w) {
+					if (!sameSlot(w[0], w[1])) return null;
+					String value = w[0].getOperand(Operand.DEST), d = w[1].getDest();
+					if (d.equals(value)) return replace(w[0]);
+					return replace(w[0], (pair[0] == OpCode.SW) ? new Mv(value, d) : new FMv(value, d));
+				}
+			});
+			RULES.add(new Rule(pair[1], pair[0]) {
+				List<Instruction> rewrite(Instruction[] w) {
+					if (!sameSlot(w[0], w[1]) || !w[0].getDest().equals(w[1].getOperand(Operand.DEST))) return null;
+					return w[0].getDest().equals(w[0].getsrc1()) ? null : replace(w[0]);
+				}
+			});
+		}
+
+		//J L; L: => L:
+		RULES.add(new Rule(OpCode.J, null) {
+			List<Instruction> rewrite(Instruction[] w) {
+				return (w[1] instanceof Label && w[1].getLabel().equals(w[0].getLabel())) ? replace(w[1]) : null;
+			}
+		});
+	}
+
+	static private List<Instruction> replace(Instruction... replacement) {
+		return Arrays.asList(replacement);
+	}
+
+	/**
+	 * @return true for ADDI r, r, imm
+	 */
+	static private boolean isIncrement(Instruction i) {
+		return i.getDef() != null && i.getDef().equals(i.getsrc1());
+	}
+
+	/**
+	 * @return true for instructions that neither transfer control nor touch the
+	 *         heap, so moving a stack adjustment past them changes nothing else
+	 */
+	static private boolean isMovable(OpCode oc) {
+		switch (oc) {
+			case J:
+			case JR:
+			case RET:
+			case HALT:
+			case BEQ:
+			case BGE:
+			case BGT:
+			case BLE:
+			case BLT:
+			case BNE:
+			case MALLOC:
+			case FREE:
+			case PHI:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	static private boolean sameSlot(Instruction a, Instruction b) {
+		return a.getsrc1().equals(b.getsrc1()) && a.getLabel().equals(b.getLabel());
+	}
+
+	/**
+	 * Rewrite <code>code</code> in place
+	 */
+	public void run(InstructionList code) {
+		List<Instruction> out = new ArrayList<Instruction>(code.nodes);
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			//instructions move from in to out; a rewrite pushes its replacement back on in, so it is matched again
+			LinkedList<Instruction> in = new LinkedList<Instruction>(out);
+			out = new ArrayList<Instruction>();
+			while (!in.isEmpty()) {
+				out.add(in.pop());
+				for (Rule r : RULES) {
+					int k = out.size() - r.pattern.length;
+					if (!matches(r, out, k)) continue;
+					List<Instruction> window = out.subList(k, out.size());
+					List<Instruction> replacement = r.rewrite(window.toArray(new Instruction[0]));
+					if (replacement == null) continue;
+					window.clear();
+					for (int j = replacement.size() - 1; j >= 0; j--) {
+						in.push(replacement.get(j));
+					}
+					changed = true;
+					break;
+				}
+			}
+		}
+		code.nodes = new LinkedList<Instruction>(out);
+	}
+
+	private boolean matches(Rule r, List<Instruction> list, int k) {
+		if (k < 0) return false;
+		for (int j = 0; j < r.pattern.length; j++) {
+			Instruction i = list.get(k + j);
+			if (r.pattern[j] == null ? !(i instanceof Label) : i.getOC() != r.pattern[j]) return false;
+		}
+		return true;
+	}
+
+}
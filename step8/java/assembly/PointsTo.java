@@ -0,0 +1,232 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+
+/**
+ * Flow-insensitive, inclusion-based (Andersen style) points-to analysis over
+ * the registers of one function.
+ *
+ * The objects are globals (by the address <code>LA</code> loads), frame slots
+ * (by their offset from fp, with blocks of slots named by their first) and
+ * heap blocks (by <code>MALLOC</code> site).
+ * Copies, phis and address arithmetic propagate points-to sets between
+ * registers, and stores and loads through a pointer propagate them through the
+ * contents of the objects it may point to. Objects are not split into fields,
+ * so a pointer anywhere into an object points to all of it.
+ *
+ * Whatever comes from outside the function (parameters, results of calls,
+ * loads through unknown pointers) points to {@link #UNKNOWN}: any object that
+ * escapes. Globals always escape; other objects escape when their address is
+ * passed to a call, returned, or stored where outside code can reach it. The
+ * contents of escaped objects are unknown, since callees can change them.
+ */
+public class PointsTo {
+
+	/**
+	 * Stands for every escaped object
+	 */
+	public static final String UNKNOWN = "?";
+
+	private Map<String, Set<String>> registers;
+	private Map<String, Set<String>> contents;
+	private Set<String> escaped;
+	private Map<Instruction, String> mallocSites;
+	private ControlFlowGraph cfg;
+
+	public PointsTo(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		registers = new HashMap<String, Set<String>>();
+		contents = new HashMap<String, Set<String>>();
+		escaped = new HashSet<String>();
+		mallocSites = new HashMap<Instruction, String>();
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (i.getOC() == OpCode.MALLOC) mallocSites.put(i, "h:" + b.id + ":" + b.code.indexOf(i));
+				//the caller reads and writes the arguments and the return slot
+				Integer offset = null;
+				if (i.getOC() == OpCode.ADDI && "fp".equals(i.getsrc1())) offset = Integer.parseInt(i.getsrc2());
+				if (FrameSlots.isMemoryAccess(i) && "fp".equals(i.getsrc1())) offset = Integer.parseInt(i.getLabel());
+				if (offset != null && offset >= 8) escaped.add(frame(offset));
+			}
+		}
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (BasicBlock b : cfg.getBlocks()) {
+				for (Instruction i : b.code) {
+					changed |= transfer(i);
+				}
+			}
+			changed |= propagateEscapes();
+		}
+	}
+
+	/**
+	 * Apply the constraint of one instruction
+	 *
+	 * @return true if any set grew
+	 */
+	private boolean transfer(Instruction i) {
+		OpCode oc = i.getOC();
+		if (oc == null) return false;
+		String d = i.getDef();
+		switch (oc) {
+			case LA:
+				return addAll(registers, d, object(i));
+			case MALLOC:
+				return addAll(registers, d, object(i));
+			case ADDI:
+				if ("fp".equals(i.getsrc1())) return addAll(registers, d, set(frame(Integer.parseInt(i.getsrc2()))));
+				return addAll(registers, d, pointsTo(i.getsrc1()));
+			case ADD:
+			case SUB:
+			case MV:
+			case PHI: {
+				boolean grew = false;
+				for (String u : i.getUses()) {
+					grew |= addAll(registers, d, pointsTo(u));
+				}
+				return grew;
+			}
+			case LW:
+			case FLW: {
+				if (oc == OpCode.FLW) return false;
+				boolean grew = false;
+				for (String o : accessed(i)) {
+					grew |= addAll(registers, d, o.equals(UNKNOWN) ? set(UNKNOWN) : contentsOf(o));
+				}
+				return grew;
+			}
+			case SW: {
+				boolean grew = false;
+				Set<String> value = pointsTo(i.getOperand(Operand.DEST));
+				for (String o : accessed(i)) {
+					if (o.equals(UNKNOWN)) {
+						for (String v : value) {
+							if (!v.equals(UNKNOWN)) grew |= escaped.add(v);
+						}
+					} else {
+						grew |= addAll(contents, o, value);
+					}
+				}
+				return grew;
+			}
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Objects reachable from escaped objects escape too, and escaped objects
+	 * hold unknown pointers
+	 */
+	private boolean propagateEscapes() {
+		boolean grew = false;
+		for (String o : new HashSet<String>(escaped)) {
+			grew |= addAll(contents, o, set(UNKNOWN));
+			for (String reached : contentsOf(o)) {
+				if (!reached.equals(UNKNOWN)) grew |= escaped.add(reached);
+			}
+		}
+		return grew;
+	}
+
+	private boolean addAll(Map<String, Set<String>> sets, String key, Set<String> values) {
+		if (key == null || values.isEmpty()) return false;
+		if (!sets.containsKey(key)) sets.put(key, new HashSet<String>());
+		return sets.get(key).addAll(values);
+	}
+
+	private Set<String> set(String o) {
+		Set<String> s = new HashSet<String>();
+		s.add(o);
+		return s;
+	}
+
+	private Set<String> contentsOf(String o) {
+		Set<String> c = contents.get(o);
+		return (c == null) ? new HashSet<String>() : c;
+	}
+
+	/**
+	 * The object an LA or MALLOC creates a pointer to; globals always escape
+	 */
+	private Set<String> object(Instruction i) {
+		if (i.getOC() == OpCode.MALLOC) return set(mallocSites.get(i));
+		String g = "g:" + i.getLabel();
+		escaped.add(g);
+		return set(g);
+	}
+
+	String frame(int offset) {
+		return "f:" + cfg.getFrameObject(offset);
+	}
+
+	/**
+	 * @return the objects a register may point to (UNKNOWN for values from
+	 *         outside the function)
+	 */
+	public Set<String> pointsTo(String reg) {
+		if (reg == null) return new HashSet<String>();
+		if (reg.equals("fp")) return set(frame(0));
+		Set<String> s = registers.get(reg);
+		return (s == null) ? new HashSet<String>() : s;
+	}
+
+	/**
+	 * @return the objects a load or store may access (the outgoing call area
+	 *         counts as unknown memory)
+	 */
+	public Set<String> accessed(Instruction i) {
+		String base = i.getsrc1();
+		if (base.equals("sp")) return set(UNKNOWN);
+		int offset = Integer.parseInt(i.getLabel());
+		if (base.equals("fp")) return set(frame(offset));
+		Set<String> s = pointsTo(base);
+		if (s.isEmpty()) return set(UNKNOWN); //an integer used as an address
+		if (offset == 0) return s;
+		//frame slots are separate objects, so an offset from one reaches another
+		//(but a pointer into a block of slots may point anywhere in it)
+		Set<String> shifted = new HashSet<String>();
+		for (String o : s) {
+			boolean slot = o.startsWith("f:") && !cfg.isInFrameBlock(Integer.parseInt(o.substring(2)));
+			shifted.add(slot ? frame(Integer.parseInt(o.substring(2)) + offset) : o);
+		}
+		return shifted;
+	}
+
+	public boolean isEscaped(String object) {
+		return escaped.contains(object);
+	}
+
+	/**
+	 * @return true if the two loads or stores may access the same object
+	 */
+	public boolean mayAlias(Instruction a, Instruction b) {
+		Set<String> sa = accessed(a), sb = accessed(b);
+		for (String o : sa) {
+			if (sb.contains(o)) return true;
+		}
+		return (sa.contains(UNKNOWN) && mayBeUnknown(sb)) || (sb.contains(UNKNOWN) && mayBeUnknown(sa));
+	}
+
+	/**
+	 * @return true if an unknown pointer may reach one of the objects
+	 */
+	private boolean mayBeUnknown(Set<String> s) {
+		for (String o : s) {
+			if (o.equals(UNKNOWN) || escaped.contains(o)) return true;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,159 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.FMv;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+import assembly.instructions.Lw;
+import assembly.instructions.Mv;
+
+/**
+ * Global redundant load elimination and store-to-load forwarding, on a body in
+ * SSA form.
+ *
+ * A forward data-flow analysis finds, at each point, the memory locations
+ * whose value is held in a register on every path: after a load the loaded
+ * register holds it, after a store the stored one does. A location is named by
+ * its base register and offset; in SSA form the base is defined once, so equal
+ * names mean equal addresses. A store kills every location it may alias
+ * according to {@link PointsTo}, and a call kills every location an unknown
+ * pointer may reach. <code>MALLOC</code> and <code>FREE</code> kill everything.
+ *
+ * A load of a location that is available becomes a move from the register
+ * holding it, and a store of the value a location already holds is deleted.
+ * Accesses relative to sp are left alone, as sp moves around calls.
+ */
+public class RedundantLoadElimination {
+
+	private PointsTo pointsTo;
+	private Map<String, Instruction> accesses; //a load or store of each location, for alias queries
+	private Instruction unknownAccess;
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		pointsTo = cfg.getPointsTo();
+		accesses = new HashMap<String, Instruction>();
+		unknownAccess = new Lw("zero", "sp", "0");
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				String key = locationOf(i);
+				if (key != null && !accesses.containsKey(key)) accesses.put(key, i);
+			}
+		}
+		if (accesses.isEmpty()) return false;
+
+		//available locations at the end of each block, null until the block is first visited (all locations)
+		Map<BasicBlock, Map<String, String>> out = new HashMap<BasicBlock, Map<String, String>>();
+		DominatorTree dom = cfg.getDominatorTree();
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>(dom.getReversePostorder());
+		Set<BasicBlock> queued = new HashSet<BasicBlock>(work);
+		while (!work.isEmpty()) {
+			BasicBlock b = work.pop();
+			queued.remove(b);
+			Map<String, String> available = transfer(b, availableIn(b, out, cfg), false);
+			if (!available.equals(out.get(b))) {
+				out.put(b, available);
+				for (BasicBlock s : b.successors) {
+					if (queued.add(s)) work.add(s);
+				}
+			}
+		}
+
+		boolean changed = false;
+		for (BasicBlock b : dom.getReversePostorder()) {
+			int size = b.code.size();
+			List<Instruction> before = new ArrayList<Instruction>(b.code);
+			transfer(b, availableIn(b, out, cfg), true);
+			changed |= b.code.size() != size || !b.code.equals(before);
+		}
+		return changed;
+	}
+
+	private Map<String, String> availableIn(BasicBlock b, Map<BasicBlock, Map<String, String>> out, ControlFlowGraph cfg) {
+		Map<String, String> in = null;
+		if (b == cfg.getEntry()) return new LinkedHashMap<String, String>();
+		for (BasicBlock p : b.predecessors) {
+			Map<String, String> o = out.get(p);
+			if (o == null) continue; //not visited yet: doesn't restrict anything
+			if (in == null) {
+				in = new LinkedHashMap<String, String>(o);
+			} else {
+				in.entrySet().retainAll(o.entrySet());
+			}
+		}
+		return (in == null) ? new LinkedHashMap<String, String>() : in;
+	}
+
+	/**
+	 * Run through a block from the given available locations, rewriting
+	 * redundant loads and stores if <code>rewrite</code> is set
+	 *
+	 * @return the locations available at the end of the block
+	 */
+	private Map<String, String> transfer(BasicBlock b, Map<String, String> available, boolean rewrite) {
+		Iterator<Instruction> it = b.code.iterator();
+		List<Instruction> code = new ArrayList<Instruction>();
+		while (it.hasNext()) {
+			Instruction i = it.next();
+			OpCode oc = i.getOC();
+			String key = locationOf(i);
+			if (oc == OpCode.JR) {
+				kill(available, unknownAccess);
+			} else if (oc == OpCode.MALLOC || oc == OpCode.FREE) {
+				available.clear();
+			} else if (oc == OpCode.LW || oc == OpCode.FLW) {
+				String held = (key == null) ? null : available.get(key);
+				if (held != null) {
+					i = (oc == OpCode.LW) ? new Mv(held, i.getDest()) : new FMv(held, i.getDest());
+				} else if (key != null && Instruction.isTemp(i.getDest())) {
+					available.put(key, i.getDest());
+				}
+			} else if (oc == OpCode.SW || oc == OpCode.FSW) {
+				String value = i.getOperand(Operand.DEST);
+				if (key != null && value.equals(available.get(key))) {
+					continue; //memory already holds it
+				}
+				kill(available, i);
+				if (key != null && Instruction.isTemp(value)) available.put(key, value);
+			}
+			code.add(i);
+		}
+		if (rewrite) {
+			b.code.clear();
+			b.code.addAll(code);
+		}
+		return available;
+	}
+
+	private void kill(Map<String, String> available, Instruction store) {
+		Iterator<String> it = available.keySet().iterator();
+		while (it.hasNext()) {
+			if (pointsTo.mayAlias(accesses.get(it.next()), store)) it.remove();
+		}
+	}
+
+	/**
+	 * @return a name for the location a load or store accesses, or null for
+	 *         sp-relative and other untracked accesses
+	 */
+	private String locationOf(Instruction i) {
+		if (!FrameSlots.isMemoryAccess(i)) return null;
+		String base = i.getsrc1();
+		if (!base.equals("fp") && !Instruction.isTemp(base)) return null;
+		boolean isFloat = i.getOC() == OpCode.FLW || i.getOC() == OpCode.FSW;
+		return (isFloat ? "f:" : "i:") + i.getLabel() + "(" + base + ")";
+	}
+
+}
@@ -0,0 +1,117 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.FMv;
+import assembly.instructions.Flw;
+import assembly.instructions.Fsw;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.Instruction.Operand;
+import assembly.instructions.Lw;
+import assembly.instructions.Mv;
+import assembly.instructions.Sw;
+
+/**
+ * Keeps local variables and parameters whose address never escapes in
+ * registers instead of their stack slots (mem2reg).
+ *
+ * Each promoted slot gets a temporary of its own: loads from the slot become
+ * moves from it, and stores become moves into it. The temporary is then
+ * defined more than once, and SSA construction turns it into proper values
+ * with phis where paths meet.
+ *
+ * Parameters are loaded into their temporary once on entry. Their slots are
+ * also the arguments of sibling tail calls, so parameters that are assigned
+ * are written back on the way out of the function, except when it returns.
+ */
+public class RegisterPromotion {
+
+	private FrameSlots frame;
+
+	/**
+	 * @return true if any slot was promoted
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		frame = cfg.getFrameSlots();
+		Set<Integer> ints = new HashSet<Integer>(), floats = new HashSet<Integer>(), stored = new HashSet<Integer>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				Integer slot = slotOf(i);
+				if (slot == null) continue;
+				boolean isFloat = i.getOC() == OpCode.FLW || i.getOC() == OpCode.FSW;
+				(isFloat ? floats : ints).add(slot);
+				if (i.getOC() == OpCode.SW || i.getOC() == OpCode.FSW) stored.add(slot);
+			}
+		}
+
+		Map<Integer, String> registers = new HashMap<Integer, String>();
+		for (Integer slot : ints) {
+			if (!floats.contains(slot)) registers.put(slot, cfg.newTemp(false));
+		}
+		for (Integer slot : floats) {
+			if (!ints.contains(slot)) registers.put(slot, cfg.newTemp(true));
+		}
+		if (registers.isEmpty()) return false;
+
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				Instruction i = b.code.get(k);
+				String r = registers.get(slotOf(i));
+				if (r == null) continue;
+				switch (i.getOC()) {
+					case LW: b.code.set(k, new Mv(r, i.getDest())); break;
+					case FLW: b.code.set(k, new FMv(r, i.getDest())); break;
+					case SW: b.code.set(k, new Mv(i.getOperand(Operand.DEST), r)); break;
+					case FSW: b.code.set(k, new FMv(i.getOperand(Operand.DEST), r)); break;
+					default: throw new Error("Shouldn't get here");
+				}
+			}
+		}
+
+		String returnLabel = "func_ret_" + cfg.getFuncName();
+		BasicBlock entry = cfg.getEntry();
+		for (Map.Entry<Integer, String> promoted : registers.entrySet()) {
+			int slot = promoted.getKey();
+			String r = promoted.getValue();
+			if (slot < 0) continue;
+			String offset = String.valueOf(slot);
+			boolean isFloat = Instruction.isFloatTemp(r);
+			entry.code.add(entry.getLabel() == null ? 0 : 1, isFloat ? new Flw(r, "fp", offset) : new Lw(r, "fp", offset));
+			if (!stored.contains(slot)) continue;
+			for (BasicBlock b : cfg.getBlocks()) {
+				if (!b.successors.isEmpty()) continue;
+				Instruction t = b.getTerminator();
+				if (t != null && t.getOC() == OpCode.J && returnLabel.equals(t.getLabel())) continue;
+				b.code.add(b.getInsertionPoint(), isFloat ? new Fsw(r, "fp", offset) : new Sw(r, "fp", offset));
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the offset of the local or parameter slot a load or store
+	 *         accesses, if it can be promoted
+	 */
+	private Integer slotOf(Instruction i) {
+		if (!FrameSlots.isMemoryAccess(i)) return null;
+		int offset;
+		try {
+			offset = Integer.parseInt(i.getLabel());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (!"fp".equals(i.getsrc1())) {
+			Integer address = frame.getAddress(i.getsrc1());
+			if (address == null) return null;
+			offset += address;
+		}
+		//fp + 0, 4 and 8 hold the caller's fp, ra and the return value
+		if (offset >= 0 && offset < 12) return null;
+		return frame.escapes(offset) ? null : offset;
+	}
+
+}
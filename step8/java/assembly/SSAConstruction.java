@@ -0,0 +1,193 @@
+package assembly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.Instruction;
+import assembly.instructions.Phi;
+
+/**
+ * Puts a function body in (pruned) SSA form, following Cytron et al.
+ *
+ * Temporaries from code generation are already defined once; the registers that
+ * are not (results of partial redundancy elimination, promoted variables, ...)
+ * get phis at the iterated dominance frontier of their definitions, wherever
+ * they are live, and every definition is then renamed to a new temporary by a
+ * walk of the dominator tree.
+ *
+ * A register defined once is only already in SSA form if its definition
+ * dominates all its uses. A promoted variable that is read before its first
+ * assignment on some path (in a loop, that read sees the previous iteration's
+ * value) is not, and is treated like any other variable: the phis it gets
+ * have the original, undefined, register on the paths without a definition.
+ * Later passes can then rely on a register defined once holding the same
+ * value wherever it is read.
+ *
+ * Uses that no definition reaches (reads of uninitialized variables) keep the
+ * original register.
+ */
+public class SSAConstruction {
+
+	private ControlFlowGraph cfg;
+	private Map<Phi, String> phiVariables;
+	private Map<String, LinkedList<String>> names;
+
+	public void run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		DominatorTree dom = cfg.getDominatorTree();
+		Map<String, Set<BasicBlock>> variables = findVariables(dom);
+		if (variables.isEmpty()) return;
+
+		placePhis(dom, cfg.getLiveness(), variables);
+		rename(dom, variables.keySet());
+	}
+
+	/**
+	 * @return registers defined more than once, or once without dominating
+	 *         all their uses, with the blocks defining them
+	 */
+	private Map<String, Set<BasicBlock>> findVariables(DominatorTree dom) {
+		Map<String, Integer> defs = cfg.countDefs();
+		Set<String> nonStrict = findNonStrict(dom, defs);
+		Map<String, Set<BasicBlock>> variables = new LinkedHashMap<String, Set<BasicBlock>>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				String d = i.getDef();
+				if (Instruction.isTemp(d) && (defs.get(d) > 1 || nonStrict.contains(d))) {
+					if (!variables.containsKey(d)) variables.put(d, new HashSet<BasicBlock>());
+					variables.get(d).add(b);
+				}
+			}
+		}
+		return variables;
+	}
+
+	/**
+	 * @return temporaries defined once, where the definition does not dominate
+	 *         every use (a phi uses its source at the end of the predecessor)
+	 */
+	private Set<String> findNonStrict(DominatorTree dom, Map<String, Integer> defs) {
+		Map<String, BasicBlock> defBlock = new HashMap<String, BasicBlock>();
+		Map<String, Integer> defIndex = new HashMap<String, Integer>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				String d = b.code.get(k).getDef();
+				if (Instruction.isTemp(d) && defs.get(d) == 1) {
+					defBlock.put(d, b);
+					defIndex.put(d, k);
+				}
+			}
+		}
+
+		Set<String> nonStrict = new HashSet<String>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			if (!dom.isReachable(b)) continue;
+			for (int k = 0; k < b.code.size(); k++) {
+				Instruction i = b.code.get(k);
+				if (i instanceof Phi) {
+					Phi phi = (Phi) i;
+					for (BasicBlock p : phi.getPreds()) {
+						String u = phi.getSource(p);
+						if (defBlock.containsKey(u) && dom.isReachable(p) && !dom.dominates(defBlock.get(u), p)) nonStrict.add(u);
+					}
+					continue;
+				}
+				for (String u : i.getUses()) {
+					if (!defBlock.containsKey(u)) continue;
+					BasicBlock d = defBlock.get(u);
+					if ((d == b) ? defIndex.get(u) >= k : !dom.dominates(d, b)) nonStrict.add(u);
+				}
+			}
+		}
+		return nonStrict;
+	}
+
+	private void placePhis(DominatorTree dom, Liveness live, Map<String, Set<BasicBlock>> variables) {
+		phiVariables = new HashMap<Phi, String>();
+		for (Map.Entry<String, Set<BasicBlock>> var : variables.entrySet()) {
+			String v = var.getKey();
+			Set<BasicBlock> hasPhi = new HashSet<BasicBlock>();
+			LinkedList<BasicBlock> work = new LinkedList<BasicBlock>(var.getValue());
+			while (!work.isEmpty()) {
+				for (BasicBlock f : dom.getFrontier(work.pop())) {
+					if (hasPhi.contains(f) || !live.isLiveIn(f, v)) continue;
+					Phi phi = new Phi(v, f.predecessors);
+					f.code.add(f.getLabel() == null ? 0 : 1, phi);
+					phiVariables.put(phi, v);
+					hasPhi.add(f);
+					if (!var.getValue().contains(f)) work.add(f);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Depth-first walk of the dominator tree, keeping a stack of the current
+	 * name of each variable
+	 */
+	private void rename(DominatorTree dom, Set<String> variables) {
+		names = new HashMap<String, LinkedList<String>>();
+		for (String v : variables) {
+			names.put(v, new LinkedList<String>());
+		}
+
+		//a null entry marks leaving the block below it, popping the names it pushed
+		LinkedList<BasicBlock> work = new LinkedList<BasicBlock>();
+		LinkedList<List<String>> pushed = new LinkedList<List<String>>();
+		work.push(cfg.getEntry());
+		while (!work.isEmpty()) {
+			BasicBlock b = work.pop();
+			if (b == null) {
+				for (String v : pushed.pop()) {
+					names.get(v).pop();
+				}
+				continue;
+			}
+			pushed.push(renameBlock(b));
+			work.push(null);
+			for (BasicBlock c : dom.getChildren(b)) {
+				work.push(c);
+			}
+		}
+	}
+
+	/**
+	 * @return the variables given a new name in the block
+	 */
+	private List<String> renameBlock(BasicBlock b) {
+		List<String> pushed = new LinkedList<String>();
+		for (Instruction i : b.code) {
+			if (!(i instanceof Phi)) {
+				for (String u : i.getUses()) {
+					if (names.containsKey(u) && !names.get(u).isEmpty()) {
+						i.replaceUse(u, names.get(u).peek());
+					}
+				}
+			}
+			String d = i.getDef();
+			if (names.containsKey(d)) {
+				String name = cfg.newTemp(Instruction.isFloatTemp(d));
+				i.setOperand(i.getDefOperand(), name);
+				names.get(d).push(name);
+				pushed.add(d);
+			}
+		}
+
+		for (BasicBlock s : b.successors) {
+			for (Instruction i : s.code) {
+				if (!(i instanceof Phi)) continue;
+				String v = phiVariables.get(i);
+				if (v != null && !names.get(v).isEmpty()) {
+					((Phi) i).setSource(b, names.get(v).peek());
+				}
+			}
+		}
+		return pushed;
+	}
+
+}
@@ -0,0 +1,265 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import assembly.instructions.FMv;
+import assembly.instructions.Instruction;
+import assembly.instructions.Mv;
+import assembly.instructions.Phi;
+
+/**
+ * Takes a function body out of SSA form.
+ *
+ * Each phi joins its result and sources into one web. A web whose members never
+ * interfere (no member is live where another is defined) is coalesced: all its
+ * members are renamed to one temporary and its phis simply disappear. This is
+ * the usual case, since most passes keep SSA conventional.
+ *
+ * The phis of webs that do interfere become parallel copies on the incoming
+ * edges (splitting critical edges), which are then sequentialized, using a
+ * scratch temporary to break cycles. The resulting moves are left for copy
+ * coalescing.
+ */
+public class SSADestruction {
+
+	private ControlFlowGraph cfg;
+	private Map<String, String> parent; //union-find over the webs
+
+	//where each temporary is defined
+	private Map<String, BasicBlock> defBlock;
+	private Map<String, Integer> defIndex;
+	private DominatorTree dom;
+	private Map<BasicBlock, Integer> preorder; //position in a preorder walk of the dominator tree
+	private Liveness live;
+
+	public void run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		List<Phi> phis = new ArrayList<Phi>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (i instanceof Phi) phis.add((Phi) i);
+			}
+		}
+		if (phis.isEmpty()) return;
+
+		parent = new HashMap<String, String>();
+		for (Phi phi : phis) {
+			for (String src : phi.getUses()) {
+				union(phi.getDef(), src);
+			}
+		}
+		Map<String, List<String>> webs = new LinkedHashMap<String, List<String>>();
+		for (String t : parent.keySet()) {
+			String root = find(t);
+			if (!webs.containsKey(root)) webs.put(root, new ArrayList<String>());
+			webs.get(root).add(t);
+		}
+
+		findDefinitions();
+		dom = cfg.getDominatorTree();
+		preorder = new HashMap<BasicBlock, Integer>();
+		for (BasicBlock b : dom.getPreorder()) {
+			preorder.put(b, preorder.size());
+		}
+		live = cfg.getLiveness();
+		Map<String, String> renames = new HashMap<String, String>();
+		Set<String> copied = new HashSet<String>(); //roots of webs that need copies
+		for (Map.Entry<String, List<String>> web : webs.entrySet()) {
+			List<String> members = web.getValue();
+			if (interferes(members)) {
+				copied.add(web.getKey());
+				continue;
+			}
+			String rep = representative(members);
+			for (String m : members) {
+				if (!m.equals(rep)) renames.put(m, rep);
+			}
+		}
+
+		insertCopies(copied);
+		for (BasicBlock b : cfg.getBlocks()) {
+			Iterator<Instruction> it = b.code.iterator();
+			while (it.hasNext()) {
+				Instruction i = it.next();
+				if (i instanceof Phi) {
+					it.remove();
+				} else if (renames.containsKey(i.getDef())) {
+					i.setOperand(i.getDefOperand(), renames.get(i.getDef()));
+				}
+			}
+		}
+		cfg.renameUses(renames);
+	}
+
+	private String find(String t) {
+		String p = parent.get(t);
+		if (p == null) {
+			parent.put(t, t);
+			return t;
+		}
+		if (p.equals(t)) return t;
+		String root = find(p);
+		parent.put(t, root);
+		return root;
+	}
+
+	private void union(String a, String b) {
+		String ra = find(a), rb = find(b);
+		if (!ra.equals(rb)) parent.put(ra, rb);
+	}
+
+	/**
+	 * The lowest numbered member, to keep the number of temporaries to save low
+	 */
+	private String representative(List<String> members) {
+		String rep = null;
+		for (String m : members) {
+			if (rep == null || Integer.parseInt(m.substring(1)) < Integer.parseInt(rep.substring(1))) rep = m;
+		}
+		return rep;
+	}
+
+	private void findDefinitions() {
+		defBlock = new HashMap<String, BasicBlock>();
+		defIndex = new HashMap<String, Integer>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (int k = 0; k < b.code.size(); k++) {
+				String d = b.code.get(k).getDef();
+				if (d != null) {
+					defBlock.put(d, b);
+					defIndex.put(d, k);
+				}
+			}
+		}
+	}
+
+	/**
+	 * In strict SSA, the values live at a point are live along the dominator
+	 * tree path from their definitions to it. So if two members of a web
+	 * interfere, some member interferes with the closest member whose
+	 * definition dominates its own: walking the members in dominator tree
+	 * order with a stack of dominating definitions only has to check each
+	 * member against the top of the stack (Budimlic et al.)
+	 */
+	private boolean interferes(List<String> members) {
+		List<String> defined = new ArrayList<String>();
+		for (String m : members) {
+			//undefined values, and values defined in unreachable code, hold nothing
+			if (defBlock.containsKey(m) && preorder.containsKey(defBlock.get(m))) defined.add(m);
+		}
+		Collections.sort(defined, new Comparator<String>() {
+			public int compare(String a, String b) {
+				int pa = preorder.get(defBlock.get(a)), pb = preorder.get(defBlock.get(b));
+				return (pa != pb) ? Integer.compare(pa, pb) : Integer.compare(defIndex.get(a), defIndex.get(b));
+			}
+		});
+		LinkedList<String> stack = new LinkedList<String>();
+		for (String m : defined) {
+			while (!stack.isEmpty() && !dominatesDef(stack.peek(), m)) {
+				stack.pop();
+			}
+			if (!stack.isEmpty() && isLiveAfter(stack.peek(), m)) return true;
+			stack.push(m);
+		}
+		return false;
+	}
+
+	private boolean dominatesDef(String a, String b) {
+		BasicBlock ba = defBlock.get(a), bb = defBlock.get(b);
+		if (ba == bb) return defIndex.get(a) <= defIndex.get(b);
+		return dom.dominates(ba, bb);
+	}
+
+	/**
+	 * True if a is live just after the definition of b (phis count as defined
+	 * together, after the last phi of the block), where the definition of a
+	 * comes first
+	 */
+	private boolean isLiveAfter(String a, String b) {
+		BasicBlock bb = defBlock.get(b);
+		for (int k = defIndex.get(b) + 1; k < bb.code.size(); k++) {
+			Instruction i = bb.code.get(k);
+			if (!(i instanceof Phi) && i.getUses().contains(a)) return true;
+		}
+		return live.isLiveOut(bb, a);
+	}
+
+	/**
+	 * Replace the phis of the given webs with parallel copies on each incoming edge
+	 */
+	private void insertCopies(Set<String> webs) {
+		if (webs.isEmpty()) return;
+		for (BasicBlock b : new ArrayList<BasicBlock>(cfg.getBlocks())) {
+			List<Phi> phis = new ArrayList<Phi>();
+			for (Instruction i : b.code) {
+				if (i instanceof Phi && webs.contains(find(i.getDef()))) phis.add((Phi) i);
+			}
+			if (phis.isEmpty()) continue;
+
+			for (BasicBlock p : new ArrayList<BasicBlock>(b.predecessors)) {
+				LinkedList<String[]> copies = new LinkedList<String[]>();
+				for (Phi phi : phis) {
+					if (!phi.getDef().equals(phi.getSource(p))) {
+						copies.add(new String[] {phi.getDef(), phi.getSource(p)});
+					}
+				}
+				if (copies.isEmpty()) continue;
+
+				BasicBlock at = p;
+				if (p.successors.size() > 1 || (p.getTerminator() != null && p.getTerminator().getOC() != Instruction.OpCode.J)) {
+					at = cfg.splitEdge(p, b);
+				}
+				at.code.addAll(at.getInsertionPoint(), sequentialize(copies));
+			}
+		}
+	}
+
+	/**
+	 * Order parallel copies so that no copy overwrites a register another copy
+	 * still has to read
+	 */
+	private List<Instruction> sequentialize(LinkedList<String[]> copies) {
+		List<Instruction> code = new ArrayList<Instruction>();
+		while (!copies.isEmpty()) {
+			String[] ready = null;
+			for (String[] c : copies) {
+				boolean read = false;
+				for (String[] other : copies) {
+					if (other != c && other[1].equals(c[0])) read = true;
+				}
+				if (!read) {
+					ready = c;
+					break;
+				}
+			}
+			if (ready == null) {
+				//a cycle: save one destination first, and read the saved copy instead
+				String[] c = copies.peek();
+				String scratch = cfg.newTemp(Instruction.isFloatTemp(c[0]));
+				code.add(move(c[0], scratch));
+				for (String[] other : copies) {
+					if (other[1].equals(c[0])) other[1] = scratch;
+				}
+				continue;
+			}
+			copies.remove(ready);
+			code.add(move(ready[1], ready[0]));
+		}
+		return code;
+	}
+
+	private Instruction move(String src, String dest) {
+		return Instruction.isFloatTemp(dest) ? new FMv(src, dest) : new Mv(src, dest);
+	}
+
+}
@@ -0,0 +1,369 @@
+package assembly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import assembly.instructions.Add;
+import assembly.instructions.Addi;
+import assembly.instructions.Instruction;
+import assembly.instructions.Instruction.OpCode;
+import assembly.instructions.InstructionBranch;
+import assembly.instructions.Li;
+import assembly.instructions.Mul;
+import assembly.instructions.Mv;
+import assembly.instructions.Phi;
+
+/**
+ * Induction variable strength reduction and linear function test replacement,
+ * on a body in SSA form.
+ *
+ * A basic induction variable is a phi in a loop header whose value coming
+ * around the loop is itself plus a constant. Values computed from one by
+ * multiplying by a constant, adding a loop-invariant register or adding a
+ * constant are derived induction variables: <code>scale * i + base +
+ * offset</code>. Those that are computed with a multiplication or addition and
+ * used for something other than further derived values (array addresses
+ * <code>a + 4 * i</code>, typically) get a phi of their own, initialized
+ * before the loop and stepped by <code>scale * step</code> right after
+ * <code>i</code> is, and the computation becomes a move from it.
+ *
+ * If the loop test is then the only use of <code>i</code> besides its own
+ * increment, it is rewritten to compare a reduced variable (with a positive
+ * scale, so the comparison keeps its sense) against the limit scaled the same
+ * way, leaving <code>i</code> for dead code elimination.
+ *
+ * Only loops entered through a single edge from a block with no other
+ * successor are handled, so the initial values can go at the end of that
+ * block. Integers do not overflow in the simulator, so scaling the limit is
+ * exact.
+ */
+public class StrengthReduction {
+
+	//ADDI immediates the simulator accepts
+	static final private int MIN_IMMEDIATE = -2047;
+	static final private int MAX_IMMEDIATE = 2046;
+
+	private static class BasicIV {
+		Phi phi;
+		String init;
+		String next;
+		Instruction increment;
+		long step;
+	}
+
+	/**
+	 * scale * iv + base + offset
+	 */
+	private static class Recipe {
+		final BasicIV iv;
+		final long scale;
+		final String base;
+		final long offset;
+
+		Recipe(BasicIV iv, long scale, String base, long offset) {
+			this.iv = iv;
+			this.scale = scale;
+			this.base = base;
+			this.offset = offset;
+		}
+
+		String key() {
+			return iv.phi.getDef() + "*" + scale + "+" + base + "+" + offset;
+		}
+	}
+
+	private ControlFlowGraph cfg;
+	private Map<String, Instruction> defs;
+	private Map<String, BasicBlock> defBlocks;
+
+	/**
+	 * @return true if anything changed
+	 */
+	public boolean run(ControlFlowGraph cfg) {
+		this.cfg = cfg;
+		boolean changed = false;
+		List<NaturalLoops.Loop> loops = cfg.getNaturalLoops().getLoops();
+		for (int k = loops.size() - 1; k >= 0; k--) {
+			findDefinitions();
+			changed |= reduce(loops.get(k));
+		}
+		return changed;
+	}
+
+	private void findDefinitions() {
+		defs = new HashMap<String, Instruction>();
+		defBlocks = new HashMap<String, BasicBlock>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				if (Instruction.isTemp(i.getDef())) {
+					defs.put(i.getDef(), i);
+					defBlocks.put(i.getDef(), b);
+				}
+			}
+		}
+	}
+
+	private boolean reduce(NaturalLoops.Loop loop) {
+		List<BasicBlock> entries = loop.getEntries();
+		if (entries.size() != 1 || entries.get(0).successors.size() != 1) return false;
+		BasicBlock preheader = entries.get(0);
+		BasicBlock header = loop.getHeader();
+
+		Map<String, Recipe> recipes = new LinkedHashMap<String, Recipe>();
+		for (Instruction i : header.code) {
+			if (!(i instanceof Phi)) continue;
+			BasicIV iv = basicIV((Phi) i, loop, preheader);
+			if (iv != null) recipes.put(iv.phi.getDef(), new Recipe(iv, 1, null, 0));
+		}
+		if (recipes.isEmpty()) return false;
+
+		//derived induction variables, found in any order until nothing new turns up
+		Map<String, Instruction> derived = new LinkedHashMap<String, Instruction>();
+		boolean grew = true;
+		while (grew) {
+			grew = false;
+			for (BasicBlock b : loop.getBlocks()) {
+				for (Instruction i : b.code) {
+					String d = i.getDef();
+					if (!Instruction.isTemp(d) || recipes.containsKey(d)) continue;
+					Recipe r = derive(i, recipes, loop);
+					if (r != null) {
+						recipes.put(d, r);
+						derived.put(d, i);
+						grew = true;
+					}
+				}
+			}
+		}
+
+		Map<String, List<Instruction>> uses = findUses();
+		Map<String, String[]> reduced = new LinkedHashMap<String, String[]>(); //recipe key -> {phi, next}
+		Map<String, Recipe> reducedRecipes = new HashMap<String, Recipe>();
+		boolean changed = false;
+		for (Map.Entry<String, Instruction> e : derived.entrySet()) {
+			String d = e.getKey();
+			Instruction i = e.getValue();
+			if (i.getOC() != OpCode.MUL && i.getOC() != OpCode.ADD) continue;
+			if (!hasOtherUse(d, uses, derived)) continue;
+			Recipe r = recipes.get(d);
+			if (!reduced.containsKey(r.key())) {
+				reduced.put(r.key(), newVariable(r, loop, preheader));
+				reducedRecipes.put(r.key(), r);
+			}
+			BasicBlock b = defBlocks.get(d);
+			b.code.set(b.code.indexOf(i), new Mv(reduced.get(r.key())[0], d));
+			changed = true;
+		}
+		if (!changed) return false;
+
+		for (Map.Entry<String, String[]> e : reduced.entrySet()) {
+			if (replaceTest(reducedRecipes.get(e.getKey()), e.getValue(), loop, preheader)) break;
+		}
+		return true;
+	}
+
+	private BasicIV basicIV(Phi phi, NaturalLoops.Loop loop, BasicBlock preheader) {
+		BasicIV iv = new BasicIV();
+		iv.phi = phi;
+		for (BasicBlock p : phi.getPreds()) {
+			String src = phi.getSource(p);
+			if (p == preheader) {
+				iv.init = src;
+			} else if (iv.next == null || iv.next.equals(src)) {
+				iv.next = src;
+			} else {
+				return null;
+			}
+		}
+		if (iv.init == null || iv.next == null || !Instruction.isTemp(iv.init)) return null;
+		Instruction inc = defs.get(iv.next);
+		if (inc == null || inc.getOC() != OpCode.ADDI || !phi.getDef().equals(inc.getsrc1())) return null;
+		if (!loop.contains(defBlocks.get(iv.next))) return null;
+		iv.increment = inc;
+		iv.step = Long.parseLong(inc.getsrc2());
+		return iv;
+	}
+
+	/**
+	 * @return the recipe of a derived induction variable, or null
+	 */
+	private Recipe derive(Instruction i, Map<String, Recipe> recipes, NaturalLoops.Loop loop) {
+		String a = i.getsrc1(), b = i.getsrc2();
+		switch (i.getOC()) {
+			case ADDI: {
+				Recipe r = recipes.get(a);
+				if (r == null) return null;
+				return new Recipe(r.iv, r.scale, r.base, r.offset + Long.parseLong(b));
+			}
+			case MUL: {
+				Recipe r = recipes.get(a);
+				Long k = constant(b);
+				if (r == null) {
+					r = recipes.get(b);
+					k = constant(a);
+				}
+				if (r == null || k == null) return null;
+				if (r.base != null) return null; //would need the base scaled as well
+				return new Recipe(r.iv, r.scale * k, null, r.offset * k);
+			}
+			case ADD: {
+				Recipe r = recipes.get(a);
+				String base = b;
+				if (r == null) {
+					r = recipes.get(b);
+					base = a;
+				}
+				if (r == null || r.base != null || !isInvariant(base, loop)) return null;
+				return new Recipe(r.iv, r.scale, base, r.offset);
+			}
+			default:
+				return null;
+		}
+	}
+
+	private Long constant(String reg) {
+		Instruction i = defs.get(reg);
+		if (i == null || i.getOC() != OpCode.LI) return null;
+		try {
+			return Long.decode(i.getLabel());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private boolean isInvariant(String reg, NaturalLoops.Loop loop) {
+		return Instruction.isTemp(reg) && defBlocks.containsKey(reg) && !loop.contains(defBlocks.get(reg));
+	}
+
+	private Map<String, List<Instruction>> findUses() {
+		Map<String, List<Instruction>> uses = new HashMap<String, List<Instruction>>();
+		for (BasicBlock b : cfg.getBlocks()) {
+			for (Instruction i : b.code) {
+				for (String u : i.getUses()) {
+					if (!uses.containsKey(u)) uses.put(u, new ArrayList<Instruction>());
+					uses.get(u).add(i);
+				}
+			}
+		}
+		return uses;
+	}
+
+	private boolean hasOtherUse(String d, Map<String, List<Instruction>> uses, Map<String, Instruction> derived) {
+		if (!uses.containsKey(d)) return false;
+		for (Instruction u : uses.get(d)) {
+			if (!derived.containsValue(u)) return true;
+		}
+		return false;
+	}
+
+	private BasicBlock blockOf(Instruction i) {
+		for (BasicBlock b : cfg.getBlocks()) {
+			if (b.code.contains(i)) return b;
+		}
+		return null;
+	}
+
+	/**
+	 * Create the phi for a reduced variable, its initial value in the preheader
+	 * and its step right after the basic variable's
+	 *
+	 * @return {the phi's result, the stepped value}
+	 */
+	private String[] newVariable(Recipe r, NaturalLoops.Loop loop, BasicBlock preheader) {
+		String phiName = cfg.newTemp(false), next = cfg.newTemp(false);
+		List<Instruction> init = new ArrayList<Instruction>();
+		String initial = scale(r.iv.init, r, init);
+
+		BasicBlock header = loop.getHeader();
+		Phi phi = new Phi(phiName, header.predecessors);
+		for (BasicBlock p : header.predecessors) {
+			phi.setSource(p, p == preheader ? initial : next);
+		}
+		header.code.add(header.getLabel() == null ? 0 : 1, phi);
+
+		List<Instruction> stepCode = new ArrayList<Instruction>();
+		long step = r.scale * r.iv.step;
+		if (step >= MIN_IMMEDIATE && step <= MAX_IMMEDIATE) {
+			stepCode.add(new Addi(phiName, String.valueOf(step), next));
+		} else {
+			String s = cfg.newTemp(false);
+			init.add(new Li(s, String.valueOf(step)));
+			stepCode.add(new Add(phiName, s, next));
+		}
+		preheader.code.addAll(preheader.getInsertionPoint(), init);
+		BasicBlock incBlock = defBlocks.get(r.iv.next);
+		incBlock.code.addAll(incBlock.code.indexOf(r.iv.increment) + 1, stepCode);
+		return new String[] {phiName, next};
+	}
+
+	/**
+	 * Append code computing scale * value + base + offset
+	 *
+	 * @return the register holding the result
+	 */
+	private String scale(String value, Recipe r, List<Instruction> code) {
+		String v = value;
+		if (r.scale != 1) {
+			String k = cfg.newTemp(false), t = cfg.newTemp(false);
+			code.add(new Li(k, String.valueOf(r.scale)));
+			code.add(new Mul(v, k, t));
+			v = t;
+		}
+		if (r.base != null) {
+			String t = cfg.newTemp(false);
+			code.add(new Add(v, r.base, t));
+			v = t;
+		}
+		if (r.offset != 0) {
+			String t = cfg.newTemp(false);
+			if (r.offset >= MIN_IMMEDIATE && r.offset <= MAX_IMMEDIATE) {
+				code.add(new Addi(v, String.valueOf(r.offset), t));
+			} else {
+				String o = cfg.newTemp(false);
+				code.add(new Li(o, String.valueOf(r.offset)));
+				code.add(new Add(v, o, t));
+			}
+			v = t;
+		}
+		return v;
+	}
+
+	/**
+	 * Linear function test replacement: if the basic variable is only used to
+	 * step itself and in the loop test, test the reduced variable instead
+	 *
+	 * @return true if the test was replaced
+	 */
+	private boolean replaceTest(Recipe r, String[] variable, NaturalLoops.Loop loop, BasicBlock preheader) {
+		if (r.scale <= 0) return false;
+		BasicIV iv = r.iv;
+		String i = iv.phi.getDef(), next = iv.next;
+		Map<String, List<Instruction>> uses = findUses();
+		Instruction test = null;
+		for (String v : new String[] {i, next}) {
+			for (Instruction u : uses.containsKey(v) ? uses.get(v) : new ArrayList<Instruction>()) {
+				if (u == iv.phi || u == iv.increment) continue;
+				if (!(u instanceof InstructionBranch) || !loop.contains(blockOf(u)) || (test != null && test != u)) return false;
+				test = u;
+			}
+		}
+		if (test == null) return false;
+
+		boolean first = test.getsrc1().equals(i) || test.getsrc1().equals(next);
+		String counter = first ? test.getsrc1() : test.getsrc2();
+		String limit = first ? test.getsrc2() : test.getsrc1();
+		if (limit.equals(i) || limit.equals(next) || !isInvariant(limit, loop)) return false;
+
+		List<Instruction> code = new ArrayList<Instruction>();
+		String scaledLimit = scale(limit, r, code);
+		preheader.code.addAll(preheader.getInsertionPoint(), code);
+		String replacement = counter.equals(i) ? variable[0] : variable[1];
+		test.setOperand(first ? Instruction.Operand.SRC1 : Instruction.Operand.SRC2, replacement);
+		test.setOperand(first ? Instruction.Operand.SRC2 : Instruction.Operand.SRC1, scaledLimit);
+		return true;
+	}
+
+}
@@ -1,5 +1,8 @@
 package assembly.instructions;
 
+import java.util.LinkedList;
+import java.util.List;
+
 /**
  * Class corresponding to RISC-V instruction FSW
  * 
@@ -18,5 +21,20 @@ public class Fsw extends InstructionLS {
         super(src, baseAddress, offset);
         this.oc = OpCode.FSW;
     }
-    
-}
\ No newline at end of file
+
+    /**
+     * Stores read both the value (<code>dest</code>) and the base address
+     */
+    @Override
+    public List<Operand> getUseOperands() {
+        List<Operand> uses = new LinkedList<Operand>();
+        uses.add(Operand.DEST);
+        uses.add(Operand.SRC1);
+        return uses;
+    }
+
+    @Override
+    public Operand getDefOperand() {
+        return null;
+    }
+}
@@ -1,15 +1,18 @@
 package assembly.instructions;
 
+import java.util.LinkedList;
+import java.util.List;
+
 /**
  * Superclass for all Instructions. Most fields do not have accessors
  * because they are only used in toString methods used to emit instructions.
  */
-public abstract class Instruction {
+public abstract class Instruction implements Cloneable {
 
 	/*
 	* list of possible op codess
 	*/
-	enum OpCode {
+	public enum OpCode {
         LI("LI"),
         LA("LA"),
 		ADD("ADD"),
@@ -56,7 +59,9 @@ public abstract class Instruction {
 		FREE("FREE"),
 		/*ADDED CAST FOR STEP7 */
 		FMOVI("FMOVI.S"),
-		IMOVF("IMOVF.S");
+		IMOVF("IMOVF.S"),
+		/* SSA FORM ONLY, NEVER EMITTED */
+		PHI("PHI");
 
 
 		private String opCodeName;
@@ -87,4 +92,141 @@ public abstract class Instruction {
     public String getDest() {
         return this.dest;
     }
+
+	/*
+	 * Accessors used by the optimization passes in package assembly
+	 */
+
+	public enum Operand {
+		SRC1,
+		SRC2,
+		DEST
+	};
+
+	/**
+	 * @return the op code, or null for labels and blank lines
+	 */
+	public OpCode getOC() {
+		return oc;
+	}
+
+	public String getsrc1() {
+		return this.src1;
+	}
+
+	public String getsrc2() {
+		return this.src2;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public void setLabel(String label) {
+		this.label = label;
+	}
+
+	public String getOperand(Operand o) {
+		switch (o) {
+			case SRC1: return src1;
+			case SRC2: return src2;
+			case DEST: return dest;
+			default: throw new Error("Shouldn't get here");
+		}
+	}
+
+	public void setOperand(Operand o, String value) {
+		switch (o) {
+			case SRC1: src1 = value; break;
+			case SRC2: src2 = value; break;
+			case DEST: dest = value; break;
+			default: throw new Error("Shouldn't get here");
+		}
+	}
+
+	/**
+	 * @return the operands holding registers this instruction reads. By default
+	 *         these are the sources; stores override this because they read
+	 *         <code>dest</code>
+	 */
+	public List<Operand> getUseOperands() {
+		List<Operand> uses = new LinkedList<Operand>();
+		if (isRegister(src1)) uses.add(Operand.SRC1);
+		if (isRegister(src2)) uses.add(Operand.SRC2);
+		return uses;
+	}
+
+	/**
+	 * @return the operand holding the register this instruction writes, or null
+	 */
+	public Operand getDefOperand() {
+		return isRegister(dest) ? Operand.DEST : null;
+	}
+
+	/**
+	 * @return the registers this instruction reads
+	 */
+	public List<String> getUses() {
+		List<String> uses = new LinkedList<String>();
+		for (Operand o : getUseOperands()) {
+			uses.add(getOperand(o));
+		}
+		return uses;
+	}
+
+	/**
+	 * @return the register this instruction writes, or null
+	 */
+	public String getDef() {
+		Operand o = getDefOperand();
+		return (o == null) ? null : getOperand(o);
+	}
+
+	/**
+	 * Replace every read of register <code>from</code> with <code>to</code>
+	 */
+	public void replaceUse(String from, String to) {
+		for (Operand o : getUseOperands()) {
+			if (getOperand(o).equals(from)) {
+				setOperand(o, to);
+			}
+		}
+	}
+
+	/**
+	 * @return a copy of this instruction, which can be given different operands
+	 */
+	public Instruction copy() {
+		try {
+			return (Instruction) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new Error("Shouldn't get here");
+		}
+	}
+
+	/**
+	 * @return true for (machine or temporary) register names, false for
+	 *         immediates, addresses and labels
+	 */
+	static public boolean isRegister(String s) {
+		return isTemp(s) || "fp".equals(s) || "sp".equals(s) || "ra".equals(s) || "x0".equals(s) || "zero".equals(s);
+	}
+
+	/**
+	 * @return true for the temporaries (<code>tN</code>, <code>fN</code>) handed out by code generation
+	 */
+	static public boolean isTemp(String s) {
+		if (s == null || s.length() < 2 || (s.charAt(0) != 't' && s.charAt(0) != 'f')) return false;
+		for (int i = 1; i < s.length(); i++) {
+			if (!Character.isDigit(s.charAt(i))) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the temporary holds a float (<code>fN</code>)
+	 */
+	static public boolean isFloatTemp(String s) {
+		return isTemp(s) && s.charAt(0) == 'f';
+	}
 }
\ No newline at end of file
@@ -2,15 +2,12 @@ package assembly.instructions;
 
 public class Malloc extends Instruction {
 
-    String src;
-    String dest;
-
     /**
      * Models the magic instruction MALLOC
      */
     public Malloc(String src, String dest) {
         super();
-        this.src = src;
+        this.src1 = src;
         this.dest = dest;
         this.oc = OpCode.MALLOC;
     }
@@ -19,6 +16,6 @@ public class Malloc extends Instruction {
      * @return "HALT"
      */
     public String toString() {
-        return String.valueOf(this.oc) + " " + dest + ", " + src;
+        return String.valueOf(this.oc) + " " + dest + ", " + src1;
     }
 }
@@ -0,0 +1,97 @@
+package assembly.instructions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import assembly.BasicBlock;
+
+/**
+ * SSA phi function. Only exists while a function body is in SSA form between
+ * passes, and is never emitted.
+ * 
+ * Models: dest = phi(src for each predecessor of the block)
+ */
+public class Phi extends Instruction {
+
+    private List<BasicBlock> preds;
+    private List<String> sources;
+
+    /**
+     * Initializes a phi for dest whose sources are all dest (renaming fills them in)
+     * 
+     * @param dest destination operand
+     * @param preds predecessors of the block the phi is placed in
+     */
+    public Phi(String dest, List<BasicBlock> preds) {
+        super();
+        this.dest = dest;
+        this.preds = new ArrayList<BasicBlock>(preds);
+        this.sources = new ArrayList<String>();
+        for (int i = 0; i < preds.size(); i++) {
+            sources.add(dest);
+        }
+        this.oc = OpCode.PHI;
+    }
+
+    public List<BasicBlock> getPreds() {
+        return preds;
+    }
+
+    /**
+     * @return the value flowing in from pred
+     */
+    public String getSource(BasicBlock pred) {
+        return sources.get(preds.indexOf(pred));
+    }
+
+    public void setSource(BasicBlock pred, String src) {
+        sources.set(preds.indexOf(pred), src);
+    }
+
+    /**
+     * Forget the source for an edge that no longer exists
+     */
+    public void removePred(BasicBlock pred) {
+        int i = preds.indexOf(pred);
+        preds.remove(i);
+        sources.remove(i);
+    }
+
+    @Override
+    public List<Operand> getUseOperands() {
+        return new ArrayList<Operand>();
+    }
+
+    @Override
+    public List<String> getUses() {
+        return new ArrayList<String>(sources);
+    }
+
+    @Override
+    public void replaceUse(String from, String to) {
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i).equals(from)) {
+                sources.set(i, to);
+            }
+        }
+    }
+
+    @Override
+    public Instruction copy() {
+        Phi p = (Phi) super.copy();
+        p.preds = new ArrayList<BasicBlock>(preds);
+        p.sources = new ArrayList<String>(sources);
+        return p;
+    }
+
+    /**
+     * @return "PHI dest, [src, pred], ..."
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder(this.oc + " " + this.dest);
+        for (int i = 0; i < preds.size(); i++) {
+            sb.append(", [" + sources.get(i) + ", " + preds.get(i) + "]");
+        }
+        return sb.toString();
+    }
+}
@@ -33,6 +33,13 @@ public class BinaryOpNode extends ExpressionNode {
 		this.setOp(getOpFromString(op));
 		this.setType(left.getType()); //This node inherits its type from the left child
 	}
+
+	public BinaryOpNode(ExpressionNode left, ExpressionNode right, OpType op) {
+		this.setLeft(left);
+		this.setRight(right);
+		this.setOp(op);
+		this.setType(left.getType()); //This node inherits its type from the left child
+	}
 		
 	private OpType getOpFromString(String s) {
 		switch (s) {
@@ -37,5 +37,7 @@ public class CastNode extends ExpressionNode {
 
     private void setTypeCast(Scope.Type type) {
         this.type = type;
+        //the cast expression itself has the type it casts to
+        this.setType(type);
     }
 }
@@ -32,6 +32,12 @@ public class CondNode implements ASTNode {
 		this.setRight(right);
 		this.setOp(getOpFromString(op));
 	}
+
+	public CondNode(ExpressionNode left, ExpressionNode right, OpType op) {
+		this.setLeft(left);
+		this.setRight(right);
+		this.setOp(op);
+	}
 		
 	private OpType getOpFromString(String s) {
 		switch (s) {
@@ -0,0 +1,35 @@
+package ast;
+
+import ast.visitor.ASTVisitor;
+
+/**
+ * Node for a <code>return</code> inside an inlined function body
+ *
+ * This has one (optional) child: the assignment of the returned value to the
+ * result variable of the enclosing {@link InlinedCallNode}. After the
+ * assignment, control continues after the inlined body.
+ */
+public class InlineExitNode implements StatementNode {
+
+	private AssignNode assign;
+	private InlinedCallNode target;
+
+	public InlineExitNode(AssignNode assign, InlinedCallNode target) {
+		this.assign = assign;
+		this.target = target;
+	}
+
+	@Override
+	public <R> R accept(ASTVisitor<R> visitor) {
+		return visitor.visit(this);
+	}
+
+	public AssignNode getAssign() {
+		return assign;
+	}
+
+	public InlinedCallNode getTarget() {
+		return target;
+	}
+
+}
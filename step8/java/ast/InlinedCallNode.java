@@ -0,0 +1,58 @@
+package ast;
+
+import ast.visitor.ASTVisitor;
+import compiler.Scope;
+
+/**
+ * Node for a call whose callee body has been copied in place by the inliner
+ *
+ * This node has two children:
+ *
+ * 1. <code>body</code>: assignments of the arguments to the (renamed) callee
+ *    parameters, followed by the renamed callee body
+ * 2. <code>result</code>: the caller local that holds the return value (null
+ *    for void functions)
+ *
+ * <code>return</code> statements in the callee become {@link InlineExitNode}s
+ * that point back at this node, so that code generation can send them to the
+ * end of the body.
+ */
+public class InlinedCallNode extends AbstractCallNode {
+
+	private String funcName;
+	private StatementListNode body;
+	private VarNode result;
+
+	public InlinedCallNode(String funcName, Scope.Type type) {
+		this.funcName = funcName;
+		this.body = new StatementListNode();
+		this.result = null;
+		setType(type);
+	}
+
+	@Override
+	public <R> R accept(ASTVisitor<R> visitor) {
+		return visitor.visit(this);
+	}
+
+	public String getFuncName() {
+		return funcName;
+	}
+
+	public StatementListNode getBody() {
+		return body;
+	}
+
+	public void setBody(StatementListNode body) {
+		this.body = body;
+	}
+
+	public VarNode getResult() {
+		return result;
+	}
+
+	public void setResult(VarNode result) {
+		this.result = result;
+	}
+
+}
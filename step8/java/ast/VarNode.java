@@ -21,6 +21,17 @@ public class VarNode extends ExpressionNode {
 		setType(ste.getType());
 	}
 
+	/**
+	 * Creates a variable node for a symbol that has already been resolved.
+	 * Used by passes that build AST after parsing, when the parser's scope
+	 * stack no longer points at the right scope.
+	 */
+	public VarNode(String id, SymbolTableEntry ste) {
+		this.setId(id);
+		setSymbol(ste);
+		setType(ste.getType());
+	}
+
 	@Override
 	public <R> R accept(ASTVisitor<R> visitor) {
 		return visitor.visit(this);
@@ -27,5 +27,7 @@ public interface ASTVisitor<R> {
 	R visit(MallocNode node);
 	R visit(FreeNode node);
 	R visit(CastNode node);
+	R visit(InlinedCallNode node);
+	R visit(InlineExitNode node);
 
 }
@@ -27,6 +27,8 @@ import ast.FunctionNode;
 import ast.FloatLitNode;
 import ast.FreeNode;
 import ast.CastNode;
+import ast.InlinedCallNode;
+import ast.InlineExitNode;
 
 /**
  * Abstract visitor class that implements the visitor pattern over the AST
@@ -229,6 +231,27 @@ public abstract class AbstractASTVisitor<R> implements ASTVisitor<R> {
 		return postprocess(node, expr);
 	}
 
+	@Override
+	public R visit(InlinedCallNode node) {
+		preprocess(node);
+		R body = node.getBody().accept(this);
+		R result = null;
+		if (node.getResult() != null) { //void functions have no result
+			result = node.getResult().accept(this);
+		}
+		return postprocess(node, body, result);
+	}
+
+	@Override
+	public R visit(InlineExitNode node) {
+		preprocess(node);
+		R assign = null;
+		if (node.getAssign() != null) {
+			assign = node.getAssign().accept(this);
+		}
+		return postprocess(node, assign);
+	}
+
 	protected R postprocess(VarNode node) {
 		return null;
 	}
@@ -313,6 +336,14 @@ public abstract class AbstractASTVisitor<R> implements ASTVisitor<R> {
 		return null;
 	}
 
+	protected R postprocess(InlinedCallNode node, R body, R result) {
+		return null;
+	}
+
+	protected R postprocess(InlineExitNode node, R assign) {
+		return null;
+	}
+
 	protected void preprocess(VarNode node) {
 		return;
 	}
@@ -397,4 +428,12 @@ public abstract class AbstractASTVisitor<R> implements ASTVisitor<R> {
 		return;
 	}
 
+	protected void preprocess(InlinedCallNode node) {
+		return;
+	}
+
+	protected void preprocess(InlineExitNode node) {
+		return;
+	}
+
 }
\ No newline at end of file
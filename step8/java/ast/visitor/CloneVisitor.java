@@ -0,0 +1,217 @@
+package ast.visitor;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import ast.ASTNode;
+import ast.AddrOfNode;
+import ast.AssignNode;
+import ast.BinaryOpNode;
+import ast.CallNode;
+import ast.CastNode;
+import ast.CondNode;
+import ast.ExpressionNode;
+import ast.FloatLitNode;
+import ast.FreeNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.IfStatementNode;
+import ast.InlineExitNode;
+import ast.InlinedCallNode;
+import ast.IntLitNode;
+import ast.MallocNode;
+import ast.PtrDerefNode;
+import ast.ReadNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.StatementNode;
+import ast.TypedASTNode;
+import ast.UnaryOpNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.WriteNode;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Visitor that builds a deep copy of the subtree it is run on.
+ *
+ * Optimization passes use this when the same expression has to appear in more
+ * than one place, so that later passes that rewrite the tree in place never see
+ * a node with two parents.
+ *
+ * Subclasses can override {@link #mapSymbol(SymbolTableEntry)} to redirect
+ * variables to different symbol table entries while copying (e.g., to rename
+ * the locals of an inlined function).
+ */
+public class CloneVisitor extends AbstractASTVisitor<ASTNode> {
+
+	//copies of the inlined calls being copied, so that exits inside them can be redirected
+	//(a stack per call: a body can be copied again while it is being copied, e.g., by the inliner)
+	private Map<InlinedCallNode, LinkedList<InlinedCallNode>> inlined = new IdentityHashMap<InlinedCallNode, LinkedList<InlinedCallNode>>();
+
+	/**
+	 * Copy an expression
+	 */
+	public ExpressionNode copy(ExpressionNode node) {
+		return (ExpressionNode) node.accept(this);
+	}
+
+	/**
+	 * Copy a statement list
+	 */
+	public StatementListNode copy(StatementListNode node) {
+		return (StatementListNode) node.accept(this);
+	}
+
+	/**
+	 * Hook for renaming variables while copying. Default keeps the symbol.
+	 */
+	protected SymbolTableEntry mapSymbol(SymbolTableEntry ste) {
+		return ste;
+	}
+
+	@Override
+	protected ASTNode postprocess(VarNode node) {
+		SymbolTableEntry ste = mapSymbol(node.getSymbol());
+		return new VarNode(ste.getName(), ste);
+	}
+
+	@Override
+	protected ASTNode postprocess(IntLitNode node) {
+		return new IntLitNode(node.getVal());
+	}
+
+	@Override
+	protected ASTNode postprocess(FloatLitNode node) {
+		return new FloatLitNode(node.getVal());
+	}
+
+	@Override
+	protected ASTNode postprocess(BinaryOpNode node, ASTNode left, ASTNode right) {
+		return new BinaryOpNode((ExpressionNode) left, (ExpressionNode) right, node.getOp());
+	}
+
+	@Override
+	protected ASTNode postprocess(UnaryOpNode node, ASTNode expr) {
+		return new UnaryOpNode((ExpressionNode) expr, "-");
+	}
+
+	@Override
+	protected ASTNode postprocess(AssignNode node, ASTNode left, ASTNode right) {
+		return new AssignNode((TypedASTNode) left, (ExpressionNode) right);
+	}
+
+	@Override
+	protected ASTNode postprocess(StatementListNode node, List<ASTNode> statements) {
+		StatementListNode sl = new StatementListNode();
+		for (ASTNode s : statements) {
+			sl.getStatements().add((StatementNode) s);
+		}
+		return sl;
+	}
+
+	@Override
+	protected ASTNode postprocess(ReadNode node, ASTNode var) {
+		return new ReadNode((VarNode) var);
+	}
+
+	@Override
+	protected ASTNode postprocess(WriteNode node, ASTNode writeExpr) {
+		return new WriteNode((ExpressionNode) writeExpr);
+	}
+
+	@Override
+	protected ASTNode postprocess(CondNode node, ASTNode left, ASTNode right) {
+		return new CondNode((ExpressionNode) left, (ExpressionNode) right, node.getOp());
+	}
+
+	@Override
+	protected ASTNode postprocess(IfStatementNode node, ASTNode cond, ASTNode tlist, ASTNode elist) {
+		return new IfStatementNode((CondNode) cond, (StatementListNode) tlist, (StatementListNode) elist);
+	}
+
+	@Override
+	protected ASTNode postprocess(WhileNode node, ASTNode cond, ASTNode slist) {
+		return new WhileNode((CondNode) cond, (StatementListNode) slist);
+	}
+
+	@Override
+	protected ASTNode postprocess(ReturnNode node, ASTNode retExpr) {
+		return new ReturnNode((ExpressionNode) retExpr, node.getFuncSymbol());
+	}
+
+	@Override
+	protected ASTNode postprocess(FunctionNode node, ASTNode body) {
+		return new FunctionNode((StatementListNode) body, node.getFuncName(), node.getScope());
+	}
+
+	@Override
+	protected ASTNode postprocess(FunctionListNode node, List<ASTNode> functions) {
+		FunctionListNode fl = new FunctionListNode();
+		for (ASTNode f : functions) {
+			fl.getFunctions().add((FunctionNode) f);
+		}
+		return fl;
+	}
+
+	@Override
+	protected ASTNode postprocess(CallNode node, List<ASTNode> args) {
+		List<ExpressionNode> newArgs = new LinkedList<ExpressionNode>();
+		for (ASTNode a : args) {
+			newArgs.add((ExpressionNode) a);
+		}
+		return new CallNode(node.getFuncName(), newArgs);
+	}
+
+	@Override
+	protected ASTNode postprocess(PtrDerefNode node, ASTNode expr) {
+		return new PtrDerefNode((ExpressionNode) expr);
+	}
+
+	@Override
+	protected ASTNode postprocess(AddrOfNode node, ASTNode expr) {
+		return new AddrOfNode((ExpressionNode) expr);
+	}
+
+	@Override
+	protected ASTNode postprocess(MallocNode node, ASTNode arg) {
+		return new MallocNode((ExpressionNode) arg);
+	}
+
+	@Override
+	protected ASTNode postprocess(FreeNode node, ASTNode arg) {
+		return new FreeNode((ExpressionNode) arg);
+	}
+
+	@Override
+	protected ASTNode postprocess(CastNode node, ASTNode expr) {
+		return new CastNode((ExpressionNode) expr, node.getTypeCast());
+	}
+
+	@Override
+	protected void preprocess(InlinedCallNode node) {
+		//create the copy up front: exits in the body are copied before the call itself
+		if (!inlined.containsKey(node)) {
+			inlined.put(node, new LinkedList<InlinedCallNode>());
+		}
+		inlined.get(node).push(new InlinedCallNode(node.getFuncName(), node.getType()));
+	}
+
+	@Override
+	protected ASTNode postprocess(InlinedCallNode node, ASTNode body, ASTNode result) {
+		InlinedCallNode ic = inlined.get(node).pop();
+		ic.setBody((StatementListNode) body);
+		ic.setResult((VarNode) result);
+		return ic;
+	}
+
+	@Override
+	protected ASTNode postprocess(InlineExitNode node, ASTNode assign) {
+		LinkedList<InlinedCallNode> copies = inlined.get(node.getTarget());
+		InlinedCallNode target = (copies != null && !copies.isEmpty()) ? copies.peek() : null;
+		return new InlineExitNode((AssignNode) assign, (target != null) ? target : node.getTarget());
+	}
+
+}
@@ -0,0 +1,74 @@
+package ast.visitor;
+
+import ast.BinaryOpNode;
+import ast.ExpressionNode;
+import ast.FloatLitNode;
+import ast.IntLitNode;
+import ast.UnaryOpNode;
+
+/**
+ * Visitor that computes the value of a constant expression at compile time: a
+ * Long for an int expression, a Double for a float one, or null if the
+ * expression is not built from literals (and named constants, which the parser
+ * has already replaced by literals) with <code>+ - * /</code>.
+ *
+ * Arithmetic follows the simulator: int division rounds down, and operands of
+ * different types are not mixed.
+ */
+public class ConstantEvaluator extends AbstractASTVisitor<Object> {
+
+	/**
+	 * @return the value of the expression, or null if it is not constant
+	 */
+	public Object evaluate(ExpressionNode node) {
+		return node.accept(this);
+	}
+
+	@Override
+	protected Object postprocess(IntLitNode node) {
+		try {
+			return Long.decode(node.getVal());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Object postprocess(FloatLitNode node) {
+		try {
+			return Double.parseDouble(node.getVal());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	@Override
+	protected Object postprocess(UnaryOpNode node, Object expr) {
+		if (expr instanceof Long) return -(Long) expr;
+		if (expr instanceof Double) return -(Double) expr;
+		return null;
+	}
+
+	@Override
+	protected Object postprocess(BinaryOpNode node, Object left, Object right) {
+		if (left instanceof Long && right instanceof Long) {
+			long a = (Long) left, b = (Long) right;
+			switch (node.getOp()) {
+				case ADD: return a + b;
+				case SUB: return a - b;
+				case MUL: return a * b;
+				case DIV: return (b == 0) ? null : (Object) Math.floorDiv(a, b);
+			}
+		} else if (left instanceof Double && right instanceof Double) {
+			double a = (Double) left, b = (Double) right;
+			switch (node.getOp()) {
+				case ADD: return a + b;
+				case SUB: return a - b;
+				case MUL: return a * b;
+				case DIV: return a / b;
+			}
+		}
+		return null;
+	}
+
+}
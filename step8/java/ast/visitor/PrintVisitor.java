@@ -22,6 +22,8 @@ import ast.FunctionNode;
 import ast.FloatLitNode;
 import ast.FreeNode;
 import ast.CastNode;
+import ast.InlinedCallNode;
+import ast.InlineExitNode;
 
 public class PrintVisitor extends AbstractASTVisitor<Void> {
 
@@ -267,4 +269,30 @@ public class PrintVisitor extends AbstractASTVisitor<Void> {
 		return null;
 	}
 
+	@Override
+	protected void preprocess(InlinedCallNode node) {
+		printTabs();
+		System.out.println("Inlined call " + node.getFuncName());
+		depth++;
+	}
+
+	@Override
+	protected Void postprocess(InlinedCallNode node, Void body, Void result) {
+		--depth;
+		return null;
+	}
+
+	@Override
+	protected void preprocess(InlineExitNode node) {
+		printTabs();
+		System.out.println("Inline exit from " + node.getTarget().getFuncName());
+		depth++;
+	}
+
+	@Override
+	protected Void postprocess(InlineExitNode node, Void assign) {
+		--depth;
+		return null;
+	}
+
 }
@@ -0,0 +1,168 @@
+package ast.visitor;
+
+import java.util.List;
+
+import ast.AddrOfNode;
+import ast.AssignNode;
+import ast.BinaryOpNode;
+import ast.CallNode;
+import ast.CastNode;
+import ast.CondNode;
+import ast.FloatLitNode;
+import ast.FreeNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.IfStatementNode;
+import ast.InlineExitNode;
+import ast.InlinedCallNode;
+import ast.IntLitNode;
+import ast.MallocNode;
+import ast.PtrDerefNode;
+import ast.ReadNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.UnaryOpNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.WriteNode;
+
+/**
+ * Visitor that counts the nodes in a subtree.
+ *
+ * Used as a rough measure of how much code a subtree generates (e.g., by the
+ * inliner's cost model). Statement lists themselves are not counted.
+ */
+public class SizeVisitor extends AbstractASTVisitor<Integer> {
+
+	private int sum(Integer... children) {
+		int total = 1;
+		for (Integer c : children) {
+			if (c != null) total += c;
+		}
+		return total;
+	}
+
+	private int sum(List<Integer> children) {
+		int total = 0;
+		for (Integer c : children) {
+			if (c != null) total += c;
+		}
+		return total;
+	}
+
+	@Override
+	protected Integer postprocess(VarNode node) {
+		return 1;
+	}
+
+	@Override
+	protected Integer postprocess(IntLitNode node) {
+		return 1;
+	}
+
+	@Override
+	protected Integer postprocess(FloatLitNode node) {
+		return 1;
+	}
+
+	@Override
+	protected Integer postprocess(BinaryOpNode node, Integer left, Integer right) {
+		return sum(left, right);
+	}
+
+	@Override
+	protected Integer postprocess(UnaryOpNode node, Integer expr) {
+		return sum(expr);
+	}
+
+	@Override
+	protected Integer postprocess(AssignNode node, Integer left, Integer right) {
+		return sum(left, right);
+	}
+
+	@Override
+	protected Integer postprocess(StatementListNode node, List<Integer> statements) {
+		return sum(statements);
+	}
+
+	@Override
+	protected Integer postprocess(ReadNode node, Integer var) {
+		return sum(var);
+	}
+
+	@Override
+	protected Integer postprocess(WriteNode node, Integer writeExpr) {
+		return sum(writeExpr);
+	}
+
+	@Override
+	protected Integer postprocess(CondNode node, Integer left, Integer right) {
+		return sum(left, right);
+	}
+
+	@Override
+	protected Integer postprocess(IfStatementNode node, Integer cond, Integer tlist, Integer elist) {
+		return sum(cond, tlist, elist);
+	}
+
+	@Override
+	protected Integer postprocess(WhileNode node, Integer cond, Integer slist) {
+		return sum(cond, slist);
+	}
+
+	@Override
+	protected Integer postprocess(ReturnNode node, Integer retExpr) {
+		return sum(retExpr);
+	}
+
+	@Override
+	protected Integer postprocess(FunctionNode node, Integer body) {
+		return sum(body);
+	}
+
+	@Override
+	protected Integer postprocess(FunctionListNode node, List<Integer> functions) {
+		return sum(functions);
+	}
+
+	@Override
+	protected Integer postprocess(CallNode node, List<Integer> args) {
+		return 1 + sum(args);
+	}
+
+	@Override
+	protected Integer postprocess(PtrDerefNode node, Integer expr) {
+		return sum(expr);
+	}
+
+	@Override
+	protected Integer postprocess(AddrOfNode node, Integer expr) {
+		return sum(expr);
+	}
+
+	@Override
+	protected Integer postprocess(MallocNode node, Integer arg) {
+		return sum(arg);
+	}
+
+	@Override
+	protected Integer postprocess(FreeNode node, Integer arg) {
+		return sum(arg);
+	}
+
+	@Override
+	protected Integer postprocess(CastNode node, Integer expr) {
+		return sum(expr);
+	}
+
+	@Override
+	protected Integer postprocess(InlinedCallNode node, Integer body, Integer result) {
+		return sum(body, result);
+	}
+
+	@Override
+	protected Integer postprocess(InlineExitNode node, Integer assign) {
+		return sum(assign);
+	}
+
+}
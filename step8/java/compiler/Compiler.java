@@ -9,6 +9,7 @@ import org.antlr.v4.runtime.CommonTokenStream;
 import assembly.CodeGenerator;
 import assembly.CodeObject;
 import ast.ASTNode;
+import ast.FunctionListNode;
 
 import java.util.Collection;
 
@@ -22,6 +23,40 @@ public class Compiler {
 
 	public static void main(String args[]) {
 		
+		//the level picks the passes, --passes= replaces them, and the other options adjust them (wherever they are given)
+		PassManager passManager = new PassManager();
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].matches("-O[0-9]")) {
+				passManager = new PassManager(Integer.parseInt(args[i].substring(2)));
+			}
+		}
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].startsWith("--passes=")) {
+				String passes = args[i].substring("--passes=".length());
+				passManager.setPasses(passes.isEmpty() ? new String[0] : passes.split(","));
+			}
+		}
+		boolean timePasses = false;
+		for (int i = 1; i < args.length; i++) {
+			if (args[i].matches("-O[0-9]") || args[i].startsWith("--passes=")) {
+				//already done
+			} else if (args[i].equals("--time-passes")) {
+				timePasses = true;
+			} else if (args[i].startsWith("--inline-budget=")) {
+				passManager.inlineBudget = Integer.parseInt(args[i].substring("--inline-budget=".length()));
+			} else if (args[i].startsWith("--inline-recursion=")) {
+				passManager.inlineRecursion = Integer.parseInt(args[i].substring("--inline-recursion=".length()));
+			} else if (args[i].startsWith("--specialize-budget=")) {
+				passManager.specializeBudget = Integer.parseInt(args[i].substring("--specialize-budget=".length()));
+			} else if (args[i].equals("--memoize")) {
+				passManager.enableMemoization();
+			} else if (args[i].startsWith("--memoize=")) {
+				passManager.memoTableSize = Integer.parseInt(args[i].substring("--memoize=".length()));
+				passManager.enableMemoization();
+			} else {
+				throw new Error("Unknown option " + args[i]);
+			}
+		}
 		
 		try {
 			MicroCLexer lexer = new MicroCLexer(CharStreams.fromFileName(args[0]));
@@ -32,16 +67,19 @@ public class Compiler {
 			
 			parser.program(); //parse the program to build the ast
 			
-			//Print out the symbol table. Helpful for debugging
-			symbolTable.printTable();
-
 			ASTNode ast = parser.getAST();
 
+			//Optimization passes that rewrite the AST
+			passManager.runProgramPasses((FunctionListNode) ast);
+
+			//Print out the symbol table (after optimizations, which may add temporaries). Helpful for debugging
+			symbolTable.printTable();
+
 			// Uncomment this line to print out your AST for debugging purposes
 			// PrintVisitor pv = new PrintVisitor();
 			// pv.run(ast);
 
-			CodeGenerator cg = new CodeGenerator();
+			CodeGenerator cg = new CodeGenerator(passManager);
 			CodeObject co = cg.run(ast);
 
 			// Print out ".section .text"
@@ -53,6 +91,8 @@ public class Compiler {
 			//Print out strings
 			printStrings();
 
+			if (timePasses) passManager.printTimes(System.err);
+
 		} catch (IOException e) {
 			System.out.println("File not found");
 			e.printStackTrace();
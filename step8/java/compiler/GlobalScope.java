@@ -26,6 +26,16 @@ import java.util.List;
 		return ste;
 	}
 
+	@Override
+	public ErrorType addArray(compiler.Scope.Type type, String name, int length) {
+		ErrorType retVal = checkSymbol(name);
+		SymbolTableEntry ste = genSymbol(type, name);
+		globalBase += 4 * (length - 1);
+		ste.setArrayLength(length);
+		table.put(name, ste);
+		return retVal;
+	}
+
 	@Override
 	protected StringSymbolTableEntry genStringSymbol(compiler.Scope.Type type, String name, String value) {
 		int addr = stringBase;
@@ -34,6 +44,12 @@ import java.util.List;
 		return ste;
 	}
 
+	public ErrorType addConstant(compiler.Scope.Type type, String name, Object value) {
+		ErrorType retVal = checkSymbol(name);
+		table.put(name, new ConstantSymbolTableEntry(type, name, value));
+		return retVal;
+	}
+
 	public ErrorType addFunctionSymbol(compiler.Scope.Type returnType, String name, List<compiler.Scope.Type> argTypes) {
 		ErrorType retVal = checkSymbol(name);
 		table.put(name, new FunctionSymbolTableEntry(returnType, name, argTypes));
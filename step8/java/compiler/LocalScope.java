@@ -1,5 +1,8 @@
 package compiler;
 
+import java.util.LinkedList;
+import java.util.List;
+
 public class LocalScope extends Scope {
 
 	static final private int startingLocalsOffset = -4; // start local var offset with room for old frame pointer
@@ -39,6 +42,22 @@ public class LocalScope extends Scope {
 		return ste;
 	}
 
+	/**
+	 * Arrays take <code>length</code> consecutive slots of the frame. The
+	 * address is the lowest one, so that indexing up from it stays inside the
+	 * block.
+	 */
+	@Override
+	public ErrorType addArray(Scope.Type type, String name, int length) {
+		ErrorType retVal = checkSymbol(name);
+		localsOffset -= 4 * (length - 1);
+		numLocals += length - 1;
+		SymbolTableEntry ste = genSymbol(type, name);
+		ste.setArrayLength(length);
+		table.put(name, ste);
+		return retVal;
+	}
+
 	@Override
 	protected SymbolTableEntry genSymbol(compiler.Scope.Type type, String name) {
 		int addr = localsOffset;
@@ -63,4 +82,22 @@ public class LocalScope extends Scope {
 		return numLocals;
 	}
 
+	public int getNumArgs() {
+		return numArgs;
+	}
+
+	/**
+	 * The argument entries, in the order they appear in the function declaration
+	 * (arguments are added in reverse, so the first one has the highest address)
+	 */
+	public List<SymbolTableEntry> getArguments() {
+		LinkedList<SymbolTableEntry> args = new LinkedList<SymbolTableEntry>();
+		for (SymbolTableEntry ste : table.values()) {
+			if (ste.getAddress() >= startingArgsOffset) {
+				args.addFirst(ste);
+			}
+		}
+		return args;
+	}
+
 }
\ No newline at end of file
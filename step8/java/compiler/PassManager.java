@@ -0,0 +1,467 @@
+package compiler;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import assembly.ConditionalConstantPropagation;
+import assembly.ControlFlowGraph;
+import assembly.ControlFlowGraph.Analysis;
+import assembly.ConversionElimination;
+import assembly.CopyPropagation;
+import assembly.DeadCodeElimination;
+import assembly.DeadStoreElimination;
+import assembly.GlobalPromotion;
+import assembly.GlobalValueNumbering;
+import assembly.InstructionList;
+import assembly.LazyCodeMotion;
+import assembly.LocalValueNumbering;
+import assembly.MoveCoalescing;
+import assembly.Peephole;
+import assembly.RedundantLoadElimination;
+import assembly.RegisterPromotion;
+import assembly.SSAConstruction;
+import assembly.SSADestruction;
+import assembly.StrengthReduction;
+import ast.FunctionListNode;
+import optimizer.CallGraph;
+import optimizer.Inliner;
+import optimizer.LoopElimination;
+import optimizer.Memoizer;
+import optimizer.PureCalls;
+import optimizer.Specializer;
+import optimizer.StackAllocation;
+
+/**
+ * Decides which optimization passes run, and in what order.
+ *
+ * There are three pipelines: program passes rewrite the AST before code
+ * generation, function passes run over the control flow graph of each
+ * function's body as it is generated, and code generation passes change how
+ * the code generator emits each function (tail calls, and the peephole pass
+ * over its final code, prologue and epilogue included). Each level names a
+ * pipeline:
+ *
+ * 		-O0		no optimization (the code generator's own output)
+ * 		-O1		local cleanups: no AST passes, and no SSA
+ * 		-O2		everything but memoization (the default)
+ * 		-O3		-O2 plus memoization
+ *
+ * <code>--passes=a,b,...</code> replaces all the pipelines with the named
+ * passes (each goes to the pipeline it belongs to), and
+ * <code>--time-passes</code> reports how long each pass took in total.
+ *
+ * A function pass says which analyses it needs ({@link Analysis}), which are
+ * computed (and timed) before it runs unless the graph already has them, and
+ * which it keeps valid; the graph drops the rest afterwards. The graph itself
+ * drops the analyses of its shape whenever its edges change, so by default a
+ * pass keeps those, and only those: the analyses of the code are keyed by
+ * registers and instructions, so a pass only keeps one if it says why its
+ * changes cannot make the analysis wrong. Passes that need SSA form get it: the manager puts the
+ * function into or out of SSA form as needed, and always out of it at the end.
+ *
+ * All the state of a function pass lives in the graph, so functions do not
+ * depend on each other; the only state shared between them is the timing.
+ */
+public class PassManager {
+
+	static final public int DEFAULT_LEVEL = 2;
+
+	/**
+	 * A pass over the whole program's AST
+	 */
+	static private abstract class ProgramPass {
+		String name;
+
+		ProgramPass(String name) {
+			this.name = name;
+		}
+
+		abstract void run(FunctionListNode program, PassManager options);
+	}
+
+	/**
+	 * What form a function pass needs the code in
+	 */
+	static private enum Form {
+		ANY,
+		SSA,
+		NOT_SSA
+	}
+
+	/**
+	 * A pass over the control flow graph of one function
+	 */
+	static private abstract class FunctionPass {
+		String name;
+		Form form;
+		EnumSet<Analysis> required;
+
+		FunctionPass(String name, Form form, Analysis... required) {
+			this.name = name;
+			this.form = form;
+			this.required = EnumSet.noneOf(Analysis.class);
+			this.required.addAll(Arrays.asList(required));
+		}
+
+		abstract void run(ControlFlowGraph cfg);
+
+		/**
+		 * @return the analyses that are still valid after the pass
+		 */
+		EnumSet<Analysis> preserved() {
+			return EnumSet.of(Analysis.DOMINATORS, Analysis.LOOPS);
+		}
+	}
+
+	/**
+	 * A pass over the final code of one function
+	 */
+	static private abstract class CodePass {
+		String name;
+
+		CodePass(String name) {
+			this.name = name;
+		}
+
+		abstract void run(InstructionList code);
+	}
+
+	//generate returns of calls as jumps that reuse the frame; checked by the
+	//code generator rather than run
+	static final private String TAIL_CALLS = "tail-calls";
+
+	static final private Map<String, ProgramPass> PROGRAM_PASSES = new LinkedHashMap<String, ProgramPass>();
+	static final private Map<String, FunctionPass> FUNCTION_PASSES = new LinkedHashMap<String, FunctionPass>();
+	static final private Map<String, CodePass> CODE_PASSES = new LinkedHashMap<String, CodePass>();
+	static {
+		addProgramPass(new ProgramPass("specialize") {
+			void run(FunctionListNode program, PassManager options) {
+				new Specializer(options.specializeBudget).specialize(program);
+			}
+		});
+		addProgramPass(new ProgramPass("pure-calls") {
+			void run(FunctionListNode program, PassManager options) {
+				new PureCalls().run(program);
+			}
+		});
+		addProgramPass(new ProgramPass("memoize") {
+			void run(FunctionListNode program, PassManager options) {
+				new Memoizer(options.memoTableSize).run(program);
+			}
+		});
+		addProgramPass(new ProgramPass("inline") {
+			void run(FunctionListNode program, PassManager options) {
+				new Inliner(options.inlineBudget, options.inlineRecursion).inline(program);
+			}
+		});
+		addProgramPass(new ProgramPass("loop-elim") {
+			void run(FunctionListNode program, PassManager options) {
+				new LoopElimination().run(program);
+			}
+		});
+		addProgramPass(new ProgramPass("stack-alloc") {
+			void run(FunctionListNode program, PassManager options) {
+				new StackAllocation().run(program);
+			}
+		});
+		addProgramPass(new ProgramPass("dead-functions") {
+			void run(FunctionListNode program, PassManager options) {
+				new CallGraph(program).removeUnreachable(program);
+			}
+		});
+
+		addFunctionPass(new FunctionPass("register-promotion", Form.NOT_SSA, Analysis.FRAME_SLOTS) {
+			void run(ControlFlowGraph cfg) {
+				new RegisterPromotion().run(cfg);
+			}
+
+			//only accesses to slots that do not escape become moves, and new ones go through fp
+			EnumSet<Analysis> preserved() {
+				return EnumSet.of(Analysis.DOMINATORS, Analysis.LOOPS, Analysis.FRAME_SLOTS);
+			}
+		});
+		addFunctionPass(new FunctionPass("global-promotion", Form.NOT_SSA, Analysis.LOOPS, Analysis.FRAME_SLOTS, Analysis.POINTS_TO) {
+			void run(ControlFlowGraph cfg) {
+				new GlobalPromotion().run(cfg);
+			}
+
+			//only accesses to globals change, so the frame's address registers stay the same
+			EnumSet<Analysis> preserved() {
+				return EnumSet.of(Analysis.DOMINATORS, Analysis.LOOPS, Analysis.FRAME_SLOTS);
+			}
+		});
+		addFunctionPass(new FunctionPass("lvn", Form.NOT_SSA, Analysis.FRAME_SLOTS) {
+			void run(ControlFlowGraph cfg) {
+				new LocalValueNumbering().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("gvn", Form.NOT_SSA, Analysis.DOMINATORS) {
+			void run(ControlFlowGraph cfg) {
+				new GlobalValueNumbering().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("lcm", Form.NOT_SSA, Analysis.LOOPS) {
+			void run(ControlFlowGraph cfg) {
+				new LazyCodeMotion().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("ssa", Form.NOT_SSA, Analysis.DOMINATORS, Analysis.LIVENESS) {
+			void run(ControlFlowGraph cfg) {
+				new SSAConstruction().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("copy-prop", Form.ANY, Analysis.DOMINATORS) {
+			void run(ControlFlowGraph cfg) {
+				new CopyPropagation().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("sccp", Form.SSA) {
+			void run(ControlFlowGraph cfg) {
+				new ConditionalConstantPropagation().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("rle", Form.SSA, Analysis.DOMINATORS, Analysis.POINTS_TO) {
+			void run(ControlFlowGraph cfg) {
+				new RedundantLoadElimination().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("strength-reduction", Form.SSA, Analysis.LOOPS) {
+			void run(ControlFlowGraph cfg) {
+				new StrengthReduction().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("conversion-elim", Form.SSA, Analysis.LOOPS) {
+			void run(ControlFlowGraph cfg) {
+				new ConversionElimination().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("out-of-ssa", Form.SSA, Analysis.DOMINATORS, Analysis.LIVENESS) {
+			void run(ControlFlowGraph cfg) {
+				new SSADestruction().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("dse", Form.NOT_SSA, Analysis.FRAME_SLOTS) {
+			void run(ControlFlowGraph cfg) {
+				new DeadStoreElimination().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("dce", Form.NOT_SSA) {
+			void run(ControlFlowGraph cfg) {
+				new DeadCodeElimination().run(cfg);
+			}
+		});
+		addFunctionPass(new FunctionPass("coalesce", Form.NOT_SSA, Analysis.LIVENESS) {
+			void run(ControlFlowGraph cfg) {
+				new MoveCoalescing().run(cfg);
+			}
+		});
+
+		addCodePass(new CodePass("peephole") {
+			void run(InstructionList code) {
+				new Peephole().run(code);
+			}
+		});
+	}
+
+	static private void addProgramPass(ProgramPass p) {
+		PROGRAM_PASSES.put(p.name, p);
+	}
+
+	static private void addFunctionPass(FunctionPass p) {
+		FUNCTION_PASSES.put(p.name, p);
+	}
+
+	static private void addCodePass(CodePass p) {
+		CODE_PASSES.put(p.name, p);
+	}
+
+	static final private String[][] PROGRAM_PIPELINES = {
+		{},
+		{},
+		{"specialize", "pure-calls", "inline", "loop-elim", "stack-alloc", "dead-functions"},
+		{"specialize", "pure-calls", "memoize", "inline", "loop-elim", "stack-alloc", "dead-functions"},
+	};
+
+	static final private String[][] FUNCTION_PIPELINES = {
+		{},
+		{"register-promotion", "lvn", "copy-prop", "dse", "dce", "coalesce"},
+		{"register-promotion", "global-promotion", "lvn", "gvn", "lcm", "ssa", "copy-prop", "sccp", "rle",
+			"strength-reduction", "conversion-elim", "out-of-ssa", "copy-prop", "dse", "dce", "coalesce"},
+		{"register-promotion", "global-promotion", "lvn", "gvn", "lcm", "ssa", "copy-prop", "sccp", "rle",
+			"strength-reduction", "conversion-elim", "out-of-ssa", "copy-prop", "dse", "dce", "coalesce"},
+	};
+
+	static final private String[][] CODE_PIPELINES = {
+		{},
+		{TAIL_CALLS, "peephole"},
+		{TAIL_CALLS, "peephole"},
+		{TAIL_CALLS, "peephole"},
+	};
+
+	//options of the passes
+	int inlineBudget = Inliner.DEFAULT_BUDGET;
+	int inlineRecursion = Inliner.DEFAULT_RECURSION_DEPTH;
+	int specializeBudget = Specializer.DEFAULT_BUDGET;
+	int memoTableSize = Memoizer.DEFAULT_TABLE_SIZE;
+
+	private List<ProgramPass> programPasses;
+	private List<FunctionPass> functionPasses;
+	private boolean tailCalls;
+	private List<CodePass> codePasses;
+
+	//pass -> {runs, nanoseconds}, in the order passes first ran
+	private Map<String, long[]> times;
+
+	public PassManager() {
+		this(DEFAULT_LEVEL);
+	}
+
+	public PassManager(int level) {
+		if (level < 0 || level >= PROGRAM_PIPELINES.length) throw new Error("Unknown optimization level " + level);
+		programPasses = new ArrayList<ProgramPass>();
+		for (String name : PROGRAM_PIPELINES[level]) {
+			programPasses.add(PROGRAM_PASSES.get(name));
+		}
+		functionPasses = new ArrayList<FunctionPass>();
+		for (String name : FUNCTION_PIPELINES[level]) {
+			functionPasses.add(FUNCTION_PASSES.get(name));
+		}
+		tailCalls = false;
+		codePasses = new ArrayList<CodePass>();
+		for (String name : CODE_PIPELINES[level]) {
+			if (name.equals(TAIL_CALLS)) {
+				tailCalls = true;
+			} else {
+				codePasses.add(CODE_PASSES.get(name));
+			}
+		}
+		times = new LinkedHashMap<String, long[]>();
+	}
+
+	/**
+	 * Replace all the pipelines with the named passes, in order
+	 */
+	public void setPasses(String... names) {
+		programPasses = new ArrayList<ProgramPass>();
+		functionPasses = new ArrayList<FunctionPass>();
+		tailCalls = false;
+		codePasses = new ArrayList<CodePass>();
+		for (String name : names) {
+			if (PROGRAM_PASSES.containsKey(name)) {
+				programPasses.add(PROGRAM_PASSES.get(name));
+			} else if (FUNCTION_PASSES.containsKey(name)) {
+				functionPasses.add(FUNCTION_PASSES.get(name));
+			} else if (name.equals(TAIL_CALLS)) {
+				tailCalls = true;
+			} else if (CODE_PASSES.containsKey(name)) {
+				codePasses.add(CODE_PASSES.get(name));
+			} else {
+				throw new Error("Unknown pass " + name);
+			}
+		}
+	}
+
+	/**
+	 * Add memoization to the program pipeline if it isn't there: before
+	 * inlining, which would otherwise take the recursive calls apart
+	 */
+	public void enableMemoization() {
+		ProgramPass memoize = PROGRAM_PASSES.get("memoize");
+		if (programPasses.contains(memoize)) return;
+		int at = programPasses.indexOf(PROGRAM_PASSES.get("inline"));
+		programPasses.add((at < 0) ? programPasses.size() : at, memoize);
+	}
+
+	public boolean hasFunctionPasses() {
+		return !functionPasses.isEmpty();
+	}
+
+	/**
+	 * True if returns of calls may be generated as tail calls
+	 */
+	public boolean hasTailCalls() {
+		return tailCalls;
+	}
+
+	public void runProgramPasses(FunctionListNode program) {
+		for (ProgramPass p : programPasses) {
+			long start = System.nanoTime();
+			p.run(program, this);
+			record(p.name, start);
+		}
+	}
+
+	/**
+	 * Run the function pipeline over the body of one function, leaving it out
+	 * of SSA form
+	 */
+	public void runFunctionPasses(ControlFlowGraph cfg) {
+		boolean ssa = false;
+		for (FunctionPass p : functionPasses) {
+			if (p.form == Form.SSA && !ssa) {
+				run(FUNCTION_PASSES.get("ssa"), cfg);
+				ssa = true;
+			} else if (p.form == Form.NOT_SSA && ssa) {
+				run(FUNCTION_PASSES.get("out-of-ssa"), cfg);
+				ssa = false;
+			}
+			run(p, cfg);
+			if (p.name.equals("ssa")) ssa = true;
+			if (p.name.equals("out-of-ssa")) ssa = false;
+		}
+		if (ssa) run(FUNCTION_PASSES.get("out-of-ssa"), cfg);
+	}
+
+	/**
+	 * Run the code generation passes over the final code of one function
+	 */
+	public void runCodePasses(InstructionList code) {
+		for (CodePass p : codePasses) {
+			long start = System.nanoTime();
+			p.run(code);
+			record(p.name, start);
+		}
+	}
+
+	private void run(FunctionPass p, ControlFlowGraph cfg) {
+		for (Analysis a : p.required) {
+			long start = System.nanoTime();
+			if (cfg.compute(a)) record(a.name().toLowerCase().replace('_', '-'), start);
+		}
+		long start = System.nanoTime();
+		p.run(cfg);
+		record(p.name, start);
+		cfg.invalidate(p.preserved());
+	}
+
+	private void record(String name, long start) {
+		long elapsed = System.nanoTime() - start;
+		long[] t = times.get(name);
+		if (t == null) {
+			t = new long[2];
+			times.put(name, t);
+		}
+		t[0]++;
+		t[1] += elapsed;
+	}
+
+	/**
+	 * Print how many times each pass (and analysis) ran and how long it took
+	 */
+	public void printTimes(PrintStream out) {
+		long total = 0;
+		out.println(String.format("%-20s %6s %10s", "pass", "runs", "ms"));
+		for (Map.Entry<String, long[]> e : times.entrySet()) {
+			long[] t = e.getValue();
+			out.println(String.format("%-20s %6d %10.3f", e.getKey(), t[0], t[1] / 1e6));
+			total += t[1];
+		}
+		out.println(String.format("%-20s %6s %10.3f", "total", "", total / 1e6));
+	}
+
+}
@@ -103,6 +103,20 @@ public abstract class Scope{
 	}
 
 	abstract protected SymbolTableEntry genSymbol(Type type, String name);
+
+	/**
+	 * Add an array of <code>length</code> elements of the given type
+	 */
+	abstract public ErrorType addArray(Type type, String name, int length);
+
+	/**
+	 * Add a variable like an existing one (same type, and same length if it is
+	 * an array) under a new name
+	 */
+	public ErrorType addCopy(SymbolTableEntry ste, String name) {
+		if (ste.isArray()) return addArray(ste.getType(), name, ste.getArrayLength());
+		return addSymbol(ste.getType(), name);
+	}
 	
 	public ErrorType addSymbol(Type type, String name, String value) {
 		ErrorType retVal = checkSymbol(name);
@@ -175,6 +189,7 @@ public abstract class Scope{
 		private Scope.Type type;
 		private int address;
 		private boolean isLocal;
+		private int arrayLength; //0 for scalars
 		
 		public SymbolTableEntry(Scope.Type type, String name, int address, boolean isLocal) {
 			this.setName(name);
@@ -189,7 +204,8 @@ public abstract class Scope{
 		
 		public String toString() {
 			//print the hex address if it's global, print the decimal offset if it's local
-			return "; name " + this.getName() + " type " + getType() + " location " + addressToString();
+			String length = isArray() ? "[" + arrayLength + "]" : "";
+			return "; name " + this.getName() + " type " + getType() + length + " location " + addressToString();
 		}
 
 		public Scope.Type getType() {
@@ -223,6 +239,22 @@ public abstract class Scope{
 		public boolean isLocal() {
 			return this.isLocal;
 		}
+
+		/**
+		 * True for arrays: a block of consecutive slots starting at the
+		 * address, holding values of the entry's type
+		 */
+		public boolean isArray() {
+			return arrayLength > 0;
+		}
+
+		public int getArrayLength() {
+			return arrayLength;
+		}
+
+		public void setArrayLength(int arrayLength) {
+			this.arrayLength = arrayLength;
+		}
 		
 	}
 	
@@ -252,6 +284,28 @@ public abstract class Scope{
 		}
 	}
 
+	/**
+	 * A named compile-time constant. Uses are replaced by its value, so it
+	 * has no address.
+	 */
+	static public class ConstantSymbolTableEntry extends SymbolTableEntry {
+
+		private Object value; //Long or Double
+
+		public ConstantSymbolTableEntry(Scope.Type type, String name, Object value) {
+			super(type, name, 0);
+			this.value = value;
+		}
+
+		public String toString() {
+			return "; name " + this.getName() + " type " + getType() + " value " + getValue();
+		}
+
+		public Object getValue() {
+			return value;
+		}
+	}
+
 	static public class FunctionSymbolTableEntry extends SymbolTableEntry {
 		
 		private List<Type> argTypes;
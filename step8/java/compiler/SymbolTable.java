@@ -4,6 +4,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
 
+import ast.ExpressionNode;
+import ast.FloatLitNode;
+import ast.IntLitNode;
+import ast.UnaryOpNode;
+import ast.visitor.ConstantEvaluator;
+import compiler.Scope.ConstantSymbolTableEntry;
 import compiler.Scope.FunctionSymbolTableEntry;
 
 public class SymbolTable {
@@ -44,6 +50,62 @@ public class SymbolTable {
 	    processError(name, e);
 	}
 
+	/**
+	 * Add a global constant; its value must be computable at compile time
+	 */
+	public void addConstant(Scope.Type type, String name, ExpressionNode value) {
+		assert(currentScope() instanceof GlobalScope);
+		Object v = new ConstantEvaluator().evaluate(value);
+		if (type.type == Scope.InnerType.FLOAT && v instanceof Long) v = ((Long) v).doubleValue();
+		boolean matches = (type.type == Scope.InnerType.INT && v instanceof Long) || (type.type == Scope.InnerType.FLOAT && v instanceof Double);
+		if (!matches) throw new Error("Constant " + name + " needs a constant " + type + " value");
+		Scope.ErrorType e = ((GlobalScope) currentScope()).addConstant(type, name, v);
+		processError(name, e);
+	}
+
+	public boolean isConstant(String name) {
+		return getSymbolTableEntry(name) instanceof ConstantSymbolTableEntry;
+	}
+
+	/**
+	 * @return a literal for the value of a constant
+	 */
+	public ExpressionNode getConstant(String name) {
+		Object v = ((ConstantSymbolTableEntry) getSymbolTableEntry(name)).getValue();
+		boolean negative = (v instanceof Long) ? (Long) v < 0 : (Double) v < 0;
+		ExpressionNode literal;
+		if (v instanceof Long) {
+			literal = new IntLitNode(String.valueOf(Math.abs((Long) v)));
+		} else {
+			literal = new FloatLitNode(String.valueOf(Math.abs((Double) v)));
+		}
+		return negative ? new UnaryOpNode(literal, "-") : literal;
+	}
+
+	/**
+	 * @return the value of a constant int expression, such as an array length
+	 */
+	public int evaluateInt(ExpressionNode e) {
+		Object v = new ConstantEvaluator().evaluate(e);
+		if (!(v instanceof Long) || (Long) v != ((Long) v).intValue()) throw new Error("Expected a constant int expression");
+		return ((Long) v).intValue();
+	}
+
+	public void addArray(Scope.Type type, String name, int length) {
+		if (length <= 0) throw new Error("Array " + name + " must have a positive length");
+		Scope.ErrorType e = currentScope().addArray(type, name, length);
+		processError(name, e);
+	}
+
+	/**
+	 * True if the name refers to an array (which evaluates to the address of
+	 * its first element)
+	 */
+	public boolean isArray(String name) {
+		Scope.SymbolTableEntry ste = getSymbolTableEntry(name);
+		return ste != null && ste.isArray();
+	}
+
 	public void addArgument(Scope.Type type, String name) {
 		assert(currentScope() instanceof LocalScope);
 
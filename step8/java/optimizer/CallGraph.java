@@ -0,0 +1,163 @@
+package optimizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ast.CallNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.visitor.AbstractASTVisitor;
+
+/**
+ * The call graph of a program: an edge from each function to every function
+ * it calls (including calls left in inlined bodies).
+ *
+ * The strongly connected components are the recursive cycles (or single
+ * functions); they are found with Tarjan's algorithm, which produces them
+ * callees first, the order for bottom-up passes. The graph is a snapshot:
+ * build a new one after rewriting calls.
+ */
+public class CallGraph {
+
+	private Map<String, FunctionNode> functions;
+	private Map<String, Set<String>> callees;
+	private List<List<String>> components;
+	private Map<String, List<String>> componentOf;
+
+	//Tarjan's algorithm
+	private Map<String, Integer> index;
+	private Map<String, Integer> lowLink;
+	private LinkedList<String> stack;
+
+	public CallGraph(FunctionListNode program) {
+		functions = new LinkedHashMap<String, FunctionNode>();
+		callees = new LinkedHashMap<String, Set<String>>();
+		for (FunctionNode f : program.getFunctions()) {
+			functions.put(f.getFuncName(), f);
+			final Set<String> called = new LinkedHashSet<String>();
+			f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+				@Override
+				protected void preprocess(CallNode node) {
+					called.add(node.getFuncName());
+				}
+			});
+			callees.put(f.getFuncName(), called);
+		}
+
+		components = new ArrayList<List<String>>();
+		componentOf = new HashMap<String, List<String>>();
+		index = new HashMap<String, Integer>();
+		lowLink = new HashMap<String, Integer>();
+		stack = new LinkedList<String>();
+		for (String f : functions.keySet()) {
+			if (!index.containsKey(f)) connect(f);
+		}
+	}
+
+	private void connect(String f) {
+		index.put(f, index.size());
+		lowLink.put(f, index.get(f));
+		stack.push(f);
+		for (String g : getCallees(f)) {
+			if (!functions.containsKey(g)) continue;
+			if (!index.containsKey(g)) {
+				connect(g);
+				lowLink.put(f, Math.min(lowLink.get(f), lowLink.get(g)));
+			} else if (stack.contains(g)) {
+				lowLink.put(f, Math.min(lowLink.get(f), index.get(g)));
+			}
+		}
+		if (lowLink.get(f).equals(index.get(f))) {
+			List<String> component = new ArrayList<String>();
+			String g;
+			do {
+				g = stack.pop();
+				component.add(g);
+				componentOf.put(g, component);
+			} while (!g.equals(f));
+			components.add(component);
+		}
+	}
+
+	/**
+	 * @return the functions f calls directly
+	 */
+	public Set<String> getCallees(String f) {
+		Set<String> c = callees.get(f);
+		return (c == null) ? new LinkedHashSet<String>() : c;
+	}
+
+	/**
+	 * @return the functions reachable from f through one or more calls
+	 */
+	public Set<String> getReachable(String f) {
+		Set<String> seen = new LinkedHashSet<String>();
+		LinkedList<String> work = new LinkedList<String>(getCallees(f));
+		while (!work.isEmpty()) {
+			String g = work.pop();
+			if (seen.add(g)) work.addAll(getCallees(g));
+		}
+		return seen;
+	}
+
+	/**
+	 * @return the strongly connected components, callees before callers
+	 */
+	public List<List<String>> getComponents() {
+		return components;
+	}
+
+	/**
+	 * @return the functions in an order where each comes after the functions it
+	 *         calls, except for calls around a recursive cycle
+	 */
+	public List<FunctionNode> getBottomUpOrder() {
+		List<FunctionNode> order = new ArrayList<FunctionNode>();
+		for (List<String> component : components) {
+			for (String f : component) {
+				order.add(functions.get(f));
+			}
+		}
+		return order;
+	}
+
+	/**
+	 * Functions that can reach themselves through calls
+	 */
+	public boolean isRecursive(String f) {
+		List<String> component = componentOf.get(f);
+		return component != null && (component.size() > 1 || getCallees(f).contains(f));
+	}
+
+	/**
+	 * True if f and g are part of the same recursive cycle
+	 */
+	public boolean sameCycle(String f, String g) {
+		List<String> component = componentOf.get(f);
+		return component != null && component == componentOf.get(g) && isRecursive(f);
+	}
+
+	/**
+	 * Drop the functions that cannot be reached from <code>main</code>
+	 *
+	 * @return true if any function was dropped
+	 */
+	public boolean removeUnreachable(FunctionListNode program) {
+		if (!functions.containsKey("main")) return false;
+		Set<String> live = getReachable("main");
+		live.add("main");
+		List<FunctionNode> dead = new ArrayList<FunctionNode>();
+		for (FunctionNode f : program.getFunctions()) {
+			if (!live.contains(f.getFuncName())) dead.add(f);
+		}
+		program.getFunctions().removeAll(dead);
+		return !dead.isEmpty();
+	}
+
+}
@@ -0,0 +1,297 @@
+package optimizer;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import ast.ASTNode;
+import ast.AssignNode;
+import ast.CallNode;
+import ast.ExpressionNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.IfStatementNode;
+import ast.InlineExitNode;
+import ast.InlinedCallNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.StatementNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.visitor.CloneVisitor;
+import ast.visitor.SizeVisitor;
+import compiler.LocalScope;
+import compiler.Scope;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Function inlining.
+ *
+ * Rebuilds each function body with {@link CloneVisitor}, replacing selected
+ * calls by an {@link InlinedCallNode} holding a copy of the callee body:
+ *
+ * 		f(a, b)  ==>  { x$1 = a; y$1 = b; <body of f, renamed> } result: $ret1
+ *
+ * Callee parameters and locals get fresh entries in the caller's
+ * {@link LocalScope}, and each <code>return e</code> becomes an assignment to
+ * the result variable followed by a jump past the inlined body
+ * ({@link InlineExitNode}).
+ *
+ * Cost model: a call is inlined if the callee is small compared to the call
+ * sequence, or if it is no bigger than <code>INLINE_SIZE</code> nodes per level
+ * of loop nesting around the call site. Every inlined body is charged against
+ * a per-caller growth budget (<code>--inline-budget=N</code>, in AST nodes).
+ *
+ * Recursive functions are unrolled: a small recursive callee is inlined (into
+ * itself, another function of its cycle, or an outside caller) until one body
+ * executes <code>recursionDepth</code> levels of the recursion
+ * (<code>--inline-recursion=K</code>), counting the body itself if it belongs to
+ * the cycle. Calls below the cut-off stay real calls. Calls that can recurse
+ * count as hot, the same as one level of loop nesting.
+ */
+public class Inliner extends CloneVisitor {
+
+	static final public int DEFAULT_BUDGET = 200;
+	//recursive functions are only inlined into callers outside their cycle by default: the
+	//prologue saves every register a function uses, so each extra copy inside the cycle makes
+	//every remaining recursive call more expensive than the call it removes
+	static final public int DEFAULT_RECURSION_DEPTH = 1;
+
+	//callees this small cost less than the calling sequence they replace
+	static final private int ALWAYS_INLINE_SIZE = 12;
+	//allowed callee size for each level of loop nesting around the call site
+	static final private int INLINE_SIZE = 30;
+	//largest recursive function that is unrolled
+	static final private int RECURSIVE_INLINE_SIZE = 30;
+	//every value gets a fresh register, so keep whole functions well below the register file size
+	static final private int MAX_FUNCTION_SIZE = 100;
+	//stack slots addressable with a 12-bit immediate
+	static final private int MAX_FRAME_SLOTS = 500;
+
+	/**
+	 * A callee body that is currently being copied into the caller
+	 */
+	private static class Frame {
+		String callee;
+		Map<SymbolTableEntry, SymbolTableEntry> symbols;
+		InlinedCallNode target;
+	}
+
+	private int budget;
+	private int recursionDepth;
+	private Map<String, FunctionNode> functions;
+	private Map<String, Integer> sizes;
+	private Map<String, List<SymbolTableEntry>> locals;
+	private CallGraph callGraph;
+
+	private FunctionNode caller;
+	private int growth;
+	private int loopDepth;
+	private LinkedList<Frame> frames;
+	private int inlineCount;
+	private ExpressionNode tailExpr; //expression of the caller's return being copied
+
+	public Inliner() {
+		this(DEFAULT_BUDGET, DEFAULT_RECURSION_DEPTH);
+	}
+
+	public Inliner(int budget, int recursionDepth) {
+		this.budget = budget;
+		this.recursionDepth = recursionDepth;
+		functions = new HashMap<String, FunctionNode>();
+		sizes = new HashMap<String, Integer>();
+		locals = new HashMap<String, List<SymbolTableEntry>>();
+		frames = new LinkedList<Frame>();
+		inlineCount = 0;
+	}
+
+	/**
+	 * Inline calls in every function of the program. Functions are processed
+	 * bottom-up in the call graph, so callees are inlined with their own calls
+	 * already inlined.
+	 */
+	public void inline(FunctionListNode program) {
+		for (FunctionNode f : program.getFunctions()) {
+			functions.put(f.getFuncName(), f);
+			sizes.put(f.getFuncName(), size(f.getFuncBody()));
+			locals.put(f.getFuncName(), new LinkedList<SymbolTableEntry>(f.getScope().getEntries()));
+		}
+		callGraph = new CallGraph(program);
+
+		for (FunctionNode f : callGraph.getBottomUpOrder()) {
+			caller = f;
+			growth = 0;
+			loopDepth = 0;
+			f.setFuncBody(copy(f.getFuncBody()));
+			sizes.put(f.getFuncName(), size(f.getFuncBody()));
+			locals.put(f.getFuncName(), new LinkedList<SymbolTableEntry>(f.getScope().getEntries()));
+		}
+	}
+
+	@Override
+	protected SymbolTableEntry mapSymbol(SymbolTableEntry ste) {
+		if (frames.isEmpty()) return ste;
+		SymbolTableEntry mapped = frames.peek().symbols.get(ste);
+		return (mapped != null) ? mapped : ste;
+	}
+
+	@Override
+	protected void preprocess(WhileNode node) {
+		loopDepth++;
+	}
+
+	@Override
+	protected ASTNode postprocess(WhileNode node, ASTNode cond, ASTNode slist) {
+		loopDepth--;
+		return super.postprocess(node, cond, slist);
+	}
+
+	@Override
+	protected void preprocess(ReturnNode node) {
+		if (frames.isEmpty()) {
+			tailExpr = node.getRetExpr();
+		}
+	}
+
+	/**
+	 * Returns in a body being inlined exit to the end of that body
+	 */
+	@Override
+	protected ASTNode postprocess(ReturnNode node, ASTNode retExpr) {
+		if (frames.isEmpty()) return super.postprocess(node, retExpr);
+
+		InlinedCallNode target = frames.peek().target;
+		AssignNode assign = null;
+		if (target.getResult() != null && retExpr != null) {
+			assign = new AssignNode(copy(target.getResult()), (ExpressionNode) retExpr);
+		}
+		return new InlineExitNode(assign, target);
+	}
+
+	/**
+	 * Arguments have already been copied (and possibly inlined themselves), so
+	 * all that is left is to decide whether to inline this call
+	 */
+	@Override
+	protected ASTNode postprocess(CallNode node, List<ASTNode> args) {
+		CallNode call = (CallNode) super.postprocess(node, args);
+		FunctionNode callee = functions.get(node.getFuncName());
+		if (callee == null || !shouldInline(callee, call, node == tailExpr)) {
+			return call;
+		}
+		return inlineCall(callee, call);
+	}
+
+	private boolean shouldInline(FunctionNode callee, CallNode call, boolean tailCall) {
+		String name = callee.getFuncName();
+		if (name.equals("main")) return false;
+		if (callee.getScope().getNumArgs() != call.getArgs().size()) return false;
+
+		int size = sizes.get(name);
+		int frequency = loopDepth;
+		if (isRecursive(name)) {
+			//levels of the recursion already executed by the code around this call
+			int depth = sameCycle(name, caller.getFuncName()) ? 1 : 0;
+			for (Frame fr : frames) {
+				if (sameCycle(name, fr.callee)) depth++;
+			}
+			if (depth + 1 > recursionDepth || size > RECURSIVE_INLINE_SIZE) return false;
+			//a tail call around the cycle becomes a jump in code generation, which beats unrolling
+			if (tailCall && depth > 0 && frames.isEmpty()
+					&& callee.getScope().getNumArgs() == caller.getScope().getNumArgs()) return false;
+			frequency++;
+		}
+		if (size > ALWAYS_INLINE_SIZE && size > INLINE_SIZE * frequency) return false;
+		if (growth + size > budget) return false;
+		if (sizes.get(caller.getFuncName()) + growth + size > MAX_FUNCTION_SIZE) return false;
+
+		int slots = caller.getScope().getNumLocals() + callee.getScope().getNumLocals() + callee.getScope().getNumArgs() + 1;
+		return slots <= MAX_FRAME_SLOTS;
+	}
+
+	/**
+	 * Build the inlined copy of callee for the given call
+	 */
+	private InlinedCallNode inlineCall(FunctionNode callee, CallNode call) {
+		LocalScope scope = caller.getScope();
+		LocalScope calleeScope = callee.getScope();
+		int id = ++inlineCount;
+
+		InlinedCallNode ic = new InlinedCallNode(callee.getFuncName(), call.getType());
+		if (call.getType().type != Scope.InnerType.VOID) {
+			ic.setResult(newLocal(scope, call.getType(), "$ret" + id));
+		}
+
+		//fresh caller locals for every callee parameter and local (as of the body being copied:
+		//a function inlined into itself is copied from its original body)
+		Frame fr = new Frame();
+		fr.callee = callee.getFuncName();
+		fr.target = ic;
+		fr.symbols = new IdentityHashMap<SymbolTableEntry, SymbolTableEntry>();
+		for (SymbolTableEntry ste : locals.get(callee.getFuncName())) {
+			String name = ste.getName() + "$" + id;
+			scope.addCopy(ste, name);
+			fr.symbols.put(ste, scope.getSymbolTableEntry(name));
+		}
+
+		//parameters are assigned from the arguments, in order
+		StatementListNode body = new StatementListNode();
+		List<SymbolTableEntry> params = calleeScope.getArguments();
+		for (int i = 0; i < params.size(); i++) {
+			SymbolTableEntry p = fr.symbols.get(params.get(i));
+			body.getStatements().add(new AssignNode(new VarNode(p.getName(), p), call.getArgs().get(i)));
+		}
+
+		frames.push(fr);
+		body.getStatements().addAll(copy(callee.getFuncBody()).getStatements());
+		frames.pop();
+
+		dropTrailingExit(body, ic);
+		ic.setBody(body);
+		growth += sizes.get(callee.getFuncName());
+		return ic;
+	}
+
+	/**
+	 * An exit that is the last thing executed in the body does not need its jump
+	 */
+	private void dropTrailingExit(StatementListNode sl, InlinedCallNode target) {
+		List<StatementNode> stmts = sl.getStatements();
+		if (stmts.isEmpty()) return;
+		StatementNode last = stmts.get(stmts.size() - 1);
+		if (last instanceof InlineExitNode && ((InlineExitNode) last).getTarget() == target) {
+			stmts.remove(stmts.size() - 1);
+			AssignNode assign = ((InlineExitNode) last).getAssign();
+			if (assign != null) stmts.add(assign);
+		} else if (last instanceof IfStatementNode) {
+			dropTrailingExit(((IfStatementNode) last).getThenBlock(), target);
+			dropTrailingExit(((IfStatementNode) last).getElseBlock(), target);
+		}
+	}
+
+	private VarNode newLocal(LocalScope scope, Scope.Type type, String name) {
+		scope.addSymbol(type, name);
+		return new VarNode(name, scope.getSymbolTableEntry(name));
+	}
+
+	/**
+	 * Functions that can reach themselves through calls. Inlining these unrolls the recursion.
+	 */
+	private boolean isRecursive(String f) {
+		return callGraph.isRecursive(f);
+	}
+
+	/**
+	 * True if f and g are part of the same recursive cycle
+	 */
+	private boolean sameCycle(String f, String g) {
+		return callGraph.sameCycle(f, g);
+	}
+
+	private int size(StatementListNode body) {
+		return body.accept(new SizeVisitor());
+	}
+
+}
@@ -0,0 +1,457 @@
+package optimizer;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import ast.ASTNode;
+import ast.AssignNode;
+import ast.BinaryOpNode;
+import ast.CondNode;
+import ast.ExpressionNode;
+import ast.FunctionNode;
+import ast.IfStatementNode;
+import ast.IntLitNode;
+import ast.StatementListNode;
+import ast.StatementNode;
+import ast.UnaryOpNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.visitor.AbstractASTVisitor;
+import ast.visitor.CloneVisitor;
+import compiler.LocalScope;
+import compiler.Scope;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Closed-form loop elimination.
+ *
+ * Recognizes <code>while</code> loops whose body is a straight-line list of
+ * integer assignments of the form
+ *
+ * 		i = i + c;		(basic induction variable, c a literal)
+ * 		s = s + e;		(reduction, e affine in the iteration number)
+ * 		x = e;			(last value, e affine in the iteration number)
+ *
+ * and whose condition compares an induction variable against a loop-invariant
+ * bound. Such a loop has no side effects other than the final values of the
+ * variables it assigns, so it is replaced by
+ *
+ * 		if (cond) {
+ * 			trip = (bound - i + c - 1) / c;
+ * 			s = s + trip * A + B * (trip * (trip - 1) / 2);
+ * 			x = A + B * (trip - 1);
+ * 			i = i + trip * c;
+ * 		}
+ *
+ * where A + B*k is the value of e in iteration k. Loops containing calls,
+ * reads, prints, pointer dereferences, divisions or nested control flow are
+ * left alone.
+ */
+public class LoopElimination extends AbstractASTVisitor<Void> {
+
+	/**
+	 * The closed form costs a handful of multiplies and a divide, so loops that
+	 * are known to run fewer times than this are cheaper left as they are
+	 */
+	private static final int MIN_TRIP_COUNT = 8;
+
+	private LocalScope scope;
+	private int tripCount;
+
+	public LoopElimination() {
+		tripCount = 0;
+	}
+
+	/**
+	 * Value of an integer expression in iteration k of the loop: a + b * k.
+	 * A null coefficient means 0.
+	 */
+	private static class Affine {
+		ExpressionNode a;
+		ExpressionNode b;
+
+		Affine(ExpressionNode a, ExpressionNode b) {
+			this.a = a;
+			this.b = b;
+		}
+	}
+
+	/**
+	 * How a variable is assigned inside the loop body
+	 */
+	private static class Update {
+		int index; //position of the assignment in the body
+		ExpressionNode delta; //for accumulators: s = s + delta, null for last-value assignments
+		boolean negate; //s = s - delta
+		ExpressionNode value; //for last-value assignments: x = value
+		Integer step; //non-null if this is an accumulator with a literal step
+
+		Update(int index) {
+			this.index = index;
+		}
+	}
+
+	@Override
+	protected void preprocess(FunctionNode node) {
+		scope = node.getScope();
+	}
+
+	/**
+	 * Children have already been visited, so inner loops are eliminated first.
+	 */
+	@Override
+	protected Void postprocess(StatementListNode node, List<Void> statements) {
+		ListIterator<StatementNode> it = node.getStatements().listIterator();
+		StatementNode prev = null;
+		while (it.hasNext()) {
+			StatementNode s = it.next();
+			if (s instanceof WhileNode) {
+				StatementNode replacement = eliminate((WhileNode) s, prev);
+				if (replacement != null) {
+					it.set(replacement);
+					s = replacement;
+				}
+			}
+			prev = s;
+		}
+		return null;
+	}
+
+	/**
+	 * Try to replace a loop by its closed form.
+	 *
+	 * @param prev the statement just before the loop (may be null), used to
+	 *             recognize loops with a small constant trip count
+	 * @return the replacement statement, or null if the loop does not match
+	 */
+	private StatementNode eliminate(WhileNode loop, StatementNode prev) {
+		if (scope == null) return null;
+
+		List<StatementNode> body = loop.getSlist().getStatements();
+		if (body.isEmpty()) return null;
+
+		//Step 1: every statement must be an int assignment to a distinct scalar variable
+		Map<SymbolTableEntry, Update> updates = new HashMap<SymbolTableEntry, Update>();
+		for (int i = 0; i < body.size(); i++) {
+			if (!(body.get(i) instanceof AssignNode)) return null;
+			AssignNode an = (AssignNode) body.get(i);
+			if (!(an.getLeft() instanceof VarNode)) return null;
+			SymbolTableEntry ste = ((VarNode) an.getLeft()).getSymbol();
+			if (!isInt(ste.getType()) || updates.containsKey(ste)) return null;
+			updates.put(ste, new Update(i));
+		}
+
+		//Step 2: classify each assignment as an accumulation or a last-value assignment
+		for (int i = 0; i < body.size(); i++) {
+			AssignNode an = (AssignNode) body.get(i);
+			SymbolTableEntry ste = ((VarNode) an.getLeft()).getSymbol();
+			Update u = updates.get(ste);
+			ExpressionNode rhs = (ExpressionNode) an.getRight();
+			if (!isAffineSyntax(rhs)) return null;
+
+			if (rhs instanceof BinaryOpNode) {
+				BinaryOpNode bin = (BinaryOpNode) rhs;
+				ExpressionNode l = (ExpressionNode) bin.getLeft();
+				ExpressionNode r = (ExpressionNode) bin.getRight();
+				if (bin.getOp() == BinaryOpNode.OpType.ADD && isVar(l, ste) && !mentions(r, ste)) {
+					u.delta = r;
+				} else if (bin.getOp() == BinaryOpNode.OpType.ADD && isVar(r, ste) && !mentions(l, ste)) {
+					u.delta = l;
+				} else if (bin.getOp() == BinaryOpNode.OpType.SUB && isVar(l, ste) && !mentions(r, ste)) {
+					u.delta = r;
+					u.negate = true;
+				}
+			}
+			if (u.delta == null) {
+				if (mentions(rhs, ste)) return null;
+				u.value = rhs;
+			} else if (u.delta instanceof IntLitNode) {
+				//a step that does not fit in an int is left as an invariant delta
+				try {
+					int c = Integer.parseInt(((IntLitNode) u.delta).getVal());
+					u.step = u.negate ? -c : c;
+				} catch (NumberFormatException e) {
+					u.step = null;
+				}
+			}
+		}
+
+		//Step 3: anything read inside the loop must be invariant or a basic induction variable
+		for (StatementNode s : body) {
+			AssignNode an = (AssignNode) s;
+			SymbolTableEntry self = ((VarNode) an.getLeft()).getSymbol();
+			Update u = updates.get(self);
+			ExpressionNode e = (u.delta != null) ? u.delta : u.value;
+			if (!readsOnlyInductionOrInvariant(e, updates)) return null;
+		}
+
+		//Step 4: the condition must be <induction var> <op> <invariant bound>
+		CondNode cond = loop.getCond();
+		SymbolTableEntry iv = null;
+		ExpressionNode bound = null;
+		CondNode.OpType op = cond.getOp();
+		if (cond.getLeft() instanceof VarNode && updates.containsKey(((VarNode) cond.getLeft()).getSymbol())) {
+			iv = ((VarNode) cond.getLeft()).getSymbol();
+			bound = cond.getRight();
+		} else if (cond.getRight() instanceof VarNode && updates.containsKey(((VarNode) cond.getRight()).getSymbol())) {
+			iv = ((VarNode) cond.getRight()).getSymbol();
+			bound = cond.getLeft();
+			op = flip(op);
+		}
+		if (iv == null || updates.get(iv).step == null) return null;
+		if (!isAffineSyntax(bound) || !isInt(bound.getType())) return null;
+		if (!readsOnlyInductionOrInvariant(bound, updates) || mentionsAny(bound, updates)) return null;
+
+		int step = updates.get(iv).step;
+		ExpressionNode trip = tripCount(iv, bound, op, step);
+		if (trip == null) return null;
+		if (isShortLoop(iv, bound, op, step, prev)) return null;
+
+		//Step 5: build the closed form
+		SymbolTableEntry tripVar = newTripVariable();
+		StatementListNode closed = new StatementListNode();
+		closed.getStatements().add(new AssignNode(var(tripVar), trip));
+
+		List<StatementNode> ivUpdates = new LinkedList<StatementNode>();
+		for (StatementNode s : body) {
+			AssignNode an = (AssignNode) s;
+			SymbolTableEntry ste = ((VarNode) an.getLeft()).getSymbol();
+			Update u = updates.get(ste);
+			if (u.step != null) {
+				//s = s + trip * step
+				ivUpdates.add(new AssignNode(var(ste),
+					add(var(ste), mul(var(tripVar), lit(u.step)))));
+				continue;
+			}
+			Affine f = evaluate(u.delta != null ? u.delta : u.value, u.index, updates);
+			if (f == null) return null;
+			if (u.delta != null) {
+				//s = s +/- (trip * A + B * (trip * (trip - 1) / 2))
+				ExpressionNode total = sum(mul(var(tripVar), f.a),
+					mul(f.b, div(mul(var(tripVar), sub(var(tripVar), lit(1))), lit(2))));
+				if (total == null) continue;
+				ExpressionNode rhs = u.negate ? sub(var(ste), total) : add(var(ste), total);
+				closed.getStatements().add(new AssignNode(var(ste), rhs));
+			} else {
+				//x = A + B * (trip - 1)
+				ExpressionNode rhs = sum(f.a, mul(f.b, sub(var(tripVar), lit(1))));
+				closed.getStatements().add(new AssignNode(var(ste), rhs == null ? lit(0) : rhs));
+			}
+		}
+		//induction variables are updated last, since the formulas above use their entry values
+		closed.getStatements().addAll(ivUpdates);
+
+		return new IfStatementNode(loop.getCond(), closed, new StatementListNode());
+	}
+
+	/**
+	 * Number of iterations, given that the condition holds on entry
+	 */
+	private ExpressionNode tripCount(SymbolTableEntry iv, ExpressionNode bound, CondNode.OpType op, int step) {
+		ExpressionNode b = copy(bound);
+		switch (op) {
+			case LT:
+				if (step <= 0) return null;
+				return div(add(sub(b, var(iv)), lit(step - 1)), lit(step));
+			case LE:
+				if (step <= 0) return null;
+				return add(div(sub(b, var(iv)), lit(step)), lit(1));
+			case GT:
+				if (step >= 0) return null;
+				return div(add(sub(var(iv), b), lit(-step - 1)), lit(-step));
+			case GE:
+				if (step >= 0) return null;
+				return add(div(sub(var(iv), b), lit(-step)), lit(1));
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * True if the loop is immediately preceded by iv = <literal>, the bound is a
+	 * literal, and the resulting trip count is below MIN_TRIP_COUNT
+	 */
+	private boolean isShortLoop(SymbolTableEntry iv, ExpressionNode bound, CondNode.OpType op, int step, StatementNode prev) {
+		if (!(bound instanceof IntLitNode) || !(prev instanceof AssignNode)) return false;
+		AssignNode init = (AssignNode) prev;
+		if (!isVar((ExpressionNode) init.getLeft(), iv) || !(init.getRight() instanceof IntLitNode)) return false;
+
+		long start, end;
+		try {
+			start = Long.parseLong(((IntLitNode) init.getRight()).getVal());
+			end = Long.parseLong(((IntLitNode) bound).getVal());
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		long distance;
+		switch (op) {
+			case LT: distance = end - start; break;
+			case LE: distance = end - start + 1; break;
+			case GT: distance = start - end; break;
+			case GE: distance = start - end + 1; break;
+			default: return false;
+		}
+		return distance < (long) MIN_TRIP_COUNT * Math.abs(step);
+	}
+
+	/**
+	 * Express e, evaluated at body position pos, as A + B*k
+	 */
+	private Affine evaluate(ExpressionNode e, int pos, Map<SymbolTableEntry, Update> updates) {
+		if (e instanceof IntLitNode) {
+			return new Affine(copy(e), null);
+		} else if (e instanceof VarNode) {
+			SymbolTableEntry ste = ((VarNode) e).getSymbol();
+			Update u = updates.get(ste);
+			if (u == null) return new Affine(copy(e), null);
+			//basic induction variable: value on entry, plus one step if already updated this iteration
+			ExpressionNode a = (u.index < pos) ? add(var(ste), lit(u.step)) : var(ste);
+			return new Affine(a, lit(u.step));
+		} else if (e instanceof UnaryOpNode) {
+			Affine f = evaluate((ExpressionNode) ((UnaryOpNode) e).getExpr(), pos, updates);
+			if (f == null) return null;
+			return new Affine(neg(f.a), neg(f.b));
+		} else if (e instanceof BinaryOpNode) {
+			BinaryOpNode bin = (BinaryOpNode) e;
+			Affine l = evaluate((ExpressionNode) bin.getLeft(), pos, updates);
+			Affine r = evaluate((ExpressionNode) bin.getRight(), pos, updates);
+			if (l == null || r == null) return null;
+			switch (bin.getOp()) {
+				case ADD: return new Affine(sum(l.a, r.a), sum(l.b, r.b));
+				case SUB: return new Affine(sum(l.a, neg(r.a)), sum(l.b, neg(r.b)));
+				case MUL:
+					if (l.b == null) return new Affine(mul(l.a, r.a), mul(copyOrNull(l.a), r.b));
+					if (r.b == null) return new Affine(mul(l.a, r.a), mul(l.b, copyOrNull(r.a)));
+					return null; //quadratic in k
+				default:
+					return null;
+			}
+		}
+		return null;
+	}
+
+	private boolean readsOnlyInductionOrInvariant(ExpressionNode e, Map<SymbolTableEntry, Update> updates) {
+		if (e instanceof VarNode) {
+			Update u = updates.get(((VarNode) e).getSymbol());
+			return u == null || u.step != null;
+		} else if (e instanceof UnaryOpNode) {
+			return readsOnlyInductionOrInvariant((ExpressionNode) ((UnaryOpNode) e).getExpr(), updates);
+		} else if (e instanceof BinaryOpNode) {
+			BinaryOpNode bin = (BinaryOpNode) e;
+			return readsOnlyInductionOrInvariant((ExpressionNode) bin.getLeft(), updates)
+				&& readsOnlyInductionOrInvariant((ExpressionNode) bin.getRight(), updates);
+		}
+		return true;
+	}
+
+	/**
+	 * Only side-effect free integer arithmetic on scalars and literals (no division,
+	 * which could trap)
+	 */
+	private boolean isAffineSyntax(ExpressionNode e) {
+		if (e instanceof IntLitNode) {
+			return true;
+		} else if (e instanceof VarNode) {
+			return isInt(e.getType());
+		} else if (e instanceof UnaryOpNode) {
+			return isAffineSyntax((ExpressionNode) ((UnaryOpNode) e).getExpr());
+		} else if (e instanceof BinaryOpNode) {
+			BinaryOpNode bin = (BinaryOpNode) e;
+			return bin.getOp() != BinaryOpNode.OpType.DIV
+				&& isAffineSyntax((ExpressionNode) bin.getLeft())
+				&& isAffineSyntax((ExpressionNode) bin.getRight());
+		}
+		return false;
+	}
+
+	private boolean mentions(ASTNode e, SymbolTableEntry ste) {
+		if (e instanceof VarNode) {
+			return ((VarNode) e).getSymbol() == ste;
+		} else if (e instanceof UnaryOpNode) {
+			return mentions(((UnaryOpNode) e).getExpr(), ste);
+		} else if (e instanceof BinaryOpNode) {
+			return mentions(((BinaryOpNode) e).getLeft(), ste) || mentions(((BinaryOpNode) e).getRight(), ste);
+		}
+		return false;
+	}
+
+	private boolean mentionsAny(ASTNode e, Map<SymbolTableEntry, Update> updates) {
+		for (SymbolTableEntry ste : updates.keySet()) {
+			if (mentions(e, ste)) return true;
+		}
+		return false;
+	}
+
+	private boolean isVar(ExpressionNode e, SymbolTableEntry ste) {
+		return (e instanceof VarNode) && ((VarNode) e).getSymbol() == ste;
+	}
+
+	private boolean isInt(Scope.Type t) {
+		return t != null && t.type == Scope.InnerType.INT;
+	}
+
+	private CondNode.OpType flip(CondNode.OpType op) {
+		switch (op) {
+			case LT : return CondNode.OpType.GT;
+			case LE : return CondNode.OpType.GE;
+			case GT : return CondNode.OpType.LT;
+			case GE : return CondNode.OpType.LE;
+			default : return op;
+		}
+	}
+
+	private SymbolTableEntry newTripVariable() {
+		String name = "$trip" + (tripCount++);
+		scope.addSymbol(new Scope.Type(Scope.InnerType.INT), name);
+		return scope.getSymbolTableEntry(name);
+	}
+
+	/* Helpers for building expressions. A null operand stands for 0. */
+
+	private ExpressionNode copy(ExpressionNode e) {
+		return new CloneVisitor().copy(e);
+	}
+
+	private ExpressionNode copyOrNull(ExpressionNode e) {
+		return (e == null) ? null : copy(e);
+	}
+
+	private VarNode var(SymbolTableEntry ste) {
+		return new VarNode(ste.getName(), ste);
+	}
+
+	private IntLitNode lit(int v) {
+		return new IntLitNode(String.valueOf(v));
+	}
+
+	private ExpressionNode add(ExpressionNode l, ExpressionNode r) {
+		return new BinaryOpNode(l, r, BinaryOpNode.OpType.ADD);
+	}
+
+	private ExpressionNode sub(ExpressionNode l, ExpressionNode r) {
+		return new BinaryOpNode(l, r, BinaryOpNode.OpType.SUB);
+	}
+
+	private ExpressionNode div(ExpressionNode l, ExpressionNode r) {
+		return new BinaryOpNode(l, r, BinaryOpNode.OpType.DIV);
+	}
+
+	private ExpressionNode sum(ExpressionNode l, ExpressionNode r) {
+		if (l == null) return r;
+		if (r == null) return l;
+		return add(l, r);
+	}
+
+	private ExpressionNode mul(ExpressionNode l, ExpressionNode r) {
+		if (l == null || r == null) return null;
+		return new BinaryOpNode(l, r, BinaryOpNode.OpType.MUL);
+	}
+
+	private ExpressionNode neg(ExpressionNode e) {
+		return (e == null) ? null : new UnaryOpNode(e, "-");
+	}
+
+}
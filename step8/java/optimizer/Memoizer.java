@@ -0,0 +1,204 @@
+package optimizer;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import ast.ASTNode;
+import ast.AssignNode;
+import ast.BinaryOpNode;
+import ast.CallNode;
+import ast.CondNode;
+import ast.ExpressionNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.IfStatementNode;
+import ast.IntLitNode;
+import ast.MallocNode;
+import ast.PtrDerefNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.visitor.AbstractASTVisitor;
+import ast.visitor.CloneVisitor;
+import compiler.Compiler;
+import compiler.LocalScope;
+import compiler.Scope;
+import compiler.Scope.FunctionSymbolTableEntry;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Memoization of pure recursive functions of one int (opt-in with -O3 or
+ * <code>--memoize</code>; <code>--memoize=N</code> sets the table size).
+ *
+ * A pure function ({@link SideEffects}) that calls itself more than once, such
+ * as <code>fib</code>, recomputes the same results over and over. Its body is
+ * moved to <code>f__memo</code>, and <code>f</code> becomes a wrapper that
+ * keeps the results for arguments in <code>[0, N)</code> in tables on the heap:
+ *
+ * 		int f(int n) {
+ * 			if (n >= 0) { if (n < N) {
+ * 				if ($memo_f_ready == 0) { allocate and clear $memo_f_known, $memo_f_value; $memo_f_ready = 1; }
+ * 				if ($memo_f_known[n] == 0) { $memo_f_value[n] = f__memo(n); $memo_f_known[n] = 1; }
+ * 				return $memo_f_value[n];
+ * 			} }
+ * 			return f__memo(n);
+ * 		}
+ *
+ * The recursive calls in <code>f__memo</code> still go to <code>f</code>, so
+ * they hit the tables too. Arguments outside the range are computed directly.
+ * The tables are allocated by the first call that needs them; the flag that
+ * says so is cleared at the start of <code>main</code>.
+ */
+public class Memoizer extends CloneVisitor {
+
+	static final public int DEFAULT_TABLE_SIZE = 1024;
+
+	private int tableSize;
+	private FunctionSymbolTableEntry current; //function the returns being copied now belong to
+
+	public Memoizer() {
+		this(DEFAULT_TABLE_SIZE);
+	}
+
+	public Memoizer(int tableSize) {
+		this.tableSize = tableSize;
+	}
+
+	public void run(FunctionListNode program) {
+		FunctionNode main = null;
+		for (FunctionNode f : program.getFunctions()) {
+			if (f.getFuncName().equals("main")) main = f;
+		}
+		if (main == null || tableSize <= 0) return;
+
+		SideEffects effects = new SideEffects(program);
+		List<FunctionNode> candidates = new LinkedList<FunctionNode>();
+		for (FunctionNode f : program.getFunctions()) {
+			if (isCandidate(f, effects)) candidates.add(f);
+		}
+		for (FunctionNode f : candidates) {
+			memoize(f, program, main);
+		}
+	}
+
+	/**
+	 * Pure functions of a single int, returning int or float, with more than
+	 * one call to themselves
+	 */
+	private boolean isCandidate(FunctionNode f, SideEffects effects) {
+		final String name = f.getFuncName();
+		if (name.equals("main") || !effects.isPure(name)) return false;
+		List<SymbolTableEntry> params = f.getScope().getArguments();
+		if (params.size() != 1 || params.get(0).getType().type != Scope.InnerType.INT) return false;
+		Scope.InnerType ret = Compiler.symbolTable.getFunctionSymbol(name).getReturnType().type;
+		if (ret != Scope.InnerType.INT && ret != Scope.InnerType.FLOAT) return false;
+
+		final int[] selfCalls = {0};
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(CallNode node) {
+				if (node.getFuncName().equals(name)) selfCalls[0]++;
+			}
+		});
+		return selfCalls[0] > 1;
+	}
+
+	private void memoize(FunctionNode f, FunctionListNode program, FunctionNode main) {
+		String name = f.getFuncName();
+		String memoName = name + "__memo";
+		FunctionSymbolTableEntry ste = Compiler.symbolTable.getFunctionSymbol(name);
+		Scope.Type retType = ste.getReturnType();
+		Scope.Type intType = new Scope.Type(Scope.InnerType.INT);
+
+		//the original body, under a new name
+		List<Scope.Type> argTypes = new LinkedList<Scope.Type>();
+		argTypes.add(intType);
+		Compiler.symbolTable.addFunction(retType, memoName, argTypes);
+		current = Compiler.symbolTable.getFunctionSymbol(memoName);
+		current.setDefined(true);
+		f.getScope().setName(memoName);
+		FunctionNode body = new FunctionNode(copy(f.getFuncBody()), memoName, f.getScope());
+
+		//the tables
+		Scope global = Compiler.symbolTable.getGlobalScope();
+		SymbolTableEntry ready = addGlobal(global, intType, "$memo_" + name + "_ready");
+		SymbolTableEntry known = addGlobal(global, Scope.Type.pointerToType(intType), "$memo_" + name + "_known");
+		SymbolTableEntry value = addGlobal(global, Scope.Type.pointerToType(retType), "$memo_" + name + "_value");
+
+		//the wrapper
+		LocalScope scope = (LocalScope) global.addSubScope(name);
+		String paramName = f.getScope().getArguments().get(0).getName();
+		scope.addArgument(intType, paramName);
+		SymbolTableEntry n = scope.getSymbolTableEntry(paramName);
+		scope.addSymbol(intType, "$memo_i");
+		SymbolTableEntry i = scope.getSymbolTableEntry("$memo_i");
+
+		StatementListNode allocate = new StatementListNode();
+		allocate.getStatements().add(new AssignNode(var(known), new MallocNode(lit(4 * tableSize))));
+		allocate.getStatements().add(new AssignNode(var(value), new MallocNode(lit(4 * tableSize))));
+		allocate.getStatements().add(new AssignNode(var(i), lit(0)));
+		StatementListNode clear = new StatementListNode();
+		clear.getStatements().add(new AssignNode(element(known, i), lit(0)));
+		clear.getStatements().add(new AssignNode(var(i), new BinaryOpNode(var(i), lit(1), BinaryOpNode.OpType.ADD)));
+		allocate.getStatements().add(new WhileNode(new CondNode(var(i), lit(tableSize), "<"), clear));
+		allocate.getStatements().add(new AssignNode(var(ready), lit(1)));
+
+		StatementListNode compute = new StatementListNode();
+		compute.getStatements().add(new AssignNode(element(value, n), call(memoName, n)));
+		compute.getStatements().add(new AssignNode(element(known, n), lit(1)));
+
+		StatementListNode inRange = new StatementListNode();
+		inRange.getStatements().add(new IfStatementNode(new CondNode(var(ready), lit(0), "=="), allocate, new StatementListNode()));
+		inRange.getStatements().add(new IfStatementNode(new CondNode(element(known, n), lit(0), "=="), compute, new StatementListNode()));
+		inRange.getStatements().add(new ReturnNode(element(value, n), ste));
+
+		StatementListNode wrapper = new StatementListNode();
+		wrapper.getStatements().add(new IfStatementNode(new CondNode(var(n), lit(0), ">="),
+				new StatementListNode(new IfStatementNode(new CondNode(var(n), lit(tableSize), "<"), inRange, new StatementListNode())),
+				new StatementListNode()));
+		wrapper.getStatements().add(new ReturnNode(call(memoName, n), ste));
+
+		List<FunctionNode> functions = program.getFunctions();
+		int at = functions.indexOf(f);
+		functions.set(at, new FunctionNode(wrapper, name, scope));
+		functions.add(at + 1, body);
+
+		main.getFuncBody().getStatements().add(0, new AssignNode(var(ready), lit(0)));
+	}
+
+	@Override
+	protected ASTNode postprocess(ReturnNode node, ASTNode retExpr) {
+		return new ReturnNode((ExpressionNode) retExpr, current);
+	}
+
+	private SymbolTableEntry addGlobal(Scope global, Scope.Type type, String name) {
+		global.addSymbol(type, name);
+		return global.getSymbolTableEntry(name);
+	}
+
+	/* Helpers for building the wrapper */
+
+	private VarNode var(SymbolTableEntry ste) {
+		return new VarNode(ste.getName(), ste);
+	}
+
+	private IntLitNode lit(int v) {
+		return new IntLitNode(String.valueOf(v));
+	}
+
+	/**
+	 * <code>table[index]</code>
+	 */
+	private PtrDerefNode element(SymbolTableEntry table, SymbolTableEntry index) {
+		ExpressionNode offset = new BinaryOpNode(var(index), lit(4), BinaryOpNode.OpType.MUL);
+		return new PtrDerefNode(new BinaryOpNode(var(table), offset, BinaryOpNode.OpType.ADD));
+	}
+
+	private CallNode call(String name, SymbolTableEntry arg) {
+		List<ExpressionNode> args = new LinkedList<ExpressionNode>();
+		args.add(var(arg));
+		return new CallNode(name, args);
+	}
+
+}
@@ -0,0 +1,379 @@
+package optimizer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ast.ASTNode;
+import ast.AddrOfNode;
+import ast.AssignNode;
+import ast.BinaryOpNode;
+import ast.CallNode;
+import ast.CastNode;
+import ast.CondNode;
+import ast.ExpressionNode;
+import ast.FloatLitNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.IfStatementNode;
+import ast.InlineExitNode;
+import ast.IntLitNode;
+import ast.ReadNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.StatementNode;
+import ast.UnaryOpNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.WriteNode;
+import ast.visitor.AbstractASTVisitor;
+import ast.visitor.CloneVisitor;
+import compiler.Scope;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Common subexpression elimination and loop-invariant code motion for calls to
+ * pure functions ({@link SideEffects}).
+ *
+ * A pure call whose arguments are built from literals and locals that never
+ * have their address taken computes the same value as long as those locals
+ * keep theirs, so:
+ *
+ * 		x = f(a) + 1;					$pure1 = f(a);
+ * 		y = f(a) * 2;			==>		x = $pure1 + 1;
+ * 										y = $pure1 * 2;
+ *
+ * 		while (c) {						if (c) {
+ * 			s = s + f(n);		==>			$pure1 = f(n);
+ * 			...								while (c) { s = s + $pure1; ... }
+ * 		}								}
+ *
+ * Calls are merged within a statement list, from a call in a simple statement
+ * or an if condition to equal calls in later ones, until one of the locals
+ * they use is assigned. A call is hoisted out of a loop if none of its locals
+ * is assigned in the loop and it runs whenever the loop is entered: in the
+ * condition, or in the simple statements the body starts with, up to one
+ * that can return. Calls in the body go behind a copy of the condition, so
+ * they still only run if the loop does; the condition must then be free of
+ * calls itself.
+ */
+public class PureCalls extends CloneVisitor {
+
+	private SideEffects sideEffects;
+	private FunctionNode function;
+	private Set<SymbolTableEntry> addressed;
+	private Map<CallNode, SymbolTableEntry> replacements; //calls to replace by a temporary, while copying
+	private int tempCount;
+
+	public PureCalls() {
+		replacements = new IdentityHashMap<CallNode, SymbolTableEntry>();
+		tempCount = 0;
+	}
+
+	public void run(FunctionListNode program) {
+		sideEffects = new SideEffects(program);
+		for (FunctionNode f : program.getFunctions()) {
+			function = f;
+			addressed = findAddressed(f);
+			process(f.getFuncBody());
+		}
+	}
+
+	@Override
+	protected ASTNode postprocess(CallNode node, List<ASTNode> args) {
+		SymbolTableEntry temp = replacements.get(node);
+		if (temp != null) return new VarNode(temp.getName(), temp);
+		return super.postprocess(node, args);
+	}
+
+	private void process(StatementListNode sl) {
+		for (StatementNode s : sl.getStatements()) {
+			if (s instanceof IfStatementNode) {
+				process(((IfStatementNode) s).getThenBlock());
+				process(((IfStatementNode) s).getElseBlock());
+			} else if (s instanceof WhileNode) {
+				process(((WhileNode) s).getSlist());
+			}
+		}
+		List<StatementNode> stmts = new LinkedList<StatementNode>();
+		for (StatementNode s : sl.getStatements()) {
+			if (s instanceof WhileNode) {
+				stmts.addAll(hoist((WhileNode) s));
+			} else {
+				stmts.add(s);
+			}
+		}
+		sl.getStatements().clear();
+		sl.getStatements().addAll(stmts);
+		eliminate(sl);
+	}
+
+	/**
+	 * @return the loop, preceded by the invariant pure calls taken out of it
+	 */
+	private List<StatementNode> hoist(WhileNode loop) {
+		Set<SymbolTableEntry> assigned = findAssigned(loop);
+		Map<String, SymbolTableEntry> temps = new HashMap<String, SymbolTableEntry>();
+		List<StatementNode> result = new LinkedList<StatementNode>(); //runs whenever the loop is reached
+		StatementListNode guarded = new StatementListNode(); //runs if the loop is entered
+
+		for (CallNode c : findCalls(loop.getCond())) {
+			hoistCall(c, assigned, temps, result);
+		}
+		if (!containsCall(loop.getCond())) {
+			for (StatementNode s : loop.getSlist().getStatements()) {
+				if (!isSimple(s)) break;
+				for (CallNode c : findCalls(s)) {
+					hoistCall(c, assigned, temps, guarded.getStatements());
+				}
+				if (containsExit(s)) break;
+			}
+		}
+		if (replacements.isEmpty()) {
+			result.add(loop);
+			return result;
+		}
+
+		CondNode guard = (CondNode) loop.getCond().accept(this);
+		WhileNode rebuilt = (WhileNode) loop.accept(this);
+		replacements.clear();
+		if (guarded.getStatements().isEmpty()) {
+			result.add(rebuilt);
+		} else {
+			guarded.getStatements().add(rebuilt);
+			result.add(new IfStatementNode(guard, guarded, new StatementListNode()));
+		}
+		return result;
+	}
+
+	private void hoistCall(CallNode c, Set<SymbolTableEntry> assigned, Map<String, SymbolTableEntry> temps, List<StatementNode> at) {
+		String key = key(c);
+		if (key == null || intersects(locals(c), assigned)) return;
+		if (!temps.containsKey(key)) {
+			SymbolTableEntry temp = newTemp(c.getType());
+			temps.put(key, temp);
+			at.add(new AssignNode(new VarNode(temp.getName(), temp), copy(c)));
+		}
+		replacements.put(c, temps.get(key));
+	}
+
+	/**
+	 * Merge equal pure calls across the statements of a list
+	 */
+	private void eliminate(StatementListNode sl) {
+		List<StatementNode> stmts = sl.getStatements();
+		Map<String, SymbolTableEntry> available = new HashMap<String, SymbolTableEntry>();
+		Map<String, Set<SymbolTableEntry>> uses = new HashMap<String, Set<SymbolTableEntry>>();
+		List<StatementNode> result = new LinkedList<StatementNode>();
+
+		for (int k = 0; k < stmts.size(); k++) {
+			StatementNode s = stmts.get(k);
+			Set<SymbolTableEntry> assigned = findAssigned(s);
+			for (CallNode c : findCalls(evaluated(s))) {
+				String key = key(c);
+				if (key == null) continue;
+				if (!available.containsKey(key)) {
+					if (!isUsedAgain(c, key, s, assigned, stmts, k)) continue;
+					SymbolTableEntry temp = newTemp(c.getType());
+					result.add(new AssignNode(new VarNode(temp.getName(), temp), copy(c)));
+					available.put(key, temp);
+					uses.put(key, locals(c));
+				}
+				replacements.put(c, available.get(key));
+			}
+			if (!replacements.isEmpty()) {
+				s = (StatementNode) s.accept(this);
+				replacements.clear();
+			}
+			result.add(s);
+
+			for (String key : new HashSet<String>(available.keySet())) {
+				if (intersects(uses.get(key), assigned)) {
+					available.remove(key);
+					uses.remove(key);
+				}
+			}
+		}
+		stmts.clear();
+		stmts.addAll(result);
+	}
+
+	/**
+	 * True if a call computed for statement k is worth keeping: an equal call
+	 * comes later in the statement, or in a following one before any of its
+	 * locals change
+	 */
+	private boolean isUsedAgain(CallNode c, String key, StatementNode s, Set<SymbolTableEntry> assigned, List<StatementNode> stmts, int k) {
+		int count = 0;
+		for (CallNode other : findCalls(evaluated(s))) {
+			if (key.equals(key(other))) count++;
+		}
+		if (count > 1) return true;
+		Set<SymbolTableEntry> used = locals(c);
+		if (intersects(used, assigned)) return false;
+		for (int t = k + 1; t < stmts.size(); t++) {
+			for (CallNode other : findCalls(evaluated(stmts.get(t)))) {
+				if (key.equals(key(other))) return true;
+			}
+			if (intersects(used, findAssigned(stmts.get(t)))) return false;
+		}
+		return false;
+	}
+
+	/**
+	 * The part of a statement that always runs, in order, before anything
+	 * else in it: all of a simple statement, or the condition of an if
+	 */
+	private ASTNode evaluated(StatementNode s) {
+		if (isSimple(s)) return s;
+		if (s instanceof IfStatementNode) return ((IfStatementNode) s).getCondExpr();
+		return null;
+	}
+
+	private boolean isSimple(StatementNode s) {
+		return s instanceof AssignNode || s instanceof WriteNode || s instanceof ReturnNode;
+	}
+
+	/**
+	 * A name for the value of a pure call, or null if the call is not pure or
+	 * its arguments are not built from literals and unaddressed locals
+	 */
+	private String key(CallNode c) {
+		if (!sideEffects.isPure(c) || c.getType().type == Scope.InnerType.VOID) return null;
+		String key = c.getFuncName() + "(";
+		for (ExpressionNode a : c.getArgs()) {
+			String k = key(a);
+			if (k == null) return null;
+			key += k + ",";
+		}
+		return key + ")";
+	}
+
+	private String key(ASTNode e) {
+		if (e instanceof IntLitNode) return ((IntLitNode) e).getVal();
+		if (e instanceof FloatLitNode) return ((FloatLitNode) e).getVal() + "f";
+		if (e instanceof VarNode) {
+			SymbolTableEntry ste = ((VarNode) e).getSymbol();
+			if (!ste.isLocal() || addressed.contains(ste)) return null;
+			return ste.getName() + "@" + System.identityHashCode(ste);
+		}
+		if (e instanceof UnaryOpNode) {
+			String k = key(((UnaryOpNode) e).getExpr());
+			return (k == null) ? null : "-" + k;
+		}
+		if (e instanceof CastNode) {
+			String k = key(((CastNode) e).getExpr());
+			return (k == null) ? null : "(" + ((CastNode) e).getTypeCast() + ")" + k;
+		}
+		if (e instanceof BinaryOpNode) {
+			BinaryOpNode b = (BinaryOpNode) e;
+			String l = key(b.getLeft()), r = key(b.getRight());
+			return (l == null || r == null) ? null : "(" + l + b.getOp() + r + ")";
+		}
+		return null;
+	}
+
+	private SymbolTableEntry newTemp(Scope.Type type) {
+		String name = "$pure" + (++tempCount);
+		function.getScope().addSymbol(type, name);
+		return function.getScope().getSymbolTableEntry(name);
+	}
+
+	private boolean intersects(Set<SymbolTableEntry> a, Set<SymbolTableEntry> b) {
+		for (SymbolTableEntry ste : a) {
+			if (b.contains(ste)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * The calls in a subtree, in evaluation order
+	 */
+	private List<CallNode> findCalls(ASTNode n) {
+		final List<CallNode> calls = new LinkedList<CallNode>();
+		if (n == null) return calls;
+		n.accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected Void postprocess(CallNode node, List<Void> args) {
+				calls.add(node);
+				return null;
+			}
+		});
+		return calls;
+	}
+
+	private boolean containsCall(ASTNode n) {
+		return !findCalls(n).isEmpty();
+	}
+
+	/**
+	 * True if a statement can leave the function (or an inlined body)
+	 */
+	private boolean containsExit(StatementNode s) {
+		final boolean[] found = {false};
+		s.accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(ReturnNode node) {
+				found[0] = true;
+			}
+
+			@Override
+			protected void preprocess(InlineExitNode node) {
+				found[0] = true;
+			}
+		});
+		return found[0];
+	}
+
+	/**
+	 * The locals a subtree reads
+	 */
+	private Set<SymbolTableEntry> locals(ASTNode n) {
+		final Set<SymbolTableEntry> found = new HashSet<SymbolTableEntry>();
+		n.accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(VarNode node) {
+				found.add(node.getSymbol());
+			}
+		});
+		return found;
+	}
+
+	/**
+	 * The variables a subtree assigns
+	 */
+	private Set<SymbolTableEntry> findAssigned(ASTNode n) {
+		final Set<SymbolTableEntry> found = new HashSet<SymbolTableEntry>();
+		n.accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(AssignNode node) {
+				if (node.getLeft() instanceof VarNode) found.add(((VarNode) node.getLeft()).getSymbol());
+			}
+
+			@Override
+			protected void preprocess(ReadNode node) {
+				found.add(node.getVarNode().getSymbol());
+			}
+		});
+		return found;
+	}
+
+	/**
+	 * The locals of a function whose address is taken
+	 */
+	private Set<SymbolTableEntry> findAddressed(FunctionNode f) {
+		final Set<SymbolTableEntry> found = new HashSet<SymbolTableEntry>();
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(AddrOfNode node) {
+				if (node.getExpr() instanceof VarNode) found.add(((VarNode) node.getExpr()).getSymbol());
+			}
+		});
+		return found;
+	}
+
+}
@@ -0,0 +1,139 @@
+package optimizer;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ast.AssignNode;
+import ast.CallNode;
+import ast.FreeNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.MallocNode;
+import ast.PtrDerefNode;
+import ast.ReadNode;
+import ast.VarNode;
+import ast.WriteNode;
+import ast.visitor.AbstractASTVisitor;
+
+/**
+ * A summary of what each function of a program may do besides computing its
+ * result from its arguments.
+ *
+ * A function's own effects come from its body; calls add the effects of the
+ * callee, so summaries are computed bottom-up over the {@link CallGraph}, with
+ * a fixed point inside each recursive cycle. A call to a function without a
+ * body may do anything.
+ *
+ * A function with no effects is pure: it reads nothing but its arguments and
+ * its own locals, so calls with equal arguments give equal results and can be
+ * moved, merged or dropped like any other expression.
+ */
+public class SideEffects {
+
+	public static enum Effect {
+		READS_GLOBALS,
+		WRITES_GLOBALS,
+		READS_MEMORY, //through a pointer
+		WRITES_MEMORY,
+		IO,
+		ALLOCATES
+	}
+
+	private Map<String, EnumSet<Effect>> effects;
+
+	public SideEffects(FunctionListNode program) {
+		effects = new HashMap<String, EnumSet<Effect>>();
+		Map<String, EnumSet<Effect>> own = new HashMap<String, EnumSet<Effect>>();
+		for (FunctionNode f : program.getFunctions()) {
+			own.put(f.getFuncName(), ownEffects(f));
+		}
+
+		CallGraph callGraph = new CallGraph(program);
+		for (List<String> component : callGraph.getComponents()) {
+			for (String f : component) {
+				effects.put(f, EnumSet.copyOf(own.get(f)));
+			}
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (String f : component) {
+					for (String g : callGraph.getCallees(f)) {
+						changed |= effects.get(f).addAll(getEffects(g));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Effects of the statements of a function, not counting calls
+	 */
+	private EnumSet<Effect> ownEffects(FunctionNode f) {
+		final EnumSet<Effect> e = EnumSet.noneOf(Effect.class);
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(AssignNode node) {
+				if (node.getLeft() instanceof PtrDerefNode) {
+					e.add(Effect.WRITES_MEMORY);
+				} else if (node.getLeft() instanceof VarNode && !((VarNode) node.getLeft()).getSymbol().isLocal()) {
+					e.add(Effect.WRITES_GLOBALS);
+				}
+			}
+
+			@Override
+			protected void preprocess(VarNode node) {
+				if (!node.getSymbol().isLocal()) e.add(Effect.READS_GLOBALS);
+			}
+
+			@Override
+			protected void preprocess(PtrDerefNode node) {
+				e.add(Effect.READS_MEMORY);
+			}
+
+			@Override
+			protected void preprocess(ReadNode node) {
+				e.add(Effect.IO);
+				if (!node.getVarNode().getSymbol().isLocal()) e.add(Effect.WRITES_GLOBALS);
+			}
+
+			@Override
+			protected void preprocess(WriteNode node) {
+				e.add(Effect.IO);
+			}
+
+			@Override
+			protected void preprocess(MallocNode node) {
+				e.add(Effect.ALLOCATES);
+			}
+
+			@Override
+			protected void preprocess(FreeNode node) {
+				e.add(Effect.ALLOCATES);
+			}
+		});
+		return e;
+	}
+
+	/**
+	 * @return what calling the function may do (everything, for a function
+	 *         without a body)
+	 */
+	public EnumSet<Effect> getEffects(String f) {
+		EnumSet<Effect> e = effects.get(f);
+		return (e == null) ? EnumSet.allOf(Effect.class) : e;
+	}
+
+	public boolean isPure(String f) {
+		return getEffects(f).isEmpty();
+	}
+
+	/**
+	 * True for a call that can be evaluated like an ordinary expression
+	 */
+	public boolean isPure(CallNode call) {
+		return isPure(call.getFuncName());
+	}
+
+}
@@ -0,0 +1,340 @@
+package optimizer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ast.ASTNode;
+import ast.AddrOfNode;
+import ast.AssignNode;
+import ast.CallNode;
+import ast.CondNode;
+import ast.ExpressionNode;
+import ast.FloatLitNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.IntLitNode;
+import ast.ReadNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.UnaryOpNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.visitor.AbstractASTVisitor;
+import ast.visitor.CloneVisitor;
+import ast.visitor.SizeVisitor;
+import compiler.Compiler;
+import compiler.LocalScope;
+import compiler.Scope;
+import compiler.Scope.FunctionSymbolTableEntry;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Interprocedural constant propagation by function specialization.
+ *
+ * A call that passes literals for some parameters of a function is redirected
+ * to a copy of the function with those parameters replaced by the literals and
+ * dropped from its signature:
+ *
+ * 		foo(x, 3)  ==>  foo__c1(x)		(foo__c1 is foo with its second parameter replaced by 3)
+ *
+ * Calls with the same literals for the same parameters share a copy. Copies are
+ * rebuilt like every other body, so a call in a copy that now passes a literal
+ * (a parameter handed on to another function, or to a recursive call) is
+ * specialized as well, and constants propagate down the call graph. Folding
+ * and dead code elimination in the back end then remove the work the
+ * constants decide.
+ *
+ * Only parameters that the function never assigns, reads into or takes the
+ * address of are replaced, and only if one of them is used in a condition or
+ * a loop, where the constant can fold a branch or fix a trip count. Every copy
+ * is charged against a program-wide growth budget
+ * (<code>--specialize-budget=N</code>, in AST nodes).
+ */
+public class Specializer extends CloneVisitor {
+
+	static final public int DEFAULT_BUDGET = 200;
+
+	//largest function that is copied
+	static final private int MAX_SPECIALIZE_SIZE = 100;
+
+	/**
+	 * A function body to rebuild: an original function, or a specialized copy
+	 * of one
+	 */
+	private static class Version {
+		FunctionNode original;
+		FunctionNode node;
+		FunctionSymbolTableEntry ste;
+		Map<SymbolTableEntry, SymbolTableEntry> symbols;
+		Map<SymbolTableEntry, ExpressionNode> constants;
+	}
+
+	private int budget;
+	private FunctionListNode program;
+	private Map<String, FunctionNode> functions;
+	private Map<String, Set<SymbolTableEntry>> candidates;
+	private CallGraph callGraph;
+	private Map<String, String> versions; //specialized copies, by callee and literals
+	private Map<String, Integer> copyCounts;
+	private int growth;
+	private Version current;
+	private List<Version> pending; //copies declared while rebuilding the current body
+
+	public Specializer() {
+		this(DEFAULT_BUDGET);
+	}
+
+	public Specializer(int budget) {
+		this.budget = budget;
+		functions = new HashMap<String, FunctionNode>();
+		candidates = new HashMap<String, Set<SymbolTableEntry>>();
+		versions = new HashMap<String, String>();
+		copyCounts = new HashMap<String, Integer>();
+		pending = new LinkedList<Version>();
+		growth = 0;
+	}
+
+	/**
+	 * Specialize calls throughout the program. Copies are added to the program
+	 * right after the function they are made from.
+	 */
+	public void specialize(FunctionListNode program) {
+		this.program = program;
+		LinkedList<Version> work = new LinkedList<Version>();
+		for (FunctionNode f : program.getFunctions()) {
+			functions.put(f.getFuncName(), f);
+		}
+		callGraph = new CallGraph(program);
+		for (FunctionNode f : program.getFunctions()) {
+			candidates.put(f.getFuncName(), findCandidates(f));
+			Version v = new Version();
+			v.original = v.node = f;
+			v.symbols = new IdentityHashMap<SymbolTableEntry, SymbolTableEntry>();
+			v.constants = new IdentityHashMap<SymbolTableEntry, ExpressionNode>();
+			work.add(v);
+		}
+
+		while (!work.isEmpty()) {
+			current = work.pop();
+			current.node.setFuncBody(copy(current.original.getFuncBody()));
+			work.addAll(pending);
+			pending.clear();
+		}
+	}
+
+	@Override
+	protected SymbolTableEntry mapSymbol(SymbolTableEntry ste) {
+		SymbolTableEntry mapped = current.symbols.get(ste);
+		return (mapped != null) ? mapped : ste;
+	}
+
+	@Override
+	protected ASTNode postprocess(VarNode node) {
+		ExpressionNode constant = current.constants.get(node.getSymbol());
+		if (constant != null) return copy(constant);
+		return super.postprocess(node);
+	}
+
+	@Override
+	protected ASTNode postprocess(ReturnNode node, ASTNode retExpr) {
+		FunctionSymbolTableEntry ste = (current.ste != null) ? current.ste : node.getFuncSymbol();
+		return new ReturnNode((ExpressionNode) retExpr, ste);
+	}
+
+	/**
+	 * Arguments have already been copied (with this version's constants
+	 * substituted), so all that is left is to decide whether to redirect this
+	 * call
+	 */
+	@Override
+	protected ASTNode postprocess(CallNode node, List<ASTNode> args) {
+		CallNode call = (CallNode) super.postprocess(node, args);
+		FunctionNode callee = functions.get(node.getFuncName());
+		if (callee == null || callee.getFuncName().equals("main")) return call;
+		List<SymbolTableEntry> params = callee.getScope().getArguments();
+		if (params.size() != call.getArgs().size()) return call;
+
+		//the literals passed for parameters worth replacing
+		Map<SymbolTableEntry, ExpressionNode> constants = new IdentityHashMap<SymbolTableEntry, ExpressionNode>();
+		String key = callee.getFuncName() + "(";
+		for (int i = 0; i < params.size(); i++) {
+			String literal = literal(call.getArgs().get(i), params.get(i).getType());
+			if (literal != null && candidates.get(callee.getFuncName()).contains(params.get(i))) {
+				constants.put(params.get(i), call.getArgs().get(i));
+				key += literal;
+			}
+			key += ",";
+		}
+		key += ")";
+		if (constants.isEmpty()) return call;
+
+		String name = versions.get(key);
+		if (name == null) {
+			int size = size(callee.getFuncBody());
+			if (size > MAX_SPECIALIZE_SIZE || growth + size > budget) return call;
+			growth += size;
+			name = newVersion(callee, constants);
+			versions.put(key, name);
+		}
+
+		List<ExpressionNode> remaining = new LinkedList<ExpressionNode>();
+		for (int i = 0; i < params.size(); i++) {
+			if (!constants.containsKey(params.get(i))) remaining.add(call.getArgs().get(i));
+		}
+		return new CallNode(name, remaining);
+	}
+
+	/**
+	 * Declare a copy of callee with the given parameters replaced by constants;
+	 * its body is built later from the work list
+	 */
+	private String newVersion(FunctionNode callee, Map<SymbolTableEntry, ExpressionNode> constants) {
+		String original = callee.getFuncName();
+		int count = copyCounts.containsKey(original) ? copyCounts.get(original) + 1 : 1;
+		copyCounts.put(original, count);
+		String name = original + "__c" + count;
+
+		Version v = new Version();
+		v.original = callee;
+		v.symbols = new IdentityHashMap<SymbolTableEntry, SymbolTableEntry>();
+		v.constants = new IdentityHashMap<SymbolTableEntry, ExpressionNode>();
+
+		//the remaining parameters, added in reverse like the parser does, then the locals
+		LocalScope scope = (LocalScope) Compiler.symbolTable.getGlobalScope().addSubScope(name);
+		List<SymbolTableEntry> params = callee.getScope().getArguments();
+		List<Scope.Type> argTypes = new LinkedList<Scope.Type>();
+		for (int i = params.size() - 1; i >= 0; i--) {
+			SymbolTableEntry p = params.get(i);
+			if (constants.containsKey(p)) {
+				v.constants.put(p, constants.get(p));
+				continue;
+			}
+			scope.addArgument(p.getType(), p.getName());
+			v.symbols.put(p, scope.getSymbolTableEntry(p.getName()));
+			argTypes.add(0, p.getType());
+		}
+		for (SymbolTableEntry ste : callee.getScope().getEntries()) {
+			if (params.contains(ste)) continue;
+			scope.addCopy(ste, ste.getName());
+			v.symbols.put(ste, scope.getSymbolTableEntry(ste.getName()));
+		}
+
+		FunctionSymbolTableEntry calleeSte = Compiler.symbolTable.getFunctionSymbol(original);
+		Compiler.symbolTable.addFunction(calleeSte.getReturnType(), name, argTypes);
+		v.ste = Compiler.symbolTable.getFunctionSymbol(name);
+		v.ste.setDefined(true);
+
+		v.node = new FunctionNode(new StatementListNode(), name, scope);
+		List<FunctionNode> list = program.getFunctions();
+		int at = list.indexOf(callee) + 1;
+		while (at < list.size() && list.get(at).getFuncName().startsWith(original + "__c")) at++;
+		list.add(at, v.node);
+		pending.add(v);
+		return name;
+	}
+
+	/**
+	 * @return the text of a literal argument of the parameter's type, or null
+	 */
+	private String literal(ExpressionNode arg, Scope.Type type) {
+		String sign = "";
+		if (arg instanceof UnaryOpNode) {
+			sign = "-";
+			arg = (ExpressionNode) ((UnaryOpNode) arg).getExpr();
+		}
+		if (arg instanceof IntLitNode && type.type == Scope.InnerType.INT) return sign + ((IntLitNode) arg).getVal();
+		if (arg instanceof FloatLitNode && type.type == Scope.InnerType.FLOAT) return sign + ((FloatLitNode) arg).getVal();
+		return null;
+	}
+
+	/**
+	 * The parameters of a function that can be replaced by a constant (never
+	 * written or addressed) and that are worth it (used in a condition or a
+	 * loop).
+	 *
+	 * Tail calls around a recursive cycle become jumps in code generation, but
+	 * only between functions with the same number of arguments, so a copy
+	 * would turn the loop they make into real calls. A parameter of a function
+	 * with such calls must be passed on unchanged by its tail calls to itself,
+	 * and tail calls to other functions of its cycle rule out all of them.
+	 * Other recursive calls are specialized level by level while the budget
+	 * lasts, which unrolls recursion on constants.
+	 */
+	private Set<SymbolTableEntry> findCandidates(final FunctionNode f) {
+		final List<SymbolTableEntry> args = f.getScope().getArguments();
+		final Set<SymbolTableEntry> params = new HashSet<SymbolTableEntry>(args);
+		final Set<SymbolTableEntry> written = new HashSet<SymbolTableEntry>();
+		final Set<SymbolTableEntry> useful = new HashSet<SymbolTableEntry>();
+		final String name = f.getFuncName();
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			private int depth = 0; //conditions and loops around the current node
+
+			@Override
+			protected void preprocess(ReturnNode node) {
+				if (!(node.getRetExpr() instanceof CallNode)) return;
+				CallNode call = (CallNode) node.getRetExpr();
+				if (!callGraph.sameCycle(name, call.getFuncName())) return;
+				for (int i = 0; i < args.size(); i++) {
+					ExpressionNode a = (i < call.getArgs().size()) ? call.getArgs().get(i) : null;
+					boolean passedOn = a instanceof VarNode && ((VarNode) a).getSymbol() == args.get(i);
+					if (!call.getFuncName().equals(name) || !passedOn) written.add(args.get(i));
+				}
+			}
+
+			@Override
+			protected void preprocess(AssignNode node) {
+				if (node.getLeft() instanceof VarNode) written.add(((VarNode) node.getLeft()).getSymbol());
+			}
+
+			@Override
+			protected void preprocess(ReadNode node) {
+				written.add(node.getVarNode().getSymbol());
+			}
+
+			@Override
+			protected void preprocess(AddrOfNode node) {
+				if (node.getExpr() instanceof VarNode) written.add(((VarNode) node.getExpr()).getSymbol());
+			}
+
+			@Override
+			protected void preprocess(CondNode node) {
+				depth++;
+			}
+
+			@Override
+			protected Void postprocess(CondNode node, Void left, Void right) {
+				depth--;
+				return null;
+			}
+
+			@Override
+			protected void preprocess(WhileNode node) {
+				depth++;
+			}
+
+			@Override
+			protected Void postprocess(WhileNode node, Void cond, Void slist) {
+				depth--;
+				return null;
+			}
+
+			@Override
+			protected void preprocess(VarNode node) {
+				if (depth > 0) useful.add(node.getSymbol());
+			}
+		});
+		params.removeAll(written);
+		params.retainAll(useful);
+		return params;
+	}
+
+	private int size(StatementListNode body) {
+		return body.accept(new SizeVisitor());
+	}
+
+}
@@ -0,0 +1,257 @@
+package optimizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ast.ASTNode;
+import ast.AddrOfNode;
+import ast.AssignNode;
+import ast.BinaryOpNode;
+import ast.CallNode;
+import ast.CastNode;
+import ast.ExpressionNode;
+import ast.FreeNode;
+import ast.FunctionListNode;
+import ast.FunctionNode;
+import ast.InlinedCallNode;
+import ast.IntLitNode;
+import ast.MallocNode;
+import ast.ReadNode;
+import ast.ReturnNode;
+import ast.StatementListNode;
+import ast.StatementNode;
+import ast.UnaryOpNode;
+import ast.VarNode;
+import ast.WhileNode;
+import ast.WriteNode;
+import ast.visitor.AbstractASTVisitor;
+import compiler.LocalScope;
+import compiler.Scope.SymbolTableEntry;
+
+/**
+ * Escape analysis for heap blocks: a <code>malloc</code> of a constant size
+ * whose pointer never leaves the function becomes a block of slots in the
+ * function's frame (see {@link LocalScope#addArray}), and the
+ * <code>free</code>s of it are dropped:
+ *
+ * 		p = malloc(16);					p = &$stack1;	($stack1 is 4 slots in the frame)
+ * 		p[0] = x;			==>			p[0] = x;
+ * 		...								...
+ * 		free(p);
+ *
+ * The pointer is followed (flow-insensitively) into every local it is copied
+ * to, with or without arithmetic. It escapes if any of these locals is passed
+ * to a call, returned, printed, stored in a global or through a pointer, or
+ * has its own address taken; a local that also gets pointers from elsewhere
+ * (a parameter, another allocation, a load) rules the allocation out too, so
+ * that every <code>free</code> of it frees the block. Loads and stores
+ * through the pointer are fine.
+ *
+ * Runs after inlining, which turns many calls that take the pointer into
+ * plain assignments. An allocation in a loop gets the same slots on every
+ * iteration, so it is only moved if the local it is assigned to is the only
+ * one that ever holds it: the next iteration overwrites that pointer, so the
+ * old block cannot be reached any more.
+ */
+public class StackAllocation {
+
+	//largest block moved to the frame, and most slots added to one frame
+	static final private int MAX_BLOCK_SLOTS = 64;
+	static final private int MAX_FRAME_GROWTH = 256;
+
+	/**
+	 * A <code>p = malloc(size)</code>
+	 */
+	private static class Site {
+		AssignNode assign;
+		SymbolTableEntry pointer;
+		int slots;
+		boolean inLoop;
+		Set<SymbolTableEntry> holders; //locals that may hold the pointer
+	}
+
+	private int blocks = 0;
+
+	public void run(FunctionListNode program) {
+		for (FunctionNode f : program.getFunctions()) {
+			run(f);
+		}
+	}
+
+	private void run(FunctionNode f) {
+		final List<Site> sites = new ArrayList<Site>();
+		final List<AssignNode> assigns = new ArrayList<AssignNode>();
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			private int loops = 0;
+
+			@Override
+			protected void preprocess(WhileNode node) {
+				loops++;
+			}
+
+			@Override
+			protected Void postprocess(WhileNode node, Void cond, Void slist) {
+				loops--;
+				return null;
+			}
+
+			@Override
+			protected void preprocess(AssignNode node) {
+				assigns.add(node);
+				if (!(node.getLeft() instanceof VarNode) || !(node.getRight() instanceof MallocNode)) return;
+				SymbolTableEntry p = ((VarNode) node.getLeft()).getSymbol();
+				Integer size = constant(((MallocNode) node.getRight()).getArg());
+				if (!p.isLocal() || size == null || size <= 0 || size > 4 * MAX_BLOCK_SLOTS) return;
+				Site s = new Site();
+				s.assign = node;
+				s.pointer = p;
+				s.slots = (size + 3) / 4;
+				s.inLoop = loops > 0;
+				sites.add(s);
+			}
+		});
+
+		final Map<AssignNode, SymbolTableEntry> moved = new IdentityHashMap<AssignNode, SymbolTableEntry>();
+		final Set<SymbolTableEntry> stackPointers = new HashSet<SymbolTableEntry>();
+		LocalScope scope = f.getScope();
+		int growth = 0;
+		for (Site s : sites) {
+			if (!isPrivate(s, f, assigns) || growth + s.slots > MAX_FRAME_GROWTH) continue;
+			growth += s.slots;
+			String name = "$stack" + (++blocks);
+			scope.addArray(s.pointer.getType().getWrappedType(), name, s.slots);
+			moved.put(s.assign, scope.getSymbolTableEntry(name));
+			stackPointers.addAll(s.holders);
+		}
+		if (moved.isEmpty()) return;
+
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected Void postprocess(StatementListNode node, List<Void> statements) {
+				List<StatementNode> list = node.getStatements();
+				for (int k = list.size() - 1; k >= 0; k--) {
+					StatementNode s = list.get(k);
+					if (moved.containsKey(s)) {
+						SymbolTableEntry block = moved.get(s);
+						list.set(k, new AssignNode(((AssignNode) s).getLeft(), new AddrOfNode(new VarNode(block.getName(), block))));
+					} else if (s instanceof FreeNode && mayHold(((FreeNode) s).getArg(), stackPointers)) {
+						list.remove(k);
+					}
+				}
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Find the locals that may hold the pointer from a site, and decide whether
+	 * it stays within the function
+	 */
+	private boolean isPrivate(Site s, FunctionNode f, List<AssignNode> assigns) {
+		final Set<SymbolTableEntry> holders = new HashSet<SymbolTableEntry>();
+		holders.add(s.pointer);
+		boolean grew = true;
+		while (grew) {
+			grew = false;
+			for (AssignNode a : assigns) {
+				if (a.getLeft() instanceof VarNode && mayHold(a.getRight(), holders)) {
+					SymbolTableEntry v = ((VarNode) a.getLeft()).getSymbol();
+					if (!v.isLocal()) return false; //stored in a global
+					grew |= holders.add(v);
+				}
+			}
+		}
+		s.holders = holders;
+
+		for (SymbolTableEntry arg : f.getScope().getArguments()) {
+			if (holders.contains(arg)) return false;
+		}
+		for (AssignNode a : assigns) {
+			boolean holds = mayHold(a.getRight(), holders);
+			if (!(a.getLeft() instanceof VarNode)) {
+				if (holds) return false; //stored through a pointer
+			} else if (holders.contains(((VarNode) a.getLeft()).getSymbol()) && a != s.assign && !holds) {
+				return false; //a holder also gets other values
+			}
+		}
+		if (s.inLoop && holders.size() > 1) return false;
+
+		final boolean[] escapes = {false};
+		f.getFuncBody().accept(new AbstractASTVisitor<Void>() {
+			@Override
+			protected void preprocess(CallNode node) {
+				for (ExpressionNode arg : node.getArgs()) {
+					escapes[0] |= mayHold(arg, holders);
+				}
+			}
+
+			@Override
+			protected void preprocess(ReturnNode node) {
+				escapes[0] |= node.getRetExpr() != null && mayHold(node.getRetExpr(), holders);
+			}
+
+			@Override
+			protected void preprocess(WriteNode node) {
+				escapes[0] |= mayHold(node.getWriteExpr(), holders);
+			}
+
+			@Override
+			protected void preprocess(ReadNode node) {
+				escapes[0] |= holders.contains(node.getVarNode().getSymbol());
+			}
+
+			@Override
+			protected void preprocess(AddrOfNode node) {
+				escapes[0] |= node.getExpr() instanceof VarNode && holders.contains(((VarNode) node.getExpr()).getSymbol());
+			}
+		});
+		return !escapes[0];
+	}
+
+	/**
+	 * True if the value of an expression may be a pointer held by one of the
+	 * given locals (loads through it and call results are other values)
+	 */
+	private boolean mayHold(ASTNode e, Set<SymbolTableEntry> holders) {
+		if (e instanceof VarNode) return holders.contains(((VarNode) e).getSymbol());
+		if (e instanceof BinaryOpNode) {
+			BinaryOpNode b = (BinaryOpNode) e;
+			return mayHold(b.getLeft(), holders) || mayHold(b.getRight(), holders);
+		}
+		if (e instanceof UnaryOpNode) return mayHold(((UnaryOpNode) e).getExpr(), holders);
+		if (e instanceof CastNode) return mayHold(((CastNode) e).getExpr(), holders);
+		if (e instanceof InlinedCallNode) {
+			VarNode result = ((InlinedCallNode) e).getResult();
+			return result != null && holders.contains(result.getSymbol());
+		}
+		return false;
+	}
+
+	/**
+	 * @return the value of an int expression of literals, or null
+	 */
+	private Integer constant(ASTNode e) {
+		if (e instanceof IntLitNode) {
+			try {
+				return Integer.parseInt(((IntLitNode) e).getVal());
+			} catch (NumberFormatException ex) {
+				return null;
+			}
+		}
+		if (!(e instanceof BinaryOpNode)) return null;
+		BinaryOpNode b = (BinaryOpNode) e;
+		Integer l = constant(b.getLeft()), r = constant(b.getRight());
+		if (l == null || r == null) return null;
+		switch (b.getOp()) {
+			case ADD: return l + r;
+			case SUB: return l - r;
+			case MUL: return (Math.abs((long) l * r) > Integer.MAX_VALUE) ? null : l * r;
+			default: return null;
+		}
+	}
+
+}
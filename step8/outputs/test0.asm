@@ -0,0 +1,168 @@
+; Symbol table GLOBAL
+; name nl type STRING location 0x10000000 value "\n"
+; Function: INT f([INT])
+; Function: INT main([])
+; Function: INT f__c1([])
+; Function: INT f__c2([])
+
+; Symbol table f
+; name n type INT location 12
+; name i type INT location -4
+; name x type INT location -8
+; name y type INT location -12
+
+; Symbol table main
+
+; Symbol table f__c1
+; name i type INT location -4
+; name x type INT location -8
+; name y type INT location -12
+
+; Symbol table f__c2
+; name i type INT location -4
+; name x type INT location -8
+; name y type INT location -12
+
+; generating code to print ; name nl type STRING location 0x10000000 value "\n"
+; generating code to print ; name nl type STRING location 0x10000000 value "\n"
+.section .text
+;Current temp: null
+;IR Code: 
+MV fp, sp
+JR func_main
+HALT
+
+func_f__c1:
+SW fp, 0(sp)
+MV fp, sp
+SW t1, -16(sp)
+SW t2, -20(sp)
+SW t3, -24(sp)
+SW t4, -28(sp)
+SW t5, -32(sp)
+SW t6, -36(sp)
+SW t7, -40(sp)
+SW t8, -44(sp)
+SW t9, -48(sp)
+ADDI sp, sp, -52
+func_body_f__c1:
+LI t1, 0
+LI t2, 5
+LI t3, 3
+MUL t4, t1, t3
+LI t5, 3
+MUL t6, t2, t5
+loop_1:
+BGE t4, t6, out_2
+MV t7, t4
+BLE t7, t2, out_1
+SW t8, 8(fp)
+J func_ret_f__c1
+out_1:
+ADDI t1, t1, 1
+ADDI t4, t4, 3
+MV t8, t7
+J loop_1
+out_2:
+LI t9, -1
+SW t9, 8(fp)
+func_ret_f__c1:
+LW t9, 4(sp)
+LW t8, 8(sp)
+LW t7, 12(sp)
+LW t6, 16(sp)
+LW t5, 20(sp)
+LW t4, 24(sp)
+LW t3, 28(sp)
+LW t2, 32(sp)
+LW t1, 36(sp)
+MV sp, fp
+LW fp, 0(fp)
+RET
+
+func_f__c2:
+SW fp, 0(sp)
+MV fp, sp
+SW t1, -16(sp)
+SW t2, -20(sp)
+SW t3, -24(sp)
+SW t4, -28(sp)
+SW t5, -32(sp)
+SW t6, -36(sp)
+SW t7, -40(sp)
+SW t8, -44(sp)
+SW t9, -48(sp)
+SW t10, -52(sp)
+ADDI sp, sp, -56
+func_body_f__c2:
+LI t1, 0
+LI t2, 1
+LI t3, 3
+MUL t4, t1, t3
+LI t5, 3
+MUL t6, t2, t5
+loop_2:
+BGE t4, t6, out_4
+MV t7, t4
+LI t8, 5
+BLE t7, t8, out_3
+SW t9, 8(fp)
+J func_ret_f__c2
+out_3:
+ADDI t1, t1, 1
+ADDI t4, t4, 3
+MV t9, t7
+J loop_2
+out_4:
+LI t10, -1
+SW t10, 8(fp)
+func_ret_f__c2:
+LW t10, 4(sp)
+LW t9, 8(sp)
+LW t8, 12(sp)
+LW t7, 16(sp)
+LW t6, 20(sp)
+LW t5, 24(sp)
+LW t4, 28(sp)
+LW t3, 32(sp)
+LW t2, 36(sp)
+LW t1, 40(sp)
+MV sp, fp
+LW fp, 0(fp)
+RET
+
+func_main:
+SW fp, 0(sp)
+MV fp, sp
+SW t1, -4(sp)
+SW t2, -8(sp)
+SW t3, -12(sp)
+ADDI sp, sp, -16
+func_body_main:
+SW ra, -4(sp)
+ADDI sp, sp, -8
+JR func_f__c1
+LW ra, 4(sp)
+LW t1, 8(sp)
+PUTI t1
+LA t2, 0x10000000
+PUTS t2
+SW ra, 4(sp)
+JR func_f__c2
+LW ra, 4(sp)
+LW t3, 8(sp)
+PUTI t3
+PUTS t2
+ADDI sp, sp, 8
+func_ret_main:
+LW t3, 4(sp)
+LW t2, 8(sp)
+LW t1, 12(sp)
+MV sp, fp
+LW fp, 0(fp)
+RET
+
+
+
+.section .strings
+0x10000000 "\n"
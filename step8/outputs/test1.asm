@@ -0,0 +1,38 @@
+; Symbol table GLOBAL
+; Function: INT main([])
+
+; Symbol table main
+; name x type INT location -4
+; name y type INT location -8
+; name f type FLOAT location -12
+
+.section .text
+;Current temp: null
+;IR Code: 
+MV fp, sp
+JR func_main
+HALT
+
+func_main:
+SW fp, 0(sp)
+MV fp, sp
+SW t1, -16(sp)
+SW t2, -20(sp)
+FSW f1, -24(sp)
+ADDI sp, sp, -28
+func_body_main:
+GETI t1
+IMOVF.S f1, t1
+FMOVI.S t2, f1
+PUTI t2
+func_ret_main:
+FLW f1, 4(sp)
+LW t2, 8(sp)
+LW t1, 12(sp)
+MV sp, fp
+LW fp, 0(fp)
+RET
+
+
+
+.section .strings
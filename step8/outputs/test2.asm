@@ -0,0 +1,47 @@
+; Symbol table GLOBAL
+; name nl type STRING location 0x10000000 value "\n"
+; Function: INT main([])
+
+; Symbol table main
+; name i type INT location -4
+; name s type INT location -8
+; name t type INT location -12
+; name $trip0 type INT location -16
+
+; generating code to print ; name nl type STRING location 0x10000000 value "\n"
+; generating code to print ; name nl type STRING location 0x10000000 value "\n"
+.section .text
+;Current temp: null
+;IR Code: 
+MV fp, sp
+JR func_main
+HALT
+
+func_main:
+SW fp, 0(sp)
+MV fp, sp
+SW t1, -20(sp)
+SW t2, -24(sp)
+SW t3, -28(sp)
+ADDI sp, sp, -32
+func_body_main:
+out_1:
+LI t1, -29999999995
+LI t2, 30000000000
+PUTI t2
+LA t3, 0x10000000
+PUTS t3
+PUTI t1
+PUTS t3
+func_ret_main:
+LW t3, 4(sp)
+LW t2, 8(sp)
+LW t1, 12(sp)
+MV sp, fp
+LW fp, 0(fp)
+RET
+
+
+
+.section .strings
+0x10000000 "\n"